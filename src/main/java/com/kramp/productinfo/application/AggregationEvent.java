@@ -0,0 +1,50 @@
+package com.kramp.productinfo.application;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One {@link ProductAggregationService#aggregate} call, from start to response. Disabled unless a
+ * recording enables it (see {@code /actuator/jfr}); while disabled, {@code begin/end/shouldCommit}
+ * cost a couple of branches and the instance is scalar-replaced.
+ */
+@Name("com.kramp.productinfo.Aggregation")
+@Label("Product Aggregation")
+@Category({"Product Info", "Aggregation"})
+@Description("Aggregation of one product for one market, with the degradation applied to each optional part")
+@Enabled(false)
+@Threshold("0 ms")
+@StackTrace(false)
+public class AggregationEvent extends Event {
+
+    @Label("Product Id")
+    public String productId;
+
+    @Label("Market")
+    public String market;
+
+    @Label("Customer Requested")
+    public boolean customerRequested;
+
+    @Label("Outcome")
+    @Description("OK, or the reason the required catalog part failed")
+    public String outcome;
+
+    @Label("Pricing Degradation")
+    @Description("Why pricing is unavailable, STALE for a last-known-good price, null when fresh")
+    public String pricingDegradation;
+
+    @Label("Availability Degradation")
+    @Description("UNKNOWN, STALE for last-known-good stock, null when fresh")
+    public String availabilityDegradation;
+
+    @Label("Customer Degradation")
+    @Description("STANDARD when a requested customer context fell back to the standard one")
+    public String customerDegradation;
+}
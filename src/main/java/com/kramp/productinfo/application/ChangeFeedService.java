@@ -0,0 +1,33 @@
+package com.kramp.productinfo.application;
+
+import com.kramp.productinfo.domain.model.ChangeFeed;
+import com.kramp.productinfo.domain.ports.MarketDirectory;
+import com.kramp.productinfo.domain.ports.ProductChanges;
+import com.kramp.productinfo.domain.ports.exception.MarketNotFoundException;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ChangeFeedService {
+
+    private final ProductChanges changes;
+    private final MarketDirectory marketDirectory;
+
+    public ChangeFeedService(ProductChanges changes, MarketDirectory marketDirectory) {
+        this.changes = changes;
+        this.marketDirectory = marketDirectory;
+    }
+
+    /**
+     * The market's products changed after the {@code since} cursor, answered from memory.
+     * Rules:
+     * - Without {@code since}, only the current cursor: fetch everything, then sync from it.
+     * - A cursor the log can no longer serve, or one of another instance, answers
+     *   {@code resyncRequired} and a fresh cursor.
+     */
+    public ChangeFeed changesSince(String market, String since, int limit) {
+        if (!marketDirectory.knownMarkets().contains(market)) {
+            throw new MarketNotFoundException(market);
+        }
+        return changes.changesSince(market, since, limit);
+    }
+}
@@ -0,0 +1,152 @@
+package com.kramp.productinfo.application;
+
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import com.kramp.productinfo.domain.model.CrossMarketProduct;
+import com.kramp.productinfo.domain.model.CrossMarketProduct.MarketError;
+import com.kramp.productinfo.domain.ports.MarketDirectory;
+import com.kramp.productinfo.domain.ports.exception.MarketNotFoundException;
+import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+import java.util.concurrent.ThreadFactory;
+
+@Service
+public class CrossMarketAggregationService {
+
+    public static final String ALL_MARKETS = "all";
+
+    private static final Logger log = LoggerFactory.getLogger(CrossMarketAggregationService.class);
+
+    private static final ThreadFactory MARKET_THREADS = Thread.ofVirtual().name("cross-market-", 0).factory();
+    private static final ThreadFactory AGGREGATION_THREADS = Thread.ofVirtual().name("cross-market-aggregation-", 0).factory();
+
+    private final ProductAggregationService aggregationService;
+    private final MarketDirectory marketDirectory;
+    private final int maxConcurrency;
+
+    public CrossMarketAggregationService(
+            ProductAggregationService aggregationService,
+            MarketDirectory marketDirectory,
+            @Value("${product-info.cross-market.max-concurrency:4}") int maxConcurrency
+    ) {
+        this.aggregationService = aggregationService;
+        this.marketDirectory = marketDirectory;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Aggregates the product in every requested market ({@value #ALL_MARKETS} = every known market).
+     * Rules:
+     * - Markets run in parallel, at most {@code max-concurrency} at a time per request.
+     * - A market that fails (unknown market, product missing, catalog down) is reported in
+     *   {@code errors} and never fails the others.
+     * <p>
+     * Every market is a subtask of one {@link StructuredTaskScope} owned by the caller, and
+     * waits for its permit inside that subtask. Interrupting the caller cancels the whole
+     * fan-out, including the upstream calls of each market's own scope; no market outlives the call.
+     */
+    public CrossMarketProduct aggregate(String productId, List<String> markets, String customerId) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Map<String, Subtask<AggregatedProduct>> subtasks = new LinkedHashMap<>();
+        try (var scope = new StructuredTaskScope<AggregatedProduct>("cross-market-aggregation", MARKET_THREADS)) {
+            for (String market : resolveMarkets(markets)) {
+                subtasks.put(market, scope.fork(() -> aggregateWithPermit(permits, productId, market, customerId)));
+            }
+            scope.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamFailureException("catalog", "INTERRUPTED", "Cross-market aggregation interrupted", ex);
+        }
+
+        Map<String, AggregatedProduct> results = new LinkedHashMap<>();
+        Map<String, MarketError> errors = new LinkedHashMap<>();
+        subtasks.forEach((market, subtask) -> {
+            if (subtask.state() == Subtask.State.SUCCESS) {
+                results.put(market, subtask.get());
+            } else {
+                errors.put(market, toError(market, subtask.exception()));
+            }
+        });
+        return new CrossMarketProduct(productId, results, errors);
+    }
+
+    /**
+     * {@link #aggregate} on a virtual thread of its own, which owns the scope, so the caller's
+     * thread is free while markets are aggregated. Completing the returned future exceptionally
+     * from outside, by cancelling it or timing it out, interrupts that thread, which cancels
+     * every market still in flight.
+     */
+    public CompletableFuture<CrossMarketProduct> aggregateAsync(String productId, List<String> markets, String customerId) {
+        CompletableFuture<CrossMarketProduct> result = new CompletableFuture<>();
+        Thread owner = AGGREGATION_THREADS.newThread(() -> {
+            try {
+                result.complete(aggregate(productId, markets, customerId));
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        result.whenComplete((product, ex) -> {
+            if (ex != null) {
+                owner.interrupt();
+            }
+        });
+        owner.start();
+        return result;
+    }
+
+    private AggregatedProduct aggregateWithPermit(Semaphore permits, String productId, String market, String customerId)
+            throws InterruptedException {
+        permits.acquire();
+        try {
+            return aggregationService.aggregate(productId, market, customerId);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * The first market {@link #aggregate} would aggregate, with {@value #ALL_MARKETS} resolved;
+     * {@code null} when there is none.
+     */
+    public String firstMarket(List<String> markets) {
+        List<String> resolved = resolveMarkets(markets);
+        return resolved.isEmpty() ? null : resolved.getFirst();
+    }
+
+    private List<String> resolveMarkets(List<String> markets) {
+        LinkedHashSet<String> resolved = new LinkedHashSet<>();
+        for (String market : markets) {
+            String trimmed = market.trim();
+            if (ALL_MARKETS.equalsIgnoreCase(trimmed)) {
+                resolved.addAll(marketDirectory.knownMarkets());
+            } else if (!trimmed.isEmpty()) {
+                resolved.add(trimmed);
+            }
+        }
+        return List.copyOf(resolved);
+    }
+
+    private static MarketError toError(String market, Throwable ex) {
+        if (ex instanceof MarketNotFoundException) {
+            return new MarketError("MARKET_NOT_FOUND", "Market '" + market + "' is not supported");
+        }
+        if (ex instanceof UpstreamFailureException ufe && "catalog".equalsIgnoreCase(ufe.service())) {
+            return "PRODUCT_NOT_FOUND".equalsIgnoreCase(ufe.reason())
+                    ? new MarketError("PRODUCT_NOT_FOUND", ufe.getMessage())
+                    : new MarketError("CATALOG_UNAVAILABLE", ufe.getMessage());
+        }
+        log.debug("Cross-market aggregation failed for market={}", market, ex);
+        return new MarketError("INTERNAL_ERROR", ex.getMessage());
+    }
+}
@@ -0,0 +1,70 @@
+package com.kramp.productinfo.application;
+
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.CatalogClient;
+import com.kramp.productinfo.domain.ports.MarketDirectory;
+import com.kramp.productinfo.domain.ports.OfferSubscriptions;
+import com.kramp.productinfo.domain.ports.OfferSubscriptions.Sink;
+import com.kramp.productinfo.domain.ports.OfferSubscriptions.Subscription;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.domain.ports.exception.MarketNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Service
+public class LiveOfferService {
+
+    private final OfferSubscriptions subscriptions;
+    private final MarketDirectory marketDirectory;
+    private final ProductAggregationService aggregationService;
+    private final CatalogClient catalogClient;
+    private final ExecutorService upstreamExecutor;
+
+    public LiveOfferService(OfferSubscriptions subscriptions,
+                            MarketDirectory marketDirectory,
+                            ProductAggregationService aggregationService,
+                            CatalogClient catalogClient,
+                            ExecutorService upstreamExecutor) {
+        this.subscriptions = subscriptions;
+        this.marketDirectory = marketDirectory;
+        this.aggregationService = aggregationService;
+        this.catalogClient = catalogClient;
+        this.upstreamExecutor = upstreamExecutor;
+    }
+
+    /**
+     * Subscribes {@code sink} to the stock and prices of the market's products.
+     * Rules:
+     * - Prices are those of the customer's segment, resolved once, as for {@code /product-info}.
+     * - Only changes are sent, after the values known at subscription time.
+     * - Every product must be in the market's catalog, so no product is polled that does not
+     *   exist; the first one missing (or not looked up) fails the subscription.
+     */
+    public Subscription subscribe(String market, Set<String> productIds, String customerId, Sink sink) {
+        if (!marketDirectory.knownMarkets().contains(market)) {
+            throw new MarketNotFoundException(market);
+        }
+        requireInCatalog(market, productIds);
+        String segment = aggregationService.customerContext(customerId, market).segment();
+        return subscriptions.subscribe(market, productIds, segment, sink);
+    }
+
+    /**
+     * The catalog lookups run in parallel, through the catalog cache.
+     */
+    private void requireInCatalog(String market, Set<String> productIds) {
+        List<CompletableFuture<UpstreamResult<ProductDetails>>> lookups = new ArrayList<>(productIds.size());
+        for (String productId : productIds) {
+            lookups.add(CompletableFuture.supplyAsync(
+                    () -> catalogClient.findProductDetails(productId, market), upstreamExecutor));
+        }
+        for (CompletableFuture<UpstreamResult<ProductDetails>> lookup : lookups) {
+            lookup.join().orElseThrow();
+        }
+    }
+}
@@ -4,69 +4,210 @@ import com.kramp.productinfo.domain.model.AggregatedProduct;
 import com.kramp.productinfo.domain.model.AvailabilityInfo;
 import com.kramp.productinfo.domain.model.CustomerContext;
 import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
 import com.kramp.productinfo.domain.ports.AvailabilityClient;
 import com.kramp.productinfo.domain.ports.CatalogClient;
 import com.kramp.productinfo.domain.ports.CustomerClient;
+import com.kramp.productinfo.domain.ports.HotKeyTracker;
+import com.kramp.productinfo.domain.ports.LastKnownGoodStore;
 import com.kramp.productinfo.domain.ports.PricingClient;
+import com.kramp.productinfo.domain.ports.UpstreamCircuits;
+import com.kramp.productinfo.domain.ports.UpstreamResult.Failure;
+import com.kramp.productinfo.domain.ports.UpstreamResult.Success;
+import com.kramp.productinfo.domain.ports.exception.MarketNotFoundException;
 import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.StructuredTaskScope.Subtask;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
 
 @Service
 public class ProductAggregationService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductAggregationService.class);
 
+    private static final ThreadFactory SUBTASK_THREADS = Thread.ofVirtual().name("aggregate-", 0).factory();
+    private static final ThreadFactory AGGREGATION_THREADS = Thread.ofVirtual().name("aggregation-", 0).factory();
+
+    private record PricedCustomer(CustomerContext customer, PricingInfo pricing) {}
+
     private final CatalogClient catalogClient;
     private final PricingClient pricingClient;
     private final AvailabilityClient availabilityClient;
     private final CustomerClient customerClient;
-    private final ExecutorService upstreamExecutor;
+    private final UpstreamCircuits circuits;
+    private final LastKnownGoodStore lastKnownGood;
+    private final HotKeyTracker hotKeys;
 
     public ProductAggregationService(
             CatalogClient catalogClient,
             PricingClient pricingClient,
             AvailabilityClient availabilityClient,
             CustomerClient customerClient,
-            ExecutorService upstreamExecutor
+            UpstreamCircuits circuits,
+            LastKnownGoodStore lastKnownGood,
+            HotKeyTracker hotKeys
     ) {
         this.catalogClient = catalogClient;
         this.pricingClient = pricingClient;
         this.availabilityClient = availabilityClient;
         this.customerClient = customerClient;
-        this.upstreamExecutor = upstreamExecutor;
+        this.circuits = circuits;
+        this.lastKnownGood = lastKnownGood;
+        this.hotKeys = hotKeys;
     }
 
     /**
      * Aggregates product info for display.
      * Rules:
      * - Catalog is required: if it fails, fail the whole request.
-     * - Pricing is optional: if it fails, mark price unavailable.
-     * - Availability is optional: if it fails, mark stock unknown.
+     * - Pricing is optional: if it fails, serve the last known price (flagged with its age)
+     *   or mark price unavailable.
+     * - Availability is optional: if it fails, serve the last known stock (flagged with its age)
+     *   or mark stock unknown.
      * - Customer is optional: if it fails or customerId missing, return standard context.
+     * Optional upstreams whose circuit is open are not called at all: they degrade
+     * immediately, without a subtask.
+     * <p>
+     * All upstream calls are subtasks of one {@link StructuredTaskScope} owned by the request:
+     * catalog, availability and customer-then-pricing start together. Optional subtasks degrade
+     * on their own and never fail the scope; a catalog failure shuts it down, which interrupts
+     * the siblings still in flight, as does interrupting the request thread. No subtask outlives
+     * the call.
+     * <p>
+     * Each call is an {@link AggregationEvent} for JFR recordings that enable it.
      */
     public AggregatedProduct aggregate(String productId, String market, String customerId) {
-        var product = catalogClient.getProductDetails(productId, market);
+        AggregationEvent event = new AggregationEvent();
+        event.begin();
+        try {
+            AggregatedProduct aggregated = aggregateInScope(productId, market, customerId);
+            commit(event, productId, market, customerId, aggregated, null);
+            return aggregated;
+        } catch (RuntimeException ex) {
+            commit(event, productId, market, customerId, null, ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * {@link #aggregate} on a virtual thread of its own, which owns the scope, so the caller's
+     * thread is free while upstreams answer. Completing the returned future exceptionally from
+     * outside, by cancelling it or timing it out, interrupts that thread, which cancels every
+     * subtask still in flight.
+     */
+    public CompletableFuture<AggregatedProduct> aggregateAsync(String productId, String market, String customerId) {
+        CompletableFuture<AggregatedProduct> result = new CompletableFuture<>();
+        Thread owner = AGGREGATION_THREADS.newThread(() -> {
+            try {
+                result.complete(aggregate(productId, market, customerId));
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        result.whenComplete((aggregated, ex) -> {
+            if (ex != null) {
+                owner.interrupt();
+            }
+        });
+        owner.start();
+        return result;
+    }
+
+    private AggregatedProduct aggregateInScope(String productId, String market, String customerId) {
+        boolean callCustomer = customerId != null && !customerId.isBlank() && !circuits.skip("customer");
+        boolean callPricing = !circuits.skip("pricing");
+        boolean callAvailability = !circuits.skip("availability");
+
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure("product-aggregation", SUBTASK_THREADS)) {
+            Subtask<ProductDetails> product = scope.fork(() -> catalogClient.findProductDetails(productId, market).orElseThrow());
+
+            Supplier<AvailabilityInfo> availability = callAvailability
+                    ? scope.fork(() -> resolveAvailability(productId, market))
+                    : () -> degradedAvailability(productId, market);
 
-        CompletableFuture<CustomerContext> customerFuture =
-                CompletableFuture.supplyAsync(() -> resolveCustomerContext(customerId, market), upstreamExecutor);
+            Supplier<PricedCustomer> pricedCustomer = callCustomer || callPricing
+                    ? scope.fork(() -> resolvePricedCustomer(productId, market, customerId, callCustomer, callPricing))
+                    : () -> resolvePricedCustomer(productId, market, customerId, false, false);
 
-        CompletableFuture<AvailabilityInfo> availabilityFuture =
-                CompletableFuture.supplyAsync(() -> resolveAvailability(productId, market), upstreamExecutor);
+            scope.join().throwIfFailed(ProductAggregationService::asRuntimeException);
+            // only products the catalog knows count towards hot keys, so unknown ids are never refreshed ahead
+            hotKeys.recordRequest(productId, market);
 
-        CompletableFuture<PricingInfo> pricingFuture =
-                customerFuture.thenApplyAsync(customer -> resolvePricing(productId, market, customer), upstreamExecutor);
+            PricedCustomer priced = pricedCustomer.get();
+            return new AggregatedProduct(
+                    product.get(),
+                    priced.pricing(),
+                    availability.get(),
+                    priced.customer()
+            );
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamFailureException("catalog", "INTERRUPTED", "Aggregation interrupted", ex);
+        }
+    }
 
-        return new AggregatedProduct(
-                product,
-                pricingFuture.join(),
-                availabilityFuture.join(),
-                customerFuture.join()
-        );
+    /**
+     * Pricing depends on the customer segment, so both run in one subtask.
+     */
+    private PricedCustomer resolvePricedCustomer(String productId, String market, String customerId,
+                                                 boolean callCustomer, boolean callPricing) {
+        CustomerContext customer = callCustomer
+                ? resolveCustomerContext(customerId, market)
+                : CustomerContext.standard();
+        PricingInfo pricing = callPricing
+                ? resolvePricing(productId, market, customer)
+                : degradedPricing(productId, market, customer, "CIRCUIT_OPEN");
+        return new PricedCustomer(customer, pricing);
+    }
+
+    private static void commit(AggregationEvent event, String productId, String market, String customerId,
+                               AggregatedProduct aggregated, RuntimeException failure) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.productId = productId;
+        event.market = market;
+        event.customerRequested = customerId != null && !customerId.isBlank();
+        if (aggregated == null) {
+            event.outcome = switch (failure) {
+                case UpstreamFailureException ufe -> ufe.reason();
+                case MarketNotFoundException ignored -> "MARKET_NOT_FOUND";
+                default -> failure.getClass().getSimpleName();
+            };
+        } else {
+            PricingInfo pricing = aggregated.pricing();
+            AvailabilityInfo availability = aggregated.availability();
+            event.outcome = "OK";
+            event.pricingDegradation = pricing.staleAgeMs() != null ? "STALE"
+                    : pricing.available() ? null : pricing.reason();
+            event.availabilityDegradation = availability.staleAgeMs() != null ? "STALE"
+                    : availability.stockKnown() ? null : "UNKNOWN";
+            event.customerDegradation = event.customerRequested && aggregated.customer().customerId() == null
+                    ? "STANDARD" : null;
+        }
+        event.commit();
+    }
+
+    private static RuntimeException asRuntimeException(Throwable ex) {
+        return ex instanceof RuntimeException re
+                ? re
+                : new UpstreamFailureException("catalog", "UPSTREAM_ERROR", String.valueOf(ex.getMessage()), ex);
+    }
+
+    /**
+     * The customer context {@link #aggregate} prices with: the customer's own, or the standard
+     * context without a customerId, while the customer circuit is open or when the lookup fails.
+     */
+    CustomerContext customerContext(String customerId, String market) {
+        boolean callCustomer = customerId != null && !customerId.isBlank() && !circuits.isOpen("customer");
+        return callCustomer ? resolveCustomerContext(customerId, market) : CustomerContext.standard();
     }
 
     private CustomerContext resolveCustomerContext(String customerId, String market) {
@@ -74,10 +215,14 @@ public class ProductAggregationService {
             return CustomerContext.standard();
         }
         try {
-            return customerClient.getCustomerContext(customerId, market);
-        } catch (UpstreamFailureException ex) {
-            log.debug("Customer context degraded: service={} reason={} details={}", ex.service(), ex.reason(), ex.details());
-            return CustomerContext.standard();
+            return switch (customerClient.findCustomerContext(customerId, market)) {
+                case Success<CustomerContext>(var customer) -> customer;
+                case Failure<CustomerContext> failure -> {
+                    log.debug("Customer context degraded: service={} reason={} details={}",
+                            failure.service(), failure.reason(), failure.details());
+                    yield CustomerContext.standard();
+                }
+            };
         } catch (Exception ex) {
             log.debug("Customer context degraded: unexpected error", ex);
             return CustomerContext.standard();
@@ -86,27 +231,44 @@ public class ProductAggregationService {
 
     private AvailabilityInfo resolveAvailability(String productId, String market) {
         try {
-            return availabilityClient.getAvailability(productId, market);
-        } catch (UpstreamFailureException ex) {
-            log.debug("Availability degraded: service={} reason={} details={}", ex.service(), ex.reason(), ex.details());
-            return AvailabilityInfo.unknown();
+            return switch (availabilityClient.findAvailability(productId, market)) {
+                case Success<AvailabilityInfo>(var availability) -> availability;
+                case Failure<AvailabilityInfo> failure -> {
+                    log.debug("Availability degraded: service={} reason={} details={}",
+                            failure.service(), failure.reason(), failure.details());
+                    yield degradedAvailability(productId, market);
+                }
+            };
         } catch (Exception ex) {
             log.debug("Availability degraded: unexpected error", ex);
-            return AvailabilityInfo.unknown();
+            return degradedAvailability(productId, market);
         }
     }
 
+    private AvailabilityInfo degradedAvailability(String productId, String market) {
+        return lastKnownGood.staleAvailability(productId, market).orElseGet(AvailabilityInfo::unknown);
+    }
+
     private PricingInfo resolvePricing(String productId, String market, CustomerContext customer) {
         try {
-            return pricingClient.getPricing(productId, market, customer);
-        } catch (UpstreamFailureException ex) {
-            log.debug("Pricing degraded: service={} reason={} details={}", ex.service(), ex.reason(), ex.details());
-            return PricingInfo.unavailable(ex.reason());
+            return switch (pricingClient.findPricing(productId, market, customer)) {
+                case Success<PricingInfo>(var pricing) -> pricing;
+                case Failure<PricingInfo> failure -> {
+                    log.debug("Pricing degraded: service={} reason={} details={}",
+                            failure.service(), failure.reason(), failure.details());
+                    yield degradedPricing(productId, market, customer, failure.reason());
+                }
+            };
         } catch (Exception ex) {
             log.debug("Pricing degraded: unexpected error", ex);
-            return PricingInfo.unavailable("UPSTREAM_ERROR");
+            return degradedPricing(productId, market, customer, "UPSTREAM_ERROR");
         }
     }
+
+    private PricingInfo degradedPricing(String productId, String market, CustomerContext customer, String reason) {
+        return lastKnownGood.stalePricing(productId, market, customer.segment())
+                .orElseGet(() -> PricingInfo.unavailable(reason));
+    }
 }
 
 
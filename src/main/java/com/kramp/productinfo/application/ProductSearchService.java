@@ -0,0 +1,114 @@
+package com.kramp.productinfo.application;
+
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import com.kramp.productinfo.domain.model.FacetCounts;
+import com.kramp.productinfo.domain.model.PriceRangePage;
+import com.kramp.productinfo.domain.model.PriceRangeQuery;
+import com.kramp.productinfo.domain.model.ProductSearchHits;
+import com.kramp.productinfo.domain.model.ProductSearchResult;
+import com.kramp.productinfo.domain.ports.MarketDirectory;
+import com.kramp.productinfo.domain.ports.ProductFacets;
+import com.kramp.productinfo.domain.ports.ProductPriceRanges;
+import com.kramp.productinfo.domain.ports.ProductSearch;
+import com.kramp.productinfo.domain.ports.exception.MarketNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class ProductSearchService {
+
+    private final ProductSearch search;
+    private final ProductFacets facets;
+    private final ProductPriceRanges priceRanges;
+    private final MarketDirectory marketDirectory;
+    private final ProductAggregationService aggregationService;
+
+    public ProductSearchService(ProductSearch search,
+                                ProductFacets facets,
+                                ProductPriceRanges priceRanges,
+                                MarketDirectory marketDirectory,
+                                ProductAggregationService aggregationService) {
+        this.search = search;
+        this.facets = facets;
+        this.priceRanges = priceRanges;
+        this.marketDirectory = marketDirectory;
+        this.aggregationService = aggregationService;
+    }
+
+    /**
+     * Searches the market's catalog and aggregates the first {@code aggregateTop} hits in parallel.
+     * Rules:
+     * - The search itself answers from memory; with {@code aggregateTop = 0} the future is already complete.
+     * - A hit whose aggregation fails stays in {@code productIds} but is left out of {@code products}.
+     * - Completing the returned future exceptionally from outside cancels the aggregations.
+     */
+    public CompletableFuture<ProductSearchResult> search(String market,
+                                                         String text,
+                                                         Map<String, String> specs,
+                                                         int limit,
+                                                         int aggregateTop,
+                                                         String customerId) {
+        requireKnown(market);
+        ProductSearchHits hits = search.search(market, text, specs, limit);
+        List<String> top = hits.productIds().subList(0, Math.min(aggregateTop, hits.productIds().size()));
+        if (top.isEmpty()) {
+            return CompletableFuture.completedFuture(
+                    new ProductSearchResult(market, hits.total(), hits.productIds(), Map.of()));
+        }
+
+        List<CompletableFuture<AggregatedProduct>> aggregations = new ArrayList<>(top.size());
+        for (String productId : top) {
+            aggregations.add(aggregationService.aggregateAsync(productId, market, customerId));
+        }
+        CompletableFuture<ProductSearchResult> result = CompletableFuture
+                .allOf(aggregations.stream().map(a -> a.exceptionally(ex -> null)).toArray(CompletableFuture[]::new))
+                .thenApply(done -> {
+                    Map<String, AggregatedProduct> products = new LinkedHashMap<>();
+                    for (int i = 0; i < top.size(); i++) {
+                        CompletableFuture<AggregatedProduct> aggregation = aggregations.get(i);
+                        if (!aggregation.isCompletedExceptionally()) {
+                            products.put(top.get(i), aggregation.join());
+                        }
+                    }
+                    return new ProductSearchResult(market, hits.total(), hits.productIds(), products);
+                });
+        result.whenComplete((r, ex) -> {
+            if (ex != null) {
+                aggregations.forEach(a -> a.cancel(true));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Spec facet counts of the market's products matching {@code filters}, answered from memory.
+     */
+    public FacetCounts facets(String market, Map<String, Set<String>> filters, Set<String> keys, int valuesPerKey) {
+        requireKnown(market);
+        return facets.count(market, filters, keys, valuesPerKey);
+    }
+
+    /**
+     * One page of the market's products within a price range, priced for the customer's segment
+     * exactly as {@code GET /product-info} would price them for that customer (standard segment
+     * without a customerId, or when the customer cannot be looked up). Answered from memory, after
+     * the (cached) customer lookup.
+     */
+    public PriceRangePage priceRange(String market, String customerId, PriceRangeQuery query) {
+        requireKnown(market);
+        String segment = aggregationService.customerContext(customerId, market).segment();
+        return priceRanges.find(market, segment, query);
+    }
+
+    private void requireKnown(String market) {
+        if (!marketDirectory.knownMarkets().contains(market)) {
+            throw new MarketNotFoundException(market);
+        }
+    }
+}
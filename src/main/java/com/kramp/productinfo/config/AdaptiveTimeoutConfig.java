@@ -0,0 +1,22 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.infrastructure.resilience.AdaptiveTimeouts;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+@Configuration
+@EnableConfigurationProperties(AdaptiveTimeoutProperties.class)
+public class AdaptiveTimeoutConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public AdaptiveTimeouts adaptiveTimeouts(AdaptiveTimeoutProperties properties,
+                                             TimeLimiterRegistry timeLimiterRegistry,
+                                             @Qualifier("upstreamScheduler") ScheduledExecutorService upstreamScheduler) {
+        return new AdaptiveTimeouts(properties, timeLimiterRegistry, upstreamScheduler);
+    }
+}
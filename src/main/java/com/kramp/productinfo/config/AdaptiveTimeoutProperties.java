@@ -0,0 +1,45 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Adaptive upstream timeouts: each service's TimeLimiter timeout is recomputed every
+ * {@code refresh-interval} as {@code percentile x factor} of the successful call latencies
+ * seen over the last {@code window}, clamped to {@code [min, max]}.
+ * <p>
+ * Until a service has {@code min-samples} successful calls in the window it keeps its
+ * static {@code resilience4j.timelimiter} value. {@code services} overrides the bounds per service.
+ */
+@ConfigurationProperties("upstream.adaptive-timeout")
+public record AdaptiveTimeoutProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0.99") double percentile,
+        @DefaultValue("2.0") double factor,
+        @DefaultValue("60s") Duration window,
+        @DefaultValue("5s") Duration refreshInterval,
+        @DefaultValue("100") int minSamples,
+        @DefaultValue("50ms") Duration min,
+        @DefaultValue("2s") Duration max,
+        Map<String, Bounds> services
+) {
+
+    public AdaptiveTimeoutProperties {
+        services = (services == null) ? Map.of() : Map.copyOf(services);
+    }
+
+    public Duration minFor(String service) {
+        Bounds bounds = services.get(service);
+        return bounds != null && bounds.min() != null ? bounds.min() : min;
+    }
+
+    public Duration maxFor(String service) {
+        Bounds bounds = services.get(service);
+        return bounds != null && bounds.max() != null ? bounds.max() : max;
+    }
+
+    public record Bounds(Duration min, Duration max) {}
+}
@@ -0,0 +1,33 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.domain.ports.CustomerClient;
+import com.kramp.productinfo.infrastructure.admission.PriorityAdmission;
+import com.kramp.productinfo.infrastructure.admission.RequestPriorityClassifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Priority-aware admission of the product-info aggregations. When disabled, the admission
+ * passes every request straight through.
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfig {
+
+    @Bean
+    public PriorityAdmission priorityAdmission(AdmissionProperties properties,
+                                               @Qualifier("upstreamScheduler") ScheduledExecutorService upstreamScheduler,
+                                               MeterRegistry meterRegistry) {
+        return new PriorityAdmission(properties, upstreamScheduler, meterRegistry);
+    }
+
+    @Bean
+    public RequestPriorityClassifier requestPriorityClassifier(AdmissionProperties properties, CustomerClient customerClient) {
+        return new RequestPriorityClassifier(customerClient, properties.premiumSegments());
+    }
+}
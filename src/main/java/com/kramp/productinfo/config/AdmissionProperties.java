@@ -0,0 +1,39 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.infrastructure.admission.RequestPriority;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admission control in front of the product-info aggregations.
+ *
+ * @param maxInFlight     aggregations running at once; beyond it requests queue by priority
+ * @param queueCapacity   queued requests of all priorities together
+ * @param maxWait         how long a request of each priority may queue before it is shed
+ * @param premiumSegments customer segments admitted as {@code HIGH}
+ */
+@ConfigurationProperties("product-info.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("256") int maxInFlight,
+        @DefaultValue("1024") int queueCapacity,
+        Map<RequestPriority, Duration> maxWait,
+        @DefaultValue("PREMIUM") Set<String> premiumSegments
+) {
+
+    public AdmissionProperties {
+        Map<RequestPriority, Duration> waits = new EnumMap<>(Map.of(
+                RequestPriority.HIGH, Duration.ofSeconds(1),
+                RequestPriority.NORMAL, Duration.ofMillis(500),
+                RequestPriority.LOW, Duration.ofMillis(200)));
+        if (maxWait != null) {
+            waits.putAll(maxWait);
+        }
+        maxWait = Map.copyOf(waits);
+    }
+}
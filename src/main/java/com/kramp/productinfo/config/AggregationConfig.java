@@ -0,0 +1,9 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AggregationProperties.class)
+public class AggregationConfig {
+}
@@ -0,0 +1,15 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param deadline how long a product-info request may take; past it the request answers 504
+ *                 and the aggregation is cancelled, with every upstream call still in flight
+ */
+@ConfigurationProperties("product-info.aggregation")
+public record AggregationProperties(
+        @DefaultValue("3s") Duration deadline
+) {}
@@ -0,0 +1,17 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.infrastructure.canonical.DomainCanonicalizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CanonicalizationConfig {
+
+    @Bean
+    public DomainCanonicalizer domainCanonicalizer(
+            @Value("${upstream.canonicalization.enabled:true}") boolean enabled,
+            @Value("${upstream.canonicalization.max-entries-per-pool:10000}") int maxEntriesPerPool) {
+        return new DomainCanonicalizer(enabled, maxEntriesPerPool);
+    }
+}
@@ -0,0 +1,61 @@
+package com.kramp.productinfo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kramp.productinfo.infrastructure.catalogstore.CatalogStoreBuilder;
+import com.kramp.productinfo.infrastructure.catalogstore.CatalogStoreWriter;
+import com.kramp.productinfo.infrastructure.catalogstore.MappedCatalogStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Serves catalog lookups from memory-mapped catalog store files instead of parsed JSON
+ * ({@code product-info.catalog-store.enabled=true}).
+ * <p>
+ * Files are produced by {@link CatalogStoreBuilder}. For local runs,
+ * {@code build-missing=true} converts the bundled mock-data catalogs on startup for markets
+ * that have no file yet.
+ */
+@Configuration
+@ConditionalOnProperty(name = "product-info.catalog-store.enabled", havingValue = "true")
+public class CatalogStoreConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogStoreConfig.class);
+
+    @Bean
+    public MappedCatalogStore mappedCatalogStore(
+            @Value("${product-info.catalog-store.directory:catalog-store}") Path directory,
+            @Value("${product-info.catalog-store.build-missing:false}") boolean buildMissing,
+            ObjectMapper objectMapper) throws IOException {
+        MappedCatalogStore store = new MappedCatalogStore(directory);
+        if (buildMissing) {
+            buildMissing(store, new CatalogStoreBuilder(objectMapper, new CatalogStoreWriter()));
+        }
+        return store;
+    }
+
+    private void buildMissing(MappedCatalogStore store, CatalogStoreBuilder builder) throws IOException {
+        Resource[] catalogs = new PathMatchingResourcePatternResolver().getResources("classpath:mock-data/catalog/*.json");
+        for (Resource catalog : catalogs) {
+            String market = catalog.getFilename().substring(0, catalog.getFilename().lastIndexOf('.'));
+            Path target = store.fileFor(market);
+            if (Files.exists(target)) {
+                continue;
+            }
+            try (InputStream in = catalog.getInputStream()) {
+                builder.build(market, in, target);
+            }
+            log.info("Built catalog store for market {} at {}", market, target);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.domain.ports.OfferListing;
+import com.kramp.productinfo.infrastructure.changes.ProductChangeLog;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-market product change log; fed by the upstream lookups and the full index rebuilds of
+ * {@link SearchConfig}.
+ */
+@Configuration
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeedConfig {
+
+    @Bean
+    public ProductChangeLog productChangeLog(ChangeFeedProperties properties, ObjectProvider<OfferListing> offerListing) {
+        return new ProductChangeLog(offerListing.getIfAvailable(), properties.capacity());
+    }
+}
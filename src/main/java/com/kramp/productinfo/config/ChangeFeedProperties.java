@@ -0,0 +1,14 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Product change feed over {@code /product-info/changes}.
+ *
+ * @param capacity changes kept per market; clients that fall further behind must resync
+ */
+@ConfigurationProperties("product-info.changes")
+public record ChangeFeedProperties(
+        @DefaultValue("100000") int capacity
+) {}
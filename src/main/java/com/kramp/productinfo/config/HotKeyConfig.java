@@ -0,0 +1,47 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.infrastructure.cache.CachingAvailabilityClient;
+import com.kramp.productinfo.infrastructure.cache.CachingCatalogClient;
+import com.kramp.productinfo.infrastructure.cache.CachingPricingClient;
+import com.kramp.productinfo.infrastructure.hotkeys.HotKeysEndpoint;
+import com.kramp.productinfo.infrastructure.hotkeys.RefreshAheadScheduler;
+import com.kramp.productinfo.infrastructure.hotkeys.SketchHotKeyTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Hot-key tracking and refresh-ahead of hot cache entries, see {@link UpstreamCacheConfig}.
+ */
+@Configuration
+@EnableConfigurationProperties(HotKeyProperties.class)
+public class HotKeyConfig {
+
+    @Bean
+    public SketchHotKeyTracker hotKeyTracker(HotKeyProperties properties) {
+        return new SketchHotKeyTracker(properties);
+    }
+
+    @Bean
+    public HotKeysEndpoint hotKeysEndpoint(SketchHotKeyTracker tracker) {
+        return new HotKeysEndpoint(tracker);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public RefreshAheadScheduler refreshAheadScheduler(HotKeyProperties properties,
+                                                       SketchHotKeyTracker tracker,
+                                                       CachingCatalogClient catalog,
+                                                       CachingPricingClient pricing,
+                                                       CachingAvailabilityClient availability,
+                                                       @Qualifier("upstreamScheduler") ScheduledExecutorService upstreamScheduler,
+                                                       @Qualifier("upstreamExecutor") ExecutorService upstreamExecutor,
+                                                       MeterRegistry meterRegistry) {
+        return new RefreshAheadScheduler(properties, tracker, catalog, pricing, availability,
+                upstreamScheduler, upstreamExecutor, meterRegistry);
+    }
+}
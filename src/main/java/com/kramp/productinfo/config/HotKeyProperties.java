@@ -0,0 +1,29 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Hot-key detection over {@code (productId, market)} requests and refresh-ahead of their cache entries.
+ *
+ * @param topK              number of hot keys tracked
+ * @param minRequests       estimated requests (since the last decays) before a key counts as hot
+ * @param sketchWidth       counters per count-min row, rounded up to a power of two
+ * @param sketchDepth       count-min rows (independent hashes)
+ * @param decayInterval     all counts are halved this often, so yesterday's bestseller cools down
+ * @param refreshInterval   how often hot keys are checked for entries about to expire
+ * @param refreshAheadRatio refresh an entry once less than this fraction of its TTL remains
+ */
+@ConfigurationProperties("product-info.hot-keys")
+public record HotKeyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") int topK,
+        @DefaultValue("5") long minRequests,
+        @DefaultValue("4096") int sketchWidth,
+        @DefaultValue("4") int sketchDepth,
+        @DefaultValue("60s") Duration decayInterval,
+        @DefaultValue("2s") Duration refreshInterval,
+        @DefaultValue("0.25") double refreshAheadRatio
+) {}
@@ -0,0 +1,38 @@
+package com.kramp.productinfo.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.kramp.productinfo.controller.json.AggregatedProductSerializer;
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ResponseSerializationProperties.class)
+public class JacksonConfig {
+
+    /**
+     * Registered into the application ObjectMapper by Spring Boot (any {@link Module} bean is).
+     */
+    @Bean
+    public Module aggregatedProductModule(ResponseSerializationProperties properties) {
+        return new SimpleModule("aggregated-product")
+                .addSerializer(AggregatedProduct.class, new AggregatedProductSerializer(properties.omitEmpty()));
+    }
+
+    /**
+     * Jackson's default buffer recycling is thread-local, which does nothing for us: every
+     * request and upstream call runs on a fresh virtual thread. A shared concurrent pool lets
+     * serialization buffers actually be reused across requests.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sharedBufferRecycling() {
+        return builder -> builder.factory(JsonFactory.builder()
+                .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+                .build());
+    }
+}
@@ -0,0 +1,19 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.infrastructure.jfr.JfrRecordingEndpoint;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * On-demand JFR recordings of the custom aggregation events.
+ */
+@Configuration
+@EnableConfigurationProperties(JfrRecordingProperties.class)
+public class JfrConfig {
+
+    @Bean
+    public JfrRecordingEndpoint jfrRecordingEndpoint(JfrRecordingProperties properties) {
+        return new JfrRecordingEndpoint(properties);
+    }
+}
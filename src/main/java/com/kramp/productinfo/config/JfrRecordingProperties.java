@@ -0,0 +1,35 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * On-demand JFR recordings of the aggregation and upstream call events, see {@code /actuator/jfr}.
+ *
+ * @param directory  where stopped recordings are dumped; {@code product-info-jfr} in the temp directory by default
+ * @param settings   JDK settings the recording starts from ({@code default} or {@code profile})
+ * @param threshold  aggregations and upstream attempts shorter than this are not recorded
+ * @param maxAge     the recording keeps at most this much history
+ * @param maxSize    ... and at most this much data
+ * @param keep       dumps kept in {@code directory}; older ones are deleted
+ */
+@ConfigurationProperties("product-info.jfr")
+public record JfrRecordingProperties(
+        Path directory,
+        @DefaultValue("default") String settings,
+        @DefaultValue("0ms") Duration threshold,
+        @DefaultValue("10m") Duration maxAge,
+        @DefaultValue("100MB") DataSize maxSize,
+        @DefaultValue("5") int keep
+) {
+
+    public JfrRecordingProperties {
+        if (directory == null) {
+            directory = Path.of(System.getProperty("java.io.tmpdir"), "product-info-jfr");
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.infrastructure.fallback.InMemoryLastKnownGoodStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.util.concurrent.ScheduledExecutorService;
+
+@Configuration
+@EnableConfigurationProperties(LastKnownGoodProperties.class)
+public class LastKnownGoodConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public InMemoryLastKnownGoodStore lastKnownGoodStore(LastKnownGoodProperties properties,
+                                                         MeterRegistry meterRegistry,
+                                                         @Qualifier("upstreamScheduler") ScheduledExecutorService upstreamScheduler) {
+        return new InMemoryLastKnownGoodStore(properties, Clock.systemUTC(), meterRegistry, upstreamScheduler);
+    }
+}
@@ -0,0 +1,23 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Last-known-good fallback for optional upstreams.
+ *
+ * @param maxEntries          per kind (pricing, availability); oldest entries are evicted beyond it
+ * @param pricingMaxAge       older pricing is never served
+ * @param availabilityMaxAge  older availability is never served
+ * @param sweepInterval       how often entries past their max age are removed, looked up or not
+ */
+@ConfigurationProperties("product-info.last-known-good")
+public record LastKnownGoodProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") int maxEntries,
+        @DefaultValue("15m") Duration pricingMaxAge,
+        @DefaultValue("2m") Duration availabilityMaxAge,
+        @DefaultValue("1m") Duration sweepInterval
+) {}
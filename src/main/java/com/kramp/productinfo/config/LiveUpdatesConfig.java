@@ -0,0 +1,35 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.domain.ports.AvailabilityClient;
+import com.kramp.productinfo.domain.ports.PricingClient;
+import com.kramp.productinfo.infrastructure.live.LiveOfferHub;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Live price and stock subscriptions; fed by the upstream lookups through the caching clients,
+ * see {@link UpstreamCacheConfig}. The hub is a {@code SmartLifecycle}, so it closes the open
+ * streams before the web server's graceful shutdown starts waiting for them.
+ */
+@Configuration
+@EnableConfigurationProperties(LiveUpdatesProperties.class)
+public class LiveUpdatesConfig {
+
+    @Bean
+    public LiveOfferHub liveOfferHub(LiveUpdatesProperties properties,
+                                     ObjectProvider<PricingClient> pricingClient,
+                                     ObjectProvider<AvailabilityClient> availabilityClient,
+                                     @Qualifier("upstreamScheduler") ScheduledExecutorService upstreamScheduler,
+                                     @Qualifier("upstreamExecutor") ExecutorService upstreamExecutor,
+                                     MeterRegistry meterRegistry) {
+        return new LiveOfferHub(pricingClient, availabilityClient, properties,
+                upstreamScheduler, upstreamExecutor, meterRegistry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Live price and stock updates over {@code /product-info/live}.
+ *
+ * @param pollInterval      how often every subscribed product is looked up again (through the caches)
+ * @param timeout           a subscription is closed after this long; clients reconnect
+ * @param heartbeatInterval an idle stream gets a comment this often, so a client that went away
+ *                          is noticed (and its subscriptions dropped) without waiting for a change
+ * @param maxConnections    open streams at most; more are refused
+ * @param maxProducts       products watched at most, over all streams; a subscription that would
+ *                          add more is refused
+ */
+@ConfigurationProperties("product-info.live")
+public record LiveUpdatesProperties(
+        @DefaultValue("2s") Duration pollInterval,
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("15s") Duration heartbeatInterval,
+        @DefaultValue("10000") int maxConnections,
+        @DefaultValue("50000") int maxProducts
+) {}
@@ -0,0 +1,99 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Latency and failure model for the mock upstreams, per service and optionally per market.
+ * <p>
+ * A market entry overrides only the fields it sets; everything else comes from the service
+ * profile. {@code seed} makes every (service, market) sample stream reproducible; without it
+ * a random seed is picked at startup.
+ */
+@ConfigurationProperties("mock.upstreams")
+public record MockUpstreamProperties(
+        Long seed,
+        Map<String, Profile> services
+) {
+
+    public MockUpstreamProperties {
+        services = (services == null) ? Map.of() : Map.copyOf(services);
+    }
+
+    public enum Distribution {
+        CONSTANT,
+        NORMAL,
+        LOG_NORMAL,
+        PARETO
+    }
+
+    /**
+     * @param reliability   probability a call succeeds outside brownouts and failure windows
+     * @param brownout      periodic slow-down window
+     * @param failureWindow bursts of correlated failures
+     * @param markets       per-market overrides of this profile
+     */
+    public record Profile(
+            Latency latency,
+            Double reliability,
+            Brownout brownout,
+            FailureWindow failureWindow,
+            Map<String, Profile> markets
+    ) {
+        public Profile {
+            markets = (markets == null) ? Map.of() : Map.copyOf(markets);
+        }
+
+        /**
+         * This profile with every field set in {@code override} replaced.
+         */
+        public Profile with(Profile override) {
+            if (override == null) return this;
+            return new Profile(
+                    override.latency != null ? override.latency : latency,
+                    override.reliability != null ? override.reliability : reliability,
+                    override.brownout != null ? override.brownout : brownout,
+                    override.failureWindow != null ? override.failureWindow : failureWindow,
+                    markets);
+        }
+    }
+
+    /**
+     * @param base   CONSTANT: the latency; NORMAL: the mean; LOG_NORMAL: the median; PARETO: the minimum (scale)
+     * @param stddev NORMAL only
+     * @param sigma  LOG_NORMAL only, shape of the underlying normal
+     * @param alpha  PARETO only, tail index (lower = heavier tail)
+     * @param max    optional cap applied to every sample
+     */
+    public record Latency(
+            Distribution distribution,
+            Duration base,
+            Duration stddev,
+            Double sigma,
+            Double alpha,
+            Duration max
+    ) {}
+
+    /**
+     * Every {@code period}, for {@code duration}, latency is multiplied by {@code latencyMultiplier}
+     * and reliability drops to {@code reliability} (when lower than the normal one).
+     */
+    public record Brownout(
+            Duration period,
+            Duration duration,
+            Double latencyMultiplier,
+            Double reliability
+    ) {}
+
+    /**
+     * Each call outside a window opens one with probability {@code triggerRate}; while open,
+     * calls succeed with probability {@code reliability}.
+     */
+    public record FailureWindow(
+            Double triggerRate,
+            Duration duration,
+            Double reliability
+    ) {}
+}
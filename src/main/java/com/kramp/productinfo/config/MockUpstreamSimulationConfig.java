@@ -0,0 +1,26 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.infrastructure.mock.simulation.UpstreamSimulationEndpoint;
+import com.kramp.productinfo.infrastructure.mock.simulation.UpstreamSimulator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Latency/failure engine shared by the in-process mock clients and the stand-in server,
+ * plus its actuator endpoint.
+ */
+@Configuration
+@EnableConfigurationProperties(MockUpstreamProperties.class)
+public class MockUpstreamSimulationConfig {
+
+    @Bean
+    public UpstreamSimulator upstreamSimulator(MockUpstreamProperties properties) {
+        return new UpstreamSimulator(properties);
+    }
+
+    @Bean
+    public UpstreamSimulationEndpoint upstreamSimulationEndpoint(UpstreamSimulator simulator) {
+        return new UpstreamSimulationEndpoint(simulator);
+    }
+}
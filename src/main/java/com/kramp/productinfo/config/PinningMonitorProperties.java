@@ -0,0 +1,21 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * In-process streaming of JFR virtual-thread pinning events, see {@code /actuator/pinning}.
+ *
+ * @param threshold   pinned parks shorter than this are not reported (the JDK default is 20ms)
+ * @param maxSites    distinct pinning sites tracked; further sites are counted under {@code <other>}
+ * @param stackDepth  frames kept as the sample stack of a site
+ */
+@ConfigurationProperties("product-info.virtual-threads.pinning")
+public record PinningMonitorProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20ms") Duration threshold,
+        @DefaultValue("500") int maxSites,
+        @DefaultValue("12") int stackDepth
+) {}
@@ -0,0 +1,55 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.controller.RateLimitFilter;
+import com.kramp.productinfo.domain.ports.CustomerClient;
+import com.kramp.productinfo.domain.ports.MarketDirectory;
+import com.kramp.productinfo.infrastructure.ratelimit.StripedTokenBuckets;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Per-customer and per-client-IP rate limiting of the product-info endpoints.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "product-info.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public StripedTokenBuckets rateLimitBuckets(RateLimitProperties properties) {
+        return new StripedTokenBuckets(properties.stripes(), properties.idleAfter(), System::nanoTime);
+    }
+
+    /**
+     * The filter writes its 429 through Spring MVC's message converters, so in the negotiated
+     * format; the handler adapter holding them is looked up on first use, as filters are
+     * created before the MVC infrastructure.
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public RateLimitFilter rateLimitFilter(RateLimitProperties properties,
+                                           StripedTokenBuckets buckets,
+                                           CustomerClient customerClient,
+                                           MarketDirectory marketDirectory,
+                                           ObjectProvider<RequestMappingHandlerAdapter> requestMappingHandlerAdapter,
+                                           @Qualifier("upstreamScheduler") ScheduledExecutorService upstreamScheduler,
+                                           MeterRegistry meterRegistry) {
+        return new RateLimitFilter(properties, buckets, customerClient, marketDirectory,
+                requestMappingHandlerAdapter, upstreamScheduler, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/product-info", "/product-info/*");
+        return registration;
+    }
+}
@@ -0,0 +1,37 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Request rate limits on {@code /product-info}, per {@code customerId} or, for anonymous
+ * requests and unknown customers, per client IP.
+ *
+ * @param stripes    bucket map stripes, rounded up to a power of two; one is swept per tick
+ * @param idleAfter  buckets idle this long are evicted; every stripe is swept once per period
+ * @param anonymous  limit per client IP
+ * @param segments   limit per customer segment; segments without an entry get {@code anonymous}
+ */
+@ConfigurationProperties("product-info.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("64") int stripes,
+        @DefaultValue("5m") Duration idleAfter,
+        Limit anonymous,
+        Map<String, Limit> segments
+) {
+
+    public RateLimitProperties {
+        anonymous = (anonymous == null) ? new Limit(20, 50) : anonymous;
+        segments = (segments == null) ? Map.of() : Map.copyOf(segments);
+    }
+
+    /**
+     * @param requestsPerSecond sustained rate
+     * @param burst             requests admitted at once after being idle
+     */
+    public record Limit(double requestsPerSecond, int burst) {}
+}
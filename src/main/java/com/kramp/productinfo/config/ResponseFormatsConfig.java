@@ -0,0 +1,40 @@
+package com.kramp.productinfo.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.kramp.productinfo.controller.protobuf.ProductInfoProtobufConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary response formats, chosen by {@code Accept}: CBOR ({@code application/cbor}) for every
+ * response, Protobuf ({@code application/x-protobuf}) for {@code AggregatedProduct} and
+ * {@code ErrorResponse}. Appended after the JSON converter, so {@code Accept: *}{@code /*} and
+ * clients without an {@code Accept} header still get JSON.
+ */
+@Configuration
+public class ResponseFormatsConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    public ResponseFormatsConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Spring MVC already registers a CBOR converter when Jackson's CBOR module is present, but
+     * with a mapper of its own. It is replaced by one on a copy of the application's mapper, so
+     * CBOR shares its modules and settings, {@link JacksonConfig}'s serializer and
+     * {@code omit-empty} included.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        converters.add(new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory())));
+        converters.add(new ProductInfoProtobufConverter());
+    }
+}
@@ -0,0 +1,14 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Response serialization settings.
+ *
+ * @param omitEmpty drop null fields and empty maps/lists from {@code AggregatedProduct} responses
+ */
+@ConfigurationProperties("product-info.serialization")
+public record ResponseSerializationProperties(
+        @DefaultValue("false") boolean omitEmpty
+) {}
@@ -0,0 +1,53 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.domain.ports.CatalogListing;
+import com.kramp.productinfo.domain.ports.MarketDirectory;
+import com.kramp.productinfo.domain.ports.OfferListing;
+import com.kramp.productinfo.infrastructure.search.CatalogIndexRebuilder;
+import com.kramp.productinfo.infrastructure.search.FacetIndex;
+import com.kramp.productinfo.infrastructure.search.InvertedProductIndex;
+import com.kramp.productinfo.infrastructure.search.MarketCatalogIndex;
+import com.kramp.productinfo.infrastructure.search.PriceIndex;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * In-memory catalog search, facet and price indexes; kept current by the upstream lookups, see
+ * {@link com.kramp.productinfo.infrastructure.cache.CachingCatalogClient}.
+ */
+@Configuration
+@EnableConfigurationProperties(SearchProperties.class)
+public class SearchConfig {
+
+    @Bean
+    public InvertedProductIndex productSearchIndex() {
+        return new InvertedProductIndex();
+    }
+
+    @Bean
+    public FacetIndex productFacetIndex() {
+        return new FacetIndex();
+    }
+
+    @Bean
+    public PriceIndex productPriceIndex(ObjectProvider<OfferListing> offerListing, ExecutorService upstreamExecutor) {
+        return new PriceIndex(offerListing.getIfAvailable(), upstreamExecutor);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public CatalogIndexRebuilder catalogIndexRebuilder(SearchProperties properties,
+                                                       ObjectProvider<CatalogListing> catalogListing,
+                                                       MarketDirectory marketDirectory,
+                                                       List<MarketCatalogIndex> indexes,
+                                                       @Qualifier("upstreamScheduler") ScheduledExecutorService upstreamScheduler) {
+        return new CatalogIndexRebuilder(catalogListing.getIfAvailable(), marketDirectory, indexes, upstreamScheduler,
+                properties.rebuildInterval());
+    }
+}
@@ -0,0 +1,18 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Catalog search, facets and price ranges over {@code /product-info/search}, {@code /product-info/facets}
+ * and {@code /product-info/price-range}.
+ *
+ * @param rebuildInterval every market's indexes are rebuilt in full from the catalog (and offer) listings
+ *                        this often; in between they follow the upstream lookups
+ */
+@ConfigurationProperties("product-info.search")
+public record SearchProperties(
+        @DefaultValue("10m") Duration rebuildInterval
+) {}
@@ -0,0 +1,46 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.infrastructure.cache.NearCacheFactory;
+import com.kramp.productinfo.infrastructure.cache.SharedCacheFactory;
+import com.kramp.productinfo.infrastructure.cache.UpstreamCacheFactory;
+import com.kramp.productinfo.infrastructure.cache.resp.RespStandInServer;
+import com.kramp.productinfo.infrastructure.codec.UpstreamCodecs;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Upstream response caches: near-only by default, or backed by a shared Redis-protocol tier with
+ * {@code product-info.cache.tier=shared}. {@code product-info.cache.shared.embedded-server=true}
+ * runs the stand-in RESP server in-process, to try the shared tier without a Redis.
+ */
+@Configuration
+@EnableConfigurationProperties(UpstreamCacheProperties.class)
+public class UpstreamCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "product-info.cache.tier", havingValue = "near", matchIfMissing = true)
+    public UpstreamCacheFactory nearCacheFactory(UpstreamCacheProperties properties, MeterRegistry meterRegistry) {
+        return new NearCacheFactory(properties.maxEntries(), meterRegistry);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "product-info.cache.tier", havingValue = "shared")
+    public SharedCacheFactory sharedCacheFactory(UpstreamCacheProperties properties,
+                                                 UpstreamCodecs codecs,
+                                                 ObjectProvider<RespStandInServer> standInServer,
+                                                 MeterRegistry meterRegistry) {
+        // the stand-in, when configured, has to listen before the tier subscribes to it
+        standInServer.getIfAvailable();
+        return new SharedCacheFactory(properties, codecs, meterRegistry);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = "product-info.cache.shared.embedded-server", havingValue = "true")
+    public RespStandInServer respStandInServer(UpstreamCacheProperties properties) {
+        return new RespStandInServer(properties.shared().port());
+    }
+}
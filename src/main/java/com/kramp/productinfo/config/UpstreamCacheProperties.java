@@ -0,0 +1,49 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Short-lived caches of successful upstream responses, in front of the resilient clients.
+ *
+ * @param maxEntries per cache; entries closest to expiry are evicted beyond it
+ * @param tier       {@code near} caches in this instance only; {@code shared} backs the near
+ *                   cache with a Redis-protocol server shared by all instances
+ */
+@ConfigurationProperties("product-info.cache")
+public record UpstreamCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("50000") int maxEntries,
+        @DefaultValue("5m") Duration catalogTtl,
+        @DefaultValue("30s") Duration pricingTtl,
+        @DefaultValue("10s") Duration availabilityTtl,
+        @DefaultValue("5m") Duration customerTtl,
+        @DefaultValue("near") Tier tier,
+        @DefaultValue Shared shared
+) {
+
+    public enum Tier {
+        NEAR,
+        SHARED
+    }
+
+    /**
+     * Remote tier of {@code tier: shared}.
+     *
+     * @param timeout        connect and reply timeout; a slower remote tier counts as a miss
+     * @param keyPrefix      prepended to {@code <cache>:<key>}
+     * @param channel        pub/sub channel of the invalidation broadcasts
+     * @param embeddedServer start the stand-in RESP server on {@code port}, for local runs and tests
+     */
+    public record Shared(
+            @DefaultValue("localhost") String host,
+            @DefaultValue("6379") int port,
+            @DefaultValue("100ms") Duration timeout,
+            @DefaultValue("16") int poolSize,
+            @DefaultValue("product-info:") String keyPrefix,
+            @DefaultValue("product-info:cache-invalidations") String channel,
+            @DefaultValue("false") boolean embeddedServer
+    ) {}
+}
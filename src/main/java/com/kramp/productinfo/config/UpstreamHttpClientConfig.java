@@ -0,0 +1,48 @@
+package com.kramp.productinfo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Shared, pooled HTTP client for all upstream adapters.
+ * <p>
+ * One client means one connection pool: HTTP/2 connections are multiplexed across
+ * upstream calls, HTTP/1.1 connections are kept alive and reused. The JDK client only
+ * exposes pool size, keep-alive and stream limits as system properties, read once when its
+ * classes are initialized: setting them here could come after some other {@code HttpClient}
+ * and be silently ignored. They must be given as JVM {@code -D} flags; the values in effect
+ * are logged at startup.
+ */
+@Configuration
+@Profile("http")
+@EnableConfigurationProperties(UpstreamHttpProperties.class)
+public class UpstreamHttpClientConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamHttpClientConfig.class);
+
+    private static final List<String> POOL_FLAGS = List.of("jdk.httpclient.connectionPoolSize",
+            "jdk.httpclient.keepalive.timeout", "jdk.httpclient.keepalive.timeout.h2", "jdk.httpclient.maxstreams");
+
+    @Bean(destroyMethod = "close")
+    public HttpClient upstreamHttpClient(UpstreamHttpProperties properties, ExecutorService upstreamExecutor) {
+        log.info("Upstream HTTP client pool: {}", POOL_FLAGS.stream()
+                .map(flag -> flag + "=" + System.getProperty(flag, "JDK default"))
+                .collect(Collectors.joining(", ")));
+
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(upstreamExecutor)
+                .build();
+    }
+}
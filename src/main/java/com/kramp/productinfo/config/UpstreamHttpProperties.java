@@ -0,0 +1,47 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.infrastructure.codec.UpstreamCodec;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings for the HTTP upstream adapters (profile {@code http}).
+ * <p>
+ * Pool-level settings apply to the single shared {@link java.net.http.HttpClient}; its pool
+ * size, keep-alive and stream limit are JVM flags instead, see {@link UpstreamHttpClientConfig}.
+ * {@code services} holds the per-upstream base URL and concurrency limit, keyed by
+ * service name (catalog, pricing, availability, customer). {@code codecs} is the
+ * encoding preference sent in {@code Accept}; upstreams that only speak JSON still work.
+ */
+@ConfigurationProperties("upstream.http")
+public record UpstreamHttpProperties(
+        @DefaultValue("200ms") Duration connectTimeout,
+        @DefaultValue("2s") Duration requestTimeout,
+        @DefaultValue({"SMILE", "CBOR", "JSON"}) List<UpstreamCodec> codecs,
+        @DefaultValue("true") boolean gzip,
+        Map<String, Service> services
+) {
+
+    public UpstreamHttpProperties {
+        codecs = (codecs == null || codecs.isEmpty()) ? List.of(UpstreamCodec.JSON) : List.copyOf(codecs);
+        services = (services == null) ? Map.of() : Map.copyOf(services);
+    }
+
+    public Service service(String name) {
+        Service service = services.get(name);
+        if (service == null || service.baseUrl() == null) {
+            throw new IllegalStateException("No base-url configured for upstream.http.services." + name);
+        }
+        return service;
+    }
+
+    public record Service(
+            URI baseUrl,
+            @DefaultValue("64") int maxConcurrentRequests
+    ) {}
+}
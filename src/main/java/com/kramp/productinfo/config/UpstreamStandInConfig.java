@@ -0,0 +1,29 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.infrastructure.codec.UpstreamCodecs;
+import com.kramp.productinfo.infrastructure.mock.MockUpstreamData;
+import com.kramp.productinfo.infrastructure.mock.simulation.UpstreamSimulator;
+import com.kramp.productinfo.infrastructure.standin.StandInUpstreamServer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Starts the stand-in upstream server next to the application.
+ * Combine with the {@code http} profile to exercise the real HTTP adapters locally:
+ * {@code --spring.profiles.active=http,standin}.
+ */
+@Configuration
+@Profile("standin")
+@EnableConfigurationProperties(UpstreamStandInProperties.class)
+public class UpstreamStandInConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public StandInUpstreamServer standInUpstreamServer(MockUpstreamData data,
+                                                       UpstreamCodecs codecs,
+                                                       UpstreamSimulator simulator,
+                                                       UpstreamStandInProperties properties) {
+        return new StandInUpstreamServer(data, codecs, simulator, properties);
+    }
+}
@@ -0,0 +1,17 @@
+package com.kramp.productinfo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the local stand-in upstream server (profile {@code standin}).
+ * <p>
+ * Responses of at least {@code compression-min-bytes} are gzipped for clients that accept it.
+ * Latency and failures are configured under {@code mock.upstreams}, see {@link MockUpstreamProperties}.
+ */
+@ConfigurationProperties("upstream.standin")
+public record UpstreamStandInProperties(
+        @DefaultValue("9090") int port,
+        @DefaultValue("256") int compressionMinBytes
+) {
+}
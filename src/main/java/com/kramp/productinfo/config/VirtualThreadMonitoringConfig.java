@@ -0,0 +1,25 @@
+package com.kramp.productinfo.config;
+
+import com.kramp.productinfo.infrastructure.virtualthreads.PinningEndpoint;
+import com.kramp.productinfo.infrastructure.virtualthreads.VirtualThreadPinningMonitor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Virtual-thread pinning and scheduler saturation monitoring.
+ */
+@Configuration
+@EnableConfigurationProperties(PinningMonitorProperties.class)
+public class VirtualThreadMonitoringConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(PinningMonitorProperties properties) {
+        return new VirtualThreadPinningMonitor(properties);
+    }
+
+    @Bean
+    public PinningEndpoint pinningEndpoint(VirtualThreadPinningMonitor monitor) {
+        return new PinningEndpoint(monitor);
+    }
+}
@@ -0,0 +1,44 @@
+package com.kramp.productinfo.controller;
+
+import com.kramp.productinfo.application.ChangeFeedService;
+import com.kramp.productinfo.domain.model.ChangeFeed;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/product-info")
+@Validated
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    /**
+     * Example:
+     * GET /product-info/changes?market=de-DE&since=k3x9q2mf0d1a:123&limit=1000
+     * <p>
+     * The productIds changed after the {@code since} cursor with the fields that changed, and
+     * the cursor to continue from ({@code next}). Covers at most {@code limit} changes per call;
+     * {@code hasMore} tells there are more. Cursors are opaque; one this instance cannot serve
+     * answers {@code resyncRequired}, and the client must re-fetch everything before continuing
+     * from {@code next}.
+     */
+    @GetMapping("/changes")
+    public ChangeFeed changes(
+            @RequestParam @NotBlank String market,
+            @RequestParam(required = false) @Pattern(regexp = "[0-9a-z]+:\\d{1,18}") String since,
+            @RequestParam(defaultValue = "1000") @Min(1) @Max(10_000) int limit
+    ) {
+        return changeFeedService.changesSince(market, since, limit);
+    }
+}
@@ -1,5 +1,6 @@
 package com.kramp.productinfo.controller;
 
+import com.kramp.productinfo.domain.ports.MarketDirectory;
 import com.kramp.productinfo.domain.ports.exception.MarketNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
@@ -13,6 +14,12 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 @RestControllerAdvice
 public class GlobalValidationAdvice {
 
+    private final MarketDirectory marketDirectory;
+
+    public GlobalValidationAdvice(MarketDirectory marketDirectory) {
+        this.marketDirectory = marketDirectory;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleBodyValidation(MethodArgumentNotValidException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -41,6 +48,7 @@ public class GlobalValidationAdvice {
     public ResponseEntity<ErrorResponse> handleMarketNotFound(MarketNotFoundException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(ErrorResponse.of("MARKET_NOT_FOUND",
-                        "Market '" + ex.getMarket() + "' is not supported. Supported markets: de-DE, nl-NL, pl-PL"));
+                        "Market '" + ex.getMarket() + "' is not supported. Supported markets: "
+                                + String.join(", ", marketDirectory.knownMarkets())));
     }
 }
@@ -0,0 +1,77 @@
+package com.kramp.productinfo.controller;
+
+import com.kramp.productinfo.application.LiveOfferService;
+import com.kramp.productinfo.config.LiveUpdatesProperties;
+import com.kramp.productinfo.domain.model.OfferUpdate;
+import com.kramp.productinfo.domain.ports.OfferSubscriptions.Sink;
+import com.kramp.productinfo.domain.ports.OfferSubscriptions.Subscription;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+@RestController
+@RequestMapping("/product-info")
+@Validated
+public class LiveOfferController {
+
+    private final LiveOfferService liveOfferService;
+    private final LiveUpdatesProperties properties;
+
+    public LiveOfferController(LiveOfferService liveOfferService, LiveUpdatesProperties properties) {
+        this.liveOfferService = liveOfferService;
+        this.properties = properties;
+    }
+
+    /**
+     * Example:
+     * GET /product-info/live?market=nl-NL&productIds=ABC123,PUMP456&customerId=789
+     * <p>
+     * Server-Sent Events: an {@code availability} event with the {@code AvailabilityInfo} and a
+     * {@code pricing} event with the {@code PricingInfo} of every product, first with the values
+     * already known, then each time one changes. A client too slow to keep up skips intermediate
+     * values, never the latest. An idle stream gets a {@code :heartbeat} comment every
+     * {@code product-info.live.heartbeat-interval}. The stream ends after
+     * {@code product-info.live.timeout}, and on shutdown.
+     */
+    @GetMapping(path = "/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter live(
+            @RequestParam @NotBlank String market,
+            @RequestParam @Size(min = 1, max = 100) List<@NotBlank String> productIds,
+            @RequestParam(required = false) String customerId
+    ) {
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        Subscription subscription = liveOfferService.subscribe(market, new LinkedHashSet<>(productIds), customerId,
+                new Sink() {
+                    @Override
+                    public void send(OfferUpdate update) throws IOException {
+                        emitter.send(SseEmitter.event()
+                                .name(update instanceof OfferUpdate.Pricing ? "pricing" : "availability")
+                                .data(update, MediaType.APPLICATION_JSON));
+                    }
+
+                    @Override
+                    public void heartbeat() throws IOException {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+
+                    @Override
+                    public void close() {
+                        emitter.complete();
+                    }
+                });
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscription.cancel());
+        emitter.onCompletion(subscription::cancel);
+        return emitter;
+    }
+}
@@ -1,13 +1,29 @@
 package com.kramp.productinfo.controller;
 
+import com.kramp.productinfo.application.CrossMarketAggregationService;
 import com.kramp.productinfo.application.ProductAggregationService;
+import com.kramp.productinfo.config.AggregationProperties;
 import com.kramp.productinfo.domain.model.AggregatedProduct;
+import com.kramp.productinfo.domain.model.CrossMarketProduct;
+import com.kramp.productinfo.infrastructure.admission.PriorityAdmission;
+import com.kramp.productinfo.infrastructure.admission.RequestPriority;
+import com.kramp.productinfo.infrastructure.admission.RequestPriorityClassifier;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/product-info")
@@ -15,21 +31,84 @@ import org.springframework.web.bind.annotation.RestController;
 public class ProductInfoController {
 
     private final ProductAggregationService aggregationService;
+    private final CrossMarketAggregationService crossMarketService;
+    private final PriorityAdmission admission;
+    private final RequestPriorityClassifier classifier;
+    private final Duration deadline;
 
-    public ProductInfoController(ProductAggregationService aggregationService) {
+    public ProductInfoController(ProductAggregationService aggregationService,
+                                 CrossMarketAggregationService crossMarketService,
+                                 PriorityAdmission admission,
+                                 RequestPriorityClassifier classifier,
+                                 AggregationProperties aggregationProperties) {
         this.aggregationService = aggregationService;
+        this.crossMarketService = crossMarketService;
+        this.admission = admission;
+        this.classifier = classifier;
+        this.deadline = aggregationProperties.deadline();
     }
 
     /**
      * Example:
      * GET /product-info?productId=ABC123&market=pl-PL&customerId=789
+     * <p>
+     * Answered asynchronously: the request thread is released while the aggregation runs. The
+     * aggregation is timed out at the deadline, and cancelled when the client goes away; the
+     * servlet async timeout, checked only about once a second by the container, is a backstop.
+     * Under overload the aggregation waits for admission by {@link RequestPriority}; the deadline
+     * includes that wait. Timeouts and shed requests are answered by
+     * {@link ProductInfoControllerAdvice}.
      */
     @GetMapping
-    public AggregatedProduct getProductInfo(
+    public DeferredResult<AggregatedProduct> getProductInfo(
             @RequestParam @NotBlank String productId,
             @RequestParam @NotBlank String market,
-            @RequestParam(required = false) String customerId
+            @RequestParam(required = false) String customerId,
+            @RequestHeader(name = RequestPriorityClassifier.HEADER, required = false) String requestedPriority
+    ) {
+        RequestPriority priority = classifier.classify(customerId, market, requestedPriority);
+        return withinDeadline(admission.submit(priority,
+                () -> aggregationService.aggregateAsync(productId, market, customerId)));
+    }
+
+    /**
+     * Example:
+     * GET /product-info/cross-market?productId=ABC123&markets=de-DE,nl-NL&customerId=789
+     * GET /product-info/cross-market?productId=ABC123&markets=all
+     * <p>
+     * Always 200 once admitted and within the deadline; failing markets are listed under
+     * {@code errors}. A fan-out over markets is admitted one priority below a single-market
+     * request of the same customer. Like {@link #getProductInfo}, the deadline covers admission
+     * and the whole fan-out: past it, or when the client goes away, every market still in
+     * flight is cancelled.
+     */
+    @GetMapping("/cross-market")
+    public DeferredResult<CrossMarketProduct> getCrossMarketProductInfo(
+            @RequestParam @NotBlank String productId,
+            @RequestParam @NotEmpty @Size(max = 32) List<String> markets,
+            @RequestParam(required = false) String customerId,
+            @RequestHeader(name = RequestPriorityClassifier.HEADER, required = false) String requestedPriority
     ) {
-        return aggregationService.aggregate(productId, market, customerId);
+        RequestPriority priority = classifier.classify(customerId, crossMarketService.firstMarket(markets), requestedPriority).lower();
+        return withinDeadline(admission.submit(priority,
+                () -> crossMarketService.aggregateAsync(productId, markets, customerId)));
+    }
+
+    /**
+     * Answers with the aggregation, timed out at the deadline and cancelled when the response
+     * completes first (client gone, servlet async timeout).
+     */
+    private <T> DeferredResult<T> withinDeadline(CompletableFuture<T> admitted) {
+        CompletableFuture<T> aggregation = admitted.orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        DeferredResult<T> response = new DeferredResult<>(deadline.toMillis());
+        response.onCompletion(() -> aggregation.cancel(true));
+        aggregation.whenComplete((value, ex) -> {
+            if (ex == null) {
+                response.setResult(value);
+            } else if (!(ex instanceof CancellationException)) {
+                response.setErrorResult(ex);
+            }
+        });
+        return response;
     }
 }
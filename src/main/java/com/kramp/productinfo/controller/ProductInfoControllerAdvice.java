@@ -1,12 +1,19 @@
 package com.kramp.productinfo.controller;
 
+import com.kramp.productinfo.domain.ports.exception.SubscriptionLimitException;
 import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
+import com.kramp.productinfo.infrastructure.admission.AdmissionRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
-@RestControllerAdvice(assignableTypes = ProductInfoController.class)
+import java.util.concurrent.TimeoutException;
+
+@RestControllerAdvice(assignableTypes = {ProductInfoController.class, ProductSearchController.class,
+        ChangeFeedController.class, LiveOfferController.class})
 public class ProductInfoControllerAdvice {
 
     @ExceptionHandler(UpstreamFailureException.class)
@@ -26,4 +33,33 @@ public class ProductInfoControllerAdvice {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ErrorResponse.of("INTERNAL_ERROR", ex.getMessage()));
     }
+
+    /**
+     * The aggregation ran past {@code product-info.aggregation.deadline}; it has been cancelled.
+     */
+    @ExceptionHandler({TimeoutException.class, AsyncRequestTimeoutException.class})
+    public ResponseEntity<ErrorResponse> handleAggregationTimeout(Exception ex) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(ErrorResponse.of("AGGREGATION_TIMEOUT", "No answer within the aggregation deadline"));
+    }
+
+    /**
+     * Shed under overload by the priority admission; worth retrying shortly.
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleAdmissionRejected(AdmissionRejectedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ErrorResponse.of("OVERLOADED", ex.getMessage()));
+    }
+
+    /**
+     * The live streams are at {@code product-info.live.max-connections} or
+     * {@code max-products}, or shutting down.
+     */
+    @ExceptionHandler(SubscriptionLimitException.class)
+    public ResponseEntity<ErrorResponse> handleSubscriptionLimit(SubscriptionLimitException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ErrorResponse.of("LIVE_CAPACITY_EXHAUSTED", ex.getMessage()));
+    }
 }
@@ -0,0 +1,134 @@
+package com.kramp.productinfo.controller;
+
+import com.kramp.productinfo.application.ProductSearchService;
+import com.kramp.productinfo.config.AggregationProperties;
+import com.kramp.productinfo.domain.model.FacetCounts;
+import com.kramp.productinfo.domain.model.PriceRangePage;
+import com.kramp.productinfo.domain.model.PriceRangeQuery;
+import com.kramp.productinfo.domain.model.ProductSearchResult;
+import com.kramp.productinfo.infrastructure.admission.PriorityAdmission;
+import com.kramp.productinfo.infrastructure.admission.RequestPriorityClassifier;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/product-info")
+@Validated
+public class ProductSearchController {
+
+    private final ProductSearchService searchService;
+    private final PriorityAdmission admission;
+    private final RequestPriorityClassifier classifier;
+    private final Duration deadline;
+
+    public ProductSearchController(ProductSearchService searchService,
+                                   PriorityAdmission admission,
+                                   RequestPriorityClassifier classifier,
+                                   AggregationProperties aggregationProperties) {
+        this.searchService = searchService;
+        this.admission = admission;
+        this.classifier = classifier;
+        this.deadline = aggregationProperties.deadline();
+    }
+
+    /**
+     * Example:
+     * GET /product-info/search?market=de-DE&q=ölfilter&spec=filterType=Spin-on&limit=20&aggregate=3&customerId=789
+     * <p>
+     * Every word of {@code q} and every {@code spec} filter must match. Answers the matching
+     * productIds, best first; the first {@code aggregate} of them also come fully aggregated.
+     * Searches that aggregate are admitted like a cross-market request, one priority below a
+     * single product, and bound by the aggregation deadline, admission wait included: past it,
+     * the aggregations are cancelled and the search answers 504.
+     */
+    @GetMapping("/search")
+    public CompletableFuture<ProductSearchResult> search(
+            @RequestParam @NotBlank String market,
+            @RequestParam(required = false) String q,
+            @RequestParam(name = "spec", required = false) List<@Pattern(regexp = "[^=]+=.+") String> specs,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(200) int limit,
+            @RequestParam(defaultValue = "0") @Min(0) @Max(10) int aggregate,
+            @RequestParam(required = false) String customerId,
+            @RequestHeader(name = RequestPriorityClassifier.HEADER, required = false) String requestedPriority
+    ) {
+        Map<String, String> filters = new LinkedHashMap<>();
+        if (specs != null) {
+            for (String spec : specs) {
+                int eq = spec.indexOf('=');
+                filters.put(spec.substring(0, eq), spec.substring(eq + 1));
+            }
+        }
+        if (aggregate == 0) {
+            return searchService.search(market, q, filters, limit, 0, customerId);
+        }
+        return admission.submit(classifier.classify(customerId, market, requestedPriority).lower(),
+                        () -> searchService.search(market, q, filters, limit, aggregate, customerId))
+                .orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Example:
+     * GET /product-info/facets?market=de-DE&spec=material=steel&spec=material=brass&facet=size&values=20
+     * <p>
+     * Counts, per spec key ({@code facet}, default every key), the products per value among
+     * those matching the {@code spec} filters. Filters on the same key match any of their values.
+     */
+    @GetMapping("/facets")
+    public FacetCounts facets(
+            @RequestParam @NotBlank String market,
+            @RequestParam(name = "spec", required = false) List<@Pattern(regexp = "[^=]+=.+") String> specs,
+            @RequestParam(name = "facet", required = false) Set<String> keys,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(500) int values
+    ) {
+        Map<String, Set<String>> filters = new LinkedHashMap<>();
+        if (specs != null) {
+            for (String spec : specs) {
+                int eq = spec.indexOf('=');
+                filters.computeIfAbsent(spec.substring(0, eq), key -> new LinkedHashSet<>()).add(spec.substring(eq + 1));
+            }
+        }
+        return searchService.facets(market, filters, keys == null ? Set.of() : keys, values);
+    }
+
+    /**
+     * Example:
+     * GET /product-info/price-range?market=de-DE&customerId=789&minPrice=10&maxPrice=50&inStock=true&order=desc&offset=0&limit=20
+     * <p>
+     * The market's products whose final price for the customer's segment lies within
+     * {@code [minPrice, maxPrice]}, sorted by that price ({@code order=asc} by default), one page
+     * at a time. With {@code inStock=true} only products with stock are listed.
+     */
+    @GetMapping("/price-range")
+    public PriceRangePage priceRange(
+            @RequestParam @NotBlank String market,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) @DecimalMin("0") BigDecimal minPrice,
+            @RequestParam(required = false) @DecimalMin("0") BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(defaultValue = "asc") @Pattern(regexp = "asc|desc") String order,
+            @RequestParam(defaultValue = "0") @Min(0) @Max(100_000) int offset,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(200) int limit
+    ) {
+        return searchService.priceRange(market, customerId,
+                new PriceRangeQuery(minPrice, maxPrice, inStock, order.equals("desc"), offset, limit));
+    }
+}
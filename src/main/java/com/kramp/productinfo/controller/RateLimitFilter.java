@@ -0,0 +1,231 @@
+package com.kramp.productinfo.controller;
+
+import com.kramp.productinfo.application.CrossMarketAggregationService;
+import com.kramp.productinfo.config.RateLimitProperties;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.ports.CustomerClient;
+import com.kramp.productinfo.domain.ports.MarketDirectory;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.infrastructure.ratelimit.StripedTokenBuckets;
+import com.kramp.productinfo.infrastructure.ratelimit.StripedTokenBuckets.Decision;
+import com.kramp.productinfo.infrastructure.ratelimit.StripedTokenBuckets.Limit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limits product-info requests with {@link StripedTokenBuckets}.
+ * <p>
+ * Requests with a {@code customerId} draw from that customer's bucket, sized by the customer's
+ * segment. The segment is looked up once, when the bucket is created, through the (cached)
+ * customer client. That lookup is paid for with a token of the client IP's bucket first, so
+ * made-up ids cannot cause lookups faster than the anonymous limit allows. Anonymous requests
+ * and customers that cannot be looked up draw from the bucket per client IP, so unknown ids do
+ * not open fresh buckets.
+ * <p>
+ * The client IP is {@link HttpServletRequest#getRemoteAddr()}. Behind a load balancer that is
+ * the balancer's address, unless the container resolves {@code X-Forwarded-For}; the
+ * application sets {@code server.forward-headers-strategy: native}, which trusts that header from
+ * internal proxy addresses only.
+ * <p>
+ * Every answer carries {@code RateLimit-Limit}, {@code RateLimit-Remaining} and
+ * {@code RateLimit-Reset}; rejected requests get 429 with {@code Retry-After} and count as
+ * {@code rate.limit.throttled{tier}}. The 429's {@link ErrorResponse} is written in the format
+ * {@code Accept} asks for, through Spring MVC's message converters, as the controllers' errors are.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String ANONYMOUS = "ANONYMOUS";
+
+    private final StripedTokenBuckets buckets;
+    private final CustomerClient customers;
+    private final MarketDirectory markets;
+    private final ObjectProvider<RequestMappingHandlerAdapter> mvc;
+    private final ScheduledExecutorService scheduler;
+    private final MeterRegistry registry;
+    private final Limit anonymous;
+    private final Map<String, Limit> segments = new HashMap<>();
+    private final Map<String, Counter> throttled = new ConcurrentHashMap<>();
+    private final long sweepIntervalMillis;
+
+    private ScheduledFuture<?> sweep;
+
+    public RateLimitFilter(RateLimitProperties properties,
+                           StripedTokenBuckets buckets,
+                           CustomerClient customers,
+                           MarketDirectory markets,
+                           ObjectProvider<RequestMappingHandlerAdapter> mvc,
+                           ScheduledExecutorService scheduler,
+                           MeterRegistry registry) {
+        this.buckets = buckets;
+        this.customers = customers;
+        this.markets = markets;
+        this.mvc = mvc;
+        this.scheduler = scheduler;
+        this.registry = registry;
+        RateLimitProperties.Limit anon = properties.anonymous();
+        this.anonymous = new Limit(ANONYMOUS, anon.requestsPerSecond(), anon.burst());
+        properties.segments().forEach((segment, limit) ->
+                segments.put(segment, new Limit(segment, limit.requestsPerSecond(), limit.burst())));
+        this.sweepIntervalMillis = Math.max(100, properties.idleAfter().toMillis() / buckets.stripeCount());
+        Gauge.builder("rate.limit.buckets", buckets, StripedTokenBuckets::size).register(registry);
+    }
+
+    public void start() {
+        sweep = scheduler.scheduleWithFixedDelay(buckets::evictIdleStripe,
+                sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (sweep != null) {
+            sweep.cancel(false);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Decision decision = decide(request);
+        response.setHeader("RateLimit-Limit", Integer.toString(decision.limit()));
+        response.setHeader("RateLimit-Remaining", Integer.toString(decision.remaining()));
+        response.setHeader("RateLimit-Reset", Long.toString(seconds(decision.resetNanos())));
+        if (decision.allowed()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        throttled.computeIfAbsent(decision.tier(), tier ->
+                Counter.builder("rate.limit.throttled").tag("tier", tier).register(registry)).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(seconds(decision.retryNanos())));
+        write(ErrorResponse.of("RATE_LIMITED",
+                "Rate limit of " + decision.limit() + " requests exceeded for tier " + decision.tier()), request, response);
+    }
+
+    /**
+     * Writes {@code error} with the first message converter that can, for the most preferred
+     * accepted media type; JSON when none is acceptable, as for a client without {@code Accept}.
+     */
+    @SuppressWarnings("unchecked")
+    private void write(ErrorResponse error, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        List<HttpMessageConverter<?>> converters = mvc.getObject().getMessageConverters();
+        ServletServerHttpResponse output = new ServletServerHttpResponse(response);
+        for (MediaType accepted : accepted(request)) {
+            for (HttpMessageConverter<?> converter : converters) {
+                if (converter.canWrite(ErrorResponse.class, accepted)) {
+                    ((HttpMessageConverter<Object>) converter).write(error, accepted, output);
+                    return;
+                }
+            }
+        }
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter.canWrite(ErrorResponse.class, MediaType.APPLICATION_JSON)) {
+                ((HttpMessageConverter<Object>) converter).write(error, MediaType.APPLICATION_JSON, output);
+                return;
+            }
+        }
+    }
+
+    /**
+     * The accepted media types, most preferred first, without those refused with {@code q=0}.
+     */
+    private static List<MediaType> accepted(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return List.of(MediaType.ALL);
+        }
+        try {
+            List<MediaType> types = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            types.removeIf(type -> type.getQualityValue() == 0);
+            MimeTypeUtils.sortBySpecificity(types);
+            return types;
+        } catch (IllegalArgumentException ex) {
+            return List.of(MediaType.ALL); // malformed, or too many types to sort
+        }
+    }
+
+    private Decision decide(HttpServletRequest request) {
+        String ipKey = "ip:" + request.getRemoteAddr();
+        String customerId = request.getParameter("customerId");
+        if (customerId != null && !customerId.isBlank()) {
+            Decision[] lookupCharge = new Decision[1];
+            Decision decision = buckets.tryAcquire("customer:" + customerId, () -> {
+                lookupCharge[0] = buckets.tryAcquire(ipKey, () -> anonymous);
+                return lookupCharge[0].allowed() ? customerLimit(customerId, market(request)) : null;
+            });
+            if (decision != null) {
+                return decision;
+            }
+            if (lookupCharge[0] != null) {
+                return lookupCharge[0];
+            }
+        }
+        return buckets.tryAcquire(ipKey, () -> anonymous);
+    }
+
+    /**
+     * The limit of the customer's segment, or {@code null} when the customer cannot be looked up.
+     */
+    private Limit customerLimit(String customerId, String market) {
+        if (market == null) {
+            return null;
+        }
+        try {
+            if (customers.findCustomerContext(customerId, market) instanceof UpstreamResult.Success<CustomerContext>(var context)) {
+                String segment = context.segment();
+                return segments.getOrDefault(segment, new Limit(segment, anonymous.perSecond(), anonymous.burst()));
+            }
+        } catch (RuntimeException ex) {
+            // unknown market or upstream malfunction: limit by client IP
+        }
+        return null;
+    }
+
+    /**
+     * The market to look the customer up in: {@code market}, or the first of {@code markets}
+     * with {@value CrossMarketAggregationService#ALL_MARKETS} standing for the first known market.
+     */
+    private String market(HttpServletRequest request) {
+        String market = request.getParameter("market");
+        if (market != null) {
+            return market;
+        }
+        String requested = request.getParameter("markets");
+        if (requested == null) {
+            return null;
+        }
+        String first = requested.split(",", 2)[0].trim();
+        if (!CrossMarketAggregationService.ALL_MARKETS.equalsIgnoreCase(first)) {
+            return first;
+        }
+        List<String> known = markets.knownMarkets();
+        return known.isEmpty() ? null : known.getFirst();
+    }
+
+    private static long seconds(long nanos) {
+        return TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L);
+    }
+}
@@ -0,0 +1,193 @@
+package com.kramp.productinfo.controller.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hand-written serializer for the {@link AggregatedProduct} response tree.
+ * <p>
+ * Produces the same document as Jackson's reflective record serialization (same field
+ * names and order) without per-request introspection: field names are pre-encoded once
+ * as {@link SerializedString}s and nested records are written directly. With
+ * {@code omitEmpty} enabled, null fields and empty maps/lists are left out, which mostly
+ * trims degraded pricing/availability blocks, empty preferences and {@code staleAgeMs}
+ * on fresh data.
+ */
+public class AggregatedProductSerializer extends StdSerializer<AggregatedProduct> {
+
+    private static final SerializedString PRODUCT = new SerializedString("product");
+    private static final SerializedString PRICING = new SerializedString("pricing");
+    private static final SerializedString AVAILABILITY = new SerializedString("availability");
+    private static final SerializedString CUSTOMER = new SerializedString("customer");
+
+    private static final SerializedString PRODUCT_ID = new SerializedString("productId");
+    private static final SerializedString MARKET = new SerializedString("market");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString SPECS = new SerializedString("specs");
+    private static final SerializedString IMAGE_URLS = new SerializedString("imageUrls");
+
+    private static final SerializedString AVAILABLE = new SerializedString("available");
+    private static final SerializedString BASE_PRICE = new SerializedString("basePrice");
+    private static final SerializedString DISCOUNT_PERCENT = new SerializedString("discountPercent");
+    private static final SerializedString FINAL_PRICE = new SerializedString("finalPrice");
+    private static final SerializedString CURRENCY = new SerializedString("currency");
+    private static final SerializedString REASON = new SerializedString("reason");
+    private static final SerializedString STALE_AGE_MS = new SerializedString("staleAgeMs");
+
+    private static final SerializedString STOCK_KNOWN = new SerializedString("stockKnown");
+    private static final SerializedString STOCK_LEVEL = new SerializedString("stockLevel");
+    private static final SerializedString WAREHOUSE_CODE = new SerializedString("warehouseCode");
+    private static final SerializedString EXPECTED_DELIVERY = new SerializedString("expectedDelivery");
+
+    private static final SerializedString CUSTOMER_ID = new SerializedString("customerId");
+    private static final SerializedString SEGMENT = new SerializedString("segment");
+    private static final SerializedString PREFERENCES = new SerializedString("preferences");
+
+    private final boolean omitEmpty;
+
+    public AggregatedProductSerializer(boolean omitEmpty) {
+        super(AggregatedProduct.class);
+        this.omitEmpty = omitEmpty;
+    }
+
+    @Override
+    public void serialize(AggregatedProduct value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(PRODUCT);
+        writeProduct(value.product(), gen);
+        gen.writeFieldName(PRICING);
+        writePricing(value.pricing(), gen);
+        gen.writeFieldName(AVAILABILITY);
+        writeAvailability(value.availability(), gen);
+        gen.writeFieldName(CUSTOMER);
+        writeCustomer(value.customer(), gen);
+        gen.writeEndObject();
+    }
+
+    private void writeProduct(ProductDetails p, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        writeString(gen, PRODUCT_ID, p.productId());
+        writeString(gen, MARKET, p.market());
+        writeString(gen, NAME, p.name());
+        writeString(gen, DESCRIPTION, p.description());
+        writeMap(gen, SPECS, p.specs());
+        writeList(gen, IMAGE_URLS, p.imageUrls());
+        gen.writeEndObject();
+    }
+
+    private void writePricing(PricingInfo p, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(AVAILABLE);
+        gen.writeBoolean(p.available());
+        writeNumber(gen, BASE_PRICE, p.basePrice());
+        writeNumber(gen, DISCOUNT_PERCENT, p.discountPercent());
+        writeNumber(gen, FINAL_PRICE, p.finalPrice());
+        writeString(gen, CURRENCY, p.currency());
+        writeString(gen, REASON, p.reason());
+        writeLong(gen, STALE_AGE_MS, p.staleAgeMs());
+        gen.writeEndObject();
+    }
+
+    private void writeAvailability(AvailabilityInfo a, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName(STOCK_KNOWN);
+        gen.writeBoolean(a.stockKnown());
+        if (a.stockLevel() != null) {
+            gen.writeFieldName(STOCK_LEVEL);
+            gen.writeNumber(a.stockLevel());
+        } else if (!omitEmpty) {
+            gen.writeFieldName(STOCK_LEVEL);
+            gen.writeNull();
+        }
+        writeString(gen, WAREHOUSE_CODE, a.warehouseCode());
+        writeString(gen, EXPECTED_DELIVERY, a.expectedDelivery());
+        writeLong(gen, STALE_AGE_MS, a.staleAgeMs());
+        gen.writeEndObject();
+    }
+
+    private void writeCustomer(CustomerContext c, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        writeString(gen, CUSTOMER_ID, c.customerId());
+        writeString(gen, SEGMENT, c.segment());
+        writeMap(gen, PREFERENCES, c.preferences());
+        gen.writeEndObject();
+    }
+
+    private void writeString(JsonGenerator gen, SerializedString name, String value) throws IOException {
+        if (value == null && omitEmpty) {
+            return;
+        }
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+
+    private void writeNumber(JsonGenerator gen, SerializedString name, BigDecimal value) throws IOException {
+        if (value == null) {
+            if (!omitEmpty) {
+                gen.writeFieldName(name);
+                gen.writeNull();
+            }
+            return;
+        }
+        gen.writeFieldName(name);
+        gen.writeNumber(value);
+    }
+
+    private void writeLong(JsonGenerator gen, SerializedString name, Long value) throws IOException {
+        if (value == null) {
+            if (!omitEmpty) {
+                gen.writeFieldName(name);
+                gen.writeNull();
+            }
+            return;
+        }
+        gen.writeFieldName(name);
+        gen.writeNumber(value);
+    }
+
+    private void writeMap(JsonGenerator gen, SerializedString name, Map<String, String> map) throws IOException {
+        if (omitEmpty && (map == null || map.isEmpty())) {
+            return;
+        }
+        gen.writeFieldName(name);
+        if (map == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        for (Map.Entry<String, String> e : map.entrySet()) {
+            gen.writeFieldName(e.getKey());
+            gen.writeString(e.getValue());
+        }
+        gen.writeEndObject();
+    }
+
+    private void writeList(JsonGenerator gen, SerializedString name, List<String> list) throws IOException {
+        if (omitEmpty && (list == null || list.isEmpty())) {
+            return;
+        }
+        gen.writeFieldName(name);
+        if (list == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartArray(list, list.size());
+        for (String s : list) {
+            gen.writeString(s);
+        }
+        gen.writeEndArray();
+    }
+}
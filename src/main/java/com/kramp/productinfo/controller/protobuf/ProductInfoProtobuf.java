@@ -0,0 +1,104 @@
+package com.kramp.productinfo.controller.protobuf;
+
+import com.kramp.productinfo.controller.ErrorResponse;
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the product-info responses as the messages of {@code static/proto/product_info.proto};
+ * the field numbers below must stay in sync with it. Decimals go as plain strings, and null
+ * fields are left out, as the schema declares them {@code optional}.
+ */
+public final class ProductInfoProtobuf {
+
+    private ProductInfoProtobuf() {
+    }
+
+    public static byte[] encode(AggregatedProduct value) {
+        ProtobufWriter out = new ProtobufWriter(4096);
+        int product = out.begin(1);
+        writeProduct(out, value.product());
+        out.end(product);
+        int pricing = out.begin(2);
+        writePricing(out, value.pricing());
+        out.end(pricing);
+        int availability = out.begin(3);
+        writeAvailability(out, value.availability());
+        out.end(availability);
+        int customer = out.begin(4);
+        writeCustomer(out, value.customer());
+        out.end(customer);
+        return out.toByteArray();
+    }
+
+    public static byte[] encode(ErrorResponse value) {
+        ProtobufWriter out = new ProtobufWriter(128);
+        out.string(1, value.code());
+        out.string(2, value.message());
+        return out.toByteArray();
+    }
+
+    private static void writeProduct(ProtobufWriter out, ProductDetails p) {
+        out.string(1, p.productId());
+        out.string(2, p.market());
+        out.string(3, p.name());
+        out.string(4, p.description());
+        writeMap(out, 5, p.specs());
+        writeList(out, 6, p.imageUrls());
+    }
+
+    private static void writePricing(ProtobufWriter out, PricingInfo p) {
+        out.bool(1, p.available());
+        writeDecimal(out, 2, p.basePrice());
+        writeDecimal(out, 3, p.discountPercent());
+        writeDecimal(out, 4, p.finalPrice());
+        out.string(5, p.currency());
+        out.string(6, p.reason());
+        out.int64(7, p.staleAgeMs());
+    }
+
+    private static void writeAvailability(ProtobufWriter out, AvailabilityInfo a) {
+        out.bool(1, a.stockKnown());
+        out.int32(2, a.stockLevel());
+        out.string(3, a.warehouseCode());
+        out.string(4, a.expectedDelivery());
+        out.int64(5, a.staleAgeMs());
+    }
+
+    private static void writeCustomer(ProtobufWriter out, CustomerContext c) {
+        out.string(1, c.customerId());
+        out.string(2, c.segment());
+        writeMap(out, 3, c.preferences());
+    }
+
+    private static void writeDecimal(ProtobufWriter out, int field, BigDecimal value) {
+        if (value != null) {
+            out.string(field, value.toPlainString());
+        }
+    }
+
+    /**
+     * A map field is a repeated entry message with the key in field 1 and the value in field 2.
+     */
+    private static void writeMap(ProtobufWriter out, int field, Map<String, String> map) {
+        for (Map.Entry<String, String> e : map.entrySet()) {
+            int entry = out.begin(field);
+            out.string(1, e.getKey());
+            out.string(2, e.getValue());
+            out.end(entry);
+        }
+    }
+
+    private static void writeList(ProtobufWriter out, int field, List<String> list) {
+        for (String s : list) {
+            out.string(field, s);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.kramp.productinfo.controller.protobuf;
+
+import com.kramp.productinfo.controller.ErrorResponse;
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link AggregatedProduct} and {@link ErrorResponse} as Protobuf, see
+ * {@link ProductInfoProtobuf}. Response-only: requests carry no body.
+ */
+public class ProductInfoProtobufConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType X_PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+    public static final MediaType PROTOBUF = MediaType.parseMediaType("application/protobuf");
+
+    public ProductInfoProtobufConverter() {
+        super(X_PROTOBUF, PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == AggregatedProduct.class || clazz == ErrorResponse.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        byte[] body = value instanceof AggregatedProduct product
+                ? ProductInfoProtobuf.encode(product)
+                : ProductInfoProtobuf.encode((ErrorResponse) value);
+        outputMessage.getHeaders().setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+}
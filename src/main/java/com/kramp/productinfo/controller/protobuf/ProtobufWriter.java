@@ -0,0 +1,135 @@
+package com.kramp.productinfo.controller.protobuf;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Minimal Protocol Buffers wire-format writer: varint and length-delimited fields only, which
+ * is all the product-info schema uses.
+ * <p>
+ * Nested messages are written in place behind a one-byte length placeholder; a body of 128
+ * bytes or more is shifted right once to make room for the longer varint. So a response is
+ * encoded into one growing array, without sizing it in a first pass. Strings are encoded
+ * with {@link String#getBytes}, which is intrinsified for Latin-1 strings.
+ */
+final class ProtobufWriter {
+
+    private static final int VARINT = 0;
+    private static final int LENGTH_DELIMITED = 2;
+
+    private byte[] buffer;
+    private int position;
+
+    ProtobufWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    void bool(int field, boolean value) {
+        if (value) {
+            tag(field, VARINT);
+            ensure(1);
+            buffer[position++] = 1;
+        }
+    }
+
+    /**
+     * Writes nothing for {@code null}.
+     */
+    void int64(int field, Long value) {
+        if (value != null) {
+            tag(field, VARINT);
+            varint(value);
+        }
+    }
+
+    /**
+     * Writes nothing for {@code null}. A negative value takes ten bytes, as the wire format
+     * sign-extends {@code int32} to 64 bits.
+     */
+    void int32(int field, Integer value) {
+        if (value != null) {
+            tag(field, VARINT);
+            varint(value.longValue());
+        }
+    }
+
+    /**
+     * Writes nothing for {@code null}; the empty string is written, so it stays distinguishable
+     * for {@code optional} fields.
+     */
+    void string(int field, String value) {
+        if (value == null) {
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        tag(field, LENGTH_DELIMITED);
+        varint(bytes.length);
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Opens a nested message (or map entry) in {@code field}; close it with {@link #end(int)}.
+     */
+    int begin(int field) {
+        tag(field, LENGTH_DELIMITED);
+        return reserveLength();
+    }
+
+    void end(int start) {
+        endLength(start);
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void tag(int field, int wireType) {
+        varint((long) field << 3 | wireType);
+    }
+
+    private void varint(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private int reserveLength() {
+        ensure(1);
+        position++;
+        return position;
+    }
+
+    private void endLength(int start) {
+        int length = position - start;
+        if (length < 0x80) {
+            buffer[start - 1] = (byte) length;
+            return;
+        }
+        int extra = varintSize(length) - 1;
+        ensure(extra);
+        System.arraycopy(buffer, start, buffer, start + extra, length);
+        position += extra;
+        int at = start - 1;
+        int value = length;
+        while ((value & ~0x7F) != 0) {
+            buffer[at++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[at] = (byte) value;
+    }
+
+    private static int varintSize(int value) {
+        return (31 - Integer.numberOfLeadingZeros(value)) / 7 + 1;
+    }
+
+    private void ensure(int bytes) {
+        if (position + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+        }
+    }
+}
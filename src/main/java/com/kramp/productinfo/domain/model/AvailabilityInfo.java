@@ -4,14 +4,22 @@ public record AvailabilityInfo(
         boolean stockKnown,
         Integer stockLevel,
         String warehouseCode,
-        String expectedDelivery
+        String expectedDelivery,
+        Long staleAgeMs
 ) {
 
     public static AvailabilityInfo known(int stockLevel, String warehouseCode, String expectedDelivery) {
-        return new AvailabilityInfo(true, stockLevel, warehouseCode, expectedDelivery);
+        return new AvailabilityInfo(true, stockLevel, warehouseCode, expectedDelivery, null);
     }
 
     public static AvailabilityInfo unknown() {
-        return new AvailabilityInfo(false, null, null, null);
+        return new AvailabilityInfo(false, null, null, null, null);
+    }
+
+    /**
+     * This availability served from the last-known-good store, recorded {@code ageMs} ago.
+     */
+    public AvailabilityInfo stale(long ageMs) {
+        return new AvailabilityInfo(stockKnown, stockLevel, warehouseCode, expectedDelivery, ageMs);
     }
 }
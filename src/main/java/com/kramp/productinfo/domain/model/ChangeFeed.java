@@ -0,0 +1,26 @@
+package com.kramp.productinfo.domain.model;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Products of one market changed after the {@code since} cursor, each listed once with every
+ * field that changed, in the order of their first change.
+ *
+ * @param next           cursor for the next call, an opaque token for the last change covered
+ * @param resyncRequired the changes after {@code since} are no longer all known (the cursor fell
+ *                       off the log, or comes from before a restart or from another instance):
+ *                       re-fetch everything, then continue from {@code next}
+ * @param hasMore        more changes follow {@code next} already
+ */
+public record ChangeFeed(
+        String market,
+        String since,
+        String next,
+        boolean resyncRequired,
+        boolean hasMore,
+        List<ProductChange> changes
+) {
+
+    public record ProductChange(String productId, Set<ChangedField> fields) {}
+}
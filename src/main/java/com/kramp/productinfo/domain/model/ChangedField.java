@@ -0,0 +1,14 @@
+package com.kramp.productinfo.domain.model;
+
+/**
+ * What changed about a product, as reported by the change feed.
+ */
+public enum ChangedField {
+    /** Name, description, specs or images; also a product new to the catalog. */
+    CATALOG,
+    /** The price of at least one customer segment. */
+    PRICING,
+    AVAILABILITY,
+    /** Gone from the catalog: {@code GET /product-info} now answers 404. */
+    REMOVED
+}
@@ -0,0 +1,19 @@
+package com.kramp.productinfo.domain.model;
+
+import java.util.Map;
+
+/**
+ * One product aggregated across several markets. Every requested market appears in exactly
+ * one of {@code results} or {@code errors}, in request order.
+ */
+public record CrossMarketProduct(
+        String productId,
+        Map<String, AggregatedProduct> results,
+        Map<String, MarketError> errors
+) {
+
+    /**
+     * Same codes as the single-market endpoint's error responses.
+     */
+    public record MarketError(String code, String message) {}
+}
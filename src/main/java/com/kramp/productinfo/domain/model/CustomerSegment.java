@@ -0,0 +1,25 @@
+package com.kramp.productinfo.domain.model;
+
+/**
+ * Closed set of customer segments known to pricing.
+ * {@link CustomerContext#segment()} stays a String on the wire; this enum supplies
+ * the canonical instance for known values.
+ */
+public enum CustomerSegment {
+    PREMIUM,
+    STANDARD,
+    BASIC;
+
+    /**
+     * Returns the matching segment, or {@code null} for values outside the closed set.
+     */
+    public static CustomerSegment fromCode(String code) {
+        if (code == null) return null;
+        return switch (code) {
+            case "PREMIUM" -> PREMIUM;
+            case "STANDARD" -> STANDARD;
+            case "BASIC" -> BASIC;
+            default -> null;
+        };
+    }
+}
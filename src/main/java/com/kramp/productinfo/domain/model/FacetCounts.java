@@ -0,0 +1,10 @@
+package com.kramp.productinfo.domain.model;
+
+import java.util.Map;
+
+/**
+ * @param total  products matching every filter
+ * @param facets per spec key, the number of matching products per value, most frequent first.
+ *               A filtered key is counted without its own filter, so its other values stay visible.
+ */
+public record FacetCounts(String market, int total, Map<String, Map<String, Integer>> facets) {}
@@ -0,0 +1,16 @@
+package com.kramp.productinfo.domain.model;
+
+/**
+ * A changed price or stock level of one product, pushed to live subscribers.
+ */
+public sealed interface OfferUpdate {
+
+    String productId();
+
+    record Availability(String productId, AvailabilityInfo availability) implements OfferUpdate {}
+
+    /**
+     * @param segment the customer segment {@code pricing} is for
+     */
+    record Pricing(String productId, String segment, PricingInfo pricing) implements OfferUpdate {}
+}
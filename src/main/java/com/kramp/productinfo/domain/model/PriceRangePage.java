@@ -0,0 +1,29 @@
+package com.kramp.productinfo.domain.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Products of one market within a price range, priced for one customer segment.
+ *
+ * @param total    products matching the query, over all pages
+ * @param products the requested page, sorted by final price
+ */
+public record PriceRangePage(
+        String market,
+        String segment,
+        String currency,
+        int total,
+        int offset,
+        List<PricedProduct> products
+) {
+
+    /**
+     * @param finalPrice the price {@code GET /product-info} shows customers of the segment
+     */
+    public record PricedProduct(String productId, BigDecimal finalPrice, boolean inStock) {}
+
+    public static PriceRangePage empty(String market, String segment, int offset) {
+        return new PriceRangePage(market, segment, null, 0, offset, List.of());
+    }
+}
@@ -0,0 +1,20 @@
+package com.kramp.productinfo.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * @param minPrice    lowest final price included, {@code null} for no lower bound
+ * @param maxPrice    highest final price included, {@code null} for no upper bound
+ * @param inStockOnly leave out products without known stock
+ * @param descending  most expensive first; equal prices keep catalog order, reversed
+ * @param offset      matching products skipped before the page
+ * @param limit       products on the page
+ */
+public record PriceRangeQuery(
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        boolean inStockOnly,
+        boolean descending,
+        int offset,
+        int limit
+) {}
@@ -9,7 +9,8 @@ public record PricingInfo(
         BigDecimal discountPercent,
         BigDecimal finalPrice,
         String currency,
-        String reason
+        String reason,
+        Long staleAgeMs
 ) {
 
     public static PricingInfo available(BigDecimal basePrice,
@@ -19,10 +20,17 @@ public record PricingInfo(
         Objects.requireNonNull(basePrice, "basePrice");
         Objects.requireNonNull(finalPrice, "finalPrice");
         Objects.requireNonNull(currency, "currency");
-        return new PricingInfo(true, basePrice, discountPercent, finalPrice, currency, null);
+        return new PricingInfo(true, basePrice, discountPercent, finalPrice, currency, null, null);
     }
 
     public static PricingInfo unavailable(String reason) {
-        return new PricingInfo(false, null, null, null, null, reason);
+        return new PricingInfo(false, null, null, null, null, reason, null);
+    }
+
+    /**
+     * This pricing served from the last-known-good store, recorded {@code ageMs} ago.
+     */
+    public PricingInfo stale(long ageMs) {
+        return new PricingInfo(available, basePrice, discountPercent, finalPrice, currency, reason, ageMs);
     }
 }
@@ -0,0 +1,17 @@
+package com.kramp.productinfo.domain.model;
+
+import java.util.List;
+
+/**
+ * @param total matching products, of which {@code productIds} are the best
+ */
+public record ProductSearchHits(int total, List<String> productIds) {
+
+    public ProductSearchHits {
+        productIds = List.copyOf(productIds);
+    }
+
+    public static ProductSearchHits none() {
+        return new ProductSearchHits(0, List.of());
+    }
+}
@@ -0,0 +1,15 @@
+package com.kramp.productinfo.domain.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search hits of one market, best first. The first hits may come aggregated in {@code products};
+ * a hit whose aggregation failed is only listed in {@code productIds}.
+ */
+public record ProductSearchResult(
+        String market,
+        int total,
+        List<String> productIds,
+        Map<String, AggregatedProduct> products
+) {}
@@ -9,4 +9,12 @@ public interface AvailabilityClient {
      * If this fails, stock should be marked as unknown.
      */
     AvailabilityInfo getAvailability(String productId, String market);
+
+    /**
+     * Same lookup as {@link #getAvailability}, with upstream failures returned instead of thrown.
+     * Adapters that can tell an expected failure without throwing override this.
+     */
+    default UpstreamResult<AvailabilityInfo> findAvailability(String productId, String market) {
+        return UpstreamResult.of(() -> getAvailability(productId, market));
+    }
 }
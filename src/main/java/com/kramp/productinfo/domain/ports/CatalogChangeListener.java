@@ -0,0 +1,14 @@
+package com.kramp.productinfo.domain.ports;
+
+import com.kramp.productinfo.domain.model.ProductDetails;
+
+/**
+ * Told about catalog answers fresh from the upstream, which may differ from what was seen before.
+ * Called on the lookup's thread: must be cheap, and must not call the catalog back.
+ */
+public interface CatalogChangeListener {
+
+    void productChanged(ProductDetails details);
+
+    void productRemoved(String productId, String market);
+}
@@ -9,4 +9,12 @@ public interface CatalogClient {
      * If this fails, the whole aggregation must fail.
      */
     ProductDetails getProductDetails(String productId, String market);
+
+    /**
+     * Same lookup as {@link #getProductDetails}, with upstream failures returned instead of thrown.
+     * Adapters that can tell an expected failure without throwing override this.
+     */
+    default UpstreamResult<ProductDetails> findProductDetails(String productId, String market) {
+        return UpstreamResult.of(() -> getProductDetails(productId, market));
+    }
 }
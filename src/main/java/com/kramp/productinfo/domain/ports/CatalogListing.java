@@ -0,0 +1,15 @@
+package com.kramp.productinfo.domain.ports;
+
+import com.kramp.productinfo.domain.model.ProductDetails;
+
+import java.util.List;
+
+public interface CatalogListing {
+
+    /**
+     * Every product of the market's catalog, for building indexes. Expensive: not for the request path.
+     *
+     * @throws com.kramp.productinfo.domain.ports.exception.MarketNotFoundException for unknown markets
+     */
+    List<ProductDetails> listProducts(String market);
+}
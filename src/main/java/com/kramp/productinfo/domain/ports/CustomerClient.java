@@ -2,6 +2,8 @@ package com.kramp.productinfo.domain.ports;
 
 import com.kramp.productinfo.domain.model.CustomerContext;
 
+import java.util.Optional;
+
 public interface CustomerClient {
 
     /**
@@ -9,4 +11,20 @@ public interface CustomerClient {
      * If this fails (or customerId not provided), the response should be standard/non-personalized.
      */
     CustomerContext getCustomerContext(String customerId, String market);
+
+    /**
+     * Same lookup as {@link #getCustomerContext}, with upstream failures returned instead of thrown.
+     * Adapters that can tell an expected failure without throwing override this.
+     */
+    default UpstreamResult<CustomerContext> findCustomerContext(String customerId, String market) {
+        return UpstreamResult.of(() -> getCustomerContext(customerId, market));
+    }
+
+    /**
+     * The customer context if this instance already holds it, without calling the upstream or
+     * any other remote; empty otherwise. Adapters that cache override this.
+     */
+    default Optional<CustomerContext> cachedCustomerContext(String customerId, String market) {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,9 @@
+package com.kramp.productinfo.domain.ports;
+
+public interface HotKeyTracker {
+    /**
+     * Counts one request for the product in the market. Must be cheap: called on every aggregation
+     * of a product the catalog found.
+     */
+    void recordRequest(String productId, String market);
+}
@@ -0,0 +1,25 @@
+package com.kramp.productinfo.domain.ports;
+
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.PricingInfo;
+
+import java.util.Optional;
+
+public interface LastKnownGoodStore {
+
+    void recordPricing(String productId, String market, String segment, PricingInfo pricing);
+
+    /**
+     * The last successful pricing for this key, flagged with its age, if still within
+     * the allowed staleness.
+     */
+    Optional<PricingInfo> stalePricing(String productId, String market, String segment);
+
+    void recordAvailability(String productId, String market, AvailabilityInfo availability);
+
+    /**
+     * The last successful availability for this key, flagged with its age, if still within
+     * the allowed staleness.
+     */
+    Optional<AvailabilityInfo> staleAvailability(String productId, String market);
+}
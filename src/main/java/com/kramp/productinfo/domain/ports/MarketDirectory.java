@@ -0,0 +1,10 @@
+package com.kramp.productinfo.domain.ports;
+
+import java.util.List;
+
+public interface MarketDirectory {
+    /**
+     * Markets with catalog data, sorted.
+     */
+    List<String> knownMarkets();
+}
@@ -0,0 +1,15 @@
+package com.kramp.productinfo.domain.ports;
+
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.PricingInfo;
+
+/**
+ * Told about pricing and availability answers fresh from the upstream, which may differ from what
+ * was seen before. Called on the lookup's thread: must be cheap, and must not call the upstreams back.
+ */
+public interface OfferChangeListener {
+
+    void pricingChanged(String productId, String market, String segment, PricingInfo pricing);
+
+    void availabilityChanged(String productId, String market, AvailabilityInfo availability);
+}
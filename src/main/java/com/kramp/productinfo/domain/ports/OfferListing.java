@@ -0,0 +1,20 @@
+package com.kramp.productinfo.domain.ports;
+
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.PricingInfo;
+
+import java.util.Map;
+
+public interface OfferListing {
+
+    /**
+     * Pricing of every priced product of the market for customers of {@code segment}, keyed by
+     * productId, as the pricing upstream answers it. Expensive: not for the request path.
+     */
+    Map<String, PricingInfo> listPricing(String market, String segment);
+
+    /**
+     * Availability of every stocked product of the market, keyed by productId. Expensive: not for the request path.
+     */
+    Map<String, AvailabilityInfo> listAvailability(String market);
+}
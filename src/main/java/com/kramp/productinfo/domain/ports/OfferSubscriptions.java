@@ -0,0 +1,44 @@
+package com.kramp.productinfo.domain.ports;
+
+import com.kramp.productinfo.domain.model.OfferUpdate;
+import com.kramp.productinfo.domain.ports.exception.SubscriptionLimitException;
+
+import java.io.IOException;
+import java.util.Set;
+
+public interface OfferSubscriptions {
+
+    /**
+     * Receives the updates of one subscription, one at a time. Failing ends the subscription.
+     */
+    interface Sink {
+        void send(OfferUpdate update) throws IOException;
+
+        /**
+         * Keeps an idle stream alive; failing tells the client is gone, as for {@link #send}.
+         */
+        default void heartbeat() throws IOException {
+        }
+
+        /**
+         * The subscription was ended on the server side, e.g. on shutdown: end the stream.
+         */
+        default void close() {
+        }
+    }
+
+    interface Subscription {
+        /**
+         * Stops the updates; safe to call more than once.
+         */
+        void cancel();
+    }
+
+    /**
+     * Subscribes {@code sink} to the stock of the market's products and to their price for
+     * customers of {@code segment}: the values known so far first, then every change.
+     *
+     * @throws SubscriptionLimitException when the open subscriptions or watched products are at their cap
+     */
+    Subscription subscribe(String market, Set<String> productIds, String segment, Sink sink);
+}
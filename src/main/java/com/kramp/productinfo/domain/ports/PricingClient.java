@@ -9,4 +9,12 @@ public interface PricingClient {
      * If this fails, pricing should be marked as unavailable.
      */
     PricingInfo getPricing(String productId, String market, CustomerContext customerContext);
+
+    /**
+     * Same lookup as {@link #getPricing}, with upstream failures returned instead of thrown.
+     * Adapters that can tell an expected failure without throwing override this.
+     */
+    default UpstreamResult<PricingInfo> findPricing(String productId, String market, CustomerContext customerContext) {
+        return UpstreamResult.of(() -> getPricing(productId, market, customerContext));
+    }
 }
@@ -0,0 +1,12 @@
+package com.kramp.productinfo.domain.ports;
+
+import com.kramp.productinfo.domain.model.ChangeFeed;
+
+public interface ProductChanges {
+
+    /**
+     * The market's changes after the {@code since} cursor, at most {@code limit} of them.
+     * Without {@code since}, no changes but the current cursor, to start syncing from.
+     */
+    ChangeFeed changesSince(String market, String since, int limit);
+}
@@ -0,0 +1,19 @@
+package com.kramp.productinfo.domain.ports;
+
+import com.kramp.productinfo.domain.model.FacetCounts;
+
+import java.util.Map;
+import java.util.Set;
+
+public interface ProductFacets {
+
+    /**
+     * Facet counts over the market's products matching {@code filters}: a product matches when,
+     * for every filtered spec key, its value is one of the listed values. Keys and values compare
+     * ignoring case and surrounding whitespace, as in search.
+     *
+     * @param keys         spec keys to count; empty counts every key
+     * @param valuesPerKey most frequent values reported per key
+     */
+    FacetCounts count(String market, Map<String, Set<String>> filters, Set<String> keys, int valuesPerKey);
+}
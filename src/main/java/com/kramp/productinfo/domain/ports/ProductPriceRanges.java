@@ -0,0 +1,13 @@
+package com.kramp.productinfo.domain.ports;
+
+import com.kramp.productinfo.domain.model.PriceRangePage;
+import com.kramp.productinfo.domain.model.PriceRangeQuery;
+
+public interface ProductPriceRanges {
+
+    /**
+     * One page of the market's products priced for {@code segment} within the query's range,
+     * sorted by final price. A segment the pricing does not know has no priced products.
+     */
+    PriceRangePage find(String market, String segment, PriceRangeQuery query);
+}
@@ -0,0 +1,17 @@
+package com.kramp.productinfo.domain.ports;
+
+import com.kramp.productinfo.domain.model.ProductSearchHits;
+
+import java.util.Map;
+
+public interface ProductSearch {
+
+    /**
+     * Products of the market matching every word of {@code text} (in name, description or spec
+     * values) and every spec filter exactly, best matches first. Blank text and no filters match
+     * every product.
+     *
+     * @param specs spec key to required value, both compared case-insensitively
+     */
+    ProductSearchHits search(String market, String text, Map<String, String> specs, int limit);
+}
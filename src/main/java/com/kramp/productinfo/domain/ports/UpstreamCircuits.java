@@ -0,0 +1,17 @@
+package com.kramp.productinfo.domain.ports;
+
+public interface UpstreamCircuits {
+    /**
+     * Whether calls to the given upstream are currently being rejected (circuit open).
+     */
+    boolean isOpen(String service);
+
+    /**
+     * Whether the caller skips its call to the given upstream and degrades directly: the same
+     * answer as {@link #isOpen}, for a call that is really about to be made. Implementations
+     * count the skipped calls here, never in {@link #isOpen}.
+     */
+    default boolean skip(String service) {
+        return isOpen(service);
+    }
+}
@@ -0,0 +1,58 @@
+package com.kramp.productinfo.domain.ports;
+
+import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Outcome of an upstream lookup: the value, or the upstream's reason for not having one.
+ * <p>
+ * Expected outcomes such as {@code PRODUCT_NOT_FOUND} travel as a {@link Failure} value, so they
+ * cost no stack capture and no exception unwinding. {@link #orElseThrow()} turns a failure back
+ * into a (stackless) {@link UpstreamFailureException} for callers that need one.
+ */
+public sealed interface UpstreamResult<T> {
+
+    record Success<T>(T value) implements UpstreamResult<T> {}
+
+    record Failure<T>(String service, String reason, String details) implements UpstreamResult<T> {
+
+        public UpstreamFailureException toException() {
+            return UpstreamFailureException.stackless(service, reason, details);
+        }
+    }
+
+    static <T> UpstreamResult<T> success(T value) {
+        return new Success<>(value);
+    }
+
+    static <T> UpstreamResult<T> failure(String service, String reason, String details) {
+        return new Failure<>(service, reason, details);
+    }
+
+    /**
+     * Adapts a throwing lookup: {@link UpstreamFailureException}s become failures, anything else propagates.
+     */
+    static <T> UpstreamResult<T> of(Supplier<T> lookup) {
+        try {
+            return success(lookup.get());
+        } catch (UpstreamFailureException ex) {
+            return failure(ex.service(), ex.reason(), ex.details());
+        }
+    }
+
+    default <R> UpstreamResult<R> map(Function<? super T, ? extends R> mapper) {
+        return switch (this) {
+            case Success<T> success -> success(mapper.apply(success.value()));
+            case Failure<T> failure -> failure(failure.service(), failure.reason(), failure.details());
+        };
+    }
+
+    default T orElseThrow() {
+        return switch (this) {
+            case Success<T> success -> success.value();
+            case Failure<T> failure -> throw failure.toException();
+        };
+    }
+}
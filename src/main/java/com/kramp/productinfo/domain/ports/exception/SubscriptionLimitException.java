@@ -0,0 +1,11 @@
+package com.kramp.productinfo.domain.ports.exception;
+
+/**
+ * A live subscription was refused: the open subscriptions or the watched products are at their cap.
+ */
+public class SubscriptionLimitException extends RuntimeException {
+
+    public SubscriptionLimitException(String message) {
+        super(message);
+    }
+}
@@ -15,12 +15,25 @@ public class UpstreamFailureException extends RuntimeException {
     }
 
     public UpstreamFailureException(String service, String reason, String details, Throwable cause) {
-        super(buildMessage(service, reason, details), cause);
+        this(service, reason, details, cause, true);
+    }
+
+    private UpstreamFailureException(String service, String reason, String details, Throwable cause,
+                                     boolean writableStackTrace) {
+        super(buildMessage(service, reason, details), cause, writableStackTrace, writableStackTrace);
         this.service = service;
         this.reason = reason;
         this.details = details;
     }
 
+    /**
+     * Without a stack trace: for failures that are an upstream's answer, where the trace would only
+     * ever point at the adapter that relayed it.
+     */
+    public static UpstreamFailureException stackless(String service, String reason, String details) {
+        return new UpstreamFailureException(service, reason, details, null, false);
+    }
+
     public String service() {
         return service;
     }
@@ -0,0 +1,37 @@
+package com.kramp.productinfo.infrastructure.admission;
+
+/**
+ * The request was shed by {@link PriorityAdmission}. Stackless: under overload these are
+ * frequent and the trace would always point at the admission queue.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    /**
+     * Why the request was shed.
+     */
+    public enum Reason {
+        /** the shared queue was full of requests of the same or higher priority */
+        QUEUE_FULL,
+        /** queued, then displaced by a higher-priority request */
+        DISPLACED,
+        /** queued longer than its class allows */
+        QUEUE_TIMEOUT
+    }
+
+    private final RequestPriority priority;
+    private final Reason reason;
+
+    public AdmissionRejectedException(RequestPriority priority, Reason reason) {
+        super("Request of priority " + priority + " shed: " + reason, null, false, false);
+        this.priority = priority;
+        this.reason = reason;
+    }
+
+    public RequestPriority priority() {
+        return priority;
+    }
+
+    public Reason reason() {
+        return reason;
+    }
+}
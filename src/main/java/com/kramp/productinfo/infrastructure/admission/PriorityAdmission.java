@@ -0,0 +1,253 @@
+package com.kramp.productinfo.infrastructure.admission;
+
+import com.kramp.productinfo.config.AdmissionProperties;
+import com.kramp.productinfo.infrastructure.admission.AdmissionRejectedException.Reason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Caps the requests in flight and, beyond the cap, queues them by {@link RequestPriority}.
+ * <p>
+ * A finished request hands its slot to the oldest waiter of the highest class. Waiting holds no
+ * thread: the work of a queued request only starts once admitted. Requests are shed (failed
+ * with {@link AdmissionRejectedException}) when they wait longer than their class allows, or
+ * when the queue shared by all classes is full: then the newest waiter of the lowest class below
+ * the arriving request makes room, or the arriving request is shed itself.
+ * <p>
+ * Completing the returned future from outside (cancel, timeout) dequeues a waiting request and
+ * cancels the work of an admitted one.
+ * <p>
+ * Metered as {@code admission.requests{priority,outcome}} (outcome {@code admitted} or the shed
+ * reason, lower-cased), {@code admission.queue.wait{priority}}, {@code admission.latency{priority}} from
+ * arrival to answer, and the {@code admission.in.flight} and {@code admission.queued} gauges.
+ */
+public class PriorityAdmission {
+
+    private final class Waiter<T> {
+
+        private final RequestPriority priority;
+        private final Supplier<CompletableFuture<T>> work;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final long arrivedNanos = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile ScheduledFuture<?> expiry;
+        private volatile CompletableFuture<T> running;
+
+        private Waiter(RequestPriority priority, Supplier<CompletableFuture<T>> work) {
+            this.priority = priority;
+            this.work = work;
+        }
+
+        private void start() {
+            if (expiry != null) {
+                expiry.cancel(false);
+            }
+            queueWait.get(priority).record(System.nanoTime() - arrivedNanos, TimeUnit.NANOSECONDS);
+            admittedCount.get(priority).increment();
+            if (result.isDone()) {
+                release();
+                return;
+            }
+            try {
+                running = work.get();
+            } catch (RuntimeException ex) {
+                running = CompletableFuture.failedFuture(ex);
+            }
+            if (result.isDone()) {
+                running.cancel(true);
+            }
+            running.whenComplete((value, ex) -> {
+                release();
+                if (ex == null) {
+                    result.complete(value);
+                } else {
+                    result.completeExceptionally(ex);
+                }
+            });
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                PriorityAdmission.this.release();
+            }
+        }
+
+        private void shed(Reason reason) {
+            Counter.builder("admission.requests").tag("priority", priority.name())
+                    .tag("outcome", reason.name().toLowerCase()).register(registry).increment();
+            result.completeExceptionally(new AdmissionRejectedException(priority, reason));
+        }
+
+        private void onResult(Throwable ex) {
+            latency.get(priority).record(System.nanoTime() - arrivedNanos, TimeUnit.NANOSECONDS);
+            if (ex == null) {
+                return;
+            }
+            CompletableFuture<T> work = running;
+            if (work != null) {
+                work.cancel(true);
+            } else {
+                dequeue(this);
+            }
+        }
+    }
+
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final int queueCapacity;
+    private final Map<RequestPriority, Duration> maxWait;
+    private final ScheduledExecutorService scheduler;
+    private final MeterRegistry registry;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<RequestPriority, ArrayDeque<Waiter<?>>> queues = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Timer> queueWait = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Timer> latency = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, Counter> admittedCount = new EnumMap<>(RequestPriority.class);
+
+    // written under the lock; volatile for the gauges, which read without it
+    private volatile int inFlight;
+    private volatile int queued;
+
+    public PriorityAdmission(AdmissionProperties properties, ScheduledExecutorService scheduler, MeterRegistry registry) {
+        this.enabled = properties.enabled();
+        this.maxInFlight = properties.maxInFlight();
+        this.queueCapacity = properties.queueCapacity();
+        this.maxWait = properties.maxWait();
+        this.scheduler = scheduler;
+        this.registry = registry;
+        for (RequestPriority priority : RequestPriority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+            queueWait.put(priority, Timer.builder("admission.queue.wait").tag("priority", priority.name()).register(registry));
+            latency.put(priority, Timer.builder("admission.latency").tag("priority", priority.name()).register(registry));
+            admittedCount.put(priority, Counter.builder("admission.requests").tag("priority", priority.name())
+                    .tag("outcome", "admitted").register(registry));
+        }
+        Gauge.builder("admission.in.flight", this, PriorityAdmission::inFlight).register(registry);
+        Gauge.builder("admission.queued", this, PriorityAdmission::queued).register(registry);
+    }
+
+    /**
+     * Runs {@code work} once admitted; the result completes with the work's outcome, or with
+     * {@link AdmissionRejectedException} when the request is shed.
+     */
+    public <T> CompletableFuture<T> submit(RequestPriority priority, Supplier<CompletableFuture<T>> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        Waiter<T> waiter = new Waiter<>(priority, work);
+        waiter.result.whenComplete((value, ex) -> waiter.onResult(ex));
+
+        Waiter<?> displaced = null;
+        boolean admitted = false;
+        boolean enqueued = false;
+        lock.lock();
+        try {
+            if (inFlight < maxInFlight) {
+                inFlight++;
+                admitted = true;
+            } else {
+                if (queued >= queueCapacity) {
+                    displaced = pollNewestBelow(priority);
+                }
+                if (queued < queueCapacity) {
+                    queues.get(priority).addLast(waiter);
+                    queued++;
+                    enqueued = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (displaced != null) {
+            displaced.shed(Reason.DISPLACED);
+        }
+        if (admitted) {
+            waiter.start();
+        } else if (!enqueued) {
+            waiter.shed(Reason.QUEUE_FULL);
+        } else {
+            Duration wait = maxWait.getOrDefault(priority, Duration.ofSeconds(1));
+            waiter.expiry = scheduler.schedule(() -> expire(waiter), wait.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return waiter.result;
+    }
+
+    public int inFlight() {
+        return inFlight;
+    }
+
+    public int queued() {
+        return queued;
+    }
+
+    private void release() {
+        Waiter<?> next = null;
+        lock.lock();
+        try {
+            for (RequestPriority priority : RequestPriority.values()) {
+                next = queues.get(priority).pollFirst();
+                if (next != null) {
+                    queued--;
+                    break;
+                }
+            }
+            if (next == null) {
+                inFlight--;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (next != null) {
+            next.start();
+        }
+    }
+
+    private void expire(Waiter<?> waiter) {
+        if (dequeue(waiter)) {
+            waiter.shed(Reason.QUEUE_TIMEOUT);
+        }
+    }
+
+    private boolean dequeue(Waiter<?> waiter) {
+        lock.lock();
+        try {
+            if (queues.get(waiter.priority).remove(waiter)) {
+                queued--;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Called with the lock held.
+     */
+    private Waiter<?> pollNewestBelow(RequestPriority priority) {
+        RequestPriority[] priorities = RequestPriority.values();
+        for (int i = priorities.length - 1; i > priority.ordinal(); i--) {
+            Waiter<?> victim = queues.get(priorities[i]).pollLast();
+            if (victim != null) {
+                queued--;
+                return victim;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,19 @@
+package com.kramp.productinfo.infrastructure.admission;
+
+/**
+ * Admission classes, most valuable first. Under overload, lower classes wait behind higher
+ * ones and are shed first.
+ */
+public enum RequestPriority {
+    HIGH,
+    NORMAL,
+    LOW;
+
+    public RequestPriority lower() {
+        return this == HIGH ? NORMAL : LOW;
+    }
+
+    public RequestPriority lowest(RequestPriority other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+}
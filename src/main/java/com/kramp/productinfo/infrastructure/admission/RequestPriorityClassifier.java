@@ -0,0 +1,55 @@
+package com.kramp.productinfo.infrastructure.admission;
+
+import com.kramp.productinfo.domain.ports.CustomerClient;
+
+import java.util.Set;
+
+/**
+ * Derives a request's {@link RequestPriority} from its customer: customers of a premium
+ * segment are {@code HIGH}, other customers {@code NORMAL}, anonymous requests {@code LOW}.
+ * <p>
+ * The segment comes only from what the customer client already holds in this instance
+ * ({@link CustomerClient#cachedCustomerContext}); a customer not at hand is {@code NORMAL}.
+ * Classifying never calls an upstream, so a request that is shed has cost nothing beyond a map
+ * lookup, and the request thread is never held by a lookup before admission. The aggregation
+ * looks the customer up anyway, which warms the cache for the customer's next request.
+ * <p>
+ * A caller may ask for less through the {@value #HEADER} header, e.g. for batch jobs, but
+ * never for more.
+ */
+public class RequestPriorityClassifier {
+
+    public static final String HEADER = "X-Request-Priority";
+
+    private final CustomerClient customers;
+    private final Set<String> premiumSegments;
+
+    public RequestPriorityClassifier(CustomerClient customers, Set<String> premiumSegments) {
+        this.customers = customers;
+        this.premiumSegments = Set.copyOf(premiumSegments);
+    }
+
+    /**
+     * @param requested the {@value #HEADER} header, may be {@code null}; unknown values are ignored
+     */
+    public RequestPriority classify(String customerId, String market, String requested) {
+        RequestPriority priority = bySegment(customerId, market);
+        if (requested != null) {
+            for (RequestPriority candidate : RequestPriority.values()) {
+                if (candidate.name().equalsIgnoreCase(requested.trim())) {
+                    return priority.lowest(candidate);
+                }
+            }
+        }
+        return priority;
+    }
+
+    private RequestPriority bySegment(String customerId, String market) {
+        if (customerId == null || customerId.isBlank() || market == null) {
+            return RequestPriority.LOW;
+        }
+        return customers.cachedCustomerContext(customerId, market)
+                .map(context -> premiumSegments.contains(context.segment()) ? RequestPriority.HIGH : RequestPriority.NORMAL)
+                .orElse(RequestPriority.NORMAL);
+    }
+}
@@ -0,0 +1,94 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import com.kramp.productinfo.config.UpstreamCacheProperties;
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.ports.AvailabilityClient;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.domain.ports.LastKnownGoodStore;
+import com.kramp.productinfo.domain.ports.OfferChangeListener;
+import com.kramp.productinfo.infrastructure.resilience.ResilientAvailabilityClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches availability per {@code (productId, market)} in front of {@link ResilientAvailabilityClient}.
+ * <p>
+ * Every value actually fetched from the upstream is also recorded as last-known-good; cache
+ * hits are not, so the age of a stale fallback is the age of the upstream answer. The same values
+ * are passed on to the {@link OfferChangeListener}s.
+ */
+@Component
+@Primary
+public class CachingAvailabilityClient implements AvailabilityClient {
+
+    private record Key(String productId, String market) {}
+
+    private final ResilientAvailabilityClient delegate;
+    private final LastKnownGoodStore lastKnownGood;
+    private final boolean enabled;
+    private final UpstreamCache<Key, AvailabilityInfo> cache;
+    private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+    private final List<OfferChangeListener> listeners;
+
+    public CachingAvailabilityClient(ResilientAvailabilityClient delegate,
+                                     LastKnownGoodStore lastKnownGood,
+                                     UpstreamCacheProperties properties,
+                                     UpstreamCacheFactory caches,
+                                     ObjectProvider<OfferChangeListener> listeners) {
+        this.delegate = delegate;
+        this.lastKnownGood = lastKnownGood;
+        this.listeners = listeners.orderedStream().toList();
+        this.enabled = properties.enabled();
+        this.cache = caches.create("availability", properties.availabilityTtl(), AvailabilityInfo.class,
+                key -> key.productId() + '|' + key.market());
+    }
+
+    @Override
+    public AvailabilityInfo getAvailability(String productId, String market) {
+        return findAvailability(productId, market).orElseThrow();
+    }
+
+    @Override
+    public UpstreamResult<AvailabilityInfo> findAvailability(String productId, String market) {
+        Key key = new Key(productId, market);
+        AvailabilityInfo cached = enabled ? cache.get(key) : null;
+        return cached != null ? UpstreamResult.success(cached) : fetch(key);
+    }
+
+    /**
+     * Re-fetches the entry if it expires within {@code window}; no-op for keys never cached and
+     * while a refresh for it is running.
+     */
+    public void refreshIfExpiring(String productId, String market, Duration window) {
+        Key key = new Key(productId, market);
+        if (enabled && cache.isKnown(key) && cache.expiresWithin(key, window) && refreshing.add(key)) {
+            try {
+                fetch(key).orElseThrow();
+            } finally {
+                refreshing.remove(key);
+            }
+        }
+    }
+
+    public Duration ttl() {
+        return cache.ttl();
+    }
+
+    private UpstreamResult<AvailabilityInfo> fetch(Key key) {
+        UpstreamResult<AvailabilityInfo> result = delegate.findAvailability(key.productId(), key.market());
+        if (result instanceof UpstreamResult.Success<AvailabilityInfo>(var availability)) {
+            lastKnownGood.recordAvailability(key.productId(), key.market(), availability);
+            if (enabled) {
+                cache.put(key, availability);
+            }
+            listeners.forEach(listener -> listener.availabilityChanged(key.productId(), key.market(), availability));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,92 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import com.kramp.productinfo.config.UpstreamCacheProperties;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.CatalogChangeListener;
+import com.kramp.productinfo.domain.ports.CatalogClient;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.infrastructure.resilience.ResilientCatalogClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches catalog details per {@code (productId, market)} in front of {@link ResilientCatalogClient}.
+ * Failures are never cached.
+ * <p>
+ * Every answer fetched from the upstream, including {@code PRODUCT_NOT_FOUND}, is passed on to
+ * the {@link CatalogChangeListener}s; cache hits are not.
+ */
+@Component
+@Primary
+public class CachingCatalogClient implements CatalogClient {
+
+    private record Key(String productId, String market) {}
+
+    private final ResilientCatalogClient delegate;
+    private final boolean enabled;
+    private final UpstreamCache<Key, ProductDetails> cache;
+    private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+    private final List<CatalogChangeListener> listeners;
+
+    public CachingCatalogClient(ResilientCatalogClient delegate,
+                                UpstreamCacheProperties properties,
+                                UpstreamCacheFactory caches,
+                                ObjectProvider<CatalogChangeListener> listeners) {
+        this.delegate = delegate;
+        this.listeners = listeners.orderedStream().toList();
+        this.enabled = properties.enabled();
+        this.cache = caches.create("catalog", properties.catalogTtl(), ProductDetails.class,
+                key -> key.productId() + '|' + key.market());
+    }
+
+    @Override
+    public ProductDetails getProductDetails(String productId, String market) {
+        return findProductDetails(productId, market).orElseThrow();
+    }
+
+    @Override
+    public UpstreamResult<ProductDetails> findProductDetails(String productId, String market) {
+        Key key = new Key(productId, market);
+        ProductDetails cached = enabled ? cache.get(key) : null;
+        return cached != null ? UpstreamResult.success(cached) : fetch(key);
+    }
+
+    /**
+     * Re-fetches the entry if it expires within {@code window}; no-op for keys never cached and
+     * while a refresh for it is running.
+     */
+    public void refreshIfExpiring(String productId, String market, Duration window) {
+        Key key = new Key(productId, market);
+        if (enabled && cache.isKnown(key) && cache.expiresWithin(key, window) && refreshing.add(key)) {
+            try {
+                fetch(key).orElseThrow();
+            } finally {
+                refreshing.remove(key);
+            }
+        }
+    }
+
+    public Duration ttl() {
+        return cache.ttl();
+    }
+
+    private UpstreamResult<ProductDetails> fetch(Key key) {
+        UpstreamResult<ProductDetails> result = delegate.findProductDetails(key.productId(), key.market());
+        if (result instanceof UpstreamResult.Success<ProductDetails>(var details)) {
+            if (enabled) {
+                cache.put(key, details);
+            }
+            listeners.forEach(listener -> listener.productChanged(details));
+        } else if (result instanceof UpstreamResult.Failure<ProductDetails> failure
+                && "PRODUCT_NOT_FOUND".equals(failure.reason())) {
+            listeners.forEach(listener -> listener.productRemoved(key.productId(), key.market()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import com.kramp.productinfo.config.UpstreamCacheProperties;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.ports.CustomerClient;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.infrastructure.resilience.ResilientCustomerClient;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Caches customer contexts per {@code (customerId, market)} in front of {@link ResilientCustomerClient}.
+ * Segments change rarely, and the same customers come back for many products. Failures,
+ * including unknown customers, are never cached.
+ */
+@Component
+@Primary
+public class CachingCustomerClient implements CustomerClient {
+
+    private record Key(String customerId, String market) {}
+
+    private final ResilientCustomerClient delegate;
+    private final boolean enabled;
+    private final UpstreamCache<Key, CustomerContext> cache;
+
+    public CachingCustomerClient(ResilientCustomerClient delegate,
+                                 UpstreamCacheProperties properties,
+                                 UpstreamCacheFactory caches) {
+        this.delegate = delegate;
+        this.enabled = properties.enabled();
+        this.cache = caches.create("customer", properties.customerTtl(), CustomerContext.class,
+                key -> key.customerId() + '|' + key.market());
+    }
+
+    @Override
+    public CustomerContext getCustomerContext(String customerId, String market) {
+        return findCustomerContext(customerId, market).orElseThrow();
+    }
+
+    @Override
+    public UpstreamResult<CustomerContext> findCustomerContext(String customerId, String market) {
+        Key key = new Key(customerId, market);
+        CustomerContext cached = enabled ? cache.get(key) : null;
+        if (cached != null) {
+            return UpstreamResult.success(cached);
+        }
+        UpstreamResult<CustomerContext> result = delegate.findCustomerContext(customerId, market);
+        if (enabled && result instanceof UpstreamResult.Success<CustomerContext>(var context)) {
+            cache.put(key, context);
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<CustomerContext> cachedCustomerContext(String customerId, String market) {
+        return enabled ? Optional.ofNullable(cache.peek(new Key(customerId, market))) : Optional.empty();
+    }
+}
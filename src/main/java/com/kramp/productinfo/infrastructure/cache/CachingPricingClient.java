@@ -0,0 +1,103 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import com.kramp.productinfo.config.UpstreamCacheProperties;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.model.CustomerSegment;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.ports.LastKnownGoodStore;
+import com.kramp.productinfo.domain.ports.OfferChangeListener;
+import com.kramp.productinfo.domain.ports.PricingClient;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.infrastructure.resilience.ResilientPricingClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches pricing per {@code (productId, market, segment)} in front of {@link ResilientPricingClient}.
+ * Pricing depends on the customer only through the segment, so that is all the key holds.
+ * <p>
+ * Every value actually fetched from the upstream is also recorded as last-known-good; cache
+ * hits are not, so the age of a stale fallback is the age of the upstream answer. The same values
+ * are passed on to the {@link OfferChangeListener}s.
+ */
+@Component
+@Primary
+public class CachingPricingClient implements PricingClient {
+
+    private record Key(String productId, String market, String segment) {}
+
+    private final ResilientPricingClient delegate;
+    private final LastKnownGoodStore lastKnownGood;
+    private final boolean enabled;
+    private final UpstreamCache<Key, PricingInfo> cache;
+    private final Set<Key> refreshing = ConcurrentHashMap.newKeySet();
+    private final List<OfferChangeListener> listeners;
+
+    public CachingPricingClient(ResilientPricingClient delegate,
+                                LastKnownGoodStore lastKnownGood,
+                                UpstreamCacheProperties properties,
+                                UpstreamCacheFactory caches,
+                                ObjectProvider<OfferChangeListener> listeners) {
+        this.delegate = delegate;
+        this.lastKnownGood = lastKnownGood;
+        this.listeners = listeners.orderedStream().toList();
+        this.enabled = properties.enabled();
+        this.cache = caches.create("pricing", properties.pricingTtl(), PricingInfo.class,
+                key -> key.productId() + '|' + key.market() + '|' + key.segment());
+    }
+
+    @Override
+    public PricingInfo getPricing(String productId, String market, CustomerContext customerContext) {
+        return findPricing(productId, market, customerContext).orElseThrow();
+    }
+
+    @Override
+    public UpstreamResult<PricingInfo> findPricing(String productId, String market, CustomerContext customerContext) {
+        Key key = new Key(productId, market, customerContext.segment());
+        PricingInfo cached = enabled ? cache.get(key) : null;
+        return cached != null ? UpstreamResult.success(cached) : fetch(key, customerContext);
+    }
+
+    /**
+     * Re-fetches, for every segment this product has been priced for, entries that expire
+     * within {@code window}; no-op for entries whose refresh is already running.
+     */
+    public void refreshIfExpiring(String productId, String market, Duration window) {
+        if (!enabled) {
+            return;
+        }
+        for (CustomerSegment segment : CustomerSegment.values()) {
+            Key key = new Key(productId, market, segment.name());
+            if (cache.isKnown(key) && cache.expiresWithin(key, window) && refreshing.add(key)) {
+                try {
+                    fetch(key, new CustomerContext(null, segment.name(), Map.of())).orElseThrow();
+                } finally {
+                    refreshing.remove(key);
+                }
+            }
+        }
+    }
+
+    public Duration ttl() {
+        return cache.ttl();
+    }
+
+    private UpstreamResult<PricingInfo> fetch(Key key, CustomerContext customerContext) {
+        UpstreamResult<PricingInfo> result = delegate.findPricing(key.productId(), key.market(), customerContext);
+        if (result instanceof UpstreamResult.Success<PricingInfo>(var pricing)) {
+            lastKnownGood.recordPricing(key.productId(), key.market(), key.segment(), pricing);
+            if (enabled) {
+                cache.put(key, pricing);
+            }
+            listeners.forEach(listener -> listener.pricingChanged(key.productId(), key.market(), key.segment(), pricing));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,99 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process cache with a fixed time-to-live per entry; the near cache of every tier.
+ * <p>
+ * Expired entries are not removed on read: they stay until overwritten or evicted, so the
+ * refresh-ahead scheduler can still see which keys were wanted. Invalidating an entry expires
+ * it for the same reason. Past {@code maxEntries}, each insert evicts the entry closest to
+ * expiry among a small random sample ({@link SampledEviction}), which reaches expired entries
+ * wherever they sit in the table. Hits count as near hits; the entry count is metered as
+ * {@code upstream.cache.entries{cache}}.
+ */
+public class ExpiringCache<K, V> implements UpstreamCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAtMillis) {}
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final UpstreamCacheMetrics metrics;
+
+    public ExpiringCache(String name, Duration ttl, int maxEntries, Clock clock, MeterRegistry registry) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.metrics = new UpstreamCacheMetrics(name, registry);
+        Gauge.builder("upstream.cache.entries", entries, Map::size).tag("cache", name).register(registry);
+    }
+
+    @Override
+    public Duration ttl() {
+        return ttl;
+    }
+
+    @Override
+    public V get(K key) {
+        V value = peek(key);
+        if (value == null) {
+            metrics.miss();
+            return null;
+        }
+        metrics.nearHit();
+        return value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        metrics.load();
+        store(key, value, clock.millis() + ttl.toMillis());
+    }
+
+    @Override
+    public void invalidate(K key) {
+        entries.computeIfPresent(key, (k, entry) -> new Entry<>(entry.value(), 0));
+    }
+
+    @Override
+    public boolean isKnown(K key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public boolean expiresWithin(K key, Duration window) {
+        Entry<V> entry = entries.get(key);
+        return entry == null || entry.expiresAtMillis() - clock.millis() < window.toMillis();
+    }
+
+    @Override
+    public V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null || entry.expiresAtMillis() <= clock.millis() ? null : entry.value();
+    }
+
+    /**
+     * Stores a value that was not loaded from the upstream, with its own expiry.
+     */
+    void store(K key, V value, long expiresAtMillis) {
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+        if (entries.size() > maxEntries) {
+            SampledEviction.evictOne(entries, Entry::expiresAtMillis);
+        }
+    }
+
+    /**
+     * Expires every entry, keeping the keys known.
+     */
+    void invalidateAll() {
+        entries.replaceAll((k, entry) -> new Entry<>(entry.value(), 0));
+    }
+}
@@ -0,0 +1,26 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Creates in-process {@link ExpiringCache}s: every instance loads and caches on its own.
+ */
+public class NearCacheFactory implements UpstreamCacheFactory {
+
+    private final int maxEntries;
+    private final MeterRegistry registry;
+
+    public NearCacheFactory(int maxEntries, MeterRegistry registry) {
+        this.maxEntries = maxEntries;
+        this.registry = registry;
+    }
+
+    @Override
+    public <K, V> UpstreamCache<K, V> create(String name, Duration ttl, Class<V> type, Function<K, String> keyEncoder) {
+        return new ExpiringCache<>(name, ttl, maxEntries, Clock.systemUTC(), registry);
+    }
+}
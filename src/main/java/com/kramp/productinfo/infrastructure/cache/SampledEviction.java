@@ -0,0 +1,79 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Approximate eviction for bounded {@link ConcurrentHashMap}s, without a global lock or an
+ * access-order list: the entry ranked lowest among a small sample is removed.
+ * <p>
+ * The sample starts at a random point of the table. Splitting the map's spliterator in
+ * random halves reaches a random run of about {@value #SAMPLE} entries in O(log n) steps,
+ * so every bucket is as likely to be sampled as any other. Always sampling from the start of
+ * the iterator would keep evicting fresh entries of the first buckets while old entries
+ * elsewhere are never looked at.
+ */
+public final class SampledEviction {
+
+    static final int SAMPLE = 16;
+
+    private SampledEviction() {}
+
+    /**
+     * Removes the lowest-ranked entry of a random sample, unless it was replaced meanwhile.
+     */
+    public static <K, E> void evictOne(ConcurrentHashMap<K, E> map, ToLongFunction<? super E> rank) {
+        Spliterator<Map.Entry<K, E>> region = map.entrySet().spliterator();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (region.estimateSize() > SAMPLE) {
+            Spliterator<Map.Entry<K, E>> half = region.trySplit();
+            if (half == null) {
+                break;
+            }
+            if (random.nextBoolean()) {
+                region = half;
+            }
+        }
+        Lowest<K, E> lowest = new Lowest<>(rank);
+        int sampled = 0;
+        while (sampled < SAMPLE && region.tryAdvance(lowest)) {
+            sampled++;
+        }
+        if (lowest.key == null) {
+            // the random run was empty: fall back to the start of the table
+            Iterator<Map.Entry<K, E>> it = map.entrySet().iterator();
+            for (int i = 0; i < SAMPLE && it.hasNext(); i++) {
+                lowest.accept(it.next());
+            }
+        }
+        if (lowest.key != null) {
+            map.remove(lowest.key, lowest.value);
+        }
+    }
+
+    private static final class Lowest<K, E> implements Consumer<Map.Entry<K, E>> {
+        private final ToLongFunction<? super E> rank;
+        private K key;
+        private E value;
+        private long lowest = Long.MAX_VALUE;
+
+        Lowest(ToLongFunction<? super E> rank) {
+            this.rank = rank;
+        }
+
+        @Override
+        public void accept(Map.Entry<K, E> entry) {
+            long r = rank.applyAsLong(entry.getValue());
+            if (key == null || r < lowest) {
+                key = entry.getKey();
+                value = entry.getValue();
+                lowest = r;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import com.kramp.productinfo.config.UpstreamCacheProperties;
+import com.kramp.productinfo.infrastructure.cache.resp.RespClient;
+import com.kramp.productinfo.infrastructure.codec.UpstreamCodecs;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Creates {@link SharedUpstreamCache}s over one {@link RespClient}, and routes the invalidations
+ * other instances publish to the near cache they concern.
+ * <p>
+ * Invalidations carry {@code "<instanceId> <cache> <key>"}; an instance ignores its own. After
+ * every (re-)subscription all near entries are expired, since invalidations published while
+ * unsubscribed are lost.
+ */
+public class SharedCacheFactory implements UpstreamCacheFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedCacheFactory.class);
+
+    private final UpstreamCacheProperties properties;
+    private final UpstreamCodecs codecs;
+    private final MeterRegistry registry;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, SharedUpstreamCache<?, ?>> caches = new ConcurrentHashMap<>();
+    private final RespClient client;
+
+    private AutoCloseable subscription;
+
+    public SharedCacheFactory(UpstreamCacheProperties properties, UpstreamCodecs codecs, MeterRegistry registry) {
+        this.properties = properties;
+        this.codecs = codecs;
+        this.registry = registry;
+        UpstreamCacheProperties.Shared shared = properties.shared();
+        this.client = new RespClient(shared.host(), shared.port(), shared.timeout(), shared.poolSize());
+    }
+
+    public void start() {
+        subscription = client.subscribe(properties.shared().channel(), this::onInvalidation,
+                () -> caches.values().forEach(SharedUpstreamCache::invalidateNear));
+        log.info("Shared cache tier at {}:{}, instance {}", properties.shared().host(), properties.shared().port(), instanceId);
+    }
+
+    public void stop() throws Exception {
+        if (subscription != null) {
+            subscription.close();
+        }
+        client.close();
+    }
+
+    @Override
+    public <K, V> UpstreamCache<K, V> create(String name, Duration ttl, Class<V> type, Function<K, String> keyEncoder) {
+        ExpiringCache<String, V> near = new ExpiringCache<>(name, ttl, properties.maxEntries(), Clock.systemUTC(), registry);
+        SharedUpstreamCache<K, V> cache = new SharedUpstreamCache<>(name, ttl, type, keyEncoder, near, client, codecs,
+                properties.shared().keyPrefix(), properties.shared().channel(), instanceId, Clock.systemUTC(), registry);
+        caches.put(name, cache);
+        return cache;
+    }
+
+    private void onInvalidation(byte[] payload) {
+        String[] parts = new String(payload, StandardCharsets.UTF_8).split(" ", 3);
+        if (parts.length < 3 || parts[0].equals(instanceId)) {
+            return;
+        }
+        SharedUpstreamCache<?, ?> cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.onRemoteInvalidation(parts[2]);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import com.kramp.productinfo.infrastructure.cache.resp.RespClient;
+import com.kramp.productinfo.infrastructure.codec.UpstreamCodec;
+import com.kramp.productinfo.infrastructure.codec.UpstreamCodecs;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Near cache backed by a remote tier shared by all instances, over the Redis protocol.
+ * <p>
+ * Lookups try the near cache, then the remote tier; a remote hit is kept near until the
+ * remote entry expires. Loaded values are written to both tiers, CBOR-encoded, and an
+ * invalidation is published so other instances expire their near copy and read the new value
+ * from the remote tier. Refresh-ahead checks the remote tier before reporting an entry as
+ * expiring, so a key refreshed by one instance is not refreshed again by the others.
+ * <p>
+ * The remote tier is best-effort: when it fails, the cache behaves like a near-only cache and
+ * counts {@code upstream.cache.remote.errors{cache,operation}}.
+ */
+public class SharedUpstreamCache<K, V> implements UpstreamCache<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedUpstreamCache.class);
+
+    private final String name;
+    private final Duration ttl;
+    private final Class<V> type;
+    private final Function<K, String> keyEncoder;
+    private final ExpiringCache<String, V> near;
+    private final RespClient remote;
+    private final UpstreamCodecs codecs;
+    private final String keyPrefix;
+    private final byte[] channel;
+    private final String instanceId;
+    private final Clock clock;
+    private final UpstreamCacheMetrics metrics;
+    private final MeterRegistry registry;
+    private final Counter invalidationsSent;
+    private final Counter invalidationsReceived;
+    private final Map<String, Counter> remoteErrors;
+
+    SharedUpstreamCache(String name,
+                        Duration ttl,
+                        Class<V> type,
+                        Function<K, String> keyEncoder,
+                        ExpiringCache<String, V> near,
+                        RespClient remote,
+                        UpstreamCodecs codecs,
+                        String keyPrefix,
+                        String channel,
+                        String instanceId,
+                        Clock clock,
+                        MeterRegistry registry) {
+        this.name = name;
+        this.ttl = ttl;
+        this.type = type;
+        this.keyEncoder = keyEncoder;
+        this.near = near;
+        this.remote = remote;
+        this.codecs = codecs;
+        this.keyPrefix = keyPrefix + name + ":";
+        this.channel = channel.getBytes(StandardCharsets.UTF_8);
+        this.instanceId = instanceId;
+        this.clock = clock;
+        this.registry = registry;
+        this.metrics = new UpstreamCacheMetrics(name, registry);
+        this.invalidationsSent = invalidations("sent");
+        this.invalidationsReceived = invalidations("received");
+        this.remoteErrors = Map.of("get", remoteErrors("get"), "put", remoteErrors("put"), "invalidate", remoteErrors("invalidate"));
+    }
+
+    @Override
+    public V get(K key) {
+        String encoded = keyEncoder.apply(key);
+        V value = near.peek(encoded);
+        if (value != null) {
+            metrics.nearHit();
+            return value;
+        }
+        value = loadRemote(encoded);
+        if (value != null) {
+            metrics.remoteHit();
+            return value;
+        }
+        metrics.miss();
+        return null;
+    }
+
+    @Override
+    public V peek(K key) {
+        return near.peek(keyEncoder.apply(key));
+    }
+
+    @Override
+    public void put(K key, V value) {
+        String encoded = keyEncoder.apply(key);
+        near.put(encoded, value);
+        try {
+            byte[] body = codecs.encode(UpstreamCodec.CBOR, value, false);
+            check(remote.pipeline(List.of(
+                    command("SET", remoteKey(encoded), body, "PX", Long.toString(ttl.toMillis())),
+                    command("PUBLISH", channel, invalidation(encoded)))));
+            invalidationsSent.increment();
+        } catch (IOException e) {
+            remoteError("put", e);
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        String encoded = keyEncoder.apply(key);
+        near.invalidate(encoded);
+        try {
+            check(remote.pipeline(List.of(
+                    command("DEL", remoteKey(encoded)),
+                    command("PUBLISH", channel, invalidation(encoded)))));
+            invalidationsSent.increment();
+        } catch (IOException e) {
+            remoteError("invalidate", e);
+        }
+    }
+
+    @Override
+    public boolean isKnown(K key) {
+        return near.isKnown(keyEncoder.apply(key));
+    }
+
+    @Override
+    public boolean expiresWithin(K key, Duration window) {
+        String encoded = keyEncoder.apply(key);
+        if (!near.expiresWithin(encoded, window)) {
+            return false;
+        }
+        loadRemote(encoded);
+        return near.expiresWithin(encoded, window);
+    }
+
+    @Override
+    public Duration ttl() {
+        return ttl;
+    }
+
+    /**
+     * Another instance loaded or dropped the entry: expire the near copy.
+     */
+    void onRemoteInvalidation(String encodedKey) {
+        invalidationsReceived.increment();
+        near.invalidate(encodedKey);
+    }
+
+    /**
+     * Invalidations may have been missed, e.g. while re-subscribing: expire every near copy.
+     */
+    void invalidateNear() {
+        near.invalidateAll();
+    }
+
+    private V loadRemote(String encoded) {
+        try {
+            byte[] remoteKey = remoteKey(encoded);
+            List<Object> replies = remote.pipeline(List.of(command("GET", remoteKey), command("PTTL", remoteKey)));
+            if (replies.get(0) instanceof byte[] body && replies.get(1) instanceof Long remainingMillis && remainingMillis > 0) {
+                V value = codecs.decode(UpstreamCodec.CBOR, body, null, type);
+                near.store(encoded, value, clock.millis() + remainingMillis);
+                return value;
+            }
+            check(replies);
+        } catch (IOException e) {
+            remoteError("get", e);
+        }
+        return null;
+    }
+
+    private void check(List<Object> replies) throws IOException {
+        for (Object reply : replies) {
+            if (reply instanceof IOException error) {
+                throw error;
+            }
+        }
+    }
+
+    private void remoteError(String operation, IOException e) {
+        remoteErrors.get(operation).increment();
+        log.debug("Shared cache {} {} failed: {}", name, operation, e.toString());
+    }
+
+    private byte[] remoteKey(String encoded) {
+        return (keyPrefix + encoded).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] invalidation(String encoded) {
+        return (instanceId + " " + name + " " + encoded).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Counter remoteErrors(String operation) {
+        return Counter.builder("upstream.cache.remote.errors").tag("cache", name).tag("operation", operation)
+                .register(registry);
+    }
+
+    private Counter invalidations(String direction) {
+        return Counter.builder("upstream.cache.invalidations").tag("cache", name).tag("direction", direction)
+                .register(registry);
+    }
+
+    private static byte[][] command(Object... args) {
+        byte[][] command = new byte[args.length][];
+        for (int i = 0; i < args.length; i++) {
+            command[i] = args[i] instanceof byte[] bytes ? bytes : args[i].toString().getBytes(StandardCharsets.UTF_8);
+        }
+        return command;
+    }
+}
@@ -0,0 +1,45 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import java.time.Duration;
+
+/**
+ * Cache of successful upstream answers behind the caching client decorators.
+ * <p>
+ * Implementations are created by an {@link UpstreamCacheFactory}: {@link ExpiringCache} keeps
+ * entries in this instance only, {@link SharedUpstreamCache} backs it with a tier shared by all
+ * instances. Every {@link #put} is a value just loaded from the upstream. Metered as
+ * {@code upstream.cache.requests{cache,result=near_hit|remote_hit|miss}} and
+ * {@code upstream.cache.loads{cache}}.
+ */
+public interface UpstreamCache<K, V> {
+
+    /**
+     * The cached value, or {@code null} when absent or expired.
+     */
+    V get(K key);
+
+    /**
+     * The value this instance holds, without counting a request or asking a shared tier;
+     * {@code null} when absent or expired.
+     */
+    V peek(K key);
+
+    void put(K key, V value);
+
+    /**
+     * Drops the entry, in every instance for shared caches.
+     */
+    void invalidate(K key);
+
+    /**
+     * Whether the key has an entry, expired or not.
+     */
+    boolean isKnown(K key);
+
+    /**
+     * Whether the key is absent, expired, or expires within {@code window}.
+     */
+    boolean expiresWithin(K key, Duration window);
+
+    Duration ttl();
+}
@@ -0,0 +1,18 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Creates the {@link UpstreamCache} of each caching decorator; the configured tier
+ * ({@code product-info.cache.tier}) decides which implementation.
+ */
+public interface UpstreamCacheFactory {
+
+    /**
+     * @param name       cache name, used in metric tags and shared keys
+     * @param type       value type, for caches that serialize values
+     * @param keyEncoder stable string form of a key, for caches that share entries between instances
+     */
+    <K, V> UpstreamCache<K, V> create(String name, Duration ttl, Class<V> type, Function<K, String> keyEncoder);
+}
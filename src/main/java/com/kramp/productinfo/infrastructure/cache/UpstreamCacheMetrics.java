@@ -0,0 +1,43 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Request and load counters of one cache. Every lookup counts exactly once, as a near hit,
+ * a remote hit or a miss; every value loaded from the upstream counts as a load.
+ */
+final class UpstreamCacheMetrics {
+
+    private final Counter nearHits;
+    private final Counter remoteHits;
+    private final Counter misses;
+    private final Counter loads;
+
+    UpstreamCacheMetrics(String name, MeterRegistry registry) {
+        this.nearHits = requests(name, "near_hit", registry);
+        this.remoteHits = requests(name, "remote_hit", registry);
+        this.misses = requests(name, "miss", registry);
+        this.loads = Counter.builder("upstream.cache.loads").tag("cache", name).register(registry);
+    }
+
+    void nearHit() {
+        nearHits.increment();
+    }
+
+    void remoteHit() {
+        remoteHits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void load() {
+        loads.increment();
+    }
+
+    private static Counter requests(String name, String result, MeterRegistry registry) {
+        return Counter.builder("upstream.cache.requests").tag("cache", name).tag("result", result).register(registry);
+    }
+}
@@ -0,0 +1,191 @@
+package com.kramp.productinfo.infrastructure.cache.resp;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Minimal client for Redis-protocol servers: pipelined commands over a small connection pool,
+ * plus a pub/sub subscription on a dedicated connection.
+ * <p>
+ * Sockets are plain blocking I/O guarded by a {@link Semaphore} rather than monitors, so
+ * callers on virtual threads unmount while waiting for a reply. A connection that fails is
+ * closed and replaced by the next borrower.
+ */
+public class RespClient implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RespClient.class);
+
+    private static final Duration RESUBSCRIBE_BACKOFF = Duration.ofSeconds(1);
+
+    private final String host;
+    private final int port;
+    private final Duration timeout;
+    private final Semaphore permits;
+    private final Queue<RespConnection> idle = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean closed;
+
+    public RespClient(String host, int port, Duration timeout, int poolSize) {
+        this.host = host;
+        this.port = port;
+        this.timeout = timeout;
+        this.permits = new Semaphore(poolSize);
+    }
+
+    /**
+     * Sends one command and returns its reply.
+     *
+     * @throws RespException when the server answers with an error
+     */
+    public Object execute(byte[]... command) throws IOException {
+        Object reply = pipeline(Collections.singletonList(command)).getFirst();
+        if (reply instanceof RespException error) {
+            throw error;
+        }
+        return reply;
+    }
+
+    /**
+     * Sends all commands in one write and returns their replies in order; error replies are
+     * returned as {@link RespException} values.
+     */
+    public List<Object> pipeline(List<byte[][]> commands) throws IOException {
+        acquire();
+        RespConnection connection = idle.poll();
+        try {
+            if (connection == null) {
+                connection = new RespConnection(host, port, timeout, timeout);
+            }
+            for (byte[][] command : commands) {
+                connection.send(command);
+            }
+            connection.flush();
+            List<Object> replies = new ArrayList<>(commands.size());
+            for (int i = 0; i < commands.size(); i++) {
+                replies.add(connection.read());
+            }
+            idle.add(connection);
+            connection = null;
+            if (closed) {
+                closeIdle(); // closed meanwhile: close() may have drained the pool before this return
+            }
+            return replies;
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+            permits.release();
+        }
+    }
+
+    /**
+     * Subscribes to {@code channel} on a dedicated connection, re-subscribing after connection
+     * loss. {@code onSubscribed} runs after every (re-)subscription, as messages published while
+     * disconnected are lost.
+     */
+    public AutoCloseable subscribe(String channel, Consumer<byte[]> onMessage, Runnable onSubscribed) {
+        Subscription subscription = new Subscription(channel, onMessage, onSubscribed);
+        subscription.thread = Thread.ofVirtual().name("resp-subscriber-" + channel).start(subscription::run);
+        return subscription;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeIdle();
+    }
+
+    private void closeIdle() {
+        RespConnection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    private void acquire() throws IOException {
+        if (closed) {
+            throw new IOException("Client closed");
+        }
+        try {
+            if (!permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("No RESP connection available within " + timeout.toMillis() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a RESP connection");
+        }
+    }
+
+    private final class Subscription implements AutoCloseable {
+
+        private final String channel;
+        private final Consumer<byte[]> onMessage;
+        private final Runnable onSubscribed;
+
+        private volatile RespConnection connection;
+        private volatile boolean stopped;
+        private volatile Thread thread;
+
+        private Subscription(String channel, Consumer<byte[]> onMessage, Runnable onSubscribed) {
+            this.channel = channel;
+            this.onMessage = onMessage;
+            this.onSubscribed = onSubscribed;
+        }
+
+        private void run() {
+            while (!stopped) {
+                try (RespConnection c = new RespConnection(host, port, timeout, Duration.ZERO)) {
+                    connection = c;
+                    c.send(RespProtocol.bytes("SUBSCRIBE"), RespProtocol.bytes(channel));
+                    c.flush();
+                    c.read();
+                    onSubscribed.run();
+                    while (!stopped) {
+                        if (c.read() instanceof List<?> message && message.size() == 3
+                                && message.get(2) instanceof byte[] payload) {
+                            onMessage.accept(payload);
+                        }
+                    }
+                } catch (IOException e) {
+                    if (!stopped) {
+                        log.warn("Subscription to {} lost, re-subscribing in {}: {}", channel, RESUBSCRIBE_BACKOFF, e.toString());
+                        sleepBeforeRetry();
+                    }
+                }
+            }
+        }
+
+        private void sleepBeforeRetry() {
+            try {
+                Thread.sleep(RESUBSCRIBE_BACKOFF);
+            } catch (InterruptedException e) {
+                stopped = true;
+            }
+        }
+
+        @Override
+        public void close() {
+            stopped = true;
+            RespConnection c = connection;
+            if (c != null) {
+                c.close();
+            }
+            Thread t = thread;
+            if (t != null) {
+                t.interrupt();
+            }
+        }
+    }
+}
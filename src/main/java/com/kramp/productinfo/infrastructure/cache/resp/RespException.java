@@ -0,0 +1,13 @@
+package com.kramp.productinfo.infrastructure.cache.resp;
+
+import java.io.IOException;
+
+/**
+ * Error reply from a RESP server, e.g. {@code ERR unknown command}.
+ */
+public class RespException extends IOException {
+
+    public RespException(String message) {
+        super(message);
+    }
+}
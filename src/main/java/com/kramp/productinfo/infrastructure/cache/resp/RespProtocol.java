@@ -0,0 +1,121 @@
+package com.kramp.productinfo.infrastructure.cache.resp;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reading and writing of RESP2, the Redis serialization protocol.
+ * <p>
+ * Replies are read as {@link String} (simple string), {@link Long} (integer), {@code byte[]}
+ * (bulk string), {@link List} (array), {@code null} (null bulk string or array), or a
+ * {@link RespException} for error replies, returned rather than thrown so pipelined replies
+ * can be read to the end.
+ */
+final class RespProtocol {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private RespProtocol() {
+    }
+
+    static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static void writeCommand(OutputStream out, byte[]... args) throws IOException {
+        writeArrayHeader(out, args.length);
+        for (byte[] arg : args) {
+            writeBulk(out, arg);
+        }
+    }
+
+    static void writeArrayHeader(OutputStream out, int size) throws IOException {
+        writeLine(out, '*', Integer.toString(size));
+    }
+
+    static void writeBulk(OutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            writeLine(out, '$', "-1");
+            return;
+        }
+        writeLine(out, '$', Integer.toString(value.length));
+        out.write(value);
+        out.write(CRLF);
+    }
+
+    static void writeSimple(OutputStream out, String value) throws IOException {
+        writeLine(out, '+', value);
+    }
+
+    static void writeError(OutputStream out, String message) throws IOException {
+        writeLine(out, '-', message);
+    }
+
+    static void writeInteger(OutputStream out, long value) throws IOException {
+        writeLine(out, ':', Long.toString(value));
+    }
+
+    static Object read(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            throw new EOFException("Connection closed");
+        }
+        String line = readLine(in);
+        return switch (type) {
+            case '+' -> line;
+            case '-' -> new RespException(line);
+            case ':' -> Long.parseLong(line);
+            case '$' -> readBulk(in, Integer.parseInt(line));
+            case '*' -> readArray(in, Integer.parseInt(line));
+            default -> throw new IOException("Unexpected RESP type byte: " + type);
+        };
+    }
+
+    private static byte[] readBulk(InputStream in, int length) throws IOException {
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = in.readNBytes(length);
+        if (value.length < length || in.read() != '\r' || in.read() != '\n') {
+            throw new EOFException("Truncated bulk string");
+        }
+        return value;
+    }
+
+    private static List<Object> readArray(InputStream in, int size) throws IOException {
+        if (size < 0) {
+            return null;
+        }
+        List<Object> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(read(in));
+        }
+        return items;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder(16);
+        int b;
+        while ((b = in.read()) != '\r') {
+            if (b == -1) {
+                throw new EOFException("Connection closed");
+            }
+            line.append((char) b);
+        }
+        if (in.read() != '\n') {
+            throw new IOException("Malformed RESP line");
+        }
+        return line.toString();
+    }
+
+    private static void writeLine(OutputStream out, char type, String value) throws IOException {
+        out.write(type);
+        out.write(value.getBytes(StandardCharsets.UTF_8));
+        out.write(CRLF);
+    }
+}
@@ -0,0 +1,270 @@
+package com.kramp.productinfo.infrastructure.cache.resp;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Embedded stand-in for a Redis-protocol cache server, for local runs and tests of the shared
+ * cache tier.
+ * <p>
+ * Speaks just the RESP2 commands the cache tier uses: {@code PING}, {@code GET},
+ * {@code SET key value [PX ms | EX s]}, {@code PTTL}, {@code DEL}, {@code PUBLISH},
+ * {@code SUBSCRIBE}, {@code FLUSHALL} and {@code QUIT}. Data is kept in memory and expired
+ * lazily on read. One virtual thread per client connection. Malformed commands get an error
+ * reply; input that is not RESP at all closes the connection.
+ */
+public class RespStandInServer {
+
+    private static final Logger log = LoggerFactory.getLogger(RespStandInServer.class);
+
+    private record Entry(byte[] value, long expiresAtMillis) {}
+
+    /**
+     * Minimum command array size (name included) of each supported command.
+     */
+    private static final Map<String, Integer> MIN_ARITY = Map.of(
+            "PING", 1, "GET", 2, "SET", 3, "PTTL", 2, "DEL", 2,
+            "PUBLISH", 3, "SUBSCRIBE", 2, "FLUSHALL", 1, "QUIT", 1);
+
+    private final int port;
+    private final Clock clock;
+    private final Map<String, Entry> data = new ConcurrentHashMap<>();
+    private final Map<String, Set<Client>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+
+    private ServerSocket server;
+    private volatile boolean stopped;
+
+    public RespStandInServer(int port) {
+        this(port, Clock.systemUTC());
+    }
+
+    RespStandInServer(int port, Clock clock) {
+        this.port = port;
+        this.clock = clock;
+    }
+
+    public void start() throws IOException {
+        server = new ServerSocket();
+        server.bind(new InetSocketAddress("localhost", port), 128);
+        Thread.ofVirtual().name("resp-standin-acceptor").start(this::accept);
+        log.info("Stand-in RESP cache server listening on port {}", port());
+    }
+
+    public void stop() {
+        stopped = true;
+        try {
+            if (server != null) {
+                server.close();
+            }
+        } catch (IOException ignored) {
+            // shutting down
+        }
+        clients.forEach(Client::close);
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    private void accept() {
+        while (!stopped) {
+            try {
+                Client client = new Client(server.accept());
+                clients.add(client);
+                Thread.ofVirtual().name("resp-standin-client").start(() -> serve(client));
+            } catch (IOException e) {
+                if (!stopped) {
+                    log.warn("Stand-in RESP server failed to accept a connection: {}", e.toString());
+                }
+            }
+        }
+    }
+
+    private void serve(Client client) {
+        try (client) {
+            while (!stopped) {
+                if (!(RespProtocol.read(client.in) instanceof List<?> command) || command.isEmpty()
+                        || !command.stream().allMatch(byte[].class::isInstance)) {
+                    client.reply(out -> RespProtocol.writeError(out, "ERR expected a command array of bulk strings"));
+                    continue;
+                }
+                if (!handle(client, command)) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // client went away
+        } catch (RuntimeException e) {
+            // unparseable input: the stream cannot be resynchronised, so drop the connection
+            log.debug("Stand-in RESP server closed a connection on malformed input: {}", e.toString());
+        } finally {
+            clients.remove(client);
+            subscribers.values().forEach(s -> s.remove(client));
+        }
+    }
+
+    /**
+     * @return whether to keep serving the connection
+     */
+    private boolean handle(Client client, List<?> command) throws IOException {
+        String name = string(command.get(0)).toUpperCase(Locale.ROOT);
+        Integer arity = MIN_ARITY.get(name);
+        if (arity != null && command.size() < arity) {
+            client.reply(out -> RespProtocol.writeError(out, "ERR wrong number of arguments for '" + name + "' command"));
+            return true;
+        }
+        try {
+            return execute(client, name, command);
+        } catch (NumberFormatException e) {
+            client.reply(out -> RespProtocol.writeError(out, "ERR value is not an integer or out of range"));
+            return true;
+        }
+    }
+
+    private boolean execute(Client client, String name, List<?> command) throws IOException {
+        switch (name) {
+            case "PING" -> client.reply(out -> RespProtocol.writeSimple(out, "PONG"));
+            case "GET" -> {
+                Entry entry = live(string(command.get(1)));
+                client.reply(out -> RespProtocol.writeBulk(out, entry == null ? null : entry.value()));
+            }
+            case "SET" -> {
+                long expiresAt = Long.MAX_VALUE;
+                if (command.size() > 3) {
+                    String unit = string(command.get(3)).toUpperCase(Locale.ROOT);
+                    if (command.size() != 5 || !("EX".equals(unit) || "PX".equals(unit))) {
+                        client.reply(out -> RespProtocol.writeError(out, "ERR syntax error"));
+                        return true;
+                    }
+                    long amount = Long.parseLong(string(command.get(4)));
+                    if (amount <= 0) {
+                        client.reply(out -> RespProtocol.writeError(out, "ERR invalid expire time in 'SET' command"));
+                        return true;
+                    }
+                    expiresAt = clock.millis() + ("EX".equals(unit) ? amount * 1_000 : amount);
+                }
+                data.put(string(command.get(1)), new Entry((byte[]) command.get(2), expiresAt));
+                client.reply(out -> RespProtocol.writeSimple(out, "OK"));
+            }
+            case "PTTL" -> {
+                Entry entry = live(string(command.get(1)));
+                long ttl = entry == null ? -2
+                        : entry.expiresAtMillis() == Long.MAX_VALUE ? -1
+                        : entry.expiresAtMillis() - clock.millis();
+                client.reply(out -> RespProtocol.writeInteger(out, ttl));
+            }
+            case "DEL" -> {
+                long removed = command.stream().skip(1).filter(key -> data.remove(string(key)) != null).count();
+                client.reply(out -> RespProtocol.writeInteger(out, removed));
+            }
+            case "PUBLISH" -> {
+                String channel = string(command.get(1));
+                byte[] message = (byte[]) command.get(2);
+                Set<Client> receivers = subscribers.getOrDefault(channel, Set.of());
+                for (Client receiver : receivers) {
+                    receiver.reply(out -> {
+                        RespProtocol.writeArrayHeader(out, 3);
+                        RespProtocol.writeBulk(out, RespProtocol.bytes("message"));
+                        RespProtocol.writeBulk(out, RespProtocol.bytes(channel));
+                        RespProtocol.writeBulk(out, message);
+                    });
+                }
+                client.reply(out -> RespProtocol.writeInteger(out, receivers.size()));
+            }
+            case "SUBSCRIBE" -> {
+                for (int i = 1; i < command.size(); i++) {
+                    String channel = string(command.get(i));
+                    subscribers.computeIfAbsent(channel, c -> ConcurrentHashMap.newKeySet()).add(client);
+                    int count = i;
+                    client.reply(out -> {
+                        RespProtocol.writeArrayHeader(out, 3);
+                        RespProtocol.writeBulk(out, RespProtocol.bytes("subscribe"));
+                        RespProtocol.writeBulk(out, RespProtocol.bytes(channel));
+                        RespProtocol.writeInteger(out, count);
+                    });
+                }
+            }
+            case "FLUSHALL" -> {
+                data.clear();
+                client.reply(out -> RespProtocol.writeSimple(out, "OK"));
+            }
+            case "QUIT" -> {
+                client.reply(out -> RespProtocol.writeSimple(out, "OK"));
+                return false;
+            }
+            default -> client.reply(out -> RespProtocol.writeError(out, "ERR unknown command '" + name + "'"));
+        }
+        return true;
+    }
+
+    private Entry live(String key) {
+        Entry entry = data.get(key);
+        if (entry != null && entry.expiresAtMillis() <= clock.millis()) {
+            data.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private static String string(Object bulk) {
+        return new String((byte[]) bulk, StandardCharsets.UTF_8);
+    }
+
+    private interface Reply {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private static final class Client implements AutoCloseable {
+
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+        private final ReentrantLock writeLock = new ReentrantLock();
+
+        private Client(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = new BufferedOutputStream(socket.getOutputStream());
+        }
+
+        /**
+         * Replies and published messages to a subscriber come from different threads.
+         */
+        private void reply(Reply reply) throws IOException {
+            writeLock.lock();
+            try {
+                reply.writeTo(out);
+                out.flush();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already closed
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.kramp.productinfo.infrastructure.canonical;
+
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.model.CustomerSegment;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces repeated small strings in upstream records with shared instances, so cached
+ * records do not each carry their own copy of "de-DE", "DE-02" or "weight".
+ * <p>
+ * Closed vocabularies resolve through constants: segments through {@link CustomerSegment},
+ * currencies through the JDK {@link Currency} registry. Open ones go through a bounded
+ * {@link InternPool} per field type. Free text (names, descriptions, image URLs) is left alone.
+ * <p>
+ * Pool sizes and overflow counts are exported as {@code domain.canonical.pool.*}.
+ */
+public class DomainCanonicalizer implements MeterBinder {
+
+    private final boolean enabled;
+    private final InternPool markets;
+    private final InternPool warehouses;
+    private final InternPool deliveries;
+    private final InternPool specKeys;
+    private final InternPool specValues;
+    private final InternPool preferences;
+    private final InternPool reasons;
+    private final InternPool segments;
+    private final InternPool currencies;
+
+    public DomainCanonicalizer(boolean enabled, int maxEntriesPerPool) {
+        this.enabled = enabled;
+        this.markets = new InternPool("market", maxEntriesPerPool);
+        this.warehouses = new InternPool("warehouse", maxEntriesPerPool);
+        this.deliveries = new InternPool("delivery", maxEntriesPerPool);
+        this.specKeys = new InternPool("spec-key", maxEntriesPerPool);
+        this.specValues = new InternPool("spec-value", maxEntriesPerPool);
+        this.preferences = new InternPool("preference", maxEntriesPerPool);
+        this.reasons = new InternPool("reason", maxEntriesPerPool);
+        this.segments = new InternPool("segment", maxEntriesPerPool);
+        this.currencies = new InternPool("currency", maxEntriesPerPool);
+    }
+
+    public ProductDetails productDetails(ProductDetails p) {
+        if (!enabled || p == null) return p;
+        Map<String, String> specs = new HashMap<>(p.specs().size() * 2);
+        p.specs().forEach((k, v) -> specs.put(specKeys.intern(k), specValues.intern(v)));
+        return new ProductDetails(p.productId(), markets.intern(p.market()), p.name(), p.description(),
+                specs, p.imageUrls());
+    }
+
+    public PricingInfo pricing(PricingInfo p) {
+        if (!enabled || p == null) return p;
+        return new PricingInfo(p.available(), p.basePrice(), p.discountPercent(), p.finalPrice(),
+                currency(p.currency()), reasons.intern(p.reason()), p.staleAgeMs());
+    }
+
+    public AvailabilityInfo availability(AvailabilityInfo a) {
+        if (!enabled || a == null) return a;
+        return new AvailabilityInfo(a.stockKnown(), a.stockLevel(),
+                warehouses.intern(a.warehouseCode()), deliveries.intern(a.expectedDelivery()), a.staleAgeMs());
+    }
+
+    public CustomerContext customerContext(CustomerContext c) {
+        if (!enabled || c == null) return c;
+        Map<String, String> prefs = new HashMap<>(c.preferences().size() * 2);
+        c.preferences().forEach((k, v) -> prefs.put(preferences.intern(k), preferences.intern(v)));
+        return new CustomerContext(c.customerId(), segment(c.segment()), prefs);
+    }
+
+    public String market(String market) {
+        return enabled ? markets.intern(market) : market;
+    }
+
+    private String segment(String segment) {
+        CustomerSegment known = CustomerSegment.fromCode(segment);
+        return known != null ? known.name() : segments.intern(segment);
+    }
+
+    private String currency(String code) {
+        if (code == null) return null;
+        try {
+            return Currency.getInstance(code).getCurrencyCode();
+        } catch (IllegalArgumentException e) {
+            return currencies.intern(code);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (InternPool pool : List.of(markets, warehouses, deliveries, specKeys, specValues,
+                preferences, reasons, segments, currencies)) {
+            Gauge.builder("domain.canonical.pool.size", pool, InternPool::size)
+                    .tag("pool", pool.name())
+                    .register(registry);
+            FunctionCounter.builder("domain.canonical.pool.overflows", pool, InternPool::overflows)
+                    .tag("pool", pool.name())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.kramp.productinfo.infrastructure.canonical;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, concurrent string intern pool.
+ * <p>
+ * Returns one shared instance per distinct value until {@code maxEntries} values are held;
+ * after that, new values are returned as-is (existing ones are still deduplicated). The pool
+ * never evicts: the values it targets (market codes, warehouse codes, spec keys) form small,
+ * stable vocabularies, and a full pool is a signal the field is not a good candidate.
+ */
+public final class InternPool {
+
+    private final String name;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final LongAdder overflows = new LongAdder();
+
+    public InternPool(String name, int maxEntries) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+    }
+
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = values.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (size.get() >= maxEntries) {
+            overflows.increment();
+            return value;
+        }
+        existing = values.putIfAbsent(value, value);
+        if (existing != null) {
+            return existing;
+        }
+        size.incrementAndGet();
+        return value;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public long overflows() {
+        return overflows.sum();
+    }
+}
@@ -0,0 +1,124 @@
+package com.kramp.productinfo.infrastructure.catalogstore;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kramp.productinfo.infrastructure.mock.model.CatalogDataset;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Build step converting catalog JSON files (the {@code mock-data/catalog} layout) into
+ * mapped catalog store files.
+ * <p>
+ * The JSON is read as a stream, one product at a time, so markets far larger than the heap
+ * can be converted:
+ * <pre>
+ * java -cp app.jar com.kramp.productinfo.infrastructure.catalogstore.CatalogStoreBuilder \
+ *      target/catalog-store src/main/resources/mock-data/catalog/de-DE.json ...
+ * </pre>
+ * The market code is taken from the file name ({@code de-DE.json -> de-DE.pcat}).
+ */
+public class CatalogStoreBuilder {
+
+    private final ObjectMapper objectMapper;
+    private final CatalogStoreWriter writer;
+
+    public CatalogStoreBuilder(ObjectMapper objectMapper, CatalogStoreWriter writer) {
+        this.objectMapper = objectMapper;
+        this.writer = writer;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CatalogStoreBuilder <output-dir> <catalog.json>...");
+            System.exit(2);
+        }
+        Path outputDir = Path.of(args[0]);
+        CatalogStoreBuilder builder = new CatalogStoreBuilder(new ObjectMapper(), new CatalogStoreWriter());
+        for (int i = 1; i < args.length; i++) {
+            Path json = Path.of(args[i]);
+            String market = marketOf(json.getFileName().toString());
+            try (InputStream in = Files.newInputStream(json)) {
+                builder.build(market, in, outputDir.resolve(market + MappedCatalogStore.FILE_SUFFIX));
+            }
+            System.out.println("Built " + market + " from " + json);
+        }
+    }
+
+    public void build(String market, InputStream json, Path target) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            if (!seekProducts(parser)) {
+                throw new IOException("No 'products' object in catalog for market " + market);
+            }
+            writer.write(market, new ProductIterator(parser), target);
+        }
+    }
+
+    static String marketOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    private static boolean seekProducts(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("products".equals(field) && value == JsonToken.START_OBJECT) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static final class ProductIterator implements Iterator<Map.Entry<String, CatalogDataset.CatalogProduct>> {
+
+        private final JsonParser parser;
+        private Map.Entry<String, CatalogDataset.CatalogProduct> next;
+
+        ProductIterator(JsonParser parser) {
+            this.parser = parser;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<String, CatalogDataset.CatalogProduct> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, CatalogDataset.CatalogProduct> current = next;
+            advance();
+            return current;
+        }
+
+        private void advance() {
+            try {
+                if (parser.nextToken() != JsonToken.FIELD_NAME) {
+                    next = null;
+                    return;
+                }
+                String productId = parser.currentName();
+                parser.nextToken();
+                next = Map.entry(productId, parser.readValueAs(CatalogDataset.CatalogProduct.class));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.kramp.productinfo.infrastructure.catalogstore;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary layout of a market catalog file.
+ * <pre>
+ * header (32 bytes)
+ *   int    magic "PCAT"
+ *   int    version
+ *   int    record count
+ *   int    index slot count (power of two)
+ *   long   index offset
+ *   int    chunk size (records never straddle a chunk boundary)
+ *   int    market name length
+ * market name (UTF-8)
+ * data (starts right after the market name)
+ *   records: str productId, str name, str description,
+ *            varint specCount, (str key, str value)*, varint imageCount, str*
+ *   str = varint (UTF-8 length + 1, 0 meaning null) followed by the bytes
+ * index (at index offset)
+ *   slot count x (int productId hash, long record offset within the data area + 1; 0 = empty)
+ * </pre>
+ * The index is an open-addressing table with linear probing, sized for a load factor of at
+ * most 0.6. It comes last so records can be streamed out before the final count is known.
+ */
+final class CatalogStoreFormat {
+
+    static final int MAGIC = 0x50434154; // "PCAT"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int SLOT_BYTES = 12;
+    static final int DEFAULT_CHUNK_SIZE = 1 << 30;
+
+    private CatalogStoreFormat() {
+    }
+
+    static int hash(String productId) {
+        int h = productId.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    static int slotCount(int records) {
+        int needed = Math.max(2, (int) Math.ceil(records / 0.6));
+        int slots = Integer.highestOneBit(needed);
+        return slots == needed ? slots : slots << 1;
+    }
+
+    static void writeVarInt(ByteBuffer buf, int value) {
+        while ((value & ~0x7F) != 0) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    static void writeString(ByteBuffer buf, String value) {
+        if (value == null) {
+            writeVarInt(buf, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(buf, bytes.length + 1);
+        buf.put(bytes);
+    }
+
+    /**
+     * Sequential reader over one record, positioned by absolute index in a mapped chunk.
+     */
+    static final class Cursor {
+        private final ByteBuffer buf;
+        private int pos;
+
+        Cursor(ByteBuffer buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buf.get(pos++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        String readString() {
+            int len = readVarInt();
+            if (len == 0) {
+                return null;
+            }
+            byte[] bytes = new byte[len - 1];
+            buf.get(pos, bytes);
+            pos += bytes.length;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        boolean matches(byte[] expected) {
+            int len = readVarInt();
+            if (len - 1 != expected.length) {
+                return false;
+            }
+            for (int i = 0; i < expected.length; i++) {
+                if (buf.get(pos + i) != expected[i]) {
+                    return false;
+                }
+            }
+            pos += expected.length;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.kramp.productinfo.infrastructure.catalogstore;
+
+import com.kramp.productinfo.infrastructure.mock.model.CatalogDataset;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.kramp.productinfo.infrastructure.catalogstore.CatalogStoreFormat.HEADER_BYTES;
+import static com.kramp.productinfo.infrastructure.catalogstore.CatalogStoreFormat.SLOT_BYTES;
+import static com.kramp.productinfo.infrastructure.catalogstore.CatalogStoreFormat.writeString;
+import static com.kramp.productinfo.infrastructure.catalogstore.CatalogStoreFormat.writeVarInt;
+
+/**
+ * Writes a market catalog into the binary format described in {@link CatalogStoreFormat}.
+ * <p>
+ * Records are streamed to disk one at a time; only a hash and an offset per record
+ * (12 bytes) are kept in memory to build the index at the end. The file is written next to
+ * the target and moved into place atomically, so a running service never maps a
+ * half-written file.
+ */
+public class CatalogStoreWriter {
+
+    private final int chunkSize;
+
+    public CatalogStoreWriter() {
+        this(CatalogStoreFormat.DEFAULT_CHUNK_SIZE);
+    }
+
+    CatalogStoreWriter(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public void write(String market, Map<String, CatalogDataset.CatalogProduct> products, Path target) throws IOException {
+        write(market, products.entrySet().iterator(), target);
+    }
+
+    public void write(String market, Iterator<Map.Entry<String, CatalogDataset.CatalogProduct>> products,
+                      Path target) throws IOException {
+        byte[] marketBytes = market.getBytes(StandardCharsets.UTF_8);
+        long dataOffset = HEADER_BYTES + marketBytes.length;
+
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            int count = 0;
+            int[] hashes = new int[1024];
+            long[] positions = new long[1024];
+            ByteBuffer record = ByteBuffer.allocate(64 * 1024);
+            long position = 0;
+            while (products.hasNext()) {
+                Map.Entry<String, CatalogDataset.CatalogProduct> e = products.next();
+                record = encode(e.getKey(), e.getValue(), record);
+                int length = record.remaining();
+                if (length > chunkSize) {
+                    throw new IOException("Record for productId=" + e.getKey() + " exceeds chunk size");
+                }
+                long chunkOffset = position % chunkSize;
+                if (chunkOffset + length > chunkSize) {
+                    position += chunkSize - chunkOffset;
+                }
+                channel.write(record, dataOffset + position);
+
+                if (count == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, count * 2);
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                hashes[count] = CatalogStoreFormat.hash(e.getKey());
+                positions[count] = position;
+                count++;
+                position += length;
+            }
+
+            int slots = CatalogStoreFormat.slotCount(count);
+            long indexOffset = dataOffset + position;
+            channel.write(buildIndex(slots, hashes, positions, count), indexOffset);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + marketBytes.length);
+            header.putInt(CatalogStoreFormat.MAGIC)
+                    .putInt(CatalogStoreFormat.VERSION)
+                    .putInt(count)
+                    .putInt(slots)
+                    .putLong(indexOffset)
+                    .putInt(chunkSize)
+                    .putInt(marketBytes.length)
+                    .put(marketBytes)
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static ByteBuffer buildIndex(int slots, int[] hashes, long[] positions, int count) {
+        ByteBuffer index = ByteBuffer.allocate(slots * SLOT_BYTES);
+        for (int i = 0; i < count; i++) {
+            int slot = hashes[i] & (slots - 1);
+            while (index.getLong(slot * SLOT_BYTES + 4) != 0) {
+                slot = (slot + 1) & (slots - 1);
+            }
+            index.putInt(slot * SLOT_BYTES, hashes[i]);
+            index.putLong(slot * SLOT_BYTES + 4, positions[i] + 1);
+        }
+        return index;
+    }
+
+    private static ByteBuffer encode(String productId, CatalogDataset.CatalogProduct p, ByteBuffer buf) {
+        while (true) {
+            try {
+                buf.clear();
+                writeString(buf, productId);
+                writeString(buf, p.name());
+                writeString(buf, p.description());
+                Map<String, String> specs = p.specs() == null ? Map.of() : p.specs();
+                writeVarInt(buf, specs.size());
+                for (Map.Entry<String, String> spec : specs.entrySet()) {
+                    writeString(buf, spec.getKey());
+                    writeString(buf, spec.getValue());
+                }
+                List<String> images = p.images() == null ? List.of() : p.images();
+                writeVarInt(buf, images.size());
+                for (String image : images) {
+                    writeString(buf, image);
+                }
+                return buf.flip();
+            } catch (BufferOverflowException e) {
+                buf = ByteBuffer.allocate(buf.capacity() * 2);
+            }
+        }
+    }
+}
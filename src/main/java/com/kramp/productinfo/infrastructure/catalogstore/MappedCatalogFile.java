@@ -0,0 +1,124 @@
+package com.kramp.productinfo.infrastructure.catalogstore;
+
+import com.kramp.productinfo.domain.model.ProductDetails;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.kramp.productinfo.infrastructure.catalogstore.CatalogStoreFormat.HEADER_BYTES;
+import static com.kramp.productinfo.infrastructure.catalogstore.CatalogStoreFormat.SLOT_BYTES;
+
+/**
+ * Read-only, memory-mapped view of one market catalog file.
+ * <p>
+ * Opening only validates the header and maps the file; nothing is parsed. A lookup probes
+ * the hash index and decodes just the matching record, so heap usage does not depend on
+ * the catalog size and the OS page cache decides what stays resident.
+ */
+public final class MappedCatalogFile {
+
+    private final String market;
+    private final int recordCount;
+    private final int slots;
+    private final int chunkSize;
+    private final ByteBuffer index;
+    private final ByteBuffer[] chunks;
+
+    private MappedCatalogFile(String market, int recordCount, int slots, int chunkSize,
+                              ByteBuffer index, ByteBuffer[] chunks) {
+        this.market = market;
+        this.recordCount = recordCount;
+        this.slots = slots;
+        this.chunkSize = chunkSize;
+        this.index = index;
+        this.chunks = chunks;
+    }
+
+    public static MappedCatalogFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt(0) != CatalogStoreFormat.MAGIC || header.getInt(4) != CatalogStoreFormat.VERSION) {
+                throw new IOException("Not a catalog store file (or unsupported version): " + file);
+            }
+            int recordCount = header.getInt(8);
+            int slots = header.getInt(12);
+            long indexOffset = header.getLong(16);
+            int chunkSize = header.getInt(24);
+            int marketLength = header.getInt(28);
+
+            byte[] marketBytes = new byte[marketLength];
+            channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, marketLength).get(marketBytes);
+            ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, (long) slots * SLOT_BYTES);
+
+            long dataOffset = HEADER_BYTES + marketLength;
+            long dataLength = indexOffset - dataOffset;
+            List<ByteBuffer> chunks = new ArrayList<>();
+            for (long offset = 0; offset < dataLength; offset += chunkSize) {
+                long length = Math.min(chunkSize, dataLength - offset);
+                chunks.add(channel.map(FileChannel.MapMode.READ_ONLY, dataOffset + offset, length));
+            }
+            // mappings stay valid after the channel is closed
+            return new MappedCatalogFile(new String(marketBytes, StandardCharsets.UTF_8).intern(),
+                    recordCount, slots, chunkSize, index, chunks.toArray(ByteBuffer[]::new));
+        }
+    }
+
+    public String market() {
+        return market;
+    }
+
+    public int recordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the product, or {@code null} when the productId is not in this catalog.
+     */
+    public ProductDetails find(String productId) {
+        int hash = CatalogStoreFormat.hash(productId);
+        byte[] id = productId.getBytes(StandardCharsets.UTF_8);
+        int slot = hash & (slots - 1);
+        for (int probes = 0; probes < slots; probes++) {
+            int base = slot * SLOT_BYTES;
+            long stored = index.getLong(base + 4);
+            if (stored == 0) {
+                return null;
+            }
+            if (index.getInt(base) == hash) {
+                long position = stored - 1;
+                CatalogStoreFormat.Cursor cursor = new CatalogStoreFormat.Cursor(
+                        chunks[(int) (position / chunkSize)], (int) (position % chunkSize));
+                if (cursor.matches(id)) {
+                    return decode(productId, cursor);
+                }
+            }
+            slot = (slot + 1) & (slots - 1);
+        }
+        return null;
+    }
+
+    private ProductDetails decode(String productId, CatalogStoreFormat.Cursor cursor) {
+        String name = cursor.readString();
+        String description = cursor.readString();
+        int specCount = cursor.readVarInt();
+        Map<String, String> specs = new HashMap<>(specCount * 2);
+        for (int i = 0; i < specCount; i++) {
+            specs.put(cursor.readString(), cursor.readString());
+        }
+        int imageCount = cursor.readVarInt();
+        List<String> images = new ArrayList<>(imageCount);
+        for (int i = 0; i < imageCount; i++) {
+            images.add(cursor.readString());
+        }
+        return new ProductDetails(productId, market, name, description, specs, images);
+    }
+}
@@ -0,0 +1,58 @@
+package com.kramp.productinfo.infrastructure.catalogstore;
+
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.exception.MarketNotFoundException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Directory of memory-mapped market catalogs, one {@code <market>.pcat} file per market.
+ * Files are mapped on first use and kept mapped for the lifetime of the service.
+ */
+public class MappedCatalogStore {
+
+    public static final String FILE_SUFFIX = ".pcat";
+
+    private final Path directory;
+    private final ConcurrentHashMap<String, MappedCatalogFile> files = new ConcurrentHashMap<>();
+
+    public MappedCatalogStore(Path directory) {
+        this.directory = directory.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Returns the product, or {@code null} when the market exists but the productId does not.
+     *
+     * @throws MarketNotFoundException when there is no catalog file for the market
+     */
+    public ProductDetails find(String productId, String market) {
+        return files.computeIfAbsent(market, this::open).find(productId);
+    }
+
+    /**
+     * @throws MarketNotFoundException when the market would name a file outside the directory
+     */
+    public Path fileFor(String market) {
+        Path file = directory.resolve(market + FILE_SUFFIX).normalize();
+        if (!directory.equals(file.getParent())) {
+            throw new MarketNotFoundException(market);
+        }
+        return file;
+    }
+
+    private MappedCatalogFile open(String market) {
+        Path file = fileFor(market);
+        if (!Files.isRegularFile(file)) {
+            throw new MarketNotFoundException(market);
+        }
+        try {
+            return MappedCatalogFile.open(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map catalog store " + file, e);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.kramp.productinfo.infrastructure.changes;
+
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.ChangeFeed;
+import com.kramp.productinfo.domain.model.ChangeFeed.ProductChange;
+import com.kramp.productinfo.domain.model.ChangedField;
+import com.kramp.productinfo.domain.model.CustomerSegment;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.OfferChangeListener;
+import com.kramp.productinfo.domain.ports.OfferListing;
+import com.kramp.productinfo.domain.ports.ProductChanges;
+import com.kramp.productinfo.infrastructure.search.CatalogIndexRebuilder;
+import com.kramp.productinfo.infrastructure.search.MarketCatalogIndex;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-market log of product changes, for incremental sync over {@code /product-info/changes}.
+ * <p>
+ * Every change gets the market's next sequence number and lands in a ring buffer of
+ * {@code capacity} entries, overwriting the oldest; a cursor older than the oldest entry kept
+ * can no longer be served and gets {@code resyncRequired}. Numbers are consecutive, so a cursor
+ * maps straight to its slot. A cursor is the opaque token {@code epoch:seq}, the epoch being
+ * random per instance: a cursor handed out before a restart, or by another instance behind
+ * the same load balancer, names another epoch and gets {@code resyncRequired} too, instead of
+ * being read as a position in this log.
+ * <p>
+ * A change is a value that differs from the last one seen for the product: catalog details and
+ * removals (through the catalog lookups and the full rebuilds), the price per customer segment
+ * and availability (through the pricing and availability lookups, and through the
+ * {@link OfferListing} on full rebuilds). The first full rebuild of a market only records what
+ * is there; a product first seen before any rebuild (no listing) is not a change either.
+ * Prices are followed for the {@link CustomerSegment}s only.
+ * <p>
+ * What was last seen is kept as 64-bit fingerprints, not as the values: one for the catalog
+ * details, one per segment's price, one for availability. A product costs a few dozen bytes
+ * however large its description, specs and images, so the log's heap stays flat in the catalog
+ * data of even multi-million-product markets. Ages of stale values are not part of a
+ * fingerprint, and decimals compare by value, not scale.
+ */
+public class ProductChangeLog implements ProductChanges, MarketCatalogIndex, OfferChangeListener {
+
+    private static final ChangedField[] FIELDS = ChangedField.values();
+    private static final CustomerSegment[] SEGMENTS = CustomerSegment.values();
+
+    /**
+     * Fingerprints of what was last seen of a product; each valid only while its flag is set.
+     */
+    private static final class ProductState {
+
+        private long catalog;
+        private long availability;
+        private final long[] pricing = new long[SEGMENTS.length];
+        private byte priced; // one bit per segment ordinal
+        private boolean inCatalog;
+        private boolean removed;
+        private boolean hasAvailability;
+    }
+
+    /**
+     * 64-bit FNV-1a over the parts added, with a marker between parts and for nulls.
+     */
+    private static final class Fingerprint {
+
+        private static final long PRIME = 0x100000001b3L;
+
+        private long hash = 0xcbf29ce484222325L;
+
+        private Fingerprint add(String value) {
+            if (value == null) {
+                return mix(0x10000);
+            }
+            for (int i = 0; i < value.length(); i++) {
+                mix(value.charAt(i));
+            }
+            return mix(0x10001);
+        }
+
+        private Fingerprint add(BigDecimal value) {
+            return add(value == null ? null : value.stripTrailingZeros().toPlainString());
+        }
+
+        private Fingerprint add(long value) {
+            for (int shift = 0; shift < 64; shift += 16) {
+                mix((int) (value >>> shift) & 0xFFFF);
+            }
+            return mix(0x10001);
+        }
+
+        private Fingerprint mix(int value) {
+            hash = (hash ^ value) * PRIME;
+            return this;
+        }
+
+        private static long of(ProductDetails details) {
+            long specs = 0; // summed, so the order of the entries does not matter
+            for (Map.Entry<String, String> spec : details.specs().entrySet()) {
+                specs += new Fingerprint().add(spec.getKey()).add(spec.getValue()).hash;
+            }
+            Fingerprint fingerprint = new Fingerprint().add(details.name()).add(details.description()).add(specs);
+            for (String imageUrl : details.imageUrls()) {
+                fingerprint.add(imageUrl);
+            }
+            return fingerprint.hash;
+        }
+
+        private static long of(PricingInfo pricing) {
+            return new Fingerprint().add(pricing.available() ? 1 : 0).add(pricing.basePrice())
+                    .add(pricing.discountPercent()).add(pricing.finalPrice()).add(pricing.currency())
+                    .add(pricing.reason()).hash;
+        }
+
+        private static long of(AvailabilityInfo availability) {
+            Integer level = availability.stockLevel();
+            return new Fingerprint().add(availability.stockKnown() ? 1 : 0).add(level == null ? -1 : level)
+                    .add(availability.warehouseCode()).add(availability.expectedDelivery()).hash;
+        }
+    }
+
+    private static final class MarketLog {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, ProductState> products = new HashMap<>();
+        private final String[] productIds;
+        private final byte[] fields;
+        private long head;
+        private int count;
+        private boolean baselined;
+
+        private MarketLog(int capacity) {
+            this.productIds = new String[capacity];
+            this.fields = new byte[capacity];
+        }
+
+        private void append(String productId, ChangedField field) {
+            head++;
+            int slot = (int) Math.floorMod(head, (long) productIds.length);
+            productIds[slot] = productId;
+            fields[slot] = (byte) field.ordinal();
+            count = Math.min(count + 1, productIds.length);
+        }
+
+        private ProductState state(String productId) {
+            return products.computeIfAbsent(productId, id -> new ProductState());
+        }
+
+        private void catalogChanged(ProductDetails details) {
+            ProductState state = state(details.productId());
+            long fingerprint = Fingerprint.of(details);
+            boolean changed = state.inCatalog ? state.catalog != fingerprint : state.removed || baselined;
+            state.catalog = fingerprint;
+            state.inCatalog = true;
+            state.removed = false;
+            if (changed) {
+                append(details.productId(), ChangedField.CATALOG);
+            }
+        }
+
+        private void removed(String productId) {
+            ProductState state = products.get(productId);
+            if (state != null && state.inCatalog) {
+                state.inCatalog = false;
+                state.removed = true;
+                append(productId, ChangedField.REMOVED);
+            }
+        }
+
+        private void pricingChanged(String productId, String segment, PricingInfo pricing) {
+            CustomerSegment listed = CustomerSegment.fromCode(segment);
+            if (listed == null) {
+                return;
+            }
+            ProductState state = state(productId);
+            int bit = 1 << listed.ordinal();
+            boolean seen = (state.priced & bit) != 0;
+            boolean changed;
+            if (pricing == null) {
+                state.priced &= (byte) ~bit;
+                changed = seen;
+            } else {
+                long fingerprint = Fingerprint.of(pricing);
+                changed = seen ? state.pricing[listed.ordinal()] != fingerprint : baselined;
+                state.pricing[listed.ordinal()] = fingerprint;
+                state.priced |= (byte) bit;
+            }
+            if (changed) {
+                append(productId, ChangedField.PRICING);
+            }
+        }
+
+        private void availabilityChanged(String productId, AvailabilityInfo availability) {
+            ProductState state = state(productId);
+            boolean changed;
+            if (availability == null) {
+                changed = state.hasAvailability;
+                state.hasAvailability = false;
+            } else {
+                long fingerprint = Fingerprint.of(availability);
+                changed = state.hasAvailability ? state.availability != fingerprint : baselined;
+                state.availability = fingerprint;
+                state.hasAvailability = true;
+            }
+            if (changed) {
+                append(productId, ChangedField.AVAILABILITY);
+            }
+        }
+
+        private ChangeFeed since(String market, String epoch, String cursor, int limit) {
+            if (cursor == null) {
+                return new ChangeFeed(market, null, epoch + ':' + head, false, false, List.of());
+            }
+            long since = sequence(epoch, cursor);
+            long oldest = head - count + 1;
+            if (since < 0 || since > head || since < oldest - 1) {
+                return new ChangeFeed(market, cursor, epoch + ':' + head, true, false, List.of());
+            }
+            long last = Math.min(head, since + limit);
+            Map<String, Set<ChangedField>> changed = new LinkedHashMap<>();
+            for (long seq = since + 1; seq <= last; seq++) {
+                int slot = (int) Math.floorMod(seq, (long) productIds.length);
+                changed.computeIfAbsent(productIds[slot], id -> EnumSet.noneOf(ChangedField.class))
+                        .add(FIELDS[fields[slot]]);
+            }
+            List<ProductChange> changes = new ArrayList<>(changed.size());
+            changed.forEach((productId, fields) -> changes.add(new ProductChange(productId, fields)));
+            return new ChangeFeed(market, cursor, epoch + ':' + last, false, last < head, changes);
+        }
+
+        /**
+         * The sequence number of a cursor of {@code epoch}, or -1 for a cursor of another epoch or a malformed one.
+         */
+        private static long sequence(String epoch, String cursor) {
+            int colon = cursor.indexOf(':');
+            if (colon != epoch.length() || !cursor.startsWith(epoch)) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(cursor, colon + 1, cursor.length(), 10);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+
+    private final OfferListing listing;
+    private final int capacity;
+    private final String epoch;
+    private final ConcurrentHashMap<String, MarketLog> markets = new ConcurrentHashMap<>();
+
+    /**
+     * @param listing  {@code null} when offers cannot be listed: their changes are then only seen in lookups
+     * @param capacity changes kept per market
+     */
+    public ProductChangeLog(OfferListing listing, int capacity) {
+        this(listing, capacity, Long.toString(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE), 36));
+    }
+
+    ProductChangeLog(OfferListing listing, int capacity, String epoch) {
+        this.listing = listing;
+        this.capacity = capacity;
+        this.epoch = epoch;
+    }
+
+    @Override
+    public ChangeFeed changesSince(String market, String since, int limit) {
+        MarketLog log = log(market);
+        log.lock.lock();
+        try {
+            return log.since(market, epoch, since, limit);
+        } finally {
+            log.lock.unlock();
+        }
+    }
+
+    /**
+     * Diffs the full listing against what was last seen, so changes no lookup noticed, removals
+     * included, still make it into the log. Called by the {@link CatalogIndexRebuilder}.
+     */
+    @Override
+    public void rebuild(String market, Collection<ProductDetails> products) {
+        Map<String, Map<String, PricingInfo>> pricing = new LinkedHashMap<>();
+        Map<String, AvailabilityInfo> availability = listing == null ? null : listing.listAvailability(market);
+        if (listing != null) {
+            for (CustomerSegment segment : CustomerSegment.values()) {
+                pricing.put(segment.name(), listing.listPricing(market, segment.name()));
+            }
+        }
+
+        MarketLog log = log(market);
+        log.lock.lock();
+        try {
+            Set<String> listed = new HashSet<>();
+            for (ProductDetails product : products) {
+                listed.add(product.productId());
+                log.catalogChanged(product);
+            }
+            for (String productId : List.copyOf(log.products.keySet())) {
+                if (!listed.contains(productId)) {
+                    if (log.baselined) {
+                        log.removed(productId);
+                    }
+                    log.products.remove(productId); // once baselined, coming back is a change anyway
+                }
+            }
+            if (availability != null) {
+                for (String productId : listed) {
+                    log.availabilityChanged(productId, availability.get(productId));
+                    pricing.forEach((segment, prices) -> log.pricingChanged(productId, segment, prices.get(productId)));
+                }
+            }
+            log.baselined = true;
+        } finally {
+            log.lock.unlock();
+        }
+    }
+
+    @Override
+    public void productChanged(ProductDetails details) {
+        MarketLog log = log(details.market());
+        log.lock.lock();
+        try {
+            log.catalogChanged(details);
+        } finally {
+            log.lock.unlock();
+        }
+    }
+
+    @Override
+    public void productRemoved(String productId, String market) {
+        MarketLog log = log(market);
+        log.lock.lock();
+        try {
+            log.removed(productId);
+        } finally {
+            log.lock.unlock();
+        }
+    }
+
+    @Override
+    public void pricingChanged(String productId, String market, String segment, PricingInfo pricing) {
+        MarketLog log = log(market);
+        log.lock.lock();
+        try {
+            log.pricingChanged(productId, segment, pricing);
+        } finally {
+            log.lock.unlock();
+        }
+    }
+
+    @Override
+    public void availabilityChanged(String productId, String market, AvailabilityInfo availability) {
+        MarketLog log = log(market);
+        log.lock.lock();
+        try {
+            log.availabilityChanged(productId, availability);
+        } finally {
+            log.lock.unlock();
+        }
+    }
+
+    private MarketLog log(String market) {
+        return markets.computeIfAbsent(market, m -> new MarketLog(capacity));
+    }
+}
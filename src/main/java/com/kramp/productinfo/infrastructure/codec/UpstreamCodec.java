@@ -0,0 +1,107 @@
+package com.kramp.productinfo.infrastructure.codec;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Wire encodings understood by the upstream adapters and the stand-in server.
+ * JSON is always supported and is the fallback when nothing else matches.
+ */
+public enum UpstreamCodec {
+
+    SMILE("application/x-jackson-smile"),
+    CBOR("application/cbor"),
+    JSON("application/json");
+
+    private final String mediaType;
+
+    UpstreamCodec(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolves the codec of a response from its Content-Type, defaulting to JSON.
+     */
+    public static UpstreamCodec fromContentType(String contentType) {
+        if (contentType != null) {
+            String type = stripParameters(contentType);
+            for (UpstreamCodec codec : values()) {
+                if (codec.mediaType.equals(type)) {
+                    return codec;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * Picks the codec with the highest q-value in an Accept header; ties keep header order.
+     * Falls back to JSON when the header is absent or lists nothing we can produce.
+     */
+    public static UpstreamCodec negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        UpstreamCodec best = null;
+        double bestQ = 0;
+        for (String range : accept.split(",")) {
+            UpstreamCodec codec = forMediaRange(stripParameters(range));
+            double q = qValue(range);
+            if (codec != null && q > bestQ) {
+                best = codec;
+                bestQ = q;
+            }
+        }
+        return best == null ? JSON : best;
+    }
+
+    /**
+     * Builds an Accept header listing the given codecs in preference order with descending q-values.
+     */
+    public static String acceptHeader(List<UpstreamCodec> preferred) {
+        StringBuilder sb = new StringBuilder();
+        double q = 1.0;
+        for (UpstreamCodec codec : preferred) {
+            if (!sb.isEmpty()) sb.append(", ");
+            sb.append(codec.mediaType);
+            if (q < 1.0) sb.append(";q=").append(String.format(Locale.ROOT, "%.1f", q));
+            q = Math.max(0.1, q - 0.1);
+        }
+        return sb.isEmpty() ? JSON.mediaType : sb.toString();
+    }
+
+    private static UpstreamCodec forMediaRange(String range) {
+        if ("*/*".equals(range) || "application/*".equals(range)) {
+            return JSON;
+        }
+        for (UpstreamCodec codec : values()) {
+            if (codec.mediaType.equals(range)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    private static double qValue(String range) {
+        for (String param : range.split(";")) {
+            String p = param.trim();
+            if (p.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(p.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1.0;
+    }
+
+    private static String stripParameters(String mediaType) {
+        int semi = mediaType.indexOf(';');
+        return (semi < 0 ? mediaType : mediaType.substring(0, semi)).trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,100 @@
+package com.kramp.productinfo.infrastructure.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * One {@link ObjectMapper} per {@link UpstreamCodec}, all sharing the application's
+ * Jackson configuration, plus optional gzip content encoding.
+ */
+@Component
+public class UpstreamCodecs {
+
+    public static final String GZIP = "gzip";
+
+    private final Map<UpstreamCodec, ObjectMapper> mappers = new EnumMap<>(UpstreamCodec.class);
+
+    public UpstreamCodecs(ObjectMapper objectMapper) {
+        mappers.put(UpstreamCodec.JSON, objectMapper);
+        mappers.put(UpstreamCodec.CBOR, objectMapper.copyWith(new CBORFactory()));
+        mappers.put(UpstreamCodec.SMILE, objectMapper.copyWith(new SmileFactory()));
+    }
+
+    public ObjectMapper mapper(UpstreamCodec codec) {
+        return mappers.get(codec);
+    }
+
+    public byte[] encode(UpstreamCodec codec, Object value, boolean gzip) throws IOException {
+        byte[] raw = mappers.get(codec).writeValueAsBytes(value);
+        return gzip ? gzip(raw) : raw;
+    }
+
+    public static byte[] gzip(byte[] raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 32);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(raw);
+        }
+        return out.toByteArray();
+    }
+
+    public <T> T decode(UpstreamCodec codec, byte[] body, String contentEncoding, Class<T> type) throws IOException {
+        if (isGzip(contentEncoding)) {
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                return mappers.get(codec).readValue(in, type);
+            }
+        }
+        return mappers.get(codec).readValue(body, type);
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} allows gzip: listed as {@code gzip} (or, when not listed,
+     * as {@code *}) with a non-zero {@code q}.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals(GZIP)) {
+                return quality(parts) > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = quality(parts) > 0;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static boolean isGzip(String contentEncoding) {
+        return contentEncoding != null && GZIP.equalsIgnoreCase(contentEncoding.trim());
+    }
+}
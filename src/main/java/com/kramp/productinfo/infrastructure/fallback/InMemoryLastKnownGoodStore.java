@@ -0,0 +1,170 @@
+package com.kramp.productinfo.infrastructure.fallback;
+
+import com.kramp.productinfo.config.LastKnownGoodProperties;
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.ports.LastKnownGoodStore;
+import com.kramp.productinfo.infrastructure.cache.SampledEviction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Bounded in-memory {@link LastKnownGoodStore}.
+ * <p>
+ * Each kind keeps at most {@code max-entries}; past that, every insert evicts the oldest of a
+ * small random sample of entries ({@link SampledEviction}: approximate LRU by write time, no
+ * global lock). Every {@code sweep-interval}, entries older than their kind's max age are
+ * removed, whether anyone looks them up or not. Lookups are metered as
+ * {@code upstream.stale.lookups} (outcome SERVED, EXPIRED or MISSING) and the age of what is
+ * served as {@code upstream.stale.age}.
+ */
+public class InMemoryLastKnownGoodStore implements LastKnownGoodStore {
+
+    private record PricingKey(String productId, String market, String segment) {}
+
+    private record AvailabilityKey(String productId, String market) {}
+
+    private record Entry<V>(V value, long recordedAtMillis) {}
+
+    private final LastKnownGoodProperties properties;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+    private final Shelf<PricingKey, PricingInfo> pricing;
+    private final Shelf<AvailabilityKey, AvailabilityInfo> availability;
+
+    private ScheduledFuture<?> sweep;
+
+    public InMemoryLastKnownGoodStore(LastKnownGoodProperties properties, Clock clock,
+                                      MeterRegistry meterRegistry, ScheduledExecutorService scheduler) {
+        this.properties = properties;
+        this.clock = clock;
+        this.scheduler = scheduler;
+        this.pricing = new Shelf<>("pricing", properties.pricingMaxAge(), PricingInfo::stale, meterRegistry);
+        this.availability = new Shelf<>("availability", properties.availabilityMaxAge(), AvailabilityInfo::stale,
+                meterRegistry);
+    }
+
+    public void start() {
+        if (properties.enabled()) {
+            long interval = properties.sweepInterval().toMillis();
+            sweep = scheduler.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void stop() {
+        if (sweep != null) {
+            sweep.cancel(false);
+        }
+    }
+
+    @Override
+    public void recordPricing(String productId, String market, String segment, PricingInfo value) {
+        if (properties.enabled() && value != null && value.available() && value.staleAgeMs() == null) {
+            pricing.put(new PricingKey(productId, market, segment), value);
+        }
+    }
+
+    @Override
+    public Optional<PricingInfo> stalePricing(String productId, String market, String segment) {
+        return pricing.lookup(new PricingKey(productId, market, segment));
+    }
+
+    @Override
+    public void recordAvailability(String productId, String market, AvailabilityInfo value) {
+        if (properties.enabled() && value != null && value.stockKnown() && value.staleAgeMs() == null) {
+            availability.put(new AvailabilityKey(productId, market), value);
+        }
+    }
+
+    @Override
+    public Optional<AvailabilityInfo> staleAvailability(String productId, String market) {
+        return availability.lookup(new AvailabilityKey(productId, market));
+    }
+
+    /**
+     * Removes every entry past its kind's max age.
+     */
+    void sweep() {
+        pricing.sweep();
+        availability.sweep();
+    }
+
+    /**
+     * The entries of one kind, with their meters.
+     */
+    private final class Shelf<K, V> {
+        private final Duration maxAge;
+        private final BiFunction<V, Long, V> flag;
+        private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+        private final Counter served;
+        private final Counter expired;
+        private final Counter missing;
+        private final Timer age;
+
+        Shelf(String service, Duration maxAge, BiFunction<V, Long, V> flag, MeterRegistry registry) {
+            this.maxAge = maxAge;
+            this.flag = flag;
+            this.served = lookups(service, "SERVED", registry);
+            this.expired = lookups(service, "EXPIRED", registry);
+            this.missing = lookups(service, "MISSING", registry);
+            this.age = Timer.builder("upstream.stale.age")
+                    .description("Age of last-known-good values served in place of a failed upstream call")
+                    .tag("service", service)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            Gauge.builder("upstream.stale.entries", entries, Map::size).tag("service", service).register(registry);
+        }
+
+        void put(K key, V value) {
+            entries.put(key, new Entry<>(value, clock.millis()));
+            if (entries.size() > properties.maxEntries()) {
+                SampledEviction.evictOne(entries, Entry::recordedAtMillis);
+            }
+        }
+
+        Optional<V> lookup(K key) {
+            if (!properties.enabled()) {
+                return Optional.empty();
+            }
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                missing.increment();
+                return Optional.empty();
+            }
+            long ageMillis = Math.max(0, clock.millis() - entry.recordedAtMillis());
+            if (ageMillis > maxAge.toMillis()) {
+                entries.remove(key, entry);
+                expired.increment();
+                return Optional.empty();
+            }
+            served.increment();
+            age.record(Duration.ofMillis(ageMillis));
+            return Optional.of(flag.apply(entry.value(), ageMillis));
+        }
+
+        void sweep() {
+            long oldest = clock.millis() - maxAge.toMillis();
+            entries.values().removeIf(entry -> entry.recordedAtMillis() < oldest);
+        }
+
+        private static Counter lookups(String service, String outcome, MeterRegistry registry) {
+            return Counter.builder("upstream.stale.lookups")
+                    .description("Last-known-good lookups after an optional upstream failed")
+                    .tag("service", service)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.kramp.productinfo.infrastructure.hotkeys;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent count-min sketch: {@code depth} rows of {@code width} counters, one hash per row.
+ * Estimates never undercount; they overcount by at most {@code 2N/width} with probability
+ * {@code 1 - 2^-depth}. {@link #halve()} ages every counter at once, so counts decay.
+ */
+class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    CountMinSketch(int width, int depth) {
+        int w = Integer.highestOneBit(Math.max(16, width - 1)) << 1;
+        this.depth = depth;
+        this.mask = w - 1;
+        this.counters = new AtomicLongArray(w * depth);
+    }
+
+    /**
+     * Adds one occurrence and returns the new estimate.
+     */
+    long increment(long hash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    long estimate(long hash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(hash, row)));
+        }
+        return estimate;
+    }
+
+    void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            long v;
+            do {
+                v = counters.get(i);
+            } while (v != 0 && !counters.compareAndSet(i, v, v >>> 1));
+        }
+    }
+
+    private int index(long hash, int row) {
+        long h = hash + row * 0x9e3779b97f4a7c15L;
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return row * (mask + 1) + (int) (h & mask);
+    }
+}
@@ -0,0 +1,25 @@
+package com.kramp.productinfo.infrastructure.hotkeys;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/hotkeys}: the current top-K {@code (productId, market)} keys by estimated
+ * request count, hottest first. Counts decay, so they reflect recent traffic.
+ */
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private final SketchHotKeyTracker tracker;
+
+    public HotKeysEndpoint(SketchHotKeyTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @ReadOperation
+    public List<SketchHotKeyTracker.HotKey> hotKeys() {
+        return tracker.hotKeys();
+    }
+}
@@ -0,0 +1,107 @@
+package com.kramp.productinfo.infrastructure.hotkeys;
+
+import com.kramp.productinfo.config.HotKeyProperties;
+import com.kramp.productinfo.infrastructure.cache.CachingAvailabilityClient;
+import com.kramp.productinfo.infrastructure.cache.CachingCatalogClient;
+import com.kramp.productinfo.infrastructure.cache.CachingPricingClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the cache entries of hot keys warm.
+ * <p>
+ * Every {@code refresh-interval} the upstream scheduler walks the current hot keys and, on the
+ * upstream executor, re-fetches catalog, pricing and availability entries with less than
+ * {@code refresh-ahead-ratio} of their TTL left, so requests for hot products find a live
+ * entry. It also halves the hot-key counts every {@code decay-interval}. Refreshes are counted
+ * as {@code upstream.cache.refresh.ahead{cache,outcome}}.
+ */
+public class RefreshAheadScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshAheadScheduler.class);
+
+    private final HotKeyProperties properties;
+    private final SketchHotKeyTracker tracker;
+    private final CachingCatalogClient catalog;
+    private final CachingPricingClient pricing;
+    private final CachingAvailabilityClient availability;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+    private final MeterRegistry meterRegistry;
+    private final List<ScheduledFuture<?>> tasks = new ArrayList<>();
+
+    public RefreshAheadScheduler(HotKeyProperties properties,
+                                 SketchHotKeyTracker tracker,
+                                 CachingCatalogClient catalog,
+                                 CachingPricingClient pricing,
+                                 CachingAvailabilityClient availability,
+                                 ScheduledExecutorService scheduler,
+                                 ExecutorService executor,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tracker = tracker;
+        this.catalog = catalog;
+        this.pricing = pricing;
+        this.availability = availability;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        long refresh = properties.refreshInterval().toMillis();
+        long decay = properties.decayInterval().toMillis();
+        tasks.add(scheduler.scheduleWithFixedDelay(this::refreshHotKeys, refresh, refresh, TimeUnit.MILLISECONDS));
+        tasks.add(scheduler.scheduleAtFixedRate(tracker::decay, decay, decay, TimeUnit.MILLISECONDS));
+    }
+
+    public void stop() {
+        tasks.forEach(task -> task.cancel(false));
+    }
+
+    void refreshHotKeys() {
+        for (SketchHotKeyTracker.HotKey key : tracker.hotKeys()) {
+            submit("catalog", () -> catalog.refreshIfExpiring(key.productId(), key.market(), window(catalog.ttl())));
+            submit("pricing", () -> pricing.refreshIfExpiring(key.productId(), key.market(), window(pricing.ttl())));
+            submit("availability", () -> availability.refreshIfExpiring(key.productId(), key.market(), window(availability.ttl())));
+        }
+    }
+
+    private Duration window(Duration ttl) {
+        return Duration.ofMillis((long) (ttl.toMillis() * properties.refreshAheadRatio()));
+    }
+
+    private void submit(String cache, Runnable refresh) {
+        executor.execute(() -> {
+            try {
+                refresh.run();
+                count(cache, "DONE");
+            } catch (RuntimeException e) {
+                log.debug("Refresh-ahead of {} failed: {}", cache, e.getMessage());
+                count(cache, "FAILED");
+            }
+        });
+    }
+
+    private void count(String cache, String outcome) {
+        Counter.builder("upstream.cache.refresh.ahead")
+                .description("Refresh-ahead passes over hot-key cache entries")
+                .tag("cache", cache)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
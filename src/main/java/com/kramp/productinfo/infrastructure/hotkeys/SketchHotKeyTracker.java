@@ -0,0 +1,90 @@
+package com.kramp.productinfo.infrastructure.hotkeys;
+
+import com.kramp.productinfo.config.HotKeyProperties;
+import com.kramp.productinfo.domain.ports.HotKeyTracker;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link HotKeyTracker} backed by a decaying {@link CountMinSketch}, plus the top-K keys by
+ * estimated count.
+ * <p>
+ * Recording is one sketch increment. Keys already in the top-K update their count in place;
+ * only a key entering the top-K takes the lock, which for a skewed distribution is rare
+ * after warm-up.
+ */
+public class SketchHotKeyTracker implements HotKeyTracker {
+
+    public record HotKey(String productId, String market, long estimatedRequests) {}
+
+    private record Key(String productId, String market) {}
+
+    private final HotKeyProperties properties;
+    private final CountMinSketch sketch;
+    private final Map<Key, Long> top = new ConcurrentHashMap<>();
+    private volatile long threshold;
+
+    public SketchHotKeyTracker(HotKeyProperties properties) {
+        this.properties = properties;
+        this.sketch = new CountMinSketch(properties.sketchWidth(), properties.sketchDepth());
+        this.threshold = properties.minRequests();
+    }
+
+    @Override
+    public void recordRequest(String productId, String market) {
+        if (!properties.enabled()) {
+            return;
+        }
+        long estimate = sketch.increment(hash(productId, market));
+        if (estimate < threshold) {
+            return;
+        }
+        Key key = new Key(productId, market);
+        if (top.computeIfPresent(key, (k, previous) -> estimate) == null) {
+            offer(key, estimate);
+        }
+    }
+
+    /**
+     * Current hot keys, hottest first.
+     */
+    public List<HotKey> hotKeys() {
+        return top.entrySet().stream()
+                .map(e -> new HotKey(e.getKey().productId(), e.getKey().market(), e.getValue()))
+                .sorted(Comparator.comparingLong(HotKey::estimatedRequests).reversed())
+                .toList();
+    }
+
+    /**
+     * Halves all counts and drops keys that are no longer hot.
+     */
+    public synchronized void decay() {
+        sketch.halve();
+        top.replaceAll((key, count) -> sketch.estimate(hash(key.productId(), key.market())));
+        top.values().removeIf(count -> count < properties.minRequests());
+        updateThreshold();
+    }
+
+    private synchronized void offer(Key key, long estimate) {
+        top.put(key, estimate);
+        if (top.size() > properties.topK()) {
+            top.entrySet().stream()
+                    .min(Map.Entry.comparingByValue())
+                    .ifPresent(coldest -> top.remove(coldest.getKey()));
+        }
+        updateThreshold();
+    }
+
+    private void updateThreshold() {
+        threshold = top.size() < properties.topK()
+                ? properties.minRequests()
+                : Math.max(properties.minRequests(), top.values().stream().mapToLong(Long::longValue).min().orElse(0) + 1);
+    }
+
+    private static long hash(String productId, String market) {
+        return ((long) productId.hashCode() << 32) ^ (market.hashCode() & 0xffffffffL);
+    }
+}
@@ -0,0 +1,37 @@
+package com.kramp.productinfo.infrastructure.http;
+
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.ports.AvailabilityClient;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.infrastructure.canonical.DomainCanonicalizer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import static com.kramp.productinfo.infrastructure.http.HttpUpstreamSupport.segment;
+
+@Component("httpAvailabilityClient")
+@Qualifier("availabilityUpstream")
+@Profile("http")
+public class HttpAvailabilityClient implements AvailabilityClient {
+
+    private final HttpUpstreamSupport http;
+    private final DomainCanonicalizer canonicalizer;
+
+    public HttpAvailabilityClient(HttpUpstreamSupport http, DomainCanonicalizer canonicalizer) {
+        this.http = http;
+        this.canonicalizer = canonicalizer;
+    }
+
+    @Override
+    public AvailabilityInfo getAvailability(String productId, String market) {
+        return findAvailability(productId, market).orElseThrow();
+    }
+
+    @Override
+    public UpstreamResult<AvailabilityInfo> findAvailability(String productId, String market) {
+        return http.find("availability",
+                "/availability/" + segment(market) + "/products/" + segment(productId),
+                AvailabilityInfo.class).map(canonicalizer::availability);
+    }
+}
@@ -0,0 +1,37 @@
+package com.kramp.productinfo.infrastructure.http;
+
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.CatalogClient;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.infrastructure.canonical.DomainCanonicalizer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import static com.kramp.productinfo.infrastructure.http.HttpUpstreamSupport.segment;
+
+@Component("httpCatalogClient")
+@Qualifier("catalogUpstream")
+@Profile("http")
+public class HttpCatalogClient implements CatalogClient {
+
+    private final HttpUpstreamSupport http;
+    private final DomainCanonicalizer canonicalizer;
+
+    public HttpCatalogClient(HttpUpstreamSupport http, DomainCanonicalizer canonicalizer) {
+        this.http = http;
+        this.canonicalizer = canonicalizer;
+    }
+
+    @Override
+    public ProductDetails getProductDetails(String productId, String market) {
+        return findProductDetails(productId, market).orElseThrow();
+    }
+
+    @Override
+    public UpstreamResult<ProductDetails> findProductDetails(String productId, String market) {
+        return http.find("catalog",
+                "/catalog/" + segment(market) + "/products/" + segment(productId),
+                ProductDetails.class).map(canonicalizer::productDetails);
+    }
+}
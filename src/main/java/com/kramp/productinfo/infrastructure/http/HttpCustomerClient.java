@@ -0,0 +1,37 @@
+package com.kramp.productinfo.infrastructure.http;
+
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.ports.CustomerClient;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.infrastructure.canonical.DomainCanonicalizer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import static com.kramp.productinfo.infrastructure.http.HttpUpstreamSupport.segment;
+
+@Component("httpCustomerClient")
+@Qualifier("customerUpstream")
+@Profile("http")
+public class HttpCustomerClient implements CustomerClient {
+
+    private final HttpUpstreamSupport http;
+    private final DomainCanonicalizer canonicalizer;
+
+    public HttpCustomerClient(HttpUpstreamSupport http, DomainCanonicalizer canonicalizer) {
+        this.http = http;
+        this.canonicalizer = canonicalizer;
+    }
+
+    @Override
+    public CustomerContext getCustomerContext(String customerId, String market) {
+        return findCustomerContext(customerId, market).orElseThrow();
+    }
+
+    @Override
+    public UpstreamResult<CustomerContext> findCustomerContext(String customerId, String market) {
+        return http.find("customer",
+                "/customer/" + segment(market) + "/customers/" + segment(customerId),
+                CustomerContext.class).map(canonicalizer::customerContext);
+    }
+}
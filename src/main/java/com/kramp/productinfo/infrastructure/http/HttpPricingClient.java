@@ -0,0 +1,40 @@
+package com.kramp.productinfo.infrastructure.http;
+
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.ports.PricingClient;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.infrastructure.canonical.DomainCanonicalizer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import static com.kramp.productinfo.infrastructure.http.HttpUpstreamSupport.segment;
+
+@Component("httpPricingClient")
+@Qualifier("pricingUpstream")
+@Profile("http")
+public class HttpPricingClient implements PricingClient {
+
+    private final HttpUpstreamSupport http;
+    private final DomainCanonicalizer canonicalizer;
+
+    public HttpPricingClient(HttpUpstreamSupport http, DomainCanonicalizer canonicalizer) {
+        this.http = http;
+        this.canonicalizer = canonicalizer;
+    }
+
+    @Override
+    public PricingInfo getPricing(String productId, String market, CustomerContext customerContext) {
+        return findPricing(productId, market, customerContext).orElseThrow();
+    }
+
+    @Override
+    public UpstreamResult<PricingInfo> findPricing(String productId, String market, CustomerContext customerContext) {
+        String path = "/pricing/" + segment(market) + "/products/" + segment(productId);
+        if (customerContext != null && customerContext.segment() != null) {
+            path += "?segment=" + segment(customerContext.segment());
+        }
+        return http.find("pricing", path, PricingInfo.class).map(canonicalizer::pricing);
+    }
+}
@@ -0,0 +1,227 @@
+package com.kramp.productinfo.infrastructure.http;
+
+import com.kramp.productinfo.config.UpstreamHttpProperties;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.domain.ports.exception.MarketNotFoundException;
+import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
+import com.kramp.productinfo.infrastructure.codec.UpstreamCodec;
+import com.kramp.productinfo.infrastructure.codec.UpstreamCodecs;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared request execution for the HTTP upstream adapters.
+ * <p>
+ * Each upstream gets a concurrency limit (a semaphore in front of the shared client's pool)
+ * and its own meters:
+ * <ul>
+ *     <li>{@code upstream.http.client.requests} - timer tagged with service, outcome and status</li>
+ *     <li>{@code upstream.http.client.in-flight} - requests currently on the wire</li>
+ *     <li>{@code upstream.http.client.permits.available} - remaining concurrency headroom</li>
+ *     <li>{@code upstream.http.client.responses} - counter tagged with negotiated protocol version</li>
+ *     <li>{@code upstream.http.client.response.size} - body bytes on the wire, tagged with codec and encoding</li>
+ * </ul>
+ * Bodies are decoded with whatever codec the upstream answered in (see {@link UpstreamCodec}).
+ * Non-2xx responses are mapped back to the same failures the mock adapters answer with.
+ */
+@Component
+@Profile("http")
+public class HttpUpstreamSupport {
+
+    private final HttpClient httpClient;
+    private final UpstreamCodecs codecs;
+    private final UpstreamHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String acceptHeader;
+    private final Map<String, Upstream> upstreams = new ConcurrentHashMap<>();
+
+    public HttpUpstreamSupport(HttpClient upstreamHttpClient,
+                               UpstreamCodecs codecs,
+                               UpstreamHttpProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.httpClient = upstreamHttpClient;
+        this.codecs = codecs;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.acceptHeader = UpstreamCodec.acceptHeader(properties.codecs());
+    }
+
+    public <T> T get(String service, String path, Class<T> type) {
+        return find(service, path, type).orElseThrow();
+    }
+
+    /**
+     * Error responses the upstream explained (an {@link UpstreamErrorBody}, or a bare status) come back
+     * as a failure; transport problems are thrown.
+     */
+    public <T> UpstreamResult<T> find(String service, String path, Class<T> type) {
+        Upstream upstream = upstreams.computeIfAbsent(service, this::register);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(upstream.baseUrl.resolve(path))
+                .timeout(properties.requestTimeout())
+                .header("Accept", acceptHeader)
+                .GET();
+        if (properties.gzip()) {
+            builder.header("Accept-Encoding", UpstreamCodecs.GZIP);
+        }
+        HttpRequest request = builder.build();
+
+        acquire(service, upstream);
+        upstream.inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        String outcome = "IO_ERROR";
+        String status = "NONE";
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            status = String.valueOf(response.statusCode());
+            outcome = outcome(response.statusCode());
+            upstream.responses(response.version()).increment();
+            return read(upstream, response, type);
+        } catch (IOException e) {
+            throw new UpstreamFailureException(service, "IO_ERROR", rootMessage(e), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = "CANCELLED";
+            throw new UpstreamFailureException(service, "INTERRUPTED", "Interrupted while calling " + service, e);
+        } finally {
+            upstream.inFlight.decrementAndGet();
+            upstream.permits.release();
+            upstream.requestTimer(outcome, status).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public static String segment(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private <T> UpstreamResult<T> read(Upstream upstream, HttpResponse<byte[]> response, Class<T> type) throws IOException {
+        String service = upstream.service;
+        UpstreamCodec codec = UpstreamCodec.fromContentType(response.headers().firstValue("Content-Type").orElse(null));
+        String encoding = response.headers().firstValue("Content-Encoding").orElse(null);
+        upstream.responseSize(codec, encoding == null ? "identity" : encoding).record(response.body().length);
+
+        int code = response.statusCode();
+        if (code >= 200 && code < 300) {
+            return UpstreamResult.success(codecs.decode(codec, response.body(), encoding, type));
+        }
+
+        UpstreamErrorBody error = readError(codec, response.body(), encoding);
+        if (error != null && "MARKET_NOT_FOUND".equals(error.reason())) {
+            throw new MarketNotFoundException(error.details());
+        }
+        String reason = (error != null && error.reason() != null) ? error.reason() : "HTTP_" + code;
+        String details = (error != null) ? error.details() : null;
+        return UpstreamResult.failure(service, reason, details);
+    }
+
+    private UpstreamErrorBody readError(UpstreamCodec codec, byte[] body, String encoding) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return codecs.decode(codec, body, encoding, UpstreamErrorBody.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void acquire(String service, Upstream upstream) {
+        try {
+            if (!upstream.permits.tryAcquire(properties.requestTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new UpstreamFailureException(service, "POOL_EXHAUSTED",
+                        "No connection permit within " + properties.requestTimeout().toMillis() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamFailureException(service, "INTERRUPTED", "Interrupted while waiting for a connection permit", e);
+        }
+    }
+
+    private Upstream register(String service) {
+        UpstreamHttpProperties.Service config = properties.service(service);
+        Upstream upstream = new Upstream(service, config.baseUrl(), new Semaphore(config.maxConcurrentRequests()));
+
+        Gauge.builder("upstream.http.client.in-flight", upstream.inFlight, AtomicInteger::get)
+                .tag("service", service)
+                .register(meterRegistry);
+        Gauge.builder("upstream.http.client.permits.available", upstream.permits, Semaphore::availablePermits)
+                .tag("service", service)
+                .register(meterRegistry);
+        return upstream;
+    }
+
+    private static String outcome(int status) {
+        if (status >= 200 && status < 300) return "SUCCESS";
+        if (status >= 400 && status < 500) return "CLIENT_ERROR";
+        return "SERVER_ERROR";
+    }
+
+    private static String rootMessage(Throwable t) {
+        Throwable cur = t;
+        while (cur.getCause() != null) cur = cur.getCause();
+        return cur.getMessage() == null ? cur.getClass().getSimpleName() : cur.getMessage();
+    }
+
+    /**
+     * Per-upstream state, with its meters built once per tag combination instead of per request.
+     */
+    private final class Upstream {
+
+        private final String service;
+        private final URI baseUrl;
+        private final Semaphore permits;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Map<String, Timer> requestTimers = new ConcurrentHashMap<>();
+        private final Map<HttpClient.Version, Counter> responseCounters = new ConcurrentHashMap<>();
+        private final Map<String, DistributionSummary> responseSizes = new ConcurrentHashMap<>();
+
+        private Upstream(String service, URI baseUrl, Semaphore permits) {
+            this.service = service;
+            this.baseUrl = baseUrl;
+            this.permits = permits;
+        }
+
+        private Timer requestTimer(String outcome, String status) {
+            return requestTimers.computeIfAbsent(outcome + '|' + status, key -> Timer.builder("upstream.http.client.requests")
+                    .tag("service", service)
+                    .tag("outcome", outcome)
+                    .tag("status", status)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+
+        private Counter responses(HttpClient.Version version) {
+            return responseCounters.computeIfAbsent(version, v -> Counter.builder("upstream.http.client.responses")
+                    .tag("service", service)
+                    .tag("protocol", v.name())
+                    .register(meterRegistry));
+        }
+
+        private DistributionSummary responseSize(UpstreamCodec codec, String encoding) {
+            return responseSizes.computeIfAbsent(codec.name() + '|' + encoding,
+                    key -> DistributionSummary.builder("upstream.http.client.response.size")
+                            .baseUnit("bytes")
+                            .tag("service", service)
+                            .tag("codec", codec.name())
+                            .tag("encoding", encoding)
+                            .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.kramp.productinfo.infrastructure.http;
+
+/**
+ * Error payload exchanged with upstream services on non-2xx responses.
+ */
+public record UpstreamErrorBody(
+        String service,
+        String reason,
+        String details
+) {}
@@ -0,0 +1,192 @@
+package com.kramp.productinfo.infrastructure.jfr;
+
+import com.kramp.productinfo.application.AggregationEvent;
+import com.kramp.productinfo.config.JfrRecordingProperties;
+import com.kramp.productinfo.infrastructure.resilience.UpstreamCallEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * {@code /actuator/jfr}: on-demand JFR recording of the aggregation events.
+ * <ul>
+ *     <li>{@code GET} shows the running recording (if any) and the dumps kept on disk</li>
+ *     <li>{@code POST} starts a recording: the JDK settings plus {@link AggregationEvent} and
+ *     {@link UpstreamCallEvent}, which are disabled otherwise; optional {@code thresholdMs},
+ *     {@code settings}</li>
+ *     <li>{@code DELETE} stops it and dumps it to the configured directory</li>
+ *     <li>{@code GET /{file}} downloads a dump, {@code GET /current} a snapshot of the running recording,
+ *     which is not kept</li>
+ * </ul>
+ * One recording at a time; starting while one runs leaves it as it is.
+ */
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final List<Class<? extends Event>> EVENTS = List.of(AggregationEvent.class, UpstreamCallEvent.class);
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final JfrRecordingProperties properties;
+    private Recording recording;
+    private Duration threshold;
+
+    public JfrRecordingEndpoint(JfrRecordingProperties properties) {
+        this.properties = properties;
+    }
+
+    public record Status(String state, Instant startedAt, Long thresholdMs, List<Dump> dumps) {}
+
+    public record Dump(String file, long sizeBytes) {}
+
+    @ReadOperation
+    public synchronized Status status() {
+        if (recording == null) {
+            return new Status(RecordingState.CLOSED.name(), null, null, dumps());
+        }
+        return new Status(recording.getState().name(), recording.getStartTime(), threshold.toMillis(), dumps());
+    }
+
+    @WriteOperation
+    public synchronized Status start(@Nullable Long thresholdMs, @Nullable String settings) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("JFR is not available in this JVM");
+        }
+        if (recording != null) {
+            return status();
+        }
+        threshold = thresholdMs != null ? Duration.ofMillis(thresholdMs) : properties.threshold();
+        Recording started = new Recording(configuration(settings != null ? settings : properties.settings()));
+        started.setName("product-info");
+        started.setMaxAge(properties.maxAge());
+        started.setMaxSize(properties.maxSize().toBytes());
+        for (Class<? extends Event> event : EVENTS) {
+            FlightRecorder.register(event);
+            started.enable(event).withThreshold(threshold);
+        }
+        started.start();
+        recording = started;
+        return status();
+    }
+
+    @DeleteOperation
+    public synchronized Status stop() {
+        if (recording == null) {
+            return status();
+        }
+        Path dump = properties.directory().resolve("product-info-" + FILE_TIMESTAMP.format(Instant.now()) + ".jfr");
+        try {
+            Files.createDirectories(properties.directory());
+            recording.stop();
+            recording.dump(dump);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to dump JFR recording to " + dump, e);
+        } finally {
+            recording.close();
+            recording = null;
+        }
+        pruneDumps();
+        return status();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector String file) {
+        if ("current".equals(file)) {
+            if (recording == null) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+            return new WebEndpointResponse<>(snapshot());
+        }
+        return dumps().stream()
+                .filter(dump -> dump.file().equals(file))
+                .findFirst()
+                .map(dump -> new WebEndpointResponse<Resource>(
+                        new FileSystemResource(properties.directory().resolve(dump.file()))))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    /**
+     * Dumps the running recording to a temp file, which is deleted once the response stream is closed.
+     */
+    private Resource snapshot() {
+        Path snapshot = null;
+        try {
+            snapshot = Files.createTempFile("product-info-current", ".jfr");
+            recording.dump(snapshot);
+            return new InputStreamResource(Files.newInputStream(snapshot, StandardOpenOption.DELETE_ON_CLOSE));
+        } catch (IOException e) {
+            deleteQuietly(snapshot);
+            throw new UncheckedIOException("Failed to snapshot JFR recording", e);
+        }
+    }
+
+    private static void deleteQuietly(@Nullable Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // a temp file: the OS cleans up what is left
+        }
+    }
+
+    private List<Dump> dumps() {
+        if (!Files.isDirectory(properties.directory())) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(properties.directory())) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                    .map(path -> new Dump(path.getFileName().toString(), path.toFile().length()))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list " + properties.directory(), e);
+        }
+    }
+
+    private void pruneDumps() {
+        List<Dump> dumps = dumps();
+        for (Dump old : dumps.subList(Math.min(properties.keep(), dumps.size()), dumps.size())) {
+            try {
+                Files.deleteIfExists(properties.directory().resolve(old.file()));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete " + old.file(), e);
+            }
+        }
+    }
+
+    private static Configuration configuration(String name) {
+        try {
+            return Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + name, e);
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package com.kramp.productinfo.infrastructure.live;
+
+import com.kramp.productinfo.config.LiveUpdatesProperties;
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.model.OfferUpdate;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.ports.AvailabilityClient;
+import com.kramp.productinfo.domain.ports.OfferChangeListener;
+import com.kramp.productinfo.domain.ports.OfferSubscriptions;
+import com.kramp.productinfo.domain.ports.PricingClient;
+import com.kramp.productinfo.domain.ports.UpstreamResult.Success;
+import com.kramp.productinfo.domain.ports.exception.SubscriptionLimitException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registry of live price and stock subscriptions, behind {@code /product-info/live}.
+ * <p>
+ * Subscriptions share one topic per {@code (market, productId)}, holding the last availability,
+ * the last pricing per segment and the subscribers. A fresh upstream value is compared with the
+ * topic's last one and only a difference is fanned out: availability to every subscriber,
+ * pricing to those of its segment. Values arrive from every lookup through the caching clients
+ * ({@link OfferChangeListener}) and from a refresh every {@code poll-interval} of each subscribed
+ * product, one lookup per product and segment however many subscribers it has, skipped while the
+ * previous one is still running. Stale fallback values are not changes and are never sent.
+ * <p>
+ * Fan-out never waits for a connection: each subscriber has a buffer with at most one pending
+ * update per product and kind, a newer value replacing an unsent older one, drained on the
+ * upstream executor. A slow client therefore gets the latest values, and costs at most two
+ * entries per subscribed product. A failing send cancels the subscription. Every
+ * {@code heartbeat-interval} each subscriber also gets a heartbeat through the same buffer, sent
+ * unless an update went out meanwhile: a client that went away is then noticed within that
+ * interval, instead of its topics being polled until the next change or the stream's timeout.
+ * <p>
+ * At most {@code max-connections} subscriptions and {@code max-products} topics exist at a
+ * time; a subscription beyond either is refused. Stopping ends every subscription and closes
+ * its stream. As a {@link SmartLifecycle} in the default phase, that happens before the web
+ * server's graceful shutdown, which would otherwise wait for the open streams to time out.
+ * <p>
+ * Metered as {@code live.connections} and {@code live.products} (gauges),
+ * {@code live.fanout.latency} (from the fresh value to the send to the client, queueing
+ * included), {@code live.events.sent} and {@code live.events.coalesced}.
+ */
+public class LiveOfferHub implements OfferSubscriptions, OfferChangeListener, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveOfferHub.class);
+
+    private record Key(String market, String productId) {}
+
+    private record Pending(OfferUpdate update, long publishedNanos) {}
+
+    private final class Topic {
+
+        private final Key key;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<Subscriber> subscribers = new ArrayList<>(2);
+        private final Map<String, PricingInfo> pricing = new HashMap<>(4);
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private AvailabilityInfo availability;
+        private boolean retired;
+
+        private Topic(Key key) {
+            this.key = key;
+        }
+
+        private void publishAvailability(AvailabilityInfo value) {
+            lock.lock();
+            try {
+                if (value.equals(availability)) {
+                    return;
+                }
+                availability = value;
+                OfferUpdate update = new OfferUpdate.Availability(key.productId(), value);
+                long now = System.nanoTime();
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.offer(update, now);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void publishPricing(String segment, PricingInfo value) {
+            lock.lock();
+            try {
+                if (value.equals(pricing.get(segment))) {
+                    return;
+                }
+                pricing.put(segment, value);
+                OfferUpdate update = new OfferUpdate.Pricing(key.productId(), segment, value);
+                long now = System.nanoTime();
+                for (Subscriber subscriber : subscribers) {
+                    if (subscriber.segment.equals(segment)) {
+                        subscriber.offer(update, now);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Set<String> segments() {
+            lock.lock();
+            try {
+                Set<String> segments = new HashSet<>(2);
+                for (Subscriber subscriber : subscribers) {
+                    segments.add(subscriber.segment);
+                }
+                return segments;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private final class Subscriber implements Subscription {
+
+        private final String market;
+        private final Set<String> productIds;
+        private final String segment;
+        private final Sink sink;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Pending> pending = new LinkedHashMap<>();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private boolean draining;
+        private boolean heartbeatDue;
+
+        private Subscriber(String market, Set<String> productIds, String segment, Sink sink) {
+            this.market = market;
+            this.productIds = productIds;
+            this.segment = segment;
+            this.sink = sink;
+        }
+
+        /**
+         * Called with the topic's lock held, so updates of a product are buffered in publishing order.
+         */
+        private void offer(OfferUpdate update, long publishedNanos) {
+            String slot = update instanceof OfferUpdate.Pricing ? update.productId() + "|p" : update.productId() + "|a";
+            boolean drain;
+            lock.lock();
+            try {
+                if (cancelled.get()) {
+                    return;
+                }
+                if (pending.put(slot, new Pending(update, publishedNanos)) != null) {
+                    eventsCoalesced.increment();
+                }
+                drain = !draining;
+                draining = true;
+            } finally {
+                lock.unlock();
+            }
+            if (drain) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void heartbeat() {
+            boolean drain;
+            lock.lock();
+            try {
+                if (cancelled.get()) {
+                    return;
+                }
+                heartbeatDue = true;
+                drain = !draining;
+                draining = true;
+            } finally {
+                lock.unlock();
+            }
+            if (drain) {
+                executor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Sends the buffered updates, then a due heartbeat unless an update was sent meanwhile.
+         */
+        private void drain() {
+            while (true) {
+                Pending next = null;
+                lock.lock();
+                try {
+                    Iterator<Pending> oldest = pending.values().iterator();
+                    if (cancelled.get() || !oldest.hasNext() && !heartbeatDue) {
+                        draining = false;
+                        return;
+                    }
+                    heartbeatDue = false;
+                    if (oldest.hasNext()) {
+                        next = oldest.next();
+                        oldest.remove();
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    if (next == null) {
+                        sink.heartbeat();
+                        continue;
+                    }
+                    sink.send(next.update());
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Live subscriber dropped: {}", e.getMessage());
+                    lock.lock();
+                    try {
+                        draining = false;
+                    } finally {
+                        lock.unlock();
+                    }
+                    cancel();
+                    return;
+                }
+                fanoutLatency.record(System.nanoTime() - next.publishedNanos(), TimeUnit.NANOSECONDS);
+                eventsSent.increment();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled.compareAndSet(false, true)) {
+                return;
+            }
+            subscribers.remove(this);
+            for (String productId : productIds) {
+                Topic topic = topics.get(new Key(market, productId));
+                if (topic == null) {
+                    continue;
+                }
+                topic.lock.lock();
+                try {
+                    topic.subscribers.remove(this);
+                    if (topic.subscribers.isEmpty()) {
+                        topic.retired = true;
+                        topics.remove(topic.key, topic);
+                    }
+                } finally {
+                    topic.lock.unlock();
+                }
+            }
+            lock.lock();
+            try {
+                pending.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void end() {
+            cancel();
+            try {
+                sink.close();
+            } catch (RuntimeException e) {
+                log.debug("Closing a live subscriber failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private final ObjectProvider<PricingClient> pricingClient;
+    private final ObjectProvider<AvailabilityClient> availabilityClient;
+    private final LiveUpdatesProperties properties;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<Key, Topic> topics = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock admission = new ReentrantLock();
+    private final Timer fanoutLatency;
+    private final Counter eventsSent;
+    private final Counter eventsCoalesced;
+    private volatile boolean running;
+    private ScheduledFuture<?> poller;
+    private ScheduledFuture<?> heartbeats;
+
+    /**
+     * The clients are looked up on first use: the caching clients notify this hub, so they
+     * cannot be constructor dependencies.
+     */
+    public LiveOfferHub(ObjectProvider<PricingClient> pricingClient,
+                        ObjectProvider<AvailabilityClient> availabilityClient,
+                        LiveUpdatesProperties properties,
+                        ScheduledExecutorService scheduler,
+                        ExecutorService executor,
+                        MeterRegistry meterRegistry) {
+        this.pricingClient = pricingClient;
+        this.availabilityClient = availabilityClient;
+        this.properties = properties;
+        this.scheduler = scheduler;
+        this.executor = executor;
+        Gauge.builder("live.connections", subscribers, Set::size)
+                .description("Open live price and stock subscriptions")
+                .register(meterRegistry);
+        Gauge.builder("live.products", topics, Map::size)
+                .description("Products with at least one live subscriber")
+                .register(meterRegistry);
+        this.fanoutLatency = Timer.builder("live.fanout.latency")
+                .description("Time from a fresh upstream value to its send to a live subscriber")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.eventsSent = Counter.builder("live.events.sent").register(meterRegistry);
+        this.eventsCoalesced = Counter.builder("live.events.coalesced")
+                .description("Unsent live updates replaced by a newer value of the same product")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        long interval = properties.pollInterval().toMillis();
+        poller = scheduler.scheduleWithFixedDelay(this::refreshAll, interval, interval, TimeUnit.MILLISECONDS);
+        long heartbeat = properties.heartbeatInterval().toMillis();
+        heartbeats = scheduler.scheduleWithFixedDelay(this::heartbeatAll, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    /**
+     * Ends every subscription and closes its stream; new subscriptions are refused from here on.
+     */
+    @Override
+    public void stop() {
+        admission.lock();
+        try {
+            running = false;
+        } finally {
+            admission.unlock();
+        }
+        if (poller != null) {
+            poller.cancel(false);
+        }
+        if (heartbeats != null) {
+            heartbeats.cancel(false);
+        }
+        List.copyOf(subscribers).forEach(Subscriber::end);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * The known values are sent right away; the products are refreshed in the background, so
+     * values not known yet follow as soon as the upstreams answer.
+     */
+    @Override
+    public Subscription subscribe(String market, Set<String> productIds, String segment, Sink sink) {
+        Subscriber subscriber = new Subscriber(market, Set.copyOf(productIds), segment, sink);
+        List<Topic> joined = new ArrayList<>(subscriber.productIds.size());
+        admission.lock();
+        try {
+            admit(subscriber);
+            subscribers.add(subscriber);
+            for (String productId : subscriber.productIds) {
+                joined.add(join(new Key(market, productId), subscriber));
+            }
+        } finally {
+            admission.unlock();
+        }
+        joined.forEach(this::refresh);
+        return subscriber;
+    }
+
+    /**
+     * Called with the admission lock held. Topics are only created under it, and only shrink
+     * outside it, so the caps hold exactly.
+     */
+    private void admit(Subscriber subscriber) {
+        if (!running) {
+            throw new SubscriptionLimitException("Live updates are shutting down");
+        }
+        if (subscribers.size() >= properties.maxConnections()) {
+            throw new SubscriptionLimitException("Live connections at their cap of " + properties.maxConnections());
+        }
+        int added = 0;
+        for (String productId : subscriber.productIds) {
+            if (!topics.containsKey(new Key(subscriber.market, productId))) {
+                added++;
+            }
+        }
+        if (added > 0 && topics.size() + added > properties.maxProducts()) {
+            throw new SubscriptionLimitException("Live products at their cap of " + properties.maxProducts());
+        }
+    }
+
+    @Override
+    public void pricingChanged(String productId, String market, String segment, PricingInfo pricing) {
+        Topic topic = topics.get(new Key(market, productId));
+        if (topic != null && pricing != null && pricing.staleAgeMs() == null) {
+            topic.publishPricing(segment, pricing);
+        }
+    }
+
+    @Override
+    public void availabilityChanged(String productId, String market, AvailabilityInfo availability) {
+        Topic topic = topics.get(new Key(market, productId));
+        if (topic != null && availability != null && availability.staleAgeMs() == null) {
+            topic.publishAvailability(availability);
+        }
+    }
+
+    /**
+     * Adds the subscriber to the product's topic and buffers the topic's current values for it.
+     */
+    private Topic join(Key key, Subscriber subscriber) {
+        while (true) {
+            Topic topic = topics.computeIfAbsent(key, Topic::new);
+            topic.lock.lock();
+            try {
+                if (topic.retired) {
+                    continue; // emptied and removed meanwhile
+                }
+                topic.subscribers.add(subscriber);
+                long now = System.nanoTime();
+                if (topic.availability != null) {
+                    subscriber.offer(new OfferUpdate.Availability(key.productId(), topic.availability), now);
+                }
+                PricingInfo pricing = topic.pricing.get(subscriber.segment);
+                if (pricing != null) {
+                    subscriber.offer(new OfferUpdate.Pricing(key.productId(), subscriber.segment, pricing), now);
+                }
+                return topic;
+            } finally {
+                topic.lock.unlock();
+            }
+        }
+    }
+
+    void refreshAll() {
+        topics.values().forEach(this::refresh);
+    }
+
+    void heartbeatAll() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    private void refresh(Topic topic) {
+        if (!topic.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                String market = topic.key.market();
+                String productId = topic.key.productId();
+                if (availabilityClient.getObject().findAvailability(productId, market) instanceof Success<AvailabilityInfo>(var availability)) {
+                    availabilityChanged(productId, market, availability);
+                }
+                for (String segment : topic.segments()) {
+                    CustomerContext customer = new CustomerContext(null, segment, Map.of());
+                    if (pricingClient.getObject().findPricing(productId, market, customer) instanceof Success<PricingInfo>(var pricing)) {
+                        pricingChanged(productId, market, segment, pricing);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.debug("Live refresh of {} failed: {}", topic.key, e.getMessage());
+            } finally {
+                topic.refreshing.set(false);
+            }
+        });
+    }
+}
@@ -2,48 +2,34 @@ package com.kramp.productinfo.infrastructure.mock;
 
 import com.kramp.productinfo.domain.model.ProductDetails;
 import com.kramp.productinfo.domain.ports.CatalogClient;
-import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
-import com.kramp.productinfo.infrastructure.mock.model.CatalogDataset;
-import com.kramp.productinfo.infrastructure.mock.support.MockDataLoader;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.infrastructure.mock.simulation.UpstreamSimulator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.util.Map;
-
-import static com.kramp.productinfo.infrastructure.mock.MockUpstreamSupport.maybeFail;
-import static com.kramp.productinfo.infrastructure.mock.MockUpstreamSupport.simulateLatency;
-
 @Component("mockCatalogClient")
+@Qualifier("catalogUpstream")
+@Profile("!http")
 public class MockCatalogClient implements CatalogClient {
 
-    private static final int LATENCY_MS = 50;
-    private static final double RELIABILITY = 0.999;
-
-    private final MockDataLoader loader;
+    private final MockUpstreamData data;
+    private final UpstreamSimulator simulator;
 
-    public MockCatalogClient(MockDataLoader loader) {
-        this.loader = loader;
+    public MockCatalogClient(MockUpstreamData data, UpstreamSimulator simulator) {
+        this.data = data;
+        this.simulator = simulator;
     }
 
     @Override
     public ProductDetails getProductDetails(String productId, String market) {
-        simulateLatency(LATENCY_MS);
-        maybeFail("catalog", RELIABILITY);
-
-        CatalogDataset dataset = loader.load("mock-data/catalog/" + market + ".json", CatalogDataset.class);
-        CatalogDataset.CatalogProduct p = dataset.products().get(productId);
+        return findProductDetails(productId, market).orElseThrow();
+    }
 
-        if (p == null) {
-            throw new UpstreamFailureException("catalog", "PRODUCT_NOT_FOUND",
-                    "productId=" + productId + ", market=" + market);
-        }
+    @Override
+    public UpstreamResult<ProductDetails> findProductDetails(String productId, String market) {
+        simulator.simulate("catalog", market);
 
-        return new ProductDetails(
-                productId,
-                market,
-                p.name(),
-                p.description(),
-                p.specs() == null ? Map.of() : p.specs(),
-                p.images()
-        );
+        return data.findProductDetails(productId, market);
     }
 }
@@ -0,0 +1,27 @@
+package com.kramp.productinfo.infrastructure.mock;
+
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.CatalogListing;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Lists the mock catalog datasets, without latency or failure simulation.
+ */
+@Component
+@Profile("!http")
+public class MockCatalogListing implements CatalogListing {
+
+    private final MockUpstreamData data;
+
+    public MockCatalogListing(MockUpstreamData data) {
+        this.data = data;
+    }
+
+    @Override
+    public List<ProductDetails> listProducts(String market) {
+        return data.listProductDetails(market);
+    }
+}
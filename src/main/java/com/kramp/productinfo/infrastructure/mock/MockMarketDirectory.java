@@ -0,0 +1,42 @@
+package com.kramp.productinfo.infrastructure.mock;
+
+import com.kramp.productinfo.domain.ports.MarketDirectory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Known markets = the catalog datasets bundled under {@code mock-data/catalog}, scanned once at startup.
+ */
+@Component
+public class MockMarketDirectory implements MarketDirectory {
+
+    private final List<String> markets;
+
+    public MockMarketDirectory() {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver()
+                    .getResources("classpath*:mock-data/catalog/*.json");
+            this.markets = Arrays.stream(resources)
+                    .map(Resource::getFilename)
+                    .filter(Objects::nonNull)
+                    .map(name -> name.substring(0, name.length() - ".json".length()))
+                    .distinct()
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to scan mock-data catalogs", e);
+        }
+    }
+
+    @Override
+    public List<String> knownMarkets() {
+        return markets;
+    }
+}
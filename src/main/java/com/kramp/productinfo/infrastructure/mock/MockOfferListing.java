@@ -0,0 +1,33 @@
+package com.kramp.productinfo.infrastructure.mock;
+
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.ports.OfferListing;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Lists the mock pricing and availability datasets, without latency or failure simulation.
+ */
+@Component
+@Profile("!http")
+public class MockOfferListing implements OfferListing {
+
+    private final MockUpstreamData data;
+
+    public MockOfferListing(MockUpstreamData data) {
+        this.data = data;
+    }
+
+    @Override
+    public Map<String, PricingInfo> listPricing(String market, String segment) {
+        return data.listPricing(market, segment);
+    }
+
+    @Override
+    public Map<String, AvailabilityInfo> listAvailability(String market) {
+        return data.listAvailability(market);
+    }
+}
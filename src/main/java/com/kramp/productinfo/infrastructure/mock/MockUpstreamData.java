@@ -0,0 +1,226 @@
+package com.kramp.productinfo.infrastructure.mock;
+
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.infrastructure.canonical.DomainCanonicalizer;
+import com.kramp.productinfo.infrastructure.catalogstore.MappedCatalogStore;
+import com.kramp.productinfo.infrastructure.mock.model.AvailabilityDataset;
+import com.kramp.productinfo.infrastructure.mock.model.CatalogDataset;
+import com.kramp.productinfo.infrastructure.mock.model.CustomerDataset;
+import com.kramp.productinfo.infrastructure.mock.model.PricingDataset;
+import com.kramp.productinfo.infrastructure.mock.support.MockDataLoader;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dataset lookups behind the mock upstreams, without latency or failure simulation.
+ * <p>
+ * Shared by the in-process mock clients and the stand-in upstream server so both
+ * answer exactly the same way for the same mock-data files. Records are canonicalized
+ * on the way out, as every load parses the files into fresh strings.
+ * <p>
+ * Lookups answer with an {@link UpstreamResult}; the throwing variants are for callers that
+ * want the failure as an exception, like the stand-in server.
+ * <p>
+ * When a {@link MappedCatalogStore} is configured, catalog lookups are served from it
+ * instead of the catalog JSON.
+ */
+@Component
+public class MockUpstreamData {
+
+    private final MockDataLoader loader;
+    private final DomainCanonicalizer canonicalizer;
+    private final MappedCatalogStore catalogStore;
+
+    public MockUpstreamData(MockDataLoader loader,
+                            DomainCanonicalizer canonicalizer,
+                            ObjectProvider<MappedCatalogStore> catalogStore) {
+        this.loader = loader;
+        this.canonicalizer = canonicalizer;
+        this.catalogStore = catalogStore.getIfAvailable();
+    }
+
+    public ProductDetails productDetails(String productId, String market) {
+        return findProductDetails(productId, market).orElseThrow();
+    }
+
+    public PricingInfo pricing(String productId, String market, CustomerContext customerContext) {
+        return findPricing(productId, market, customerContext).orElseThrow();
+    }
+
+    public AvailabilityInfo availability(String productId, String market) {
+        return findAvailability(productId, market).orElseThrow();
+    }
+
+    public CustomerContext customerContext(String customerId, String market) {
+        return findCustomerContext(customerId, market).orElseThrow();
+    }
+
+    public UpstreamResult<ProductDetails> findProductDetails(String productId, String market) {
+        if (catalogStore != null) {
+            ProductDetails stored = catalogStore.find(productId, market);
+            if (stored == null) {
+                return UpstreamResult.failure("catalog", "PRODUCT_NOT_FOUND",
+                        "productId=" + productId + ", market=" + market);
+            }
+            return UpstreamResult.success(canonicalizer.productDetails(stored));
+        }
+
+        CatalogDataset dataset = loader.load("mock-data/catalog/" + market + ".json", CatalogDataset.class);
+        CatalogDataset.CatalogProduct p = dataset.products().get(productId);
+
+        if (p == null) {
+            return UpstreamResult.failure("catalog", "PRODUCT_NOT_FOUND",
+                    "productId=" + productId + ", market=" + market);
+        }
+
+        return UpstreamResult.success(canonicalizer.productDetails(new ProductDetails(
+                productId,
+                market,
+                p.name(),
+                p.description(),
+                p.specs() == null ? Map.of() : p.specs(),
+                p.images()
+        )));
+    }
+
+    /**
+     * Every product of the market's catalog JSON, also when lookups are served from the catalog store.
+     */
+    public List<ProductDetails> listProductDetails(String market) {
+        CatalogDataset dataset = loader.load("mock-data/catalog/" + market + ".json", CatalogDataset.class);
+        if (dataset.products() == null) {
+            return List.of();
+        }
+        return dataset.products().entrySet().stream()
+                .map(e -> canonicalizer.productDetails(new ProductDetails(
+                        e.getKey(),
+                        market,
+                        e.getValue().name(),
+                        e.getValue().description(),
+                        e.getValue().specs() == null ? Map.of() : e.getValue().specs(),
+                        e.getValue().images())))
+                .toList();
+    }
+
+    public UpstreamResult<PricingInfo> findPricing(String productId, String market, CustomerContext customerContext) {
+        PricingDataset dataset = loader.load("mock-data/pricing/" + market + ".json", PricingDataset.class);
+
+        PricingDataset.PricingOverride ov =
+                dataset.overrides() == null ? null : dataset.overrides().get(productId);
+
+        if (ov != null && Boolean.TRUE.equals(ov.forceUnavailable())) {
+            return UpstreamResult.failure("pricing", ov.reason(), "Forced unavailable via dataset override");
+        }
+
+
+        PricingDataset.PricingItem item =
+                dataset.items() == null ? null : dataset.items().get(productId);
+
+        if (item == null || item.basePrice() == null) {
+            return UpstreamResult.failure("pricing", "NOT_FOUND",
+                    "No pricing entry for productId=" + productId + ", market=" + market);
+        }
+
+
+        BigDecimal base = item.basePrice();
+        BigDecimal discountPercent = discountFor(customerContext.segment());
+        BigDecimal multiplier = BigDecimal.ONE.subtract(discountPercent.divide(new BigDecimal("100"), 6, RoundingMode.HALF_UP));
+        BigDecimal finalPrice = base.multiply(multiplier).setScale(2, RoundingMode.HALF_UP);
+
+        return UpstreamResult.success(
+                canonicalizer.pricing(PricingInfo.available(base, discountPercent, finalPrice, dataset.currency())));
+    }
+
+    /**
+     * Pricing of every item of the market's pricing JSON for customers of {@code segment}, computed
+     * exactly as {@link #findPricing} does; items forced unavailable are left out.
+     */
+    public Map<String, PricingInfo> listPricing(String market, String segment) {
+        PricingDataset dataset = loader.load("mock-data/pricing/" + market + ".json", PricingDataset.class);
+        if (dataset.items() == null) {
+            return Map.of();
+        }
+        CustomerContext customer = new CustomerContext(null, segment, Map.of());
+        Map<String, PricingInfo> pricing = new LinkedHashMap<>();
+        for (String productId : dataset.items().keySet()) {
+            if (findPricing(productId, market, customer) instanceof UpstreamResult.Success<PricingInfo>(var info)) {
+                pricing.put(productId, info);
+            }
+        }
+        return pricing;
+    }
+
+    public UpstreamResult<AvailabilityInfo> findAvailability(String productId, String market) {
+        AvailabilityDataset dataset = loader.load("mock-data/availability/" + market + ".json", AvailabilityDataset.class);
+
+        AvailabilityDataset.AvailabilityItem item =
+                dataset.items() == null ? null : dataset.items().get(productId);
+
+        if (item == null || item.stock() == null) {
+            return UpstreamResult.failure("availability", "NOT_FOUND",
+                    "No availability entry for productId=" + productId + ", market=" + market);
+        }
+
+
+        return UpstreamResult.success(
+                canonicalizer.availability(AvailabilityInfo.known(item.stock(), dataset.warehouse(), item.delivery())));
+    }
+
+    /**
+     * Availability of every item of the market's availability JSON.
+     */
+    public Map<String, AvailabilityInfo> listAvailability(String market) {
+        AvailabilityDataset dataset = loader.load("mock-data/availability/" + market + ".json", AvailabilityDataset.class);
+        if (dataset.items() == null) {
+            return Map.of();
+        }
+        Map<String, AvailabilityInfo> availability = new LinkedHashMap<>();
+        for (String productId : dataset.items().keySet()) {
+            if (findAvailability(productId, market) instanceof UpstreamResult.Success<AvailabilityInfo>(var info)) {
+                availability.put(productId, info);
+            }
+        }
+        return availability;
+    }
+
+    public UpstreamResult<CustomerContext> findCustomerContext(String customerId, String market) {
+        CustomerDataset dataset = loader.load("mock-data/customer/" + market + ".json", CustomerDataset.class);
+
+        String segment = null;
+        if (dataset.segmentsByCustomerId() != null) {
+            segment = dataset.segmentsByCustomerId().get(customerId);
+        }
+        if (segment == null) {
+            return UpstreamResult.failure("customer", "CUSTOMER_NOT_FOUND",
+                    "customerId=" + customerId + ", market=" + market);
+        }
+
+
+        Map<String, String> prefs = Map.of();
+        if (dataset.preferencesBySegment() != null) {
+            prefs = dataset.preferencesBySegment().getOrDefault(segment, Map.of());
+        }
+
+        return UpstreamResult.success(canonicalizer.customerContext(new CustomerContext(customerId, segment, prefs)));
+    }
+
+    private BigDecimal discountFor(String segment) {
+        if (segment == null) return BigDecimal.ZERO;
+        return switch (segment) {
+            case "PREMIUM" -> new BigDecimal("12.5");
+            case "STANDARD" -> new BigDecimal("5.0");
+            case "BASIC" -> new BigDecimal("0.0");
+            default -> BigDecimal.ZERO;
+        };
+    }
+}
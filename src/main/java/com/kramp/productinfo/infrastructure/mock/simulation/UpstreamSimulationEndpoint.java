@@ -0,0 +1,85 @@
+package com.kramp.productinfo.infrastructure.mock.simulation;
+
+import com.kramp.productinfo.config.MockUpstreamProperties.Brownout;
+import com.kramp.productinfo.config.MockUpstreamProperties.Distribution;
+import com.kramp.productinfo.config.MockUpstreamProperties.FailureWindow;
+import com.kramp.productinfo.config.MockUpstreamProperties.Latency;
+import com.kramp.productinfo.config.MockUpstreamProperties.Profile;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * {@code /actuator/upstreamsimulation}: inspect and switch the mock upstream latency/failure
+ * model at runtime.
+ * <ul>
+ *     <li>{@code GET} lists the active profiles, {@code GET /{service}?market=} the effective one</li>
+ *     <li>{@code POST /{service}} replaces the profile of a service, or of one market with {@code market}</li>
+ *     <li>{@code DELETE /{service}} restores the configured profile</li>
+ * </ul>
+ * Durations are given in milliseconds, e.g.
+ * {@code {"distribution":"PARETO","baseMs":40,"alpha":1.5,"maxMs":2000,"reliability":0.99}}.
+ */
+@Endpoint(id = "upstreamsimulation")
+public class UpstreamSimulationEndpoint {
+
+    private final UpstreamSimulator simulator;
+
+    public UpstreamSimulationEndpoint(UpstreamSimulator simulator) {
+        this.simulator = simulator;
+    }
+
+    @ReadOperation
+    public Map<String, Profile> profiles() {
+        return simulator.activeProfiles();
+    }
+
+    @ReadOperation
+    public Profile profile(@Selector String service, @Nullable String market) {
+        return simulator.effectiveProfile(service, market);
+    }
+
+    @WriteOperation
+    public Profile update(@Selector String service,
+                          @Nullable String market,
+                          @Nullable Distribution distribution,
+                          @Nullable Long baseMs,
+                          @Nullable Long stddevMs,
+                          @Nullable Double sigma,
+                          @Nullable Double alpha,
+                          @Nullable Long maxMs,
+                          @Nullable Double reliability,
+                          @Nullable Long brownoutPeriodMs,
+                          @Nullable Long brownoutDurationMs,
+                          @Nullable Double brownoutLatencyMultiplier,
+                          @Nullable Double brownoutReliability,
+                          @Nullable Double failureWindowTriggerRate,
+                          @Nullable Long failureWindowDurationMs,
+                          @Nullable Double failureWindowReliability) {
+        Latency latency = baseMs == null ? null
+                : new Latency(distribution, millis(baseMs), millis(stddevMs), sigma, alpha, millis(maxMs));
+        Brownout brownout = brownoutPeriodMs == null ? null
+                : new Brownout(millis(brownoutPeriodMs), millis(brownoutDurationMs), brownoutLatencyMultiplier, brownoutReliability);
+        FailureWindow failureWindow = failureWindowDurationMs == null ? null
+                : new FailureWindow(failureWindowTriggerRate, millis(failureWindowDurationMs), failureWindowReliability);
+
+        simulator.update(service, market, new Profile(latency, reliability, brownout, failureWindow, Map.of()));
+        return simulator.effectiveProfile(service, market);
+    }
+
+    @DeleteOperation
+    public Profile reset(@Selector String service) {
+        simulator.reset(service);
+        return simulator.effectiveProfile(service, null);
+    }
+
+    private static Duration millis(Long ms) {
+        return ms == null ? null : Duration.ofMillis(ms);
+    }
+}
@@ -0,0 +1,194 @@
+package com.kramp.productinfo.infrastructure.mock.simulation;
+
+import com.kramp.productinfo.config.MockUpstreamProperties;
+import com.kramp.productinfo.config.MockUpstreamProperties.Brownout;
+import com.kramp.productinfo.config.MockUpstreamProperties.FailureWindow;
+import com.kramp.productinfo.config.MockUpstreamProperties.Latency;
+import com.kramp.productinfo.config.MockUpstreamProperties.Profile;
+import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
+import com.kramp.productinfo.infrastructure.mock.MockUpstreamSupport;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency and failure engine behind the mock upstreams and the stand-in server.
+ * <p>
+ * Every (service, market) pair has its own sample stream: a call counter hashed with the
+ * seed (SplitMix64), so a fixed seed replays the same sequence of samples without any
+ * locking. Brownouts are driven by time since startup; failure windows by per-stream state.
+ * Market names come straight from requests, so the number of streams is capped: once
+ * {@value #MAX_STREAMS} pairs are tracked, any further pair shares one overflow stream.
+ * <p>
+ * Profiles come from {@code mock.upstreams} and can be replaced at runtime through
+ * {@link UpstreamSimulationEndpoint}.
+ */
+public class UpstreamSimulator {
+
+    private static final Profile NO_SIMULATION = new Profile(null, 1.0, null, null, Map.of());
+    static final int MAX_STREAMS = 256;
+
+    private final long seed;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Profile> configured;
+    private final Map<String, Profile> active;
+    private final Map<String, Stream> streams = new ConcurrentHashMap<>();
+    private final Stream overflow;
+
+    public UpstreamSimulator(MockUpstreamProperties properties) {
+        this.seed = properties.seed() != null ? properties.seed() : ThreadLocalRandom.current().nextLong();
+        this.configured = properties.services();
+        this.active = new ConcurrentHashMap<>(properties.services());
+        this.overflow = new Stream(seed ^ mix(-1));
+    }
+
+    /**
+     * Sleeps for a sampled latency, then fails with an {@link UpstreamFailureException}
+     * according to the service/market reliability.
+     */
+    public void simulate(String service, String market) {
+        Profile profile = effectiveProfile(service, market);
+        Stream stream = stream(service + '|' + market);
+        long now = System.nanoTime();
+
+        Brownout brownout = profile.brownout();
+        boolean inBrownout = brownout != null && brownout.period() != null && brownout.duration() != null
+                && (now - startNanos) % brownout.period().toNanos() < brownout.duration().toNanos();
+
+        double latencyMs = sampleMillis(profile.latency(), stream);
+        if (inBrownout && brownout.latencyMultiplier() != null) {
+            latencyMs *= brownout.latencyMultiplier();
+        }
+        if (latencyMs > 0) {
+            MockUpstreamSupport.simulateLatency((int) Math.round(latencyMs));
+        }
+
+        double reliability = profile.reliability() != null ? profile.reliability() : 1.0;
+        String reason = "SIMULATED_FAILURE";
+        if (inBrownout && brownout.reliability() != null && brownout.reliability() < reliability) {
+            reliability = brownout.reliability();
+            reason = "SIMULATED_BROWNOUT";
+        }
+        FailureWindow window = profile.failureWindow();
+        if (window != null && window.duration() != null) {
+            if (now < stream.windowEndsAt) {
+                reliability = window.reliability() != null ? window.reliability() : 0.0;
+                reason = "SIMULATED_FAILURE_WINDOW";
+            } else if (window.triggerRate() != null && stream.nextDouble() < window.triggerRate()) {
+                stream.windowEndsAt = now + window.duration().toNanos();
+            }
+        }
+        if (stream.nextDouble() > reliability) {
+            throw UpstreamFailureException.stackless(service, reason, "Simulated failure for market=" + market);
+        }
+    }
+
+    public Profile effectiveProfile(String service, String market) {
+        Profile profile = active.getOrDefault(service, NO_SIMULATION);
+        return market == null ? profile : profile.with(profile.markets().get(market));
+    }
+
+    public Map<String, Profile> activeProfiles() {
+        return Map.copyOf(active);
+    }
+
+    /**
+     * Replaces the runtime profile of a service (or of one of its markets when {@code market} is set).
+     */
+    public void update(String service, String market, Profile override) {
+        active.compute(service, (name, current) -> {
+            Profile base = current != null ? current : NO_SIMULATION;
+            if (market == null) {
+                return new Profile(override.latency(), override.reliability(), override.brownout(),
+                        override.failureWindow(), base.markets());
+            }
+            Map<String, Profile> markets = new HashMap<>(base.markets());
+            markets.put(market, override);
+            return new Profile(base.latency(), base.reliability(), base.brownout(), base.failureWindow(), markets);
+        });
+    }
+
+    /**
+     * Restores the configured profile of a service.
+     */
+    public void reset(String service) {
+        Profile original = configured.get(service);
+        if (original == null) {
+            active.remove(service);
+        } else {
+            active.put(service, original);
+        }
+    }
+
+    int streamCount() {
+        return streams.size();
+    }
+
+    private Stream stream(String key) {
+        Stream stream = streams.get(key);
+        if (stream != null) {
+            return stream;
+        }
+        if (streams.size() >= MAX_STREAMS) {
+            return overflow;
+        }
+        return streams.computeIfAbsent(key, k -> new Stream(seed ^ mix(k.hashCode())));
+    }
+
+    static double sampleMillis(Latency latency, Stream stream) {
+        if (latency == null || latency.base() == null) {
+            return 0;
+        }
+        double base = latency.base().toNanos() / 1_000_000.0;
+        MockUpstreamProperties.Distribution distribution =
+                latency.distribution() != null ? latency.distribution() : MockUpstreamProperties.Distribution.CONSTANT;
+        double sample = switch (distribution) {
+            case CONSTANT -> base;
+            case NORMAL -> base + millis(latency.stddev()) * stream.nextGaussian();
+            case LOG_NORMAL -> base * Math.exp((latency.sigma() != null ? latency.sigma() : 0.5) * stream.nextGaussian());
+            case PARETO -> base / Math.pow(1.0 - stream.nextDouble(), 1.0 / (latency.alpha() != null ? latency.alpha() : 2.0));
+        };
+        if (latency.max() != null) {
+            sample = Math.min(sample, millis(latency.max()));
+        }
+        return Math.max(0, sample);
+    }
+
+    private static double millis(Duration d) {
+        return d == null ? 0 : d.toNanos() / 1_000_000.0;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Lock-free, reproducible uniform samples: the n-th call always yields the same value for a given seed.
+     */
+    static final class Stream {
+        private final long seed;
+        private final AtomicLong counter = new AtomicLong();
+        volatile long windowEndsAt;
+
+        Stream(long seed) {
+            this.seed = seed;
+        }
+
+        double nextDouble() {
+            long n = counter.getAndIncrement();
+            return (mix(seed + n * 0x9e3779b97f4a7c15L) >>> 11) * 0x1.0p-53;
+        }
+
+        double nextGaussian() {
+            double u1 = Math.max(nextDouble(), 1e-12);
+            double u2 = nextDouble();
+            return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.kramp.productinfo.infrastructure.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Token buckets per key, for request rate limiting.
+ * <p>
+ * Each bucket is one {@link AtomicLong} holding its theoretical arrival time (GCRA, equivalent
+ * to a token bucket of {@code burst} tokens refilled at {@code perSecond}): an admitted request
+ * is one CAS, a rejected one only a read. Buckets live in {@code stripes} concurrent maps;
+ * {@link #evictIdleStripe()} sweeps one stripe per call, dropping buckets idle for longer than
+ * {@code idleAfter}. An idle bucket is full, so evicting it loses nothing.
+ */
+public class StripedTokenBuckets {
+
+    /**
+     * @param tier name for metrics and logs, e.g. the customer segment
+     */
+    public record Limit(String tier, double perSecond, int burst) {}
+
+    /**
+     * @param remaining   tokens left after this request
+     * @param resetNanos  until the bucket is full again
+     * @param retryNanos  until the next request would be admitted, {@code 0} when admitted
+     */
+    public record Decision(boolean allowed, String tier, int limit, int remaining, long resetNanos, long retryNanos) {}
+
+    private static final class Bucket {
+
+        private final Limit limit;
+        private final long intervalNanos;
+        private final long capacityNanos;
+        private final AtomicLong theoreticalArrival;
+
+        private Bucket(Limit limit, long now) {
+            this.limit = limit;
+            this.intervalNanos = Math.max(1, (long) (1_000_000_000L / limit.perSecond()));
+            this.capacityNanos = intervalNanos * limit.burst();
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        private Decision tryAcquire(long now) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long next = Math.max(tat, now) + intervalNanos;
+                long backlog = next - now;
+                if (backlog > capacityNanos) {
+                    long current = Math.max(tat, now) - now;
+                    return new Decision(false, limit.tier(), limit.burst(), 0, current, backlog - capacityNanos);
+                }
+                if (theoreticalArrival.compareAndSet(tat, next)) {
+                    int remaining = (int) ((capacityNanos - backlog) / intervalNanos);
+                    return new Decision(true, limit.tier(), limit.burst(), remaining, backlog, 0);
+                }
+            }
+        }
+
+        private boolean idleSince(long cutoff) {
+            return theoreticalArrival.get() < cutoff;
+        }
+    }
+
+    private final Map<String, Bucket>[] stripes;
+    private final long idleNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger nextSweep = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    public StripedTokenBuckets(int stripes, Duration idleAfter, LongSupplier nanoClock) {
+        int count = Integer.highestOneBit(Math.max(1, stripes));
+        this.stripes = new Map[count < stripes ? count << 1 : count];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ConcurrentHashMap<>();
+        }
+        this.idleNanos = idleAfter.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes a token from the key's bucket. A missing bucket is created with the limit from
+     * {@code limitIfNew}, called outside any lock; when that returns {@code null} no bucket is
+     * created and the result is {@code null}.
+     */
+    public Decision tryAcquire(String key, Supplier<Limit> limitIfNew) {
+        Map<String, Bucket> stripe = stripe(key);
+        Bucket bucket = stripe.get(key);
+        long now = nanoClock.getAsLong();
+        if (bucket == null) {
+            Limit limit = limitIfNew.get();
+            if (limit == null) {
+                return null;
+            }
+            Bucket created = new Bucket(limit, now);
+            bucket = stripe.putIfAbsent(key, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * Drops the idle buckets of the next stripe, round-robin.
+     */
+    public void evictIdleStripe() {
+        Map<String, Bucket> stripe = stripes[Math.floorMod(nextSweep.getAndIncrement(), stripes.length)];
+        long cutoff = nanoClock.getAsLong() - idleNanos;
+        stripe.values().removeIf(bucket -> bucket.idleSince(cutoff));
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, Bucket> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private Map<String, Bucket> stripe(String key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+}
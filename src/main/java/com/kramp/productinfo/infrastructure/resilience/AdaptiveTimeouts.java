@@ -0,0 +1,121 @@
+package com.kramp.productinfo.infrastructure.resilience;
+
+import com.kramp.productinfo.config.AdaptiveTimeoutProperties;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Derives each upstream's TimeLimiter timeout from the latency of its recent successful calls.
+ * <p>
+ * {@link UpstreamResilience} records every successful attempt; a periodic refresh on the
+ * upstream scheduler swaps the service's TimeLimiter in the registry when the target moves.
+ * The timeout each service is actually running with is exported as
+ * {@code upstream.timeout.effective}, whether adaptive mode is on or not.
+ */
+public class AdaptiveTimeouts implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveTimeouts.class);
+
+    private final AdaptiveTimeoutProperties properties;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, RollingLatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, Duration> configured = new ConcurrentHashMap<>();
+
+    private ScheduledFuture<?> refreshTask;
+
+    public AdaptiveTimeouts(AdaptiveTimeoutProperties properties,
+                            TimeLimiterRegistry timeLimiterRegistry,
+                            ScheduledExecutorService scheduler) {
+        this.properties = properties;
+        this.timeLimiterRegistry = timeLimiterRegistry;
+        this.scheduler = scheduler;
+    }
+
+    public void start() {
+        if (properties.enabled()) {
+            long interval = properties.refreshInterval().toMillis();
+            refreshTask = scheduler.scheduleAtFixedRate(this::refreshSafely, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void stop() {
+        if (refreshTask != null) {
+            refreshTask.cancel(false);
+        }
+    }
+
+    public void recordSuccess(String service, long nanos) {
+        if (properties.enabled()) {
+            histograms.computeIfAbsent(service, name -> new RollingLatencyHistogram(properties.window()))
+                    .record(nanos, System.nanoTime());
+        }
+    }
+
+    public Duration effectiveTimeout(String service) {
+        return timeLimiterRegistry.timeLimiter(service).getTimeLimiterConfig().getTimeoutDuration();
+    }
+
+    /**
+     * Recomputes every service's timeout; services below {@code min-samples} fall back to
+     * their configured value.
+     */
+    void refresh() {
+        long now = System.nanoTime();
+        histograms.forEach((service, histogram) -> {
+            Duration target = configured.computeIfAbsent(service, this::effectiveTimeout);
+            if (histogram.count(now) >= properties.minSamples()) {
+                Duration observed = histogram.percentile(properties.percentile(), now);
+                target = clamp(Duration.ofMillis((long) Math.ceil(observed.toNanos() * properties.factor() / 1_000_000.0)),
+                        properties.minFor(service), properties.maxFor(service));
+            }
+            TimeLimiter current = timeLimiterRegistry.timeLimiter(service);
+            if (!target.equals(current.getTimeLimiterConfig().getTimeoutDuration())) {
+                TimeLimiterConfig config = TimeLimiterConfig.from(current.getTimeLimiterConfig())
+                        .timeoutDuration(target)
+                        .build();
+                timeLimiterRegistry.replace(service, TimeLimiter.of(service, config));
+                log.debug("Adaptive timeout for {} set to {}", service, target);
+            }
+        });
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Adaptive timeout refresh failed", e);
+        }
+    }
+
+    private static Duration clamp(Duration value, Duration min, Duration max) {
+        if (value.compareTo(min) < 0) return min;
+        if (value.compareTo(max) > 0) return max;
+        return value;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        timeLimiterRegistry.getAllTimeLimiters().forEach(timeLimiter -> {
+            String service = timeLimiter.getName();
+            TimeGauge.builder("upstream.timeout.effective", this,
+                            TimeUnit.MILLISECONDS, t -> t.effectiveTimeout(service).toMillis())
+                    .description("Timeout currently applied to calls to this upstream")
+                    .tag("service", service)
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package com.kramp.productinfo.infrastructure.resilience;
+
+import com.kramp.productinfo.domain.ports.UpstreamCircuits;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers from the Resilience4j circuit breaker state, without acquiring a permission.
+ * <p>
+ * Every skipped call is counted as {@code upstream.short.circuited}; plain {@link #isOpen}
+ * questions are not. The breakers transition to half-open on their own
+ * ({@code automatic-transition-from-open-to-half-open-enabled}), so skipped calls never
+ * keep a breaker open longer than its wait duration.
+ */
+@Component
+public class CircuitBreakerUpstreamCircuits implements UpstreamCircuits {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> shortCircuited = new ConcurrentHashMap<>();
+
+    public CircuitBreakerUpstreamCircuits(CircuitBreakerRegistry circuitBreakerRegistry, MeterRegistry meterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean isOpen(String service) {
+        CircuitBreaker.State state = circuitBreakerRegistry.circuitBreaker(service).getState();
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    @Override
+    public boolean skip(String service) {
+        boolean open = isOpen(service);
+        if (open) {
+            shortCircuited(service).increment();
+        }
+        return open;
+    }
+
+    private Counter shortCircuited(String service) {
+        return shortCircuited.computeIfAbsent(service, s -> Counter.builder("upstream.short.circuited")
+                .description("Upstream calls skipped because the circuit breaker was open")
+                .tag("service", s)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,40 @@
+package com.kramp.productinfo.infrastructure.resilience;
+
+import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
+
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+
+/**
+ * Matches upstream failures that are an answer rather than a malfunction: the upstream
+ * responded and told us why there is no data ({@code PRODUCT_NOT_FOUND},
+ * {@code PRICING_ENGINE_MAINTENANCE}, ...). Retrying them cannot help and they say nothing
+ * about the health of the connection to the upstream.
+ * <p>
+ * Malfunctions are the reasons raised by the adapters themselves: timeouts, transport
+ * errors, unparseable HTTP errors ({@code HTTP_5xx}) and simulated failures. {@code CANCELLED}
+ * (the caller abandoned the call) is neither: it is matched here so it is not held against the
+ * upstream either.
+ * <p>
+ * Referenced from {@code resilience4j.circuitbreaker.instances.*.ignore-exception-predicate}.
+ */
+public class DefinitiveUpstreamAnswer implements Predicate<Throwable> {
+
+    private static final Set<String> MALFUNCTIONS =
+            Set.of("TIMEOUT", "IO_ERROR", "POOL_EXHAUSTED", "INTERRUPTED", "UPSTREAM_ERROR");
+
+    @Override
+    public boolean test(Throwable throwable) {
+        Throwable t = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+        return t instanceof UpstreamFailureException ufe && isDefinitive(ufe.reason());
+    }
+
+    public static boolean isDefinitive(String reason) {
+        return reason != null
+                && !MALFUNCTIONS.contains(reason)
+                && !reason.startsWith("HTTP_")
+                && !reason.startsWith("SIMULATED_");
+    }
+}
@@ -0,0 +1,25 @@
+package com.kramp.productinfo.infrastructure.resilience;
+
+import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Timeouts and upstream failures, except {@link DefinitiveUpstreamAnswer definitive answers}.
+ * <p>
+ * Referenced from {@code resilience4j.retry.instances.*.retry-exception-predicate}.
+ */
+public class RetryableUpstreamFailure implements Predicate<Throwable> {
+
+    private final DefinitiveUpstreamAnswer definitive = new DefinitiveUpstreamAnswer();
+
+    @Override
+    public boolean test(Throwable throwable) {
+        Throwable t = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+        return (t instanceof TimeoutException || t instanceof UpstreamFailureException)
+                && !definitive.test(t);
+    }
+}
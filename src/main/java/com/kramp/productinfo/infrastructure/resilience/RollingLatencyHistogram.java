@@ -0,0 +1,120 @@
+package com.kramp.productinfo.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram over a sliding time window.
+ * <p>
+ * The window is split into {@value #SLICES} slices; a slice is cleared lazily when the
+ * clock wraps back onto it. Buckets are log-linear (8 sub-buckets per power of two of
+ * microseconds), so percentiles are accurate to within 12.5%, always rounded up.
+ */
+class RollingLatencyHistogram {
+
+    static final int SLICES = 6;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long sliceNanos;
+    private final Slice[] slices = new Slice[SLICES];
+
+    RollingLatencyHistogram(Duration window) {
+        this.sliceNanos = Math.max(1, window.toNanos() / SLICES);
+        for (int i = 0; i < SLICES; i++) {
+            slices[i] = new Slice();
+        }
+    }
+
+    void record(long nanos, long nowNanos) {
+        long epoch = nowNanos / sliceNanos;
+        Slice slice = slices[(int) Math.floorMod(epoch, SLICES)];
+        if (slice.epoch != epoch) {
+            slice.reset(epoch);
+        }
+        slice.counts.incrementAndGet(bucket(Math.max(1, nanos / 1_000)));
+        slice.total.incrementAndGet();
+    }
+
+    /**
+     * Number of samples currently in the window.
+     */
+    long count(long nowNanos) {
+        long epoch = nowNanos / sliceNanos;
+        long count = 0;
+        for (Slice slice : slices) {
+            if (epoch - slice.epoch < SLICES) {
+                count += slice.total.get();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The given percentile (0..1) of the samples in the window, or {@code null} when empty.
+     */
+    Duration percentile(double percentile, long nowNanos) {
+        long epoch = nowNanos / sliceNanos;
+        long[] merged = new long[BUCKETS];
+        long total = 0;
+        for (Slice slice : slices) {
+            if (epoch - slice.epoch >= SLICES) {
+                continue;
+            }
+            for (int i = 0; i < BUCKETS; i++) {
+                long c = slice.counts.get(i);
+                merged[i] += c;
+                total += c;
+            }
+        }
+        if (total == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += merged[i];
+            if (seen >= rank) {
+                return Duration.ofNanos(upperBoundMicros(i) * 1_000);
+            }
+        }
+        return Duration.ofNanos(upperBoundMicros(BUCKETS - 1) * 1_000);
+    }
+
+    static int bucket(long micros) {
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros);
+        if (magnitude < SUB_BUCKET_BITS) {
+            return (int) micros;
+        }
+        int sub = (int) (micros >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundMicros(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+
+    private static final class Slice {
+        volatile long epoch = Long.MIN_VALUE / 2;
+        final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        final AtomicLong total = new AtomicLong();
+
+        synchronized void reset(long newEpoch) {
+            if (epoch == newEpoch) {
+                return;
+            }
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+            total.set(0);
+            epoch = newEpoch;
+        }
+    }
+}
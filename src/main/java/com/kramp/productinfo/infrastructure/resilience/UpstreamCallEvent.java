@@ -0,0 +1,41 @@
+package com.kramp.productinfo.infrastructure.resilience;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * One attempt of an upstream call inside the Resilience4j decorators, so retries show up as
+ * separate events with increasing {@code attempt}. Disabled unless a recording enables it.
+ */
+@Name("com.kramp.productinfo.UpstreamCall")
+@Label("Upstream Call")
+@Category({"Product Info", "Upstream"})
+@Description("One attempt of a call to an upstream service")
+@Enabled(false)
+@Threshold("0 ms")
+@StackTrace(false)
+public class UpstreamCallEvent extends Event {
+
+    @Label("Service")
+    public String service;
+
+    @Label("Market")
+    public String market;
+
+    @Label("Attempt")
+    @Description("1 for the first try, 2 for the first retry, ...")
+    public int attempt;
+
+    @Label("Outcome")
+    @Description("SUCCESS, ANSWERED (definitive failure), FAILED, CANCELLED")
+    public String outcome;
+
+    @Label("Reason")
+    public String reason;
+}
@@ -0,0 +1,228 @@
+package com.kramp.productinfo.infrastructure.resilience;
+
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.domain.ports.exception.MarketNotFoundException;
+import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs an upstream call on the upstream executor, decorated with the Resilience4j
+ * instances named after the service.
+ * <p>
+ * Order of decorators (outermost to innermost):
+ * Retry -> CircuitBreaker -> TimeLimiter -> actual call
+ * <p>
+ * Decoration is programmatic rather than annotation-based: the annotated methods were only
+ * ever called from the same bean, which Spring AOP does not intercept. Instances are looked
+ * up per call so a TimeLimiter replaced by {@link AdaptiveTimeouts} takes effect immediately.
+ * <p>
+ * Cancelling the returned future (or interrupting a caller blocked in {@link #await}) interrupts
+ * the attempt in flight and stops further retries; so does a TimeLimiter timeout for the timed-out
+ * attempt. Work nobody waits for any more is not left running. Cancelled attempts fail with
+ * reason {@code CANCELLED}, which neither counts against the circuit breaker nor is retried.
+ * <p>
+ * Every attempt is an {@link UpstreamCallEvent} for JFR recordings that enable it.
+ */
+@Component
+public class UpstreamResilience {
+
+    private final RetryRegistry retryRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final TimeLimiterRegistry timeLimiterRegistry;
+    private final AdaptiveTimeouts adaptiveTimeouts;
+    private final ExecutorService upstreamExecutor;
+    private final ScheduledExecutorService upstreamScheduler;
+    private final MeterRegistry meterRegistry;
+
+    public UpstreamResilience(RetryRegistry retryRegistry,
+                              CircuitBreakerRegistry circuitBreakerRegistry,
+                              TimeLimiterRegistry timeLimiterRegistry,
+                              AdaptiveTimeouts adaptiveTimeouts,
+                              ExecutorService upstreamExecutor,
+                              ScheduledExecutorService upstreamScheduler,
+                              MeterRegistry meterRegistry) {
+        this.retryRegistry = retryRegistry;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.timeLimiterRegistry = timeLimiterRegistry;
+        this.adaptiveTimeouts = adaptiveTimeouts;
+        this.upstreamExecutor = upstreamExecutor;
+        this.upstreamScheduler = upstreamScheduler;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> CompletableFuture<T> execute(String service, String market, Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<Future<?>> inFlight = new AtomicReference<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        Supplier<CompletionStage<T>> attempt = () -> {
+            CompletableFuture<T> attemptResult = new CompletableFuture<>();
+            int attemptNumber = attempts.incrementAndGet();
+            if (result.isDone()) {
+                attemptResult.completeExceptionally(cancelled(service));
+                return attemptResult;
+            }
+            Future<?> task = upstreamExecutor.submit(() -> {
+                UpstreamCallEvent event = new UpstreamCallEvent();
+                event.begin();
+                long start = System.nanoTime();
+                try {
+                    T value = call.get();
+                    adaptiveTimeouts.recordSuccess(service, System.nanoTime() - start);
+                    commit(event, service, market, attemptNumber, value, null);
+                    attemptResult.complete(value);
+                } catch (Throwable ex) {
+                    Throwable failure = result.isCancelled() ? cancelled(service) : ex;
+                    commit(event, service, market, attemptNumber, null, failure);
+                    attemptResult.completeExceptionally(failure);
+                }
+            });
+            inFlight.set(task);
+            // TimeLimiter cancels the attempt on timeout; stop its work as well
+            attemptResult.whenComplete((value, ex) -> {
+                if (attemptResult.isCancelled()) {
+                    interrupt(service, task);
+                }
+            });
+            return attemptResult;
+        };
+
+        Supplier<CompletionStage<T>> limited =
+                timeLimiterRegistry.timeLimiter(service).decorateCompletionStage(upstreamScheduler, attempt);
+        Supplier<CompletionStage<T>> guarded =
+                CircuitBreaker.decorateCompletionStage(circuitBreakerRegistry.circuitBreaker(service), limited);
+        Supplier<CompletionStage<T>> retried =
+                Retry.decorateCompletionStage(retryRegistry.retry(service), upstreamScheduler, guarded);
+
+        retried.get().whenComplete((value, ex) -> {
+            if (ex != null) {
+                result.completeExceptionally(ex);
+            } else {
+                result.complete(value);
+            }
+        });
+        result.whenComplete((value, ex) -> {
+            Future<?> task = inFlight.get();
+            if (result.isCancelled() && task != null) {
+                interrupt(service, task);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Interruptible {@code join()}: when the waiting thread is interrupted (e.g. its structured
+     * task scope shut down), the call is cancelled and fails with reason {@code CANCELLED}.
+     *
+     * @throws CompletionException wrapping the failure of the call
+     */
+    public <T> T await(String service, CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            throw new CompletionException(ex.getCause());
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CompletionException(cancelled(service));
+        }
+    }
+
+    /**
+     * {@link #execute} for lookups answering with an {@link UpstreamResult}. Definitive failures
+     * pass through the decorators as plain values: they are not retried and leave the circuit
+     * breaker alone without ever becoming an exception. Malfunctions are raised as stackless
+     * exceptions so Retry and CircuitBreaker see them, and come back out as failures.
+     */
+    public <T> UpstreamResult<T> call(String service, String market, Supplier<UpstreamResult<T>> lookup) {
+        try {
+            return await(service, execute(service, market, () -> raiseMalfunction(lookup.get())));
+        } catch (CompletionException ex) {
+            return failureOf(service, ex.getCause());
+        }
+    }
+
+    private static <T> UpstreamResult<T> raiseMalfunction(UpstreamResult<T> result) {
+        if (result instanceof UpstreamResult.Failure<T> failure && !DefinitiveUpstreamAnswer.isDefinitive(failure.reason())) {
+            throw failure.toException();
+        }
+        return result;
+    }
+
+    /**
+     * @throws MarketNotFoundException as is: a bad request, not an upstream failure
+     */
+    private static <T> UpstreamResult<T> failureOf(String service, Throwable ex) {
+        return switch (ex) {
+            case UpstreamFailureException ufe -> UpstreamResult.failure(ufe.service(), ufe.reason(), ufe.details());
+            case MarketNotFoundException mnfe -> throw mnfe;
+            case TimeoutException timeout -> UpstreamResult.failure(service, "TIMEOUT",
+                    service + " service timed out");
+            default -> UpstreamResult.failure(service, "UPSTREAM_ERROR",
+                    "Resilience wrapper failure: " + rootMessage(ex));
+        };
+    }
+
+    private static void commit(UpstreamCallEvent event, String service, String market, int attempt,
+                               Object value, Throwable failure) {
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.service = service;
+        event.market = market;
+        event.attempt = attempt;
+        if (value instanceof UpstreamResult.Failure<?> answered) {
+            event.outcome = "ANSWERED";
+            event.reason = answered.reason();
+        } else if (failure instanceof UpstreamFailureException ufe) {
+            event.outcome = "CANCELLED".equals(ufe.reason()) ? "CANCELLED" : "FAILED";
+            event.reason = ufe.reason();
+        } else if (failure != null) {
+            event.outcome = "FAILED";
+            event.reason = failure.getClass().getSimpleName();
+        } else {
+            event.outcome = "SUCCESS";
+        }
+        event.commit();
+    }
+
+    private static String rootMessage(Throwable t) {
+        Throwable cur = t;
+        while (cur.getCause() != null) cur = cur.getCause();
+        return cur.getMessage();
+    }
+
+    private void interrupt(String service, Future<?> task) {
+        if (task.cancel(true)) {
+            Counter.builder("upstream.calls.cancelled")
+                    .description("Upstream attempts interrupted because nobody waits for their result")
+                    .tag("service", service)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private static UpstreamFailureException cancelled(String service) {
+        return UpstreamFailureException.stackless(service, "CANCELLED", "Call abandoned by its caller");
+    }
+}
@@ -0,0 +1,75 @@
+package com.kramp.productinfo.infrastructure.search;
+
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.CatalogListing;
+import com.kramp.productinfo.domain.ports.MarketDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds every {@link MarketCatalogIndex} in full from the {@link CatalogListing}, at start
+ * and every {@code interval}; each market is listed once for all indexes. The full rebuild drops
+ * products that vanished without a lookup noticing. Without a listing (HTTP upstreams) the
+ * indexes fill from catalog lookups only.
+ * <p>
+ * A change racing a full rebuild of its market may be lost until the product's next lookup.
+ */
+public class CatalogIndexRebuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogIndexRebuilder.class);
+
+    private final CatalogListing listing;
+    private final MarketDirectory markets;
+    private final List<MarketCatalogIndex> indexes;
+    private final ScheduledExecutorService scheduler;
+    private final Duration interval;
+
+    private ScheduledFuture<?> rebuilds;
+
+    /**
+     * @param listing {@code null} when the catalog cannot be listed
+     */
+    public CatalogIndexRebuilder(CatalogListing listing,
+                                 MarketDirectory markets,
+                                 List<MarketCatalogIndex> indexes,
+                                 ScheduledExecutorService scheduler,
+                                 Duration interval) {
+        this.listing = listing;
+        this.markets = markets;
+        this.indexes = List.copyOf(indexes);
+        this.scheduler = scheduler;
+        this.interval = interval;
+    }
+
+    public void start() {
+        if (listing == null) {
+            return;
+        }
+        rebuildAll();
+        rebuilds = scheduler.scheduleWithFixedDelay(this::rebuildAll,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (rebuilds != null) {
+            rebuilds.cancel(false);
+        }
+    }
+
+    private void rebuildAll() {
+        for (String market : markets.knownMarkets()) {
+            try {
+                List<ProductDetails> products = listing.listProducts(market);
+                indexes.forEach(index -> index.rebuild(market, products));
+            } catch (RuntimeException ex) {
+                log.warn("Catalog index rebuild failed for market={}, keeping the previous indexes", market, ex);
+            }
+        }
+    }
+}
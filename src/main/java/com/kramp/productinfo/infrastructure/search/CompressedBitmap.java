@@ -0,0 +1,484 @@
+package com.kramp.productinfo.infrastructure.search;
+
+import java.util.Arrays;
+
+/**
+ * Set of non-negative ints, compressed the Roaring way: ids are split into chunks of 65536 by
+ * their high 16 bits, and each chunk is stored as a sorted {@code char[]} while it holds at most
+ * {@value #ARRAY_MAX} ids (2 bytes per id), or as a 8 KiB bitmap beyond that. Intersections and
+ * their cardinalities work chunk by chunk: merge for two arrays (galloping when one is much
+ * smaller), a probe per id for an array against a bitmap, {@code AND} plus {@code bitCount}
+ * over words for two bitmaps.
+ * <p>
+ * Not thread-safe.
+ */
+public final class CompressedBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+    private static final int GALLOP_RATIO = 16;
+
+    /**
+     * {@code or} with it copies a container, so results never share containers with their inputs.
+     */
+    private static final Container EMPTY = new ArrayContainer(new char[0], 0);
+
+    private sealed interface Container permits ArrayContainer, BitmapContainer {
+
+        int cardinality();
+
+        boolean contains(char low);
+
+        Container add(char low);
+
+        Container remove(char low);
+
+        Container and(Container other);
+
+        int andCardinality(Container other);
+
+        Container or(Container other);
+
+        long bytes();
+    }
+
+    private static final class ArrayContainer implements Container {
+
+        private char[] values;
+        private int cardinality;
+
+        private ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        private static ArrayContainer of(char low) {
+            return new ArrayContainer(new char[]{low, 0, 0, 0}, 1);
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        @Override
+        public Container add(char low) {
+            int at = cardinality > 0 && values[cardinality - 1] < low
+                    ? -cardinality - 1
+                    : Arrays.binarySearch(values, 0, cardinality, low);
+            if (at >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(low);
+            }
+            int insert = -at - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.clamp(cardinality * 2L, 4, ARRAY_MAX));
+            }
+            System.arraycopy(values, insert, values, insert + 1, cardinality - insert);
+            values[insert] = low;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char low) {
+            int at = Arrays.binarySearch(values, 0, cardinality, low);
+            if (at >= 0) {
+                System.arraycopy(values, at + 1, values, at, cardinality - at - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        public Container and(Container other) {
+            char[] result = new char[Math.min(cardinality, other.cardinality())];
+            int n = 0;
+            if (other instanceof ArrayContainer array) {
+                if (array.cardinality > GALLOP_RATIO * cardinality) {
+                    return gallop(this, array, result);
+                }
+                if (cardinality > GALLOP_RATIO * array.cardinality) {
+                    return gallop(array, this, result);
+                }
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    char a = values[i];
+                    char b = array.values[j];
+                    if (a == b) {
+                        result[n++] = a;
+                    }
+                    i += a <= b ? 1 : 0;
+                    j += a >= b ? 1 : 0;
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        result[n++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, n);
+        }
+
+        @Override
+        public int andCardinality(Container other) {
+            int n = 0;
+            if (other instanceof ArrayContainer array) {
+                if (array.cardinality > GALLOP_RATIO * cardinality) {
+                    return gallop(this, array, null).cardinality;
+                }
+                if (cardinality > GALLOP_RATIO * array.cardinality) {
+                    return gallop(array, this, null).cardinality;
+                }
+                int i = 0;
+                int j = 0;
+                while (i < cardinality && j < array.cardinality) {
+                    char a = values[i];
+                    char b = array.values[j];
+                    n += a == b ? 1 : 0;
+                    i += a <= b ? 1 : 0;
+                    j += a >= b ? 1 : 0;
+                }
+            } else {
+                for (int i = 0; i < cardinality; i++) {
+                    if (other.contains(values[i])) {
+                        n++;
+                    }
+                }
+            }
+            return n;
+        }
+
+        /**
+         * Intersects a small array with a much larger one: each value of {@code small} is looked for
+         * in {@code large} by galloping from the previous hit. Collects into {@code result} unless
+         * that is {@code null}, in which case only the count is kept.
+         */
+        private static ArrayContainer gallop(ArrayContainer small, ArrayContainer large, char[] result) {
+            int n = 0;
+            int from = 0;
+            for (int i = 0; i < small.cardinality && from < large.cardinality; i++) {
+                char value = small.values[i];
+                int lo = from;
+                int bound = 1;
+                while (lo + bound < large.cardinality && large.values[lo + bound] < value) {
+                    lo += bound;
+                    bound <<= 1;
+                }
+                int at = Arrays.binarySearch(large.values, lo, Math.min(lo + bound + 1, large.cardinality), value);
+                if (at >= 0) {
+                    if (result != null) {
+                        result[n] = value;
+                    }
+                    n++;
+                    from = at + 1;
+                } else {
+                    from = -at - 1;
+                }
+            }
+            return new ArrayContainer(result == null ? new char[0] : result, n);
+        }
+
+        @Override
+        public Container or(Container other) {
+            if (other instanceof BitmapContainer bitmap) {
+                return bitmap.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] result = new char[cardinality + array.cardinality];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || i < cardinality && values[i] < array.values[j]) {
+                    result[n++] = values[i++];
+                } else if (i == cardinality || array.values[j] < values[i]) {
+                    result[n++] = array.values[j++];
+                } else {
+                    result[n++] = values[i++];
+                    j++;
+                }
+            }
+            ArrayContainer merged = new ArrayContainer(result, n);
+            return n > ARRAY_MAX ? merged.toBitmap() : merged;
+        }
+
+        @Override
+        public long bytes() {
+            return 16 + 16 + 2L * values.length;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer(new long[BITMAP_WORDS], 0);
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer implements Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        public Container add(char low) {
+            long before = words[low >>> 6];
+            long after = before | (1L << low);
+            if (before != after) {
+                words[low >>> 6] = after;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char low) {
+            long before = words[low >>> 6];
+            long after = before & ~(1L << low);
+            if (before != after) {
+                words[low >>> 6] = after;
+                cardinality--;
+            }
+            return cardinality <= ARRAY_MAX ? toArray() : this;
+        }
+
+        @Override
+        public Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] result = new long[BITMAP_WORDS];
+            int n = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] & otherWords[i];
+                n += Long.bitCount(result[i]);
+            }
+            BitmapContainer bitmap = new BitmapContainer(result, n);
+            return n <= ARRAY_MAX ? bitmap.toArray() : bitmap;
+        }
+
+        @Override
+        public int andCardinality(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.andCardinality(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int n = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                n += Long.bitCount(words[i] & otherWords[i]);
+            }
+            return n;
+        }
+
+        @Override
+        public Container or(Container other) {
+            long[] result = words.clone();
+            BitmapContainer bitmap = new BitmapContainer(result, cardinality);
+            if (other instanceof ArrayContainer array) {
+                for (int i = 0; i < array.cardinality; i++) {
+                    bitmap.add(array.values[i]);
+                }
+                return bitmap;
+            }
+            long[] otherWords = ((BitmapContainer) other).words;
+            int n = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] |= otherWords[i];
+                n += Long.bitCount(result[i]);
+            }
+            bitmap.cardinality = n;
+            return bitmap;
+        }
+
+        @Override
+        public long bytes() {
+            return 16 + 16 + 8L * BITMAP_WORDS;
+        }
+
+        private ArrayContainer toArray() {
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    values[n++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, n);
+        }
+    }
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    public CompressedBitmap() {
+        this(new char[4], new Container[4], 0);
+    }
+
+    private CompressedBitmap(char[] keys, Container[] containers, int size) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    public void add(int id) {
+        char high = (char) (id >>> 16);
+        int at = find(high);
+        if (at >= 0) {
+            containers[at] = containers[at].add((char) id);
+            return;
+        }
+        int insert = -at - 1;
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, insert, keys, insert + 1, size - insert);
+        System.arraycopy(containers, insert, containers, insert + 1, size - insert);
+        keys[insert] = high;
+        containers[insert] = ArrayContainer.of((char) id);
+        size++;
+    }
+
+    public void remove(int id) {
+        int at = find((char) (id >>> 16));
+        if (at < 0) {
+            return;
+        }
+        Container container = containers[at].remove((char) id);
+        if (container.cardinality() > 0) {
+            containers[at] = container;
+            return;
+        }
+        System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+        System.arraycopy(containers, at + 1, containers, at, size - at - 1);
+        containers[--size] = null;
+    }
+
+    public boolean contains(int id) {
+        int at = find((char) (id >>> 16));
+        return at >= 0 && containers[at].contains((char) id);
+    }
+
+    public int cardinality() {
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            n += containers[i].cardinality();
+        }
+        return n;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public CompressedBitmap and(CompressedBitmap other) {
+        char[] resultKeys = new char[Math.min(size, other.size)];
+        Container[] result = new Container[resultKeys.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] == other.keys[j]) {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality() > 0) {
+                    resultKeys[n] = keys[i];
+                    result[n++] = container;
+                }
+                i++;
+                j++;
+            } else if (keys[i] < other.keys[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return new CompressedBitmap(resultKeys, result, n);
+    }
+
+    public int andCardinality(CompressedBitmap other) {
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] == other.keys[j]) {
+                n += containers[i].andCardinality(other.containers[j]);
+                i++;
+                j++;
+            } else if (keys[i] < other.keys[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return n;
+    }
+
+    public CompressedBitmap or(CompressedBitmap other) {
+        char[] resultKeys = new char[size + other.size];
+        Container[] result = new Container[resultKeys.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || i < size && keys[i] < other.keys[j]) {
+                resultKeys[n] = keys[i];
+                result[n++] = containers[i++].or(EMPTY);
+            } else if (i == size || other.keys[j] < keys[i]) {
+                resultKeys[n] = other.keys[j];
+                result[n++] = other.containers[j++].or(EMPTY);
+            } else {
+                resultKeys[n] = keys[i];
+                result[n++] = containers[i++].or(other.containers[j++]);
+            }
+        }
+        return new CompressedBitmap(resultKeys, result, n);
+    }
+
+    /**
+     * Approximate heap footprint, object headers included.
+     */
+    public long sizeInBytes() {
+        long bytes = 16 + 16 + 2L * keys.length + 16 + 4L * containers.length;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].bytes();
+        }
+        return bytes;
+    }
+
+    private int find(char high) {
+        if (size > 0 && keys[size - 1] == high) {
+            return size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+}
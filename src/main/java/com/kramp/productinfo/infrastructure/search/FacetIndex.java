@@ -0,0 +1,252 @@
+package com.kramp.productinfo.infrastructure.search;
+
+import com.kramp.productinfo.domain.model.FacetCounts;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.ProductFacets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.kramp.productinfo.infrastructure.search.InvertedProductIndex.normalizeSpec;
+
+/**
+ * Per-market facet counts over product specs, on {@link CompressedBitmap}s.
+ * <p>
+ * Every product of a market gets a dense int id (ids of removed products are reused), and
+ * every spec {@code key=value} a bitmap of the ids having it. A filter on one key is the union
+ * of its values' bitmaps; a filter combination is the intersection of those unions, smallest
+ * first. The count of a value is the cardinality of its bitmap intersected with the filter,
+ * computed without materializing the intersection. A filtered key is counted against the other
+ * keys' filters only, so picking one value still shows the alternatives. Filters match keys and
+ * values ignoring case and surrounding whitespace, as search does; counts report them as stored.
+ * <p>
+ * A changed product keeps its id and moves between bitmaps. Full rebuilds come from the
+ * {@link CatalogIndexRebuilder}.
+ */
+public class FacetIndex implements ProductFacets, MarketCatalogIndex {
+
+    private static final class MarketFacets {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Integer> idByProduct = new HashMap<>();
+        private final List<int[]> valuesById = new ArrayList<>();
+        private final CompressedBitmap live = new CompressedBitmap();
+        private final Map<String, Map<String, Integer>> ordinals = new HashMap<>();
+        private final Map<String, Map<String, List<Integer>>> ordinalsByNormalized = new HashMap<>();
+        private final List<CompressedBitmap> bitmaps = new ArrayList<>();
+        private int[] freeIds = new int[16];
+        private int freeCount;
+
+        private static MarketFacets of(Collection<ProductDetails> products) {
+            MarketFacets facets = new MarketFacets();
+            for (ProductDetails product : products) {
+                facets.upsert(product.productId(), product.specs());
+            }
+            return facets;
+        }
+
+        private void upsert(String productId, Map<String, String> specs) {
+            int[] values = new int[specs.size()];
+            int n = 0;
+            for (Map.Entry<String, String> spec : specs.entrySet()) {
+                values[n++] = ordinal(spec.getKey(), spec.getValue());
+            }
+            Arrays.sort(values);
+
+            Integer existing = idByProduct.get(productId);
+            int id;
+            if (existing != null) {
+                id = existing;
+                int[] previous = valuesById.get(id);
+                if (Arrays.equals(previous, values)) {
+                    return;
+                }
+                for (int ordinal : previous) {
+                    bitmaps.get(ordinal).remove(id);
+                }
+            } else {
+                id = allocateId();
+                idByProduct.put(productId, id);
+                live.add(id);
+            }
+            valuesById.set(id, values);
+            for (int ordinal : values) {
+                bitmaps.get(ordinal).add(id);
+            }
+        }
+
+        private void remove(String productId) {
+            Integer id = idByProduct.remove(productId);
+            if (id == null) {
+                return;
+            }
+            for (int ordinal : valuesById.get(id)) {
+                bitmaps.get(ordinal).remove(id);
+            }
+            valuesById.set(id, null);
+            live.remove(id);
+            if (freeCount == freeIds.length) {
+                freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+            }
+            freeIds[freeCount++] = id;
+        }
+
+        private int allocateId() {
+            if (freeCount > 0) {
+                return freeIds[--freeCount];
+            }
+            valuesById.add(null);
+            return valuesById.size() - 1;
+        }
+
+        private int ordinal(String key, String value) {
+            return ordinals.computeIfAbsent(key, k -> new HashMap<>()).computeIfAbsent(value, v -> {
+                bitmaps.add(new CompressedBitmap());
+                int ordinal = bitmaps.size() - 1;
+                ordinalsByNormalized.computeIfAbsent(normalizeSpec(key), k -> new HashMap<>())
+                        .computeIfAbsent(normalizeSpec(value), n -> new ArrayList<>()).add(ordinal);
+                return ordinal;
+            });
+        }
+
+        private FacetCounts count(String market, Map<String, Set<String>> filters, Set<String> keys, int valuesPerKey) {
+            Map<String, CompressedBitmap> unions = new HashMap<>();
+            filters.forEach((key, values) -> {
+                String normalizedKey = normalizeSpec(key);
+                Map<String, List<Integer>> byValue = ordinalsByNormalized.getOrDefault(normalizedKey, Map.of());
+                CompressedBitmap union = unions.getOrDefault(normalizedKey, new CompressedBitmap());
+                for (String value : values) {
+                    for (int ordinal : byValue.getOrDefault(normalizeSpec(value), List.of())) {
+                        union = union.or(bitmaps.get(ordinal));
+                    }
+                }
+                unions.put(normalizedKey, union);
+            });
+            CompressedBitmap matched = intersect(unions, null);
+
+            Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+            for (String key : keys.isEmpty() ? new TreeSet<>(ordinals.keySet()) : keys) {
+                String normalizedKey = normalizeSpec(key);
+                CompressedBitmap base = unions.containsKey(normalizedKey) ? intersect(unions, normalizedKey) : matched;
+                List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+                ordinals.getOrDefault(key, Map.of()).forEach((value, ordinal) -> {
+                    CompressedBitmap bitmap = bitmaps.get(ordinal);
+                    int count = base == live ? bitmap.cardinality() : base.andCardinality(bitmap);
+                    if (count > 0) {
+                        counts.add(Map.entry(value, count));
+                    }
+                });
+                counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()));
+                Map<String, Integer> top = new LinkedHashMap<>();
+                for (Map.Entry<String, Integer> count : counts.subList(0, Math.min(valuesPerKey, counts.size()))) {
+                    top.put(count.getKey(), count.getValue());
+                }
+                facets.put(key, top);
+            }
+            return new FacetCounts(market, matched.cardinality(), facets);
+        }
+
+        /**
+         * Intersection of the unions (keyed by normalized spec key) except {@code skipKey}'s, smallest first; every product when none remain.
+         * Value bitmaps hold live products only, so the unions need no intersecting with {@code live}.
+         */
+        private CompressedBitmap intersect(Map<String, CompressedBitmap> unions, String skipKey) {
+            List<CompressedBitmap> operands = new ArrayList<>();
+            unions.forEach((key, union) -> {
+                if (!key.equals(skipKey)) {
+                    operands.add(union);
+                }
+            });
+            if (operands.isEmpty()) {
+                return live;
+            }
+            operands.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+            CompressedBitmap result = operands.getFirst();
+            for (int i = 1; i < operands.size() && !result.isEmpty(); i++) {
+                result = result.and(operands.get(i));
+            }
+            return result;
+        }
+
+        private long sizeInBytes() {
+            long bytes = live.sizeInBytes();
+            for (CompressedBitmap bitmap : bitmaps) {
+                bytes += bitmap.sizeInBytes();
+            }
+            return bytes;
+        }
+    }
+
+    private final ConcurrentHashMap<String, MarketFacets> markets = new ConcurrentHashMap<>();
+
+    @Override
+    public void rebuild(String market, Collection<ProductDetails> products) {
+        markets.put(market, MarketFacets.of(products));
+    }
+
+    @Override
+    public FacetCounts count(String market, Map<String, Set<String>> filters, Set<String> keys, int valuesPerKey) {
+        MarketFacets facets = markets.get(market);
+        if (facets == null) {
+            return new FacetCounts(market, 0, Map.of());
+        }
+        facets.lock.readLock().lock();
+        try {
+            return facets.count(market, filters, keys, valuesPerKey);
+        } finally {
+            facets.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void productChanged(ProductDetails details) {
+        MarketFacets facets = markets.computeIfAbsent(details.market(), m -> new MarketFacets());
+        facets.lock.writeLock().lock();
+        try {
+            facets.upsert(details.productId(), details.specs());
+        } finally {
+            facets.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void productRemoved(String productId, String market) {
+        MarketFacets facets = markets.get(market);
+        if (facets == null) {
+            return;
+        }
+        facets.lock.writeLock().lock();
+        try {
+            facets.remove(productId);
+        } finally {
+            facets.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap held by the market's bitmaps; the productId to id map comes on top.
+     */
+    public long bitmapBytes(String market) {
+        MarketFacets facets = markets.get(market);
+        if (facets == null) {
+            return 0;
+        }
+        facets.lock.readLock().lock();
+        try {
+            return facets.sizeInBytes();
+        } finally {
+            facets.lock.readLock().unlock();
+        }
+    }
+}
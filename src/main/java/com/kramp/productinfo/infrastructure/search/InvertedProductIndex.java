@@ -0,0 +1,325 @@
+package com.kramp.productinfo.infrastructure.search;
+
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.model.ProductSearchHits;
+import com.kramp.productinfo.domain.ports.ProductSearch;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Per-market inverted index over catalog products, for full-text search and exact spec filters.
+ * <p>
+ * Products get dense ids in insertion order, so every postings list is a sorted {@code int[]}
+ * that only ever grows at the end. A query intersects the lists of its words and spec filters,
+ * smallest first, probing the others by galloping search. Words are lower-cased and stripped of
+ * accents ({@code Ölfilter} is found as {@code olfilter}); a word in the name scores
+ * {@value #NAME_WEIGHT}, elsewhere 1, and equal scores keep catalog order.
+ * <p>
+ * A changed product is appended under a new id and its old id tombstoned; once tombstones
+ * outnumber live products the market is compacted. Full rebuilds come from the
+ * {@link CatalogIndexRebuilder}.
+ */
+public class InvertedProductIndex implements ProductSearch, MarketCatalogIndex {
+
+    static final int NAME_WEIGHT = 3;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingInt(Hit::score).reversed()
+            .thenComparingInt(Hit::doc);
+
+    private record Hit(int doc, int score) {}
+
+    /**
+     * A query word (scored) or spec filter (not scored) resolved to its postings.
+     */
+    private record Clause(Postings postings, boolean scored) {}
+
+    /**
+     * Sorted document ids with the weight of the word in each.
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        private void add(int doc, int weight) {
+            if (size > 0 && docs[size - 1] == doc) {
+                weights[size - 1] += weight;
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        /**
+         * Position of {@code doc} at or after {@code from}, or a negative value when absent.
+         * Gallops from {@code from} before searching binary: consecutive probes land close.
+         */
+        private int find(int doc, int from) {
+            int lo = from;
+            int bound = 1;
+            while (lo + bound < size && docs[lo + bound] < doc) {
+                lo += bound;
+                bound <<= 1;
+            }
+            return Arrays.binarySearch(docs, lo, Math.min(lo + bound + 1, size), doc);
+        }
+    }
+
+    private static final class MarketIndex {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final List<ProductDetails> docs = new ArrayList<>();
+        private final Map<String, Integer> docByProduct = new HashMap<>();
+        private final Map<String, Postings> words = new HashMap<>();
+        private final Map<String, Postings> specs = new HashMap<>();
+        private int deleted;
+
+        private static MarketIndex of(Collection<ProductDetails> products) {
+            MarketIndex index = new MarketIndex();
+            for (ProductDetails product : products) {
+                index.upsert(product);
+            }
+            return index;
+        }
+
+        private void upsert(ProductDetails product) {
+            Integer existing = docByProduct.get(product.productId());
+            if (existing != null) {
+                if (docs.get(existing).equals(product)) {
+                    return;
+                }
+                tombstone(existing);
+            }
+            int doc = docs.size();
+            docs.add(product);
+            docByProduct.put(product.productId(), doc);
+            for (String word : tokenize(product.name())) {
+                words.computeIfAbsent(word, w -> new Postings()).add(doc, NAME_WEIGHT);
+            }
+            for (String word : tokenize(product.description())) {
+                words.computeIfAbsent(word, w -> new Postings()).add(doc, 1);
+            }
+            product.specs().forEach((key, value) -> {
+                specs.computeIfAbsent(specKey(key, value), k -> new Postings()).add(doc, 0);
+                for (String word : tokenize(value)) {
+                    words.computeIfAbsent(word, w -> new Postings()).add(doc, 1);
+                }
+            });
+        }
+
+        private void remove(String productId) {
+            Integer existing = docByProduct.remove(productId);
+            if (existing != null) {
+                tombstone(existing);
+            }
+        }
+
+        private void tombstone(int doc) {
+            docs.set(doc, null);
+            deleted++;
+        }
+
+        private boolean needsCompaction() {
+            return deleted > 64 && deleted > docByProduct.size();
+        }
+
+        private List<ProductDetails> live() {
+            return docs.stream().filter(d -> d != null).toList();
+        }
+
+        private ProductSearchHits search(List<String> queryWords, Map<String, String> filters, int limit) {
+            List<Clause> all = new ArrayList<>();
+            for (String word : queryWords) {
+                Postings postings = words.get(word);
+                if (postings == null) {
+                    return ProductSearchHits.none();
+                }
+                all.add(new Clause(postings, true));
+            }
+            for (Map.Entry<String, String> filter : filters.entrySet()) {
+                Postings postings = specs.get(specKey(filter.getKey(), filter.getValue()));
+                if (postings == null) {
+                    return ProductSearchHits.none();
+                }
+                all.add(new Clause(postings, false));
+            }
+
+            PriorityQueue<Hit> best = new PriorityQueue<>(BEST_FIRST.reversed());
+            int total = 0;
+            if (all.isEmpty()) {
+                for (int doc = 0; doc < docs.size(); doc++) {
+                    if (docs.get(doc) != null) {
+                        total++;
+                        offer(best, doc, 0, limit);
+                    }
+                }
+                return hits(total, best);
+            }
+
+            all.sort(Comparator.comparingInt(clause -> clause.postings().size));
+            Postings driver = all.getFirst().postings();
+            int[] cursors = new int[all.size()];
+            candidates:
+            for (int i = 0; i < driver.size; i++) {
+                int doc = driver.docs[i];
+                if (docs.get(doc) == null) {
+                    continue;
+                }
+                int score = 0;
+                for (int c = 0; c < all.size(); c++) {
+                    Clause clause = all.get(c);
+                    int at = c == 0 ? i : clause.postings().find(doc, cursors[c]);
+                    if (at < 0) {
+                        cursors[c] = -at - 1;
+                        continue candidates;
+                    }
+                    cursors[c] = at;
+                    if (clause.scored()) {
+                        score += clause.postings().weights[at];
+                    }
+                }
+                total++;
+                offer(best, doc, score, limit);
+            }
+            return hits(total, best);
+        }
+
+        /**
+         * Keeps the {@code limit} best hits in {@code best}, worst at the head.
+         */
+        private static void offer(PriorityQueue<Hit> best, int doc, int score, int limit) {
+            if (best.size() == limit) {
+                if (score <= best.peek().score()) {
+                    return; // docs come in ascending order, so an equal score loses the tie
+                }
+                best.poll();
+            }
+            best.add(new Hit(doc, score));
+        }
+
+        private ProductSearchHits hits(int total, PriorityQueue<Hit> best) {
+            List<Hit> sorted = new ArrayList<>(best);
+            sorted.sort(BEST_FIRST);
+            return new ProductSearchHits(total, sorted.stream().map(hit -> docs.get(hit.doc()).productId()).toList());
+        }
+    }
+
+    private final ConcurrentHashMap<String, MarketIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Queries keep using the old index until the new one is complete.
+     */
+    @Override
+    public void rebuild(String market, Collection<ProductDetails> products) {
+        indexes.put(market, MarketIndex.of(products));
+    }
+
+    @Override
+    public ProductSearchHits search(String market, String text, Map<String, String> specs, int limit) {
+        MarketIndex index = indexes.get(market);
+        if (index == null || limit <= 0) {
+            return ProductSearchHits.none();
+        }
+        List<String> queryWords = List.copyOf(new LinkedHashSet<>(tokenize(text)));
+        index.lock.readLock().lock();
+        try {
+            return index.search(queryWords, specs, limit);
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void productChanged(ProductDetails details) {
+        MarketIndex index = indexes.computeIfAbsent(details.market(), m -> new MarketIndex());
+        index.lock.writeLock().lock();
+        try {
+            index.upsert(details);
+            if (index.needsCompaction()) {
+                rebuild(details.market(), index.live());
+            }
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void productRemoved(String productId, String market) {
+        MarketIndex index = indexes.get(market);
+        if (index == null) {
+            return;
+        }
+        index.lock.writeLock().lock();
+        try {
+            index.remove(productId);
+            if (index.needsCompaction()) {
+                rebuild(market, index.live());
+            }
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexed products of the market.
+     */
+    public int size(String market) {
+        MarketIndex index = indexes.get(market);
+        if (index == null) {
+            return 0;
+        }
+        index.lock.readLock().lock();
+        try {
+            return index.docByProduct.size();
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Spec keys and values match ignoring case and surrounding whitespace, in search and facets alike.
+     */
+    static String normalizeSpec(String keyOrValue) {
+        return keyOrValue.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String specKey(String key, String value) {
+        return normalizeSpec(key) + '=' + normalizeSpec(value);
+    }
+}
@@ -0,0 +1,18 @@
+package com.kramp.productinfo.infrastructure.search;
+
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.CatalogChangeListener;
+
+import java.util.Collection;
+
+/**
+ * A per-market index over catalog products: rebuilt in full by the {@link CatalogIndexRebuilder},
+ * kept current in between through the {@link CatalogChangeListener} callbacks.
+ */
+public interface MarketCatalogIndex extends CatalogChangeListener {
+
+    /**
+     * Replaces the market's index with one over {@code products}.
+     */
+    void rebuild(String market, Collection<ProductDetails> products);
+}
@@ -0,0 +1,495 @@
+package com.kramp.productinfo.infrastructure.search;
+
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.CustomerSegment;
+import com.kramp.productinfo.domain.model.PriceRangePage;
+import com.kramp.productinfo.domain.model.PriceRangePage.PricedProduct;
+import com.kramp.productinfo.domain.model.PriceRangeQuery;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.OfferChangeListener;
+import com.kramp.productinfo.domain.ports.OfferListing;
+import com.kramp.productinfo.domain.ports.ProductPriceRanges;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Per-market, per-segment final prices as sorted primitive arrays, with an in-stock {@link BitSet},
+ * for price-range queries.
+ * <p>
+ * Every product of a market gets a dense int id. A segment's prices are a {@code long[]} of cents,
+ * ascending, with the ids and their in-stock flags in parallel arrays; equal prices keep catalog
+ * order. The flags mirror the market's in-stock bitset in price order, so walking a range for
+ * in-stock products reads memory in sequence. A range is two binary searches; a page without the
+ * stock filter is a slice, with it the range is walked. Prices are kept in cents, so finer
+ * upstream prices are rounded half up.
+ * <p>
+ * Full rebuilds, from the {@link OfferListing}, come from the {@link CatalogIndexRebuilder}. In
+ * between, the index follows the pricing and availability answers the service fetches, which
+ * are also what {@code GET /product-info} shows. A failed lookup changes nothing, as the product
+ * is then shown at its last known price. A price is only listed while its product is in the
+ * catalog; a price arriving first waits for the product.
+ * <p>
+ * Changes are only queued on the caller's thread, which is usually serving a request. They are
+ * applied on the {@code updates} executor, at most {@value #BATCH} per write lock, so a moved price
+ * shifting part of a segment's arrays costs neither the request nor more than one short pause of
+ * the range queries. Changes applied while a market is rebuilt are replayed onto the new index
+ * before it replaces the old one, so none are lost to the swap.
+ */
+public class PriceIndex implements ProductPriceRanges, MarketCatalogIndex, OfferChangeListener {
+
+    private static final long NO_PRICE = -1;
+    private static final int BATCH = 256;
+
+    /**
+     * The prices of one segment: listed ones sorted by {@code (cents, id)}, plus the last known
+     * price of every id, listed or not.
+     */
+    private static final class SegmentPrices {
+
+        private long[] cents = new long[16];
+        private int[] ids = new int[16];
+        private boolean[] inStock = new boolean[16];
+        private int size;
+        private long[] centsById = new long[0];
+
+        private static SegmentPrices of(long[] centsById, BitSet listed, BitSet inStock) {
+            SegmentPrices prices = new SegmentPrices();
+            prices.centsById = centsById;
+            List<Integer> order = new ArrayList<>();
+            for (int id = listed.nextSetBit(0); id >= 0; id = listed.nextSetBit(id + 1)) {
+                if (id < centsById.length && centsById[id] != NO_PRICE) {
+                    order.add(id);
+                }
+            }
+            order.sort((a, b) -> Long.compare(centsById[a], centsById[b])); // stable: ties keep catalog order
+            prices.cents = new long[Math.max(16, order.size())];
+            prices.ids = new int[prices.cents.length];
+            prices.inStock = new boolean[prices.cents.length];
+            for (int id : order) {
+                prices.cents[prices.size] = centsById[id];
+                prices.inStock[prices.size] = inStock.get(id);
+                prices.ids[prices.size++] = id;
+            }
+            return prices;
+        }
+
+        private long priceOf(int id) {
+            return id < centsById.length ? centsById[id] : NO_PRICE;
+        }
+
+        /**
+         * Records the id's price and, when {@code listed}, moves it to its new position: only the
+         * entries between the old and the new position shift.
+         */
+        private void setPrice(int id, long price, boolean listed, boolean stocked) {
+            long previous = priceOf(id);
+            if (previous == price) {
+                return;
+            }
+            int from = listed && previous != NO_PRICE ? position(previous, id) : -1;
+            if (id >= centsById.length) {
+                int length = centsById.length;
+                centsById = Arrays.copyOf(centsById, Math.max(16, id * 2));
+                Arrays.fill(centsById, length, centsById.length, NO_PRICE);
+            }
+            centsById[id] = price;
+            if (from < 0) {
+                if (listed) {
+                    list(id, stocked);
+                }
+                return;
+            }
+            int to = -position(price, id) - 1;
+            if (to > from) {
+                to--;
+                shift(from + 1, from, to - from);
+            } else {
+                shift(to, to + 1, from - to);
+            }
+            cents[to] = price;
+            ids[to] = id;
+            inStock[to] = stocked;
+        }
+
+        private void list(int id, boolean stocked) {
+            long price = priceOf(id);
+            if (price == NO_PRICE) {
+                return;
+            }
+            int at = position(price, id);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == cents.length) {
+                cents = Arrays.copyOf(cents, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+                inStock = Arrays.copyOf(inStock, size * 2);
+            }
+            shift(at, at + 1, size - at);
+            cents[at] = price;
+            ids[at] = id;
+            inStock[at] = stocked;
+            size++;
+        }
+
+        private void unlist(int id) {
+            long price = priceOf(id);
+            if (price == NO_PRICE) {
+                return;
+            }
+            int at = position(price, id);
+            if (at < 0) {
+                return;
+            }
+            shift(at + 1, at, size - at - 1);
+            size--;
+        }
+
+        private void setInStock(int id, boolean stocked) {
+            long price = priceOf(id);
+            int at = price == NO_PRICE ? -1 : position(price, id);
+            if (at >= 0) {
+                inStock[at] = stocked;
+            }
+        }
+
+        private void shift(int from, int to, int length) {
+            System.arraycopy(cents, from, cents, to, length);
+            System.arraycopy(ids, from, ids, to, length);
+            System.arraycopy(inStock, from, inStock, to, length);
+        }
+
+        /**
+         * Position of {@code (price, id)}, or {@code -(insertion point) - 1} when not listed.
+         */
+        private int position(long price, int id) {
+            int lo = 0;
+            int hi = size - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                int cmp = cents[mid] != price ? Long.compare(cents[mid], price) : Integer.compare(ids[mid], id);
+                if (cmp < 0) {
+                    lo = mid + 1;
+                } else if (cmp > 0) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -lo - 1;
+        }
+
+        /**
+         * First position whose price is at least {@code price}.
+         */
+        private int lowerBound(long price) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cents[mid] < price) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    private static final class MarketPrices {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<String, Integer> idByProduct = new HashMap<>();
+        private final List<String> productIds = new ArrayList<>();
+        private final BitSet inCatalog = new BitSet();
+        private final BitSet inStock = new BitSet();
+        private final Map<String, SegmentPrices> segments = new HashMap<>();
+        private String currency;
+
+        private int id(String productId) {
+            return idByProduct.computeIfAbsent(productId, p -> {
+                productIds.add(p);
+                return productIds.size() - 1;
+            });
+        }
+
+        private PriceRangePage find(String market, String segment, PriceRangeQuery query) {
+            SegmentPrices prices = segments.get(segment);
+            if (prices == null) {
+                return PriceRangePage.empty(market, segment, query.offset());
+            }
+            int from = query.minPrice() == null ? 0 : prices.lowerBound(cents(query.minPrice(), RoundingMode.CEILING));
+            int to = query.maxPrice() == null ? prices.size
+                    : prices.lowerBound(cents(query.maxPrice(), RoundingMode.FLOOR) + 1);
+
+            List<PricedProduct> page = new ArrayList<>(Math.clamp(to - from - query.offset(), 0, query.limit()));
+            int total = 0;
+            if (!query.inStockOnly()) {
+                total = Math.max(0, to - from);
+                for (int i = query.offset(); i < total && page.size() < query.limit(); i++) {
+                    page.add(priced(prices, query.descending() ? to - 1 - i : from + i));
+                }
+            } else {
+                boolean[] stocked = prices.inStock;
+                int i = 0;
+                for (; i < to - from && page.size() < query.limit(); i++) {
+                    int at = query.descending() ? to - 1 - i : from + i;
+                    if (stocked[at]) {
+                        if (total >= query.offset()) {
+                            page.add(priced(prices, at));
+                        }
+                        total++;
+                    }
+                }
+                // past the page only the total is left: count the rest of the range without branching
+                int restFrom = query.descending() ? from : from + i;
+                int restTo = query.descending() ? to - i : to;
+                for (int at = restFrom; at < restTo; at++) {
+                    total += stocked[at] ? 1 : 0;
+                }
+            }
+            return new PriceRangePage(market, segment, currency, total, query.offset(), page);
+        }
+
+        private PricedProduct priced(SegmentPrices prices, int at) {
+            int id = prices.ids[at];
+            return new PricedProduct(productIds.get(id), BigDecimal.valueOf(prices.cents[at], 2), prices.inStock[at]);
+        }
+    }
+
+    /**
+     * One market: the prices queries read, and the changes not applied to them yet.
+     */
+    private static final class Market {
+
+        private final ConcurrentLinkedQueue<Consumer<MarketPrices>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // held while changes are applied and while a rebuilt index is swapped in
+        private final ReentrantLock applying = new ReentrantLock();
+        private volatile MarketPrices current = new MarketPrices();
+        // the changes applied since a rebuild started, null when none runs; guarded by applying
+        private List<Consumer<MarketPrices>> journal;
+    }
+
+    private final OfferListing listing;
+    private final Executor updates;
+    private final ConcurrentHashMap<String, Market> markets = new ConcurrentHashMap<>();
+
+    /**
+     * @param listing {@code null} when offers cannot be listed: prices then come from lookups only
+     * @param updates applies the queued offer and catalog changes
+     */
+    public PriceIndex(OfferListing listing, Executor updates) {
+        this.listing = listing;
+        this.updates = updates;
+    }
+
+    /**
+     * Prices every catalog product for every {@link CustomerSegment} from the listing. Queries keep
+     * using the old index until the new one is complete, and changes applied to the old one in the
+     * meantime are replayed onto the new one.
+     */
+    @Override
+    public void rebuild(String market, Collection<ProductDetails> products) {
+        if (listing == null) {
+            return;
+        }
+        Market state = markets.computeIfAbsent(market, m -> new Market());
+        state.applying.lock();
+        try {
+            state.journal = new ArrayList<>();
+        } finally {
+            state.applying.unlock();
+        }
+        MarketPrices prices;
+        try {
+            prices = build(market, products);
+        } catch (RuntimeException ex) {
+            state.applying.lock();
+            try {
+                state.journal = null;
+            } finally {
+                state.applying.unlock();
+            }
+            throw ex;
+        }
+        state.applying.lock();
+        try {
+            state.journal.forEach(change -> change.accept(prices));
+            state.journal = null;
+            state.current = prices;
+        } finally {
+            state.applying.unlock();
+        }
+    }
+
+    private MarketPrices build(String market, Collection<ProductDetails> products) {
+        MarketPrices prices = new MarketPrices();
+        for (ProductDetails product : products) {
+            prices.inCatalog.set(prices.id(product.productId()));
+        }
+        listing.listAvailability(market).forEach((productId, availability) -> {
+            Integer id = prices.idByProduct.get(productId);
+            if (id != null && inStock(availability)) {
+                prices.inStock.set(id);
+            }
+        });
+        for (CustomerSegment segment : CustomerSegment.values()) {
+            long[] centsById = new long[prices.productIds.size()];
+            Arrays.fill(centsById, NO_PRICE);
+            listing.listPricing(market, segment.name()).forEach((productId, pricing) -> {
+                Integer id = prices.idByProduct.get(productId);
+                if (id != null && pricing.finalPrice() != null) {
+                    centsById[id] = cents(pricing.finalPrice(), RoundingMode.HALF_UP);
+                    prices.currency = pricing.currency();
+                }
+            });
+            prices.segments.put(segment.name(), SegmentPrices.of(centsById, prices.inCatalog, prices.inStock));
+        }
+        return prices;
+    }
+
+    @Override
+    public PriceRangePage find(String market, String segment, PriceRangeQuery query) {
+        Market state = markets.get(market);
+        if (state == null) {
+            return PriceRangePage.empty(market, segment, query.offset());
+        }
+        MarketPrices prices = state.current;
+        prices.lock.readLock().lock();
+        try {
+            return prices.find(market, segment, query);
+        } finally {
+            prices.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void productChanged(ProductDetails details) {
+        String productId = details.productId();
+        update(details.market(), prices -> {
+            int id = prices.id(productId);
+            if (!prices.inCatalog.get(id)) {
+                prices.inCatalog.set(id);
+                prices.segments.values().forEach(segment -> segment.list(id, prices.inStock.get(id)));
+            }
+        });
+    }
+
+    @Override
+    public void productRemoved(String productId, String market) {
+        update(market, prices -> {
+            Integer id = prices.idByProduct.get(productId);
+            if (id != null && prices.inCatalog.get(id)) {
+                prices.inCatalog.clear(id);
+                prices.segments.values().forEach(segment -> segment.unlist(id));
+            }
+        });
+    }
+
+    @Override
+    public void pricingChanged(String productId, String market, String segment, PricingInfo pricing) {
+        if (segment == null || pricing.finalPrice() == null) {
+            return;
+        }
+        long price = cents(pricing.finalPrice(), RoundingMode.HALF_UP);
+        String currency = pricing.currency();
+        update(market, prices -> {
+            int id = prices.id(productId);
+            prices.segments.computeIfAbsent(segment, s -> new SegmentPrices())
+                    .setPrice(id, price, prices.inCatalog.get(id), prices.inStock.get(id));
+            prices.currency = currency;
+        });
+    }
+
+    @Override
+    public void availabilityChanged(String productId, String market, AvailabilityInfo availability) {
+        boolean stocked = inStock(availability);
+        update(market, prices -> {
+            int id = prices.id(productId);
+            if (prices.inStock.get(id) != stocked) {
+                prices.inStock.set(id, stocked);
+                prices.segments.values().forEach(segment -> segment.setInStock(id, stocked));
+            }
+        });
+    }
+
+    /**
+     * Queues the change and, unless a drain of the market is already under way, starts one.
+     */
+    private void update(String market, Consumer<MarketPrices> change) {
+        Market state = markets.computeIfAbsent(market, m -> new Market());
+        state.pending.add(change);
+        if (state.draining.compareAndSet(false, true)) {
+            try {
+                updates.execute(() -> drain(state));
+            } catch (RejectedExecutionException ex) {
+                // shutting down: the index is not read any more
+                state.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Market state) {
+        do {
+            try {
+                while (!state.pending.isEmpty()) {
+                    applyBatch(state);
+                }
+            } finally {
+                state.draining.set(false);
+            }
+            // a change queued after the last batch but before the flag was cleared started no drain
+        } while (!state.pending.isEmpty() && state.draining.compareAndSet(false, true));
+    }
+
+    private void applyBatch(Market state) {
+        List<Consumer<MarketPrices>> batch = new ArrayList<>();
+        state.applying.lock();
+        try {
+            Consumer<MarketPrices> change;
+            while (batch.size() < BATCH && (change = state.pending.poll()) != null) {
+                batch.add(change);
+            }
+            MarketPrices prices = state.current;
+            prices.lock.writeLock().lock();
+            try {
+                batch.forEach(c -> c.accept(prices));
+            } finally {
+                prices.lock.writeLock().unlock();
+            }
+            if (state.journal != null) {
+                state.journal.addAll(batch);
+            }
+        } finally {
+            state.applying.unlock();
+        }
+    }
+
+    private static boolean inStock(AvailabilityInfo availability) {
+        return availability.stockKnown() && availability.stockLevel() != null && availability.stockLevel() > 0;
+    }
+
+    private static long cents(BigDecimal price, RoundingMode rounding) {
+        return price.setScale(2, rounding).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,157 @@
+package com.kramp.productinfo.infrastructure.standin;
+
+import com.kramp.productinfo.config.UpstreamStandInProperties;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.ports.exception.MarketNotFoundException;
+import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
+import com.kramp.productinfo.infrastructure.codec.UpstreamCodec;
+import com.kramp.productinfo.infrastructure.codec.UpstreamCodecs;
+import com.kramp.productinfo.infrastructure.http.UpstreamErrorBody;
+import com.kramp.productinfo.infrastructure.mock.MockUpstreamData;
+import com.kramp.productinfo.infrastructure.mock.simulation.UpstreamSimulator;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the four upstream services, serving the mock-data files over HTTP.
+ * <p>
+ * Routes (all GET):
+ * <ul>
+ *     <li>{@code /catalog/{market}/products/{productId}}</li>
+ *     <li>{@code /pricing/{market}/products/{productId}?segment=...}</li>
+ *     <li>{@code /availability/{market}/products/{productId}}</li>
+ *     <li>{@code /customer/{market}/customers/{customerId}}</li>
+ * </ul>
+ * Failures are answered with an {@link UpstreamErrorBody}: 404 for not-found reasons,
+ * 503 for everything else. The body encoding is negotiated from {@code Accept}
+ * (Smile, CBOR, falling back to JSON) and gzipped when {@code Accept-Encoding} allows it
+ * and the body is large enough. Latency and failures come from the shared
+ * {@link UpstreamSimulator}, like the in-process mocks. The JDK server speaks HTTP/1.1 only, so clients configured
+ * for HTTP/2 fall back to pooled keep-alive connections against it.
+ */
+public class StandInUpstreamServer {
+
+    private static final Logger log = LoggerFactory.getLogger(StandInUpstreamServer.class);
+
+    private final MockUpstreamData data;
+    private final UpstreamCodecs codecs;
+    private final UpstreamSimulator simulator;
+    private final UpstreamStandInProperties properties;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public StandInUpstreamServer(MockUpstreamData data,
+                                 UpstreamCodecs codecs,
+                                 UpstreamSimulator simulator,
+                                 UpstreamStandInProperties properties) {
+        this.data = data;
+        this.codecs = codecs;
+        this.simulator = simulator;
+        this.properties = properties;
+    }
+
+    public void start() throws IOException {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("localhost", properties.port()), 512);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        log.info("Stand-in upstream server listening on port {}", port());
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String[] parts = exchange.getRequestURI().getRawPath().split("/");
+            if (!"GET".equals(exchange.getRequestMethod()) || parts.length != 5) {
+                write(exchange, 404, new UpstreamErrorBody("standin", "NO_ROUTE", exchange.getRequestURI().getPath()));
+                return;
+            }
+            String service = parts[1];
+            String market = decode(parts[2]);
+            String id = decode(parts[4]);
+
+            try {
+                simulator.simulate(service, market);
+                write(exchange, 200, lookup(service, market, id, query(exchange)));
+            } catch (MarketNotFoundException e) {
+                write(exchange, 404, new UpstreamErrorBody(service, "MARKET_NOT_FOUND", e.getMarket()));
+            } catch (UpstreamFailureException e) {
+                int status = e.reason() != null && e.reason().endsWith("NOT_FOUND") ? 404 : 503;
+                write(exchange, status, new UpstreamErrorBody(e.service(), e.reason(), e.details()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Stand-in upstream request failed", e);
+        }
+    }
+
+    private Object lookup(String service, String market, String id, Map<String, String> query) {
+        return switch (service) {
+            case "catalog" -> data.productDetails(id, market);
+            case "pricing" -> data.pricing(id, market, new CustomerContext(null, query.get("segment"), Map.of()));
+            case "availability" -> data.availability(id, market);
+            case "customer" -> data.customerContext(id, market);
+            default -> throw new UpstreamFailureException(service, "NOT_FOUND", "Unknown upstream service");
+        };
+    }
+
+    private void write(HttpExchange exchange, int status, Object body) throws IOException {
+        UpstreamCodec codec = UpstreamCodec.negotiate(exchange.getRequestHeaders().getFirst("Accept"));
+        byte[] bytes = codecs.encode(codec, body, false);
+        if (bytes.length >= properties.compressionMinBytes()
+                && UpstreamCodecs.acceptsGzip(exchange.getRequestHeaders().getFirst("Accept-Encoding"))) {
+            bytes = UpstreamCodecs.gzip(bytes);
+            exchange.getResponseHeaders().set("Content-Encoding", UpstreamCodecs.GZIP);
+        }
+        exchange.getResponseHeaders().set("Content-Type", codec.mediaType());
+        exchange.getResponseHeaders().set("Vary", "Accept, Accept-Encoding");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> params = new HashMap<>();
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+            }
+        }
+        return params;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
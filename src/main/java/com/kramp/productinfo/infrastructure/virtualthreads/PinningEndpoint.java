@@ -0,0 +1,35 @@
+package com.kramp.productinfo.infrastructure.virtualthreads;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/pinning}: the code locations virtual threads were pinned at, by total pinned
+ * time ({@code ?limit=}, default 20), plus the scheduler's submit failures. {@code DELETE} starts
+ * over, e.g. after a fix is deployed.
+ */
+@Endpoint(id = "pinning")
+public class PinningEndpoint {
+
+    private final VirtualThreadPinningMonitor monitor;
+
+    public PinningEndpoint(VirtualThreadPinningMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    public record Report(long submitFailures, List<VirtualThreadPinningMonitor.PinningSite> sites) {}
+
+    @ReadOperation
+    public Report pinning(@Nullable Integer limit) {
+        return new Report(monitor.submitFailures(), monitor.topSites(limit != null ? limit : 20));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        monitor.reset();
+    }
+}
@@ -0,0 +1,194 @@
+package com.kramp.productinfo.infrastructure.virtualthreads;
+
+import com.kramp.productinfo.config.PinningMonitorProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} (a virtual thread parked while holding a monitor or
+ * inside a native frame, so its carrier could not run anything else) and
+ * {@code jdk.VirtualThreadSubmitFailed} (the scheduler rejected a virtual thread) in-process
+ * and aggregates them by pinning site.
+ * <p>
+ * The site of an event is its first frame outside the JDK: the parking frames on top
+ * ({@code Thread.sleep}, {@code LockSupport.park}, ...) are the same for every event and say
+ * nothing about who held the monitor.
+ * <p>
+ * Meters:
+ * <ul>
+ *     <li>{@code jvm.threads.virtual.pinned} - timer of pinned durations</li>
+ *     <li>{@code jvm.threads.virtual.submit.failed} - rejected virtual thread submissions</li>
+ *     <li>{@code jvm.threads.virtual.pinned.sites} - distinct pinning sites seen</li>
+ * </ul>
+ */
+public class VirtualThreadPinningMonitor implements MeterBinder {
+
+    static final String OTHER_SITE = "<other>";
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+
+    private final PinningMonitorProperties properties;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private final LongAdder submitFailures = new LongAdder();
+    private volatile Timer pinnedTimer;
+    private volatile Counter submitFailedCounter;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(PinningMonitorProperties properties) {
+        this.properties = properties;
+    }
+
+    public record PinningSite(String site, long count, long totalPinnedMs, long maxPinnedMs,
+                              Instant lastSeen, List<String> stack) {}
+
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("JFR is not available, virtual thread pinning is not monitored");
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(properties.threshold()).withStackTrace();
+        stream.enable("jdk.VirtualThreadSubmitFailed").withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.onEvent("jdk.VirtualThreadSubmitFailed", event -> onSubmitFailed());
+        stream.setMaxAge(Duration.ofSeconds(30));
+        stream.startAsync();
+    }
+
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent parked while pinned to their carrier")
+                .register(registry);
+        submitFailedCounter = Counter.builder("jvm.threads.virtual.submit.failed")
+                .description("Virtual threads the scheduler failed to start or unpark")
+                .register(registry);
+        Gauge.builder("jvm.threads.virtual.pinned.sites", sites, Map::size)
+                .description("Distinct code locations virtual threads were pinned at")
+                .register(registry);
+    }
+
+    /**
+     * Sites by total pinned time, worst first.
+     */
+    public List<PinningSite> topSites(int limit) {
+        return sites.entrySet().stream()
+                .map(entry -> entry.getValue().view(entry.getKey()))
+                .sorted(Comparator.comparingLong(PinningSite::totalPinnedMs)
+                        .thenComparingLong(PinningSite::count).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public long submitFailures() {
+        return submitFailures.sum();
+    }
+
+    public void reset() {
+        sites.clear();
+        submitFailures.reset();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<String> frames = stackTrace == null ? List.of() : stackTrace.getFrames().stream()
+                .limit(properties.stackDepth())
+                .map(VirtualThreadPinningMonitor::format)
+                .toList();
+        String site = stackTrace == null ? OTHER_SITE : site(stackTrace.getFrames());
+        record(site, frames, event.getDuration(), event.getEndTime());
+    }
+
+    void record(String site, List<String> frames, Duration pinned, Instant at) {
+        Site aggregate = sites.get(site);
+        if (aggregate == null) {
+            String key = sites.size() < properties.maxSites() ? site : OTHER_SITE;
+            aggregate = sites.computeIfAbsent(key, k -> new Site(frames));
+        }
+        aggregate.add(pinned, at);
+        Timer timer = pinnedTimer;
+        if (timer != null) {
+            timer.record(pinned);
+        }
+    }
+
+    private void onSubmitFailed() {
+        submitFailures.increment();
+        Counter counter = submitFailedCounter;
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private static String site(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(frame -> frame.isJavaFrame() && !isJdk(frame))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(VirtualThreadPinningMonitor::format)
+                .orElse(OTHER_SITE);
+    }
+
+    private static boolean isJdk(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return JDK_PACKAGES.stream().anyMatch(type::startsWith);
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+    }
+
+    private static final class Site {
+        private final List<String> stack;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private volatile Instant lastSeen;
+
+        private Site(List<String> stack) {
+            this.stack = stack;
+        }
+
+        private void add(Duration pinned, Instant at) {
+            count.increment();
+            totalNanos.add(pinned.toNanos());
+            maxNanos.accumulate(pinned.toNanos());
+            lastSeen = at;
+        }
+
+        private PinningSite view(String site) {
+            return new PinningSite(site, count.sum(), Duration.ofNanos(totalNanos.sum()).toMillis(),
+                    Duration.ofNanos(maxNanos.get()).toMillis(), lastSeen, stack);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.kramp.productinfo.application;
+
+import com.kramp.productinfo.config.LastKnownGoodProperties;
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import com.kramp.productinfo.domain.model.CrossMarketProduct;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.ports.AvailabilityClient;
+import com.kramp.productinfo.domain.ports.CatalogClient;
+import com.kramp.productinfo.domain.ports.CustomerClient;
+import com.kramp.productinfo.domain.ports.PricingClient;
+import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
+import com.kramp.productinfo.infrastructure.fallback.InMemoryLastKnownGoodStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Orphaned work: upstream calls that keep running, each on a thread of its own, after the
+ * request that started them has already answered.
+ */
+class ProductAggregationServiceTest {
+
+    private static final int REQUESTS = 50;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger interrupted = new AtomicInteger();
+    private final Set<Thread> upstreamThreads = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void catalogFailure_shouldInterruptTheOptionalCalls_andLeaveNoThreadBehind() {
+        CountDownLatch siblingsStarted = new CountDownLatch(2 * REQUESTS);
+        CatalogClient catalog = (productId, market) -> {
+            awaitQuietly(siblingsStarted);
+            throw new UpstreamFailureException("catalog", "UPSTREAM_ERROR", "Catalog down");
+        };
+        ProductAggregationService service = service(catalog, siblingsStarted);
+
+        long startNanos = System.nanoTime();
+        List<CompletableFuture<AggregatedProduct>> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(service.aggregateAsync("ABC123", "nl-NL", "789"));
+        }
+        for (CompletableFuture<AggregatedProduct> request : requests) {
+            assertThatThrownBy(request::join).hasCauseInstanceOf(UpstreamFailureException.class);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+        // without sibling cancellation: 100 calls still blocked for ~10s, on 100 live threads
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(5));
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            assertThat(running).hasValue(0);
+            assertThat(upstreamThreads).noneMatch(Thread::isAlive);
+        });
+        assertThat(interrupted).hasValue(2 * REQUESTS);
+        assertThat(upstreamThreads).hasSize(2 * REQUESTS);
+    }
+
+    @Test
+    void cancellingTheRequest_shouldInterruptEveryCallInFlight() {
+        CountDownLatch started = new CountDownLatch(3);
+        CatalogClient catalog = (productId, market) -> {
+            block(started);
+            throw new IllegalStateException("not reached");
+        };
+        ProductAggregationService service = service(catalog, started);
+
+        CompletableFuture<AggregatedProduct> request = service.aggregateAsync("ABC123", "nl-NL", "789");
+        awaitQuietly(started);
+        assertThat(running).hasValue(3);
+        request.cancel(true);
+
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            assertThat(running).hasValue(0);
+            assertThat(upstreamThreads).noneMatch(Thread::isAlive);
+        });
+        assertThat(interrupted).hasValue(3);
+    }
+
+    @Test
+    void cancellingACrossMarketRequest_shouldInterruptEveryMarketInFlight_andStartNoMore() {
+        // two markets at a time, three upstream calls each
+        CountDownLatch started = new CountDownLatch(6);
+        CatalogClient catalog = (productId, market) -> {
+            block(started);
+            throw new IllegalStateException("not reached");
+        };
+        CrossMarketAggregationService service = new CrossMarketAggregationService(
+                service(catalog, started), () -> List.of("de-DE", "nl-NL", "pl-PL"), 2);
+
+        CompletableFuture<CrossMarketProduct> request = service.aggregateAsync("ABC123", List.of("all"), "789");
+        awaitQuietly(started);
+        assertThat(running).hasValue(6);
+        request.cancel(true);
+
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            assertThat(running).hasValue(0);
+            assertThat(upstreamThreads).noneMatch(Thread::isAlive);
+        });
+        assertThat(interrupted).hasValue(6);
+        assertThat(upstreamThreads).hasSize(6);
+    }
+
+    private ProductAggregationService service(CatalogClient catalog, CountDownLatch started) {
+        PricingClient pricing = (productId, market, customer) -> {
+            block(started);
+            throw new IllegalStateException("not reached");
+        };
+        AvailabilityClient availability = (productId, market) -> {
+            block(started);
+            throw new IllegalStateException("not reached");
+        };
+        CustomerClient customers = (customerId, market) -> new CustomerContext(customerId, "PREMIUM", Map.of());
+        InMemoryLastKnownGoodStore lastKnownGood = new InMemoryLastKnownGoodStore(
+                new LastKnownGoodProperties(true, 100, Duration.ofMinutes(15), Duration.ofMinutes(2), Duration.ofMinutes(1)),
+                Clock.systemUTC(), new SimpleMeterRegistry(), null);
+        return new ProductAggregationService(catalog, pricing, availability, customers,
+                service -> false, lastKnownGood, (productId, market) -> { });
+    }
+
+    /**
+     * A slow upstream: blocks for ten seconds unless interrupted.
+     */
+    private void block(CountDownLatch started) {
+        upstreamThreads.add(Thread.currentThread());
+        running.incrementAndGet();
+        started.countDown();
+        try {
+            Thread.sleep(Duration.ofSeconds(10));
+        } catch (InterruptedException e) {
+            interrupted.incrementAndGet();
+            Thread.currentThread().interrupt();
+            throw new UpstreamFailureException("upstream", "CANCELLED", "Interrupted");
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.kramp.productinfo.benchmark;
+
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.infrastructure.canonical.DomainCanonicalizer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Retained heap of a cache of upstream records, with and without canonicalization.
+ * Every string is freshly allocated, as it would be after parsing an upstream response.
+ * The {@code retainedBytesPerEntry} counter is the number to compare.
+ * <p>
+ * {@code ./mvnw -Pbenchmarks test-compile exec:exec -Dbenchmark=CanonicalizationFootprintBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx2g", "-XX:+UseG1GC"})
+public class CanonicalizationFootprintBenchmark {
+
+    private static final String[] MARKETS = {"de-DE", "nl-NL", "pl-PL", "fr-FR", "be-BE"};
+    private static final String[] SPEC_KEYS = {"length", "diameter", "maxPressure", "temperature", "material",
+            "weight", "brand", "threadSize", "height", "color"};
+
+    @Param({"false", "true"})
+    public boolean canonicalize;
+
+    @Param({"100000"})
+    public int entries;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytesPerEntry;
+    }
+
+    @Benchmark
+    public List<Object> buildCache(Footprint footprint) {
+        DomainCanonicalizer canonicalizer = new DomainCanonicalizer(canonicalize, 10_000);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedAfterGc(memory);
+
+        List<Object> cache = new ArrayList<>(entries * 4);
+        for (int i = 0; i < entries; i++) {
+            String market = fresh(MARKETS[i % MARKETS.length]);
+            cache.add(canonicalizer.productDetails(product(i, market)));
+            cache.add(canonicalizer.pricing(PricingInfo.available(
+                    new BigDecimal("24.90"), new BigDecimal("5.0"), new BigDecimal("23.66"), fresh("EUR"))));
+            cache.add(canonicalizer.availability(AvailabilityInfo.known(i % 50, fresh("DE-0" + (i % 3)), fresh("1-2 days"))));
+            cache.add(canonicalizer.customerContext(new CustomerContext(String.valueOf(i % 1000), fresh("STANDARD"),
+                    Map.of(fresh("preferredDelivery"), fresh("express"), fresh("language"), fresh("de")))));
+        }
+
+        footprint.retainedBytesPerEntry = (usedAfterGc(memory) - before) / entries;
+        return cache;
+    }
+
+    private static ProductDetails product(int i, String market) {
+        Map<String, String> specs = new HashMap<>();
+        for (int k = 0; k < 5; k++) {
+            String key = SPEC_KEYS[(i + k) % SPEC_KEYS.length];
+            specs.put(fresh(key), fresh(k + "0mm"));
+        }
+        return new ProductDetails("P" + i, market, "Product " + i, "Description " + i, specs, List.of());
+    }
+
+    private static String fresh(String s) {
+        return new String(s.toCharArray());
+    }
+
+    private static long usedAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
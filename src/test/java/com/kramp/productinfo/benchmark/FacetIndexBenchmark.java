@@ -0,0 +1,134 @@
+package com.kramp.productinfo.benchmark;
+
+import com.kramp.productinfo.domain.model.FacetCounts;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.infrastructure.search.FacetIndex;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Facet counting over a synthetic market of a million products with four spec keys (brand,
+ * material, size, color; 50, 8, 40 and 12 values): all facets unfiltered, with a multi-value
+ * filter on one key, and with filters on three keys.
+ * <p>
+ * {@code buildIndex} reports the retained heap per product ({@code retainedBytesPerProduct},
+ * productId map included) and the bitmaps' share of it ({@code bitmapBytesPerProduct}).
+ * <p>
+ * {@code ./mvnw -Pbenchmarks test-compile exec:exec -Dbenchmark=FacetIndexBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g", "-XX:+UseG1GC"})
+public class FacetIndexBenchmark {
+
+    private static final int BRANDS = 50;
+    private static final String[] MATERIALS = {"steel", "rubber", "brass", "plastic", "aluminium", "copper", "nylon", "cast iron"};
+    private static final int SIZES = 40;
+    private static final String[] COLORS = {"black", "red", "green", "blue", "yellow", "orange", "grey", "white",
+            "silver", "brown", "purple", "pink"};
+
+    @Param({"1000000"})
+    public int products;
+
+    private FacetIndex index;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytesPerProduct;
+        public long bitmapBytesPerProduct;
+    }
+
+    @Setup
+    public void setUp() {
+        index = new FacetIndex();
+        index.rebuild("de-DE", catalog(products));
+    }
+
+    @Benchmark
+    public FacetCounts allFacets() {
+        return index.count("de-DE", Map.of(), Set.of(), 20);
+    }
+
+    @Benchmark
+    public FacetCounts oneKeyFiltered() {
+        return index.count("de-DE", Map.of("material", Set.of("steel", "brass")), Set.of(), 20);
+    }
+
+    @Benchmark
+    public FacetCounts threeKeysFiltered() {
+        return index.count("de-DE", Map.of(
+                "material", Set.of("steel"),
+                "brand", Set.of("brand-7", "brand-12"),
+                "color", Set.of("black")), Set.of(), 20);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public FacetIndex buildIndex(Footprint footprint) {
+        index = null;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedAfterGc(memory);
+
+        FacetIndex built = new FacetIndex();
+        built.rebuild("de-DE", catalog(products));
+
+        footprint.retainedBytesPerProduct = (usedAfterGc(memory) - before) / products;
+        footprint.bitmapBytesPerProduct = built.bitmapBytes("de-DE") / products;
+        return built;
+    }
+
+    /**
+     * Products generated on the fly, so only the index is retained.
+     */
+    private static List<ProductDetails> catalog(int size) {
+        return new AbstractList<>() {
+            @Override
+            public ProductDetails get(int i) {
+                SplittableRandom random = new SplittableRandom(i);
+                return new ProductDetails("P" + i, "de-DE", "Product " + i, "", Map.of(
+                        "brand", "brand-" + random.nextInt(BRANDS),
+                        "material", MATERIALS[random.nextInt(MATERIALS.length)],
+                        "size", Integer.toString(random.nextInt(SIZES)),
+                        "color", COLORS[random.nextInt(COLORS.length)]), List.of());
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private static long usedAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,120 @@
+package com.kramp.productinfo.benchmark;
+
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.PriceRangePage;
+import com.kramp.productinfo.domain.model.PriceRangeQuery;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.OfferListing;
+import com.kramp.productinfo.infrastructure.search.PriceIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price-range pages over a synthetic market whose final prices spread over 1.00 to 1000.00, a
+ * third of the products out of stock: a narrow range (about 0.2% of the products), a deep page
+ * of every in-stock product (the total needs the whole range walked), and a price change, which
+ * moves the product within its segment's sorted arrays.
+ * <p>
+ * {@code ./mvnw -Pbenchmarks test-compile exec:exec -Dbenchmark=PriceIndexBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx2g", "-XX:+UseG1GC"})
+public class PriceIndexBenchmark {
+
+    private static final BigDecimal NARROW_MIN = new BigDecimal("100.00");
+    private static final BigDecimal NARROW_MAX = new BigDecimal("102.00");
+
+    @Param({"100000", "1000000"})
+    public int products;
+
+    private PriceIndex index;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        Map<String, PricingInfo> pricing = new HashMap<>();
+        Map<String, AvailabilityInfo> availability = new HashMap<>();
+        SplittableRandom prices = new SplittableRandom(42);
+        for (int i = 0; i < products; i++) {
+            pricing.put("P" + i, price(100 + prices.nextInt(99_900)));
+            availability.put("P" + i, AvailabilityInfo.known(i % 3 == 0 ? 0 : 5, "DE-01", "1 day"));
+        }
+        index = new PriceIndex(new OfferListing() {
+            @Override
+            public Map<String, PricingInfo> listPricing(String market, String segment) {
+                return pricing;
+            }
+
+            @Override
+            public Map<String, AvailabilityInfo> listAvailability(String market) {
+                return availability;
+            }
+        }, Runnable::run); // changes applied on the calling thread, so priceChange measures applying one
+        index.rebuild("de-DE", catalog(products));
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public PriceRangePage narrowRange() {
+        return index.find("de-DE", "STANDARD", new PriceRangeQuery(NARROW_MIN, NARROW_MAX, false, false, 0, 20));
+    }
+
+    @Benchmark
+    public PriceRangePage narrowRangeInStock() {
+        return index.find("de-DE", "STANDARD", new PriceRangeQuery(NARROW_MIN, NARROW_MAX, true, false, 0, 20));
+    }
+
+    @Benchmark
+    public PriceRangePage deepPageInStock() {
+        return index.find("de-DE", "STANDARD", new PriceRangeQuery(null, null, true, true, 1_000, 20));
+    }
+
+    @Benchmark
+    public void priceChange() {
+        index.pricingChanged("P" + random.nextInt(products), "de-DE", "STANDARD", price(100 + random.nextInt(99_900)));
+    }
+
+    private static PricingInfo price(long cents) {
+        BigDecimal price = BigDecimal.valueOf(cents, 2);
+        return PricingInfo.available(price, BigDecimal.ZERO, price, "EUR");
+    }
+
+    /**
+     * Products generated on the fly, so only the index is retained.
+     */
+    private static List<ProductDetails> catalog(int size) {
+        return new AbstractList<>() {
+            @Override
+            public ProductDetails get(int i) {
+                return new ProductDetails("P" + i, "de-DE", "Product " + i, "", Map.of(), List.of());
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
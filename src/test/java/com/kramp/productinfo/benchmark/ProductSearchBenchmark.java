@@ -0,0 +1,77 @@
+package com.kramp.productinfo.benchmark;
+
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.model.ProductSearchHits;
+import com.kramp.productinfo.infrastructure.search.InvertedProductIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency over a synthetic market catalog: a rare word, a common word narrowed by a
+ * spec filter, and two common words (the worst case, intersecting two long postings lists).
+ * <p>
+ * {@code ./mvnw -Pbenchmarks test-compile exec:exec -Dbenchmark=ProductSearchBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    private static final String[] KINDS = {"filter", "hose", "pump", "belt", "bearing", "seal", "valve", "clamp"};
+    private static final String[] MATERIALS = {"steel", "rubber", "brass", "plastic"};
+
+    @Param({"10000", "100000"})
+    public int products;
+
+    private InvertedProductIndex index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<ProductDetails> catalog = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            String kind = KINDS[random.nextInt(KINDS.length)];
+            String material = MATERIALS[random.nextInt(MATERIALS.length)];
+            catalog.add(new ProductDetails("P" + i, "de-DE",
+                    kind + " model " + i,
+                    "Heavy duty " + kind + " for tractors, " + material + " housing, series " + random.nextInt(500),
+                    Map.of("material", material, "size", Integer.toString(random.nextInt(40))),
+                    List.of()));
+        }
+        index = new InvertedProductIndex();
+        index.rebuild("de-DE", catalog);
+    }
+
+    @Benchmark
+    public ProductSearchHits rareWord() {
+        return index.search("de-DE", "model 4242", Map.of(), 20);
+    }
+
+    @Benchmark
+    public ProductSearchHits commonWordWithSpecFilter() {
+        return index.search("de-DE", "filter", Map.of("material", "steel", "size", "12"), 20);
+    }
+
+    @Benchmark
+    public ProductSearchHits twoCommonWords() {
+        return index.search("de-DE", "tractors filter", Map.of(), 20);
+    }
+}
@@ -0,0 +1,60 @@
+package com.kramp.productinfo.benchmark;
+
+import com.kramp.productinfo.infrastructure.ratelimit.StripedTokenBuckets;
+import com.kramp.productinfo.infrastructure.ratelimit.StripedTokenBuckets.Decision;
+import com.kramp.productinfo.infrastructure.ratelimit.StripedTokenBuckets.Limit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one rate-limit decision with 8 threads, spread over many customers or all on one
+ * hot key (every admission contending on the same CAS).
+ * <p>
+ * {@code ./mvnw -Pbenchmarks test-compile exec:exec -Dbenchmark=RateLimiterBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final Limit LIMIT = new Limit("STANDARD", 1_000_000, 1_000_000);
+
+    @Param({"1", "10000"})
+    public int customers;
+
+    private StripedTokenBuckets buckets;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        buckets = new StripedTokenBuckets(64, Duration.ofMinutes(5), System::nanoTime);
+        keys = new String[customers];
+        for (int i = 0; i < customers; i++) {
+            keys[i] = "customer:" + i;
+            buckets.tryAcquire(keys[i], () -> LIMIT);
+        }
+    }
+
+    @Benchmark
+    public Decision tryAcquire() {
+        return buckets.tryAcquire(keys[ThreadLocalRandom.current().nextInt(customers)], () -> LIMIT);
+    }
+}
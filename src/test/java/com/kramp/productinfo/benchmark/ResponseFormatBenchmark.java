@@ -0,0 +1,87 @@
+package com.kramp.productinfo.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.kramp.productinfo.controller.json.AggregatedProductSerializer;
+import com.kramp.productinfo.controller.protobuf.ProductInfoProtobuf;
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@code AggregatedProduct} response encoding per {@code Accept} format: JSON and CBOR through
+ * the application's serializer, Protobuf through {@link ProductInfoProtobuf}. Encoded sizes,
+ * plain and gzipped (as {@code server.compression} sends responses of 1 KB and more), are
+ * printed once per trial.
+ * <p>
+ * {@code ./mvnw -Pbenchmarks test-compile exec:exec -Dbenchmark=ResponseFormatBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseFormatBenchmark {
+
+    @Param({"JSON", "CBOR", "PROTOBUF"})
+    public String format;
+
+    @Param({"full", "degraded"})
+    public String shape;
+
+    private AggregatedProduct response;
+    private ObjectMapper mapper;
+
+    @Setup
+    public void setUp() throws IOException {
+        response = "full".equals(shape)
+                ? new AggregatedProduct(UpstreamCodecBenchmark.sampleProduct(), UpstreamCodecBenchmark.samplePricing(),
+                        AvailabilityInfo.known(8, "DE-02", "1-2 days"),
+                        new CustomerContext("789", "STANDARD", Map.of("preferredDelivery", "express", "language", "de")))
+                : new AggregatedProduct(UpstreamCodecBenchmark.sampleProduct(), PricingInfo.unavailable("TIMEOUT"),
+                        AvailabilityInfo.unknown(), CustomerContext.standard());
+        JsonFactory factory = "CBOR".equals(format)
+                ? CBORFactory.builder().recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool()).build()
+                : JsonFactory.builder().recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool()).build();
+        mapper = new ObjectMapper(factory).registerModule(new SimpleModule()
+                .addSerializer(AggregatedProduct.class, new AggregatedProductSerializer(false)));
+
+        byte[] body = encode();
+        System.out.printf("%n[%s %s] %d bytes, %d gzipped%n", format, shape, body.length, gzip(body).length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return "PROTOBUF".equals(format) ? ProductInfoProtobuf.encode(response) : mapper.writeValueAsBytes(response);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,87 @@
+package com.kramp.productinfo.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.kramp.productinfo.controller.json.AggregatedProductSerializer;
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code AggregatedProduct} serialization: default reflective ObjectMapper vs the dedicated
+ * serializer (with and without empty-field omission). Add {@code -prof gc} to the JMH
+ * arguments for allocation per response.
+ * <p>
+ * {@code ./mvnw -Pbenchmarks test-compile exec:exec -Dbenchmark=ResponseSerializationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"full", "degraded"})
+    public String shape;
+
+    private AggregatedProduct response;
+    private ObjectMapper reflective;
+    private ObjectMapper dedicated;
+    private ObjectMapper dedicatedCompact;
+
+    @Setup
+    public void setUp() {
+        response = "full".equals(shape)
+                ? new AggregatedProduct(UpstreamCodecBenchmark.sampleProduct(), UpstreamCodecBenchmark.samplePricing(),
+                        AvailabilityInfo.known(8, "DE-02", "1-2 days"),
+                        new CustomerContext("789", "STANDARD", Map.of("preferredDelivery", "express", "language", "de")))
+                : new AggregatedProduct(UpstreamCodecBenchmark.sampleProduct(), PricingInfo.unavailable("TIMEOUT"),
+                        AvailabilityInfo.unknown(), CustomerContext.standard());
+
+        reflective = new ObjectMapper();
+        dedicated = dedicatedMapper(false);
+        dedicatedCompact = dedicatedMapper(true);
+    }
+
+    @Benchmark
+    public byte[] reflectiveObjectMapper() throws JsonProcessingException {
+        return reflective.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] dedicatedSerializer() throws JsonProcessingException {
+        return dedicated.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] dedicatedSerializerOmitEmpty() throws JsonProcessingException {
+        return dedicatedCompact.writeValueAsBytes(response);
+    }
+
+    private static ObjectMapper dedicatedMapper(boolean omitEmpty) {
+        JsonFactory factory = JsonFactory.builder()
+                .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+                .build();
+        return new ObjectMapper(factory).registerModule(new SimpleModule()
+                .addSerializer(AggregatedProduct.class, new AggregatedProductSerializer(omitEmpty)));
+    }
+}
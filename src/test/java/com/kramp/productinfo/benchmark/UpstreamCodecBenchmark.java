@@ -0,0 +1,93 @@
+package com.kramp.productinfo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.infrastructure.codec.UpstreamCodec;
+import com.kramp.productinfo.infrastructure.codec.UpstreamCodecs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decode cost of upstream payloads per codec, with and without gzip.
+ * Encoded sizes are printed once per trial.
+ * <p>
+ * {@code ./mvnw -Pbenchmarks test-compile exec:exec -Dbenchmark=UpstreamCodecBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpstreamCodecBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public UpstreamCodec codec;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private UpstreamCodecs codecs;
+    private String encoding;
+    private byte[] productBytes;
+    private byte[] pricingBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        codecs = new UpstreamCodecs(new ObjectMapper().findAndRegisterModules());
+        encoding = gzip ? UpstreamCodecs.GZIP : null;
+        productBytes = codecs.encode(codec, sampleProduct(), gzip);
+        pricingBytes = codecs.encode(codec, samplePricing(), gzip);
+        System.out.printf("%n[%s gzip=%s] ProductDetails=%d bytes, PricingInfo=%d bytes%n",
+                codec, gzip, productBytes.length, pricingBytes.length);
+    }
+
+    @Benchmark
+    public ProductDetails decodeProductDetails() throws IOException {
+        return codecs.decode(codec, productBytes, encoding, ProductDetails.class);
+    }
+
+    @Benchmark
+    public PricingInfo decodePricingInfo() throws IOException {
+        return codecs.decode(codec, pricingBytes, encoding, PricingInfo.class);
+    }
+
+    static ProductDetails sampleProduct() {
+        Map<String, String> specs = new LinkedHashMap<>();
+        String[] keys = {"length", "diameter", "maxPressure", "temperature", "material", "weight", "brand",
+                "threadSize", "height", "outerDiameter", "filterType", "compatibility", "color", "certification",
+                "warranty", "countryOfOrigin", "packagingUnit", "ean", "series", "standard"};
+        for (int i = 0; i < keys.length; i++) {
+            specs.put(keys[i], "value-" + i + " with some descriptive text");
+        }
+        List<String> images = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            images.add("https://cdn.example.com/images/de/ABC123-" + i + ".jpg");
+        }
+        return new ProductDetails("ABC123", "de-DE", "Hydraulikschlauch Premium",
+                "Hochdruckschlauch für landwirtschaftliche Maschinen, geeignet für Öl und Wasser. ".repeat(6),
+                specs, images);
+    }
+
+    static PricingInfo samplePricing() {
+        return PricingInfo.available(new BigDecimal("24.90"), new BigDecimal("5.0"), new BigDecimal("23.66"), "EUR");
+    }
+}
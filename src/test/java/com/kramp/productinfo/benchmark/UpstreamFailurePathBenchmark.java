@@ -0,0 +1,130 @@
+package com.kramp.productinfo.benchmark;
+
+import com.kramp.productinfo.config.AdaptiveTimeoutProperties;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
+import com.kramp.productinfo.infrastructure.resilience.AdaptiveTimeouts;
+import com.kramp.productinfo.infrastructure.resilience.DefinitiveUpstreamAnswer;
+import com.kramp.productinfo.infrastructure.resilience.RetryableUpstreamFailure;
+import com.kramp.productinfo.infrastructure.resilience.UpstreamResilience;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expected upstream failures ({@code PRODUCT_NOT_FOUND} for the not-found path,
+ * {@code PRICING_ENGINE_MAINTENANCE} for the degraded path) thrown as exceptions vs returned as
+ * an {@link UpstreamResult}:
+ * <ul>
+ *     <li>{@code adapter*} - the adapter alone: exception with stack trace, stackless, or a value</li>
+ *     <li>{@code resilient*} - through the Resilience4j decorators on the upstream executor, as the
+ *     resilient clients call them</li>
+ * </ul>
+ * {@code ./mvnw -Pbenchmarks test-compile exec:exec -Dbenchmark=UpstreamFailurePathBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpstreamFailurePathBenchmark {
+
+    @Param({"PRODUCT_NOT_FOUND", "PRICING_ENGINE_MAINTENANCE"})
+    public String reason;
+
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduler;
+    private UpstreamResilience resilience;
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        TimeLimiterRegistry timeLimiters = TimeLimiterRegistry.ofDefaults();
+        resilience = new UpstreamResilience(
+                RetryRegistry.of(RetryConfig.custom().retryOnException(new RetryableUpstreamFailure()).build()),
+                CircuitBreakerRegistry.of(CircuitBreakerConfig.custom().ignoreException(new DefinitiveUpstreamAnswer()).build()),
+                timeLimiters,
+                new AdaptiveTimeouts(new AdaptiveTimeoutProperties(false, 0.99, 2.0, Duration.ofSeconds(60),
+                        Duration.ofSeconds(5), 100, Duration.ofMillis(50), Duration.ofSeconds(2), Map.of()),
+                        timeLimiters, scheduler),
+                executor,
+                scheduler,
+                new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+        scheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public Object adapterThrows() {
+        try {
+            return throwingLookup();
+        } catch (UpstreamFailureException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public Object adapterThrowsStackless() {
+        try {
+            throw UpstreamFailureException.stackless("pricing", reason, "productId=ABC123");
+        } catch (UpstreamFailureException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public UpstreamResult<String> adapterReturnsFailure() {
+        return resultLookup();
+    }
+
+    @Benchmark
+    public Object resilientThrows() {
+        try {
+            return resilience.await("pricing", resilience.execute("pricing", "de-DE", this::throwingLookup));
+        } catch (CompletionException ex) {
+            return ex.getCause();
+        }
+    }
+
+    @Benchmark
+    public UpstreamResult<String> resilientReturnsFailure() {
+        return resilience.call("pricing", "de-DE", this::resultLookup);
+    }
+
+    private String throwingLookup() {
+        throw new UpstreamFailureException("pricing", reason, "productId=ABC123");
+    }
+
+    private UpstreamResult<String> resultLookup() {
+        return UpstreamResult.failure("pricing", reason, "productId=ABC123");
+    }
+}
@@ -0,0 +1,68 @@
+package com.kramp.productinfo.controller.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AggregatedProductSerializerTest {
+
+    private final ObjectMapper reflective = new ObjectMapper();
+
+    @Test
+    void shouldWriteSameDocumentAsReflectiveSerialization() throws Exception {
+        ObjectMapper optimized = mapper(false);
+
+        for (AggregatedProduct product : List.of(full(), degraded(), stale())) {
+            assertThat(optimized.writeValueAsString(product))
+                    .isEqualTo(reflective.writeValueAsString(product));
+        }
+    }
+
+    @Test
+    void shouldOmitNullsAndEmptyCollections_whenEnabled() throws Exception {
+        String json = mapper(true).writeValueAsString(degraded());
+
+        assertThat(json).doesNotContain("null", "preferences", "basePrice", "stockLevel");
+        assertThat(mapper(true).readValue(json, AggregatedProduct.class)).isEqualTo(degraded());
+    }
+
+    private static ObjectMapper mapper(boolean omitEmpty) {
+        return new ObjectMapper().registerModule(new SimpleModule()
+                .addSerializer(AggregatedProduct.class, new AggregatedProductSerializer(omitEmpty)));
+    }
+
+    private static AggregatedProduct full() {
+        return new AggregatedProduct(
+                new ProductDetails("ABC123", "de-DE", "Hydraulikschlauch Premium", "Hochdruckschlauch",
+                        Map.of("length", "2m", "diameter", "25mm"),
+                        List.of("https://cdn.example.com/images/de/ABC123-1.jpg")),
+                PricingInfo.available(new BigDecimal("24.90"), new BigDecimal("5.0"), new BigDecimal("23.66"), "EUR"),
+                AvailabilityInfo.known(8, "DE-02", "1-2 days"),
+                new CustomerContext("789", "STANDARD", Map.of("language", "de")));
+    }
+
+    private static AggregatedProduct stale() {
+        AggregatedProduct full = full();
+        return new AggregatedProduct(full.product(), full.pricing().stale(42_000), full.availability().stale(1_500),
+                full.customer());
+    }
+
+    private static AggregatedProduct degraded() {
+        return new AggregatedProduct(
+                new ProductDetails("ABC123", "pl-PL", "Wąż hydrauliczny", "Opis", Map.of(), List.of()),
+                PricingInfo.unavailable("NO_PRICE_FOR_MARKET"),
+                AvailabilityInfo.unknown(),
+                CustomerContext.standard());
+    }
+}
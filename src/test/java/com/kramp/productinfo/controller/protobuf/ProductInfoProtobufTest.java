@@ -0,0 +1,140 @@
+package com.kramp.productinfo.controller.protobuf;
+
+import com.kramp.productinfo.controller.ErrorResponse;
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductInfoProtobufTest {
+
+    @Test
+    void shouldEncodeEveryFieldOfTheSchema() {
+        String description = "Hochdruckschlauch für Öl und Wasser 💧. ".repeat(40);
+        AggregatedProduct product = new AggregatedProduct(
+                new ProductDetails("ABC123", "de-DE", "Hydraulikschlauch Premium", description,
+                        Map.of("length", "2m"), List.of("https://cdn.example.com/1.jpg", "https://cdn.example.com/2.jpg")),
+                PricingInfo.available(new BigDecimal("24.90"), new BigDecimal("5.0"), new BigDecimal("1E+2"), "EUR").stale(42_000),
+                AvailabilityInfo.known(8, "DE-02", "1-2 days"),
+                new CustomerContext("789", "PREMIUM", Map.of("language", "de")));
+
+        Message message = Message.parse(ProductInfoProtobuf.encode(product));
+
+        Message details = message.message(1);
+        assertThat(details.string(1)).isEqualTo("ABC123");
+        assertThat(details.string(2)).isEqualTo("de-DE");
+        assertThat(details.string(3)).isEqualTo("Hydraulikschlauch Premium");
+        assertThat(details.string(4)).isEqualTo(description);
+        assertThat(details.message(5).string(1)).isEqualTo("length");
+        assertThat(details.message(5).string(2)).isEqualTo("2m");
+        assertThat(details.strings(6)).containsExactly("https://cdn.example.com/1.jpg", "https://cdn.example.com/2.jpg");
+
+        Message pricing = message.message(2);
+        assertThat(pricing.varint(1)).isEqualTo(1);
+        assertThat(pricing.string(2)).isEqualTo("24.90");
+        assertThat(pricing.string(3)).isEqualTo("5.0");
+        assertThat(pricing.string(4)).isEqualTo("100");
+        assertThat(pricing.string(5)).isEqualTo("EUR");
+        assertThat(pricing.varint(7)).isEqualTo(42_000);
+
+        Message availability = message.message(3);
+        assertThat(availability.varint(1)).isEqualTo(1);
+        assertThat(availability.varint(2)).isEqualTo(8);
+        assertThat(availability.string(3)).isEqualTo("DE-02");
+        assertThat(availability.string(4)).isEqualTo("1-2 days");
+
+        Message customer = message.message(4);
+        assertThat(customer.string(1)).isEqualTo("789");
+        assertThat(customer.string(2)).isEqualTo("PREMIUM");
+        assertThat(customer.message(3).string(1)).isEqualTo("language");
+    }
+
+    @Test
+    void shouldLeaveOutNullFields_andFalseFlags() {
+        AggregatedProduct degraded = new AggregatedProduct(
+                new ProductDetails("ABC123", "de-DE", null, null, null, null),
+                PricingInfo.unavailable("TIMEOUT"), AvailabilityInfo.unknown(), CustomerContext.standard());
+
+        Message message = Message.parse(ProductInfoProtobuf.encode(degraded));
+
+        assertThat(message.message(1).fields.keySet()).containsExactlyInAnyOrder(1, 2);
+        assertThat(message.message(2).fields.keySet()).containsExactly(6);
+        assertThat(message.message(3).fields).isEmpty();
+        assertThat(message.message(4).fields.keySet()).containsExactly(2);
+    }
+
+    @Test
+    void shouldEncodeErrorResponse() {
+        Message message = Message.parse(ProductInfoProtobuf.encode(ErrorResponse.of("MARKET_NOT_FOUND", "Märkt 'fr-FR'")));
+
+        assertThat(message.string(1)).isEqualTo("MARKET_NOT_FOUND");
+        assertThat(message.string(2)).isEqualTo("Märkt 'fr-FR'");
+    }
+
+    /**
+     * Just enough of a Protobuf reader to check the encoding: varint and length-delimited fields.
+     */
+    private record Message(Map<Integer, List<Object>> fields) {
+
+        static Message parse(byte[] bytes) {
+            Map<Integer, List<Object>> fields = new HashMap<>();
+            int[] at = {0};
+            while (at[0] < bytes.length) {
+                long tag = readVarint(bytes, at);
+                int field = (int) (tag >>> 3);
+                Object value = switch ((int) (tag & 7)) {
+                    case 0 -> readVarint(bytes, at);
+                    case 2 -> {
+                        int length = (int) readVarint(bytes, at);
+                        byte[] body = Arrays.copyOfRange(bytes, at[0], at[0] + length);
+                        at[0] += length;
+                        yield body;
+                    }
+                    default -> throw new IllegalStateException("Unexpected wire type in tag " + tag);
+                };
+                fields.computeIfAbsent(field, f -> new ArrayList<>()).add(value);
+            }
+            return new Message(new LinkedHashMap<>(fields));
+        }
+
+        long varint(int field) {
+            return (long) fields.get(field).getFirst();
+        }
+
+        String string(int field) {
+            return new String((byte[]) fields.get(field).getFirst(), StandardCharsets.UTF_8);
+        }
+
+        List<String> strings(int field) {
+            return fields.get(field).stream().map(bytes -> new String((byte[]) bytes, StandardCharsets.UTF_8)).toList();
+        }
+
+        Message message(int field) {
+            return parse((byte[]) fields.get(field).getFirst());
+        }
+
+        private static long readVarint(byte[] bytes, int[] at) {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = bytes[at[0]++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+    }
+}
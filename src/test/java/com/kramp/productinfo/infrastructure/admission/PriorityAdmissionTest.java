@@ -0,0 +1,147 @@
+package com.kramp.productinfo.infrastructure.admission;
+
+import com.kramp.productinfo.config.AdmissionProperties;
+import com.kramp.productinfo.infrastructure.admission.AdmissionRejectedException.Reason;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class PriorityAdmissionTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<String> started = new ArrayList<>();
+    private final List<CompletableFuture<String>> running = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void shouldAdmitQueuedRequests_highestPriorityFirst() {
+        PriorityAdmission admission = admission(1, 10, Duration.ofSeconds(10));
+        CompletableFuture<String> first = admission.submit(RequestPriority.LOW, work("first"));
+        CompletableFuture<String> low = admission.submit(RequestPriority.LOW, work("low"));
+        CompletableFuture<String> normal = admission.submit(RequestPriority.NORMAL, work("normal"));
+        CompletableFuture<String> high = admission.submit(RequestPriority.HIGH, work("high"));
+        assertThat(started).containsExactly("first");
+        assertThat(admission.queued()).isEqualTo(3);
+
+        finishAll();
+        finishAll();
+        finishAll();
+        finishAll();
+
+        assertThat(started).containsExactly("first", "high", "normal", "low");
+        assertThat(List.of(first, low, normal, high)).allMatch(CompletableFuture::isDone);
+        assertThat(admission.inFlight()).isZero();
+        assertThat(registry.get("admission.requests").tags("priority", "LOW", "outcome", "admitted")
+                .counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldDisplaceNewestLowerPriorityWaiter_whenQueueIsFull() {
+        PriorityAdmission admission = admission(1, 2, Duration.ofSeconds(10));
+        admission.submit(RequestPriority.NORMAL, work("running"));
+        CompletableFuture<String> olderLow = admission.submit(RequestPriority.LOW, work("older-low"));
+        CompletableFuture<String> newerLow = admission.submit(RequestPriority.LOW, work("newer-low"));
+
+        CompletableFuture<String> high = admission.submit(RequestPriority.HIGH, work("high"));
+        CompletableFuture<String> secondLow = admission.submit(RequestPriority.LOW, work("second-low"));
+
+        assertShed(newerLow, Reason.DISPLACED);
+        assertShed(secondLow, Reason.QUEUE_FULL);
+        assertThat(olderLow).isNotDone();
+        assertThat(high).isNotDone();
+        assertThat(registry.get("admission.requests").tags("priority", "LOW", "outcome", "displaced")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldShedWaiter_afterMaxWaitOfItsClass() {
+        PriorityAdmission admission = admission(1, 10, Duration.ofMillis(20));
+        admission.submit(RequestPriority.HIGH, work("running"));
+        CompletableFuture<String> waiting = admission.submit(RequestPriority.LOW, work("waiting"));
+
+        await().atMost(Duration.ofSeconds(2)).until(waiting::isDone);
+
+        assertShed(waiting, Reason.QUEUE_TIMEOUT);
+        assertThat(admission.queued()).isZero();
+        finishAll();
+        assertThat(started).containsExactly("running");
+        assertThat(admission.inFlight()).isZero();
+    }
+
+    @Test
+    void cancellingResult_shouldDequeueWaiter_andCancelRunningWork() {
+        PriorityAdmission admission = admission(1, 10, Duration.ofSeconds(10));
+        CompletableFuture<String> admitted = admission.submit(RequestPriority.NORMAL, work("admitted"));
+        CompletableFuture<String> queued = admission.submit(RequestPriority.NORMAL, work("queued"));
+        CompletableFuture<String> next = admission.submit(RequestPriority.LOW, work("next"));
+
+        queued.cancel(true);
+        assertThat(admission.queued()).isEqualTo(1);
+
+        admitted.cancel(true);
+        assertThat(running.getFirst()).isCancelled();
+        assertThat(started).containsExactly("admitted", "next");
+        assertThat(next).isNotDone();
+    }
+
+    @Test
+    void shouldPassThrough_whenDisabled() {
+        PriorityAdmission admission = new PriorityAdmission(
+                new AdmissionProperties(false, 1, 0, null, Set.of()), scheduler, registry);
+        admission.submit(RequestPriority.LOW, work("a"));
+        admission.submit(RequestPriority.LOW, work("b"));
+        assertThat(started).containsExactly("a", "b");
+    }
+
+    private PriorityAdmission admission(int maxInFlight, int queueCapacity, Duration maxWait) {
+        Map<RequestPriority, Duration> waits = Map.of(
+                RequestPriority.HIGH, maxWait, RequestPriority.NORMAL, maxWait, RequestPriority.LOW, maxWait);
+        return new PriorityAdmission(new AdmissionProperties(true, maxInFlight, queueCapacity, waits, Set.of()),
+                scheduler, registry);
+    }
+
+    private Supplier<CompletableFuture<String>> work(String name) {
+        return () -> {
+            started.add(name);
+            CompletableFuture<String> future = new CompletableFuture<>();
+            running.add(future);
+            return future;
+        };
+    }
+
+    /**
+     * Completes the work started so far; completing may start queued work.
+     */
+    private void finishAll() {
+        for (CompletableFuture<String> future : List.copyOf(running)) {
+            future.complete("done");
+        }
+    }
+
+    private static void assertShed(CompletableFuture<String> result, Reason reason) {
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOfSatisfying(AdmissionRejectedException.class, ex -> assertThat(ex.reason()).isEqualTo(reason));
+    }
+}
@@ -0,0 +1,52 @@
+package com.kramp.productinfo.infrastructure.admission;
+
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.ports.CustomerClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestPriorityClassifierTest {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final CustomerClient customers = new CustomerClient() {
+        @Override
+        public CustomerContext getCustomerContext(String customerId, String market) {
+            lookups.incrementAndGet();
+            return new CustomerContext(customerId, "PREMIUM", Map.of());
+        }
+
+        @Override
+        public Optional<CustomerContext> cachedCustomerContext(String customerId, String market) {
+            return switch (customerId) {
+                case "789" -> Optional.of(new CustomerContext("789", "PREMIUM", Map.of()));
+                case "101" -> Optional.of(new CustomerContext("101", "STANDARD", Map.of()));
+                default -> Optional.empty();
+            };
+        }
+    };
+    private final RequestPriorityClassifier classifier = new RequestPriorityClassifier(customers, Set.of("PREMIUM"));
+
+    @Test
+    void shouldClassifyBySegment_andOnlyEverLower() {
+        assertThat(classifier.classify("789", "nl-NL", null)).isEqualTo(RequestPriority.HIGH);
+        assertThat(classifier.classify("101", "nl-NL", null)).isEqualTo(RequestPriority.NORMAL);
+        assertThat(classifier.classify(null, "nl-NL", null)).isEqualTo(RequestPriority.LOW);
+        assertThat(classifier.classify("789", "nl-NL", "low")).isEqualTo(RequestPriority.LOW);
+        assertThat(classifier.classify(null, "nl-NL", "HIGH")).isEqualTo(RequestPriority.LOW);
+    }
+
+    @Test
+    void customersNotAtHand_shouldBeNormal_withoutAnyLookup() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(classifier.classify("456", "nl-NL", null)).isEqualTo(RequestPriority.NORMAL);
+        }
+
+        assertThat(lookups).hasValue(0);
+    }
+}
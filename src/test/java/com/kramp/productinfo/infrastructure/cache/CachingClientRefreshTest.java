@@ -0,0 +1,177 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import com.kramp.productinfo.config.AdaptiveTimeoutProperties;
+import com.kramp.productinfo.config.LastKnownGoodProperties;
+import com.kramp.productinfo.config.UpstreamCacheProperties;
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.AvailabilityClient;
+import com.kramp.productinfo.domain.ports.CatalogChangeListener;
+import com.kramp.productinfo.domain.ports.CatalogClient;
+import com.kramp.productinfo.domain.ports.OfferChangeListener;
+import com.kramp.productinfo.domain.ports.PricingClient;
+import com.kramp.productinfo.infrastructure.fallback.InMemoryLastKnownGoodStore;
+import com.kramp.productinfo.infrastructure.resilience.AdaptiveTimeouts;
+import com.kramp.productinfo.infrastructure.resilience.ResilientAvailabilityClient;
+import com.kramp.productinfo.infrastructure.resilience.ResilientCatalogClient;
+import com.kramp.productinfo.infrastructure.resilience.ResilientPricingClient;
+import com.kramp.productinfo.infrastructure.resilience.UpstreamResilience;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingClientRefreshTest {
+
+    private static final Duration TTL = Duration.ofSeconds(10);
+    private static final Duration WINDOW = Duration.ofSeconds(2);
+
+    private final ExpiringCacheTest.MutableClock clock = new ExpiringCacheTest.MutableClock();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final StaticListableBeanFactory noListeners = new StaticListableBeanFactory();
+
+    private final AtomicInteger catalogCalls = new AtomicInteger();
+    private final AtomicInteger pricingCalls = new AtomicInteger();
+    private final AtomicInteger availabilityCalls = new AtomicInteger();
+
+    private final CachingCatalogClient catalog;
+    private final CachingPricingClient pricing;
+    private final CachingAvailabilityClient availability;
+
+    CachingClientRefreshTest() {
+        UpstreamResilience resilience = resilience();
+        UpstreamCacheProperties properties = new UpstreamCacheProperties(true, 100, TTL, TTL, TTL, TTL,
+                UpstreamCacheProperties.Tier.NEAR, null);
+        UpstreamCacheFactory caches = new UpstreamCacheFactory() {
+            @Override
+            public <K, V> UpstreamCache<K, V> create(String name, Duration ttl, Class<V> type, Function<K, String> keyEncoder) {
+                return new ExpiringCache<>(name, ttl, 100, clock, registry);
+            }
+        };
+        InMemoryLastKnownGoodStore lastKnownGood = new InMemoryLastKnownGoodStore(
+                new LastKnownGoodProperties(true, 100, Duration.ofMinutes(15), Duration.ofMinutes(2), Duration.ofMinutes(1)),
+                clock, registry, scheduler);
+
+        CatalogClient catalogUpstream = (productId, market) -> {
+            catalogCalls.incrementAndGet();
+            return new ProductDetails(productId, market, "Hydraulic hose", null, Map.of(), List.of());
+        };
+        PricingClient pricingUpstream = (productId, market, customer) -> {
+            pricingCalls.incrementAndGet();
+            return PricingInfo.available(new BigDecimal("23.50"), BigDecimal.ZERO, new BigDecimal("23.50"), "EUR");
+        };
+        AvailabilityClient availabilityUpstream = (productId, market) -> {
+            availabilityCalls.incrementAndGet();
+            return AvailabilityInfo.known(5, "NL-01", "1d");
+        };
+        this.catalog = new CachingCatalogClient(new ResilientCatalogClient(catalogUpstream, resilience),
+                properties, caches, noListeners.getBeanProvider(CatalogChangeListener.class));
+        this.pricing = new CachingPricingClient(new ResilientPricingClient(pricingUpstream, resilience),
+                lastKnownGood, properties, caches, noListeners.getBeanProvider(OfferChangeListener.class));
+        this.availability = new CachingAvailabilityClient(new ResilientAvailabilityClient(availabilityUpstream, resilience),
+                lastKnownGood, properties, caches, noListeners.getBeanProvider(OfferChangeListener.class));
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.close();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void refreshIfExpiring_shouldIgnoreKeysNeverCached() {
+        catalog.refreshIfExpiring("UNKNOWN", "nl-NL", WINDOW);
+        pricing.refreshIfExpiring("UNKNOWN", "nl-NL", WINDOW);
+        availability.refreshIfExpiring("UNKNOWN", "nl-NL", WINDOW);
+
+        assertThat(catalogCalls).hasValue(0);
+        assertThat(pricingCalls).hasValue(0);
+        assertThat(availabilityCalls).hasValue(0);
+    }
+
+    @Test
+    void refreshIfExpiring_shouldLeaveFreshEntriesAlone() {
+        warmUp();
+
+        refreshAll();
+
+        assertThat(catalogCalls).hasValue(1);
+        assertThat(pricingCalls).hasValue(1);
+        assertThat(availabilityCalls).hasValue(1);
+    }
+
+    @Test
+    void refreshIfExpiring_shouldRefetchEntriesCloseToExpiry() {
+        warmUp();
+        clock.advance(Duration.ofSeconds(9));
+
+        refreshAll();
+
+        assertThat(catalogCalls).hasValue(2);
+        assertThat(pricingCalls).hasValue(2); // only the segment that was priced
+        assertThat(availabilityCalls).hasValue(2);
+
+        catalog.findProductDetails("ABC123", "nl-NL");
+        availability.findAvailability("ABC123", "nl-NL");
+        assertThat(catalogCalls).hasValue(2);
+        assertThat(availabilityCalls).hasValue(2);
+    }
+
+    @Test
+    void refreshIfExpiring_shouldRefetchInvalidatedEntries() {
+        warmUp();
+        clock.advance(TTL.plusSeconds(1));
+
+        refreshAll();
+
+        assertThat(catalogCalls).hasValue(2);
+        assertThat(pricingCalls).hasValue(2);
+        assertThat(availabilityCalls).hasValue(2);
+    }
+
+    private void warmUp() {
+        catalog.findProductDetails("ABC123", "nl-NL");
+        pricing.findPricing("ABC123", "nl-NL", new CustomerContext("789", "PREMIUM", Map.of()));
+        availability.findAvailability("ABC123", "nl-NL");
+    }
+
+    private void refreshAll() {
+        catalog.refreshIfExpiring("ABC123", "nl-NL", WINDOW);
+        pricing.refreshIfExpiring("ABC123", "nl-NL", WINDOW);
+        availability.refreshIfExpiring("ABC123", "nl-NL", WINDOW);
+    }
+
+    private UpstreamResilience resilience() {
+        TimeLimiterRegistry timeLimiters = TimeLimiterRegistry.ofDefaults();
+        return new UpstreamResilience(
+                RetryRegistry.ofDefaults(),
+                CircuitBreakerRegistry.ofDefaults(),
+                timeLimiters,
+                new AdaptiveTimeouts(new AdaptiveTimeoutProperties(false, 0.99, 2.0, Duration.ofSeconds(60),
+                        Duration.ofSeconds(5), 100, Duration.ofMillis(50), Duration.ofSeconds(2), Map.of()),
+                        timeLimiters, scheduler),
+                executor,
+                scheduler,
+                registry);
+    }
+}
@@ -0,0 +1,96 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldServeValues_untilTheirTtlRunsOut() {
+        ExpiringCache<String, String> cache = cache(10);
+
+        cache.put("ABC123", "details");
+        assertThat(cache.get("ABC123")).isEqualTo("details");
+
+        clock.advance(Duration.ofSeconds(10));
+        assertThat(cache.get("ABC123")).isNull();
+        assertThat(cache.isKnown("ABC123")).isTrue();
+        assertThat(registry.counter("upstream.cache.requests", "cache", "test", "result", "near_hit").count()).isEqualTo(1.0);
+        assertThat(registry.counter("upstream.cache.requests", "cache", "test", "result", "miss").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void invalidate_shouldExpireTheEntry_butKeepTheKeyKnown() {
+        ExpiringCache<String, String> cache = cache(10);
+        cache.put("ABC123", "details");
+
+        cache.invalidate("ABC123");
+
+        assertThat(cache.get("ABC123")).isNull();
+        assertThat(cache.isKnown("ABC123")).isTrue();
+        assertThat(cache.expiresWithin("ABC123", Duration.ZERO)).isTrue();
+    }
+
+    @Test
+    void expiresWithin_shouldCompareTheRemainingTtl() {
+        ExpiringCache<String, String> cache = cache(10);
+        assertThat(cache.expiresWithin("ABC123", Duration.ofSeconds(2))).isTrue(); // unknown
+
+        cache.put("ABC123", "details");
+        assertThat(cache.expiresWithin("ABC123", Duration.ofSeconds(2))).isFalse();
+
+        clock.advance(Duration.ofSeconds(9));
+        assertThat(cache.expiresWithin("ABC123", Duration.ofSeconds(2))).isTrue();
+    }
+
+    @Test
+    void shouldEvictTheEntryClosestToExpiry_pastMaxEntries() {
+        ExpiringCache<String, String> cache = cache(3);
+        for (int i = 0; i < 4; i++) {
+            cache.put("SKU-" + i, "details");
+            clock.advance(Duration.ofMillis(1));
+        }
+
+        assertThat(cache.isKnown("SKU-0")).isFalse();
+        assertThat(cache.isKnown("SKU-1")).isTrue();
+        assertThat(cache.isKnown("SKU-3")).isTrue();
+        assertThat(registry.get("upstream.cache.entries").gauge().value()).isEqualTo(3.0);
+    }
+
+    private ExpiringCache<String, String> cache(int maxEntries) {
+        return new ExpiringCache<>("test", Duration.ofSeconds(10), maxEntries, clock, registry);
+    }
+
+    static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
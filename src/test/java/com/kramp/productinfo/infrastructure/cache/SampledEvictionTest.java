@@ -0,0 +1,45 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SampledEvictionTest {
+
+    @Test
+    void shouldEvictTheLowestRanked_ofSmallMaps() {
+        ConcurrentHashMap<String, Long> map = new ConcurrentHashMap<>();
+        for (long i = 0; i < 10; i++) {
+            map.put("SKU-" + i, 100 - i);
+        }
+
+        SampledEviction.evictOne(map, Long::longValue);
+
+        assertThat(map).hasSize(9).doesNotContainKey("SKU-9");
+    }
+
+    @Test
+    void shouldSampleTheWholeTable_notJustItsFirstBuckets() {
+        // small Integer keys hash to themselves, so the table is ordered by key; the oldest sit at its end
+        ConcurrentHashMap<Integer, Long> map = new ConcurrentHashMap<>();
+        for (int key = 0; key < 1024; key++) {
+            map.put(key, (long) -key);
+        }
+
+        int evictedFromUpperHalf = 0;
+        for (int i = 0; i < 256; i++) {
+            int before = map.size();
+            SampledEviction.evictOne(map, Long::longValue);
+            assertThat(map).hasSize(before - 1);
+        }
+        for (int key = 512; key < 1024; key++) {
+            if (!map.containsKey(key)) {
+                evictedFromUpperHalf++;
+            }
+        }
+
+        assertThat(evictedFromUpperHalf).isBetween(64, 192);
+    }
+}
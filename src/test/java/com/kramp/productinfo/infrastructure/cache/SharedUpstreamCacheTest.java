@@ -0,0 +1,146 @@
+package com.kramp.productinfo.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kramp.productinfo.config.UpstreamCacheProperties;
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.infrastructure.cache.resp.RespStandInServer;
+import com.kramp.productinfo.infrastructure.codec.UpstreamCodecs;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Two cache instances sharing the embedded stand-in RESP server, as two service instances would.
+ */
+class SharedUpstreamCacheTest {
+
+    private static final Function<String, String> KEY = Function.identity();
+
+    private final RespStandInServer server = new RespStandInServer(0);
+    private final SimpleMeterRegistry registryA = new SimpleMeterRegistry();
+    private final SimpleMeterRegistry registryB = new SimpleMeterRegistry();
+    private SharedCacheFactory instanceA;
+    private SharedCacheFactory instanceB;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server.start();
+        instanceA = factory(server.port(), registryA);
+        instanceB = factory(server.port(), registryB);
+    }
+
+    @AfterEach
+    void stopServer() throws Exception {
+        instanceA.stop();
+        instanceB.stop();
+        server.stop();
+    }
+
+    @Test
+    void valueLoadedByOneInstance_isRemoteHitThenNearHitOnAnother() {
+        UpstreamCache<String, AvailabilityInfo> a = instanceA.create("availability", Duration.ofMinutes(1), AvailabilityInfo.class, KEY);
+        UpstreamCache<String, AvailabilityInfo> b = instanceB.create("availability", Duration.ofMinutes(1), AvailabilityInfo.class, KEY);
+
+        awaitSubscribed(a);
+        double loadsBefore = registryA.get("upstream.cache.loads").counter().count();
+        double receivedBefore = received(registryB);
+
+        a.put("ABC123|de-DE", AvailabilityInfo.known(5, "DE-02", "1-2 days"));
+        // the invalidation of this put must not expire b's near copy between the two reads below
+        await().atMost(Duration.ofSeconds(5)).until(() -> received(registryB) > receivedBefore);
+
+        assertThat(b.get("ABC123|de-DE").stockLevel()).isEqualTo(5);
+        assertThat(b.get("ABC123|de-DE").stockLevel()).isEqualTo(5);
+        assertThat(b.get("XYZ999|de-DE")).isNull();
+        assertThat(requests(registryB, "remote_hit")).isEqualTo(1.0);
+        assertThat(requests(registryB, "near_hit")).isEqualTo(1.0);
+        assertThat(requests(registryB, "miss")).isEqualTo(1.0);
+        assertThat(registryA.get("upstream.cache.loads").counter().count()).isEqualTo(loadsBefore + 1);
+        assertThat(registryB.get("upstream.cache.loads").counter().count()).isZero();
+        assertThat(b.expiresWithin("ABC123|de-DE", Duration.ofSeconds(30))).isFalse();
+    }
+
+    @Test
+    void reloadOnOneInstance_invalidatesNearCopyOnAnother() {
+        UpstreamCache<String, AvailabilityInfo> a = instanceA.create("availability", Duration.ofMinutes(1), AvailabilityInfo.class, KEY);
+        UpstreamCache<String, AvailabilityInfo> b = instanceB.create("availability", Duration.ofMinutes(1), AvailabilityInfo.class, KEY);
+        awaitSubscribed(a);
+        double receivedBefore = received(registryB);
+        a.put("ABC123|de-DE", AvailabilityInfo.known(5, "DE-02", "1-2 days"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> received(registryB) > receivedBefore);
+        assertThat(b.get("ABC123|de-DE").stockLevel()).isEqualTo(5);
+
+        a.put("ABC123|de-DE", AvailabilityInfo.known(2, "DE-02", "1-2 days"));
+
+        await().atMost(Duration.ofSeconds(5))
+                .untilAsserted(() -> assertThat(b.get("ABC123|de-DE").stockLevel()).isEqualTo(2));
+        assertThat(b.isKnown("ABC123|de-DE")).isTrue();
+    }
+
+    @Test
+    void unreachableRemoteTier_degradesToNearCache() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SharedCacheFactory unreachable = factory(freePort(), registry);
+        try {
+            UpstreamCache<String, AvailabilityInfo> cache =
+                    unreachable.create("availability", Duration.ofMinutes(1), AvailabilityInfo.class, KEY);
+
+            assertThat(cache.get("ABC123|de-DE")).isNull();
+            cache.put("ABC123|de-DE", AvailabilityInfo.known(5, "DE-02", "1-2 days"));
+
+            assertThat(cache.get("ABC123|de-DE").stockLevel()).isEqualTo(5);
+            assertThat(requests(registry, "near_hit")).isEqualTo(1.0);
+            assertThat(registry.get("upstream.cache.remote.errors").tag("operation", "get").counter().count()).isEqualTo(1.0);
+            assertThat(registry.get("upstream.cache.remote.errors").tag("operation", "put").counter().count()).isEqualTo(1.0);
+        } finally {
+            unreachable.stop();
+        }
+    }
+
+    /**
+     * Invalidates a key of its own on {@code a} until instance B receives it, so B's
+     * subscription is live and will see every later broadcast.
+     */
+    private void awaitSubscribed(UpstreamCache<String, AvailabilityInfo> a) {
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            a.invalidate("SUBSCRIPTION-CHECK");
+            assertThat(received(registryB)).isPositive();
+        });
+    }
+
+    private static double received(SimpleMeterRegistry registry) {
+        return registry.get("upstream.cache.invalidations").tag("direction", "received").counter().count();
+    }
+
+    private static SharedCacheFactory factory(int port, SimpleMeterRegistry registry) {
+        UpstreamCacheProperties properties = new UpstreamCacheProperties(true, 1_000,
+                Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofSeconds(10), Duration.ofMinutes(5),
+                UpstreamCacheProperties.Tier.SHARED,
+                new UpstreamCacheProperties.Shared("localhost", port, Duration.ofSeconds(1), 4,
+                        "test:", "test:invalidations", false));
+        SharedCacheFactory factory = new SharedCacheFactory(properties, new UpstreamCodecs(new ObjectMapper()), registry);
+        factory.start();
+        return factory;
+    }
+
+    private static double requests(SimpleMeterRegistry registry, String result) {
+        return registry.get("upstream.cache.requests").tag("result", result).counter().count();
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.kramp.productinfo.infrastructure.cache.resp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RespStandInServerTest {
+
+    private final RespStandInServer server = new RespStandInServer(0);
+
+    @BeforeEach
+    void start() throws IOException {
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    @Test
+    void malformedCommands_shouldGetAnErrorReply_andKeepTheConnection() throws IOException {
+        try (Socket socket = new Socket("localhost", server.port())) {
+            OutputStream out = socket.getOutputStream();
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+
+            assertThat(error(out, in, "*2\r\n$3\r\nGET\r\n:5\r\n")).contains("bulk strings");
+            assertThat(error(out, in, "*1\r\n$3\r\nset\r\n")).contains("wrong number of arguments");
+            assertThat(error(out, in, "*5\r\n$3\r\nSET\r\n$1\r\nk\r\n$1\r\nv\r\n$2\r\nPX\r\n$3\r\nabc\r\n"))
+                    .contains("not an integer");
+            assertThat(error(out, in, "*4\r\n$3\r\nSET\r\n$1\r\nk\r\n$1\r\nv\r\n$2\r\nPX\r\n")).contains("syntax error");
+            assertThat(send(out, in, "*1\r\n$4\r\nping\r\n")).isEqualTo("PONG");
+        }
+    }
+
+    @Test
+    void commandNames_shouldBeCaseInsensitive_inAnyLocale() throws IOException {
+        try (RespClient client = new RespClient("localhost", server.port(), Duration.ofSeconds(1), 1)) {
+            assertThat(client.execute(RespProtocol.bytes("set"), RespProtocol.bytes("k"), RespProtocol.bytes("v"),
+                    RespProtocol.bytes("px"), RespProtocol.bytes("60000"))).isEqualTo("OK");
+            assertThat(client.execute(RespProtocol.bytes("get"), RespProtocol.bytes("k"))).isEqualTo(RespProtocol.bytes("v"));
+        }
+    }
+
+    private static String error(OutputStream out, InputStream in, String raw) throws IOException {
+        Object reply = send(out, in, raw);
+        assertThat(reply).isInstanceOf(RespException.class);
+        return ((RespException) reply).getMessage();
+    }
+
+    private static Object send(OutputStream out, InputStream in, String raw) throws IOException {
+        out.write(raw.getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return RespProtocol.read(in);
+    }
+}
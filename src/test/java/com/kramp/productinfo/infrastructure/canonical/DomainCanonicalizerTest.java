@@ -0,0 +1,72 @@
+package com.kramp.productinfo.infrastructure.canonical;
+
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.CustomerContext;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainCanonicalizerTest {
+
+    private final DomainCanonicalizer canonicalizer = new DomainCanonicalizer(true, 100);
+
+    @Test
+    void shouldShareRepeatedStrings_acrossRecords_andKeepTheirValues() {
+        ProductDetails first = canonicalizer.productDetails(product());
+        ProductDetails second = canonicalizer.productDetails(product());
+
+        assertThat(second).isEqualTo(product());
+        assertThat(second.market()).isSameAs(first.market());
+        String firstKey = first.specs().keySet().iterator().next();
+        String secondKey = second.specs().keySet().iterator().next();
+        assertThat(secondKey).isSameAs(firstKey);
+        assertThat(second.specs().get("length")).isSameAs(first.specs().get("length"));
+
+        AvailabilityInfo a = canonicalizer.availability(AvailabilityInfo.known(3, new String("DE-02"), new String("1-2 days")));
+        AvailabilityInfo b = canonicalizer.availability(AvailabilityInfo.known(5, new String("DE-02"), new String("1-2 days")));
+        assertThat(b.warehouseCode()).isSameAs(a.warehouseCode());
+        assertThat(b.expectedDelivery()).isSameAs(a.expectedDelivery());
+    }
+
+    @Test
+    void shouldResolveClosedVocabulariesToConstants() {
+        PricingInfo pricing = canonicalizer.pricing(PricingInfo.available(
+                BigDecimal.TEN, BigDecimal.ZERO, BigDecimal.TEN, new String("EUR")));
+        CustomerContext customer = canonicalizer.customerContext(
+                new CustomerContext("789", new String("PREMIUM"), Map.of("language", "de")));
+
+        assertThat(pricing.currency()).isSameAs(Currency.getInstance("EUR").getCurrencyCode());
+        assertThat(customer.segment()).isSameAs("PREMIUM");
+        assertThat(customer.preferences()).containsEntry("language", "de");
+    }
+
+    @Test
+    void shouldLeaveRecordsUntouched_whenDisabled() {
+        ProductDetails product = product();
+
+        assertThat(new DomainCanonicalizer(false, 100).productDetails(product)).isSameAs(product);
+    }
+
+    @Test
+    void shouldExportPoolSizes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        canonicalizer.bindTo(registry);
+        canonicalizer.productDetails(product());
+
+        assertThat(registry.get("domain.canonical.pool.size").tag("pool", "market").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("domain.canonical.pool.size").tag("pool", "spec-key").gauge().value()).isEqualTo(1);
+    }
+
+    private static ProductDetails product() {
+        return new ProductDetails("ABC123", new String("de-DE"), "Hydraulikschlauch", "Hochdruckschlauch",
+                Map.of(new String("length"), new String("2m")), List.of("https://cdn.example.com/1.jpg"));
+    }
+}
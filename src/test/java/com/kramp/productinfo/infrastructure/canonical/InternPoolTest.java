@@ -0,0 +1,35 @@
+package com.kramp.productinfo.infrastructure.canonical;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InternPoolTest {
+
+    @Test
+    void shouldReturnOneSharedInstancePerValue() {
+        InternPool pool = new InternPool("market", 10);
+        String first = new String("de-DE");
+        String second = new String("de-DE");
+
+        assertThat(pool.intern(first)).isSameAs(first);
+        assertThat(pool.intern(second)).isSameAs(first);
+        assertThat(pool.intern(null)).isNull();
+        assertThat(pool.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStopAddingValues_onceFull_butKeepDeduplicatingHeldOnes() {
+        InternPool pool = new InternPool("warehouse", 2);
+        String a = pool.intern(new String("DE-01"));
+        pool.intern(new String("DE-02"));
+
+        String overflow = new String("DE-03");
+        assertThat(pool.intern(overflow)).isSameAs(overflow);
+        assertThat(pool.intern(new String("DE-03"))).isNotSameAs(overflow);
+        assertThat(pool.intern(new String("DE-01"))).isSameAs(a);
+
+        assertThat(pool.size()).isEqualTo(2);
+        assertThat(pool.overflows()).isEqualTo(2);
+    }
+}
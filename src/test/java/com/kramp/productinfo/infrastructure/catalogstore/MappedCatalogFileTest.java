@@ -0,0 +1,64 @@
+package com.kramp.productinfo.infrastructure.catalogstore;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.infrastructure.mock.model.CatalogDataset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedCatalogFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldFindEveryRecord_acrossChunkBoundaries() throws Exception {
+        Map<String, CatalogDataset.CatalogProduct> products = new LinkedHashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            products.put("SKU-" + i, new CatalogDataset.CatalogProduct(
+                    "Product " + i,
+                    i % 7 == 0 ? null : "Beschreibung für Produkt " + i + " ".repeat(i % 40),
+                    Map.of("weight", i + "kg", "material", "steel"),
+                    List.of("https://cdn.example.com/images/" + i + ".jpg")));
+        }
+        Path file = dir.resolve("de-DE.pcat");
+        new CatalogStoreWriter(4096).write("de-DE", products, file);
+
+        MappedCatalogFile catalog = MappedCatalogFile.open(file);
+
+        assertThat(catalog.recordCount()).isEqualTo(5_000);
+        products.forEach((id, expected) -> {
+            ProductDetails actual = catalog.find(id);
+            assertThat(actual).isNotNull();
+            assertThat(actual.market()).isEqualTo("de-DE");
+            assertThat(actual.name()).isEqualTo(expected.name());
+            assertThat(actual.description()).isEqualTo(expected.description());
+            assertThat(actual.specs()).isEqualTo(expected.specs());
+            assertThat(actual.imageUrls()).isEqualTo(expected.images());
+        });
+        assertThat(catalog.find("SKU-5000")).isNull();
+    }
+
+    @Test
+    void shouldBuildFromBundledCatalogJson() throws Exception {
+        Path file = dir.resolve("nl-NL.pcat");
+        try (InputStream in = getClass().getResourceAsStream("/mock-data/catalog/nl-NL.json")) {
+            new CatalogStoreBuilder(new ObjectMapper(), new CatalogStoreWriter()).build("nl-NL", in, file);
+        }
+
+        ProductDetails product = MappedCatalogFile.open(file).find("ABC123");
+
+        assertThat(product).isNotNull();
+        assertThat(product.name()).isNotBlank();
+        assertThat(product.specs()).isNotEmpty();
+        assertThat(product.imageUrls()).isNotEmpty();
+    }
+}
@@ -0,0 +1,30 @@
+package com.kramp.productinfo.infrastructure.catalogstore;
+
+import com.kramp.productinfo.domain.ports.exception.MarketNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedCatalogStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldKeepCatalogFilesInsideTheDirectory() throws Exception {
+        Path store = Files.createDirectory(dir.resolve("store"));
+        Files.writeString(dir.resolve("x.pcat"), "outside");
+        MappedCatalogStore catalogs = new MappedCatalogStore(store);
+
+        assertThat(catalogs.fileFor("de-DE")).isEqualTo(store.resolve("de-DE.pcat").toAbsolutePath());
+        for (String market : new String[]{"../x", "../../x", "nl-NL/../../x", "/tmp/x"}) {
+            assertThatThrownBy(() -> catalogs.fileFor(market)).isInstanceOf(MarketNotFoundException.class);
+            assertThatThrownBy(() -> catalogs.find("ABC123", market)).isInstanceOf(MarketNotFoundException.class);
+        }
+    }
+}
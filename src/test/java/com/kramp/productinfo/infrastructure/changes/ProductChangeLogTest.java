@@ -0,0 +1,172 @@
+package com.kramp.productinfo.infrastructure.changes;
+
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.ChangeFeed;
+import com.kramp.productinfo.domain.model.ChangeFeed.ProductChange;
+import com.kramp.productinfo.domain.model.ChangedField;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.OfferListing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductChangeLogTest {
+
+    private final Map<String, BigDecimal> prices = new HashMap<>();
+    private final Map<String, Integer> stock = new HashMap<>();
+    private final OfferListing listing = new OfferListing() {
+        @Override
+        public Map<String, PricingInfo> listPricing(String market, String segment) {
+            Map<String, PricingInfo> pricing = new HashMap<>();
+            prices.forEach((id, price) -> pricing.put(id, price(price)));
+            return pricing;
+        }
+
+        @Override
+        public Map<String, AvailabilityInfo> listAvailability(String market) {
+            Map<String, AvailabilityInfo> availability = new HashMap<>();
+            stock.forEach((id, level) -> availability.put(id, stock(level)));
+            return availability;
+        }
+    };
+    private final ProductChangeLog log = new ProductChangeLog(listing, 8, "a");
+
+    private String cursor;
+
+    @BeforeEach
+    void baseline() {
+        prices.put("A", BigDecimal.TEN);
+        stock.put("A", 3);
+        log.rebuild("de-DE", List.of(product("A", "Filter"), product("B", "Hose")));
+        cursor = log.changesSince("de-DE", null, 100).next();
+    }
+
+    @Test
+    void shouldReportOnlyValuesThatDiffer_oncePerProductWithEveryChangedField() {
+        log.productChanged(product("A", "Filter"));
+        log.availabilityChanged("A", "de-DE", stock(3));
+        log.pricingChanged("A", "de-DE", "STANDARD", price(BigDecimal.TEN));
+        assertThat(log.changesSince("de-DE", cursor, 100).changes()).isEmpty();
+
+        log.availabilityChanged("A", "de-DE", stock(2));
+        log.productChanged(product("B", "Hose XL"));
+        log.pricingChanged("A", "de-DE", "PREMIUM", price(BigDecimal.ONE));
+
+        ChangeFeed feed = log.changesSince("de-DE", cursor, 100);
+        assertThat(feed.resyncRequired()).isFalse();
+        assertThat(feed.next()).isEqualTo(plus(cursor, 3));
+        assertThat(feed.changes()).containsExactly(
+                new ProductChange("A", Set.of(ChangedField.AVAILABILITY, ChangedField.PRICING)),
+                new ProductChange("B", Set.of(ChangedField.CATALOG)));
+        assertThat(log.changesSince("de-DE", feed.next(), 100).changes()).isEmpty();
+    }
+
+    @Test
+    void shouldCompareFingerprints_byValue() {
+        Map<String, String> specs = new LinkedHashMap<>();
+        specs.put("size", "M10");
+        specs.put("material", "steel");
+        Map<String, String> reordered = new LinkedHashMap<>();
+        reordered.put("material", "steel");
+        reordered.put("size", "M10");
+        log.productChanged(new ProductDetails("B", "de-DE", "Hose", "", specs, List.of()));
+        cursor = log.changesSince("de-DE", cursor, 100).next();
+
+        log.productChanged(new ProductDetails("B", "de-DE", "Hose", "", reordered, List.of()));
+        log.pricingChanged("A", "de-DE", "STANDARD", price(new BigDecimal("10.00")));
+        assertThat(log.changesSince("de-DE", cursor, 100).changes()).isEmpty();
+
+        log.productChanged(new ProductDetails("B", "de-DE", "Hose", "Rubber", reordered, List.of()));
+        log.pricingChanged("A", "de-DE", "STANDARD", PricingInfo.available(BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.TEN, "EUR"));
+        assertThat(log.changesSince("de-DE", cursor, 100).changes()).containsExactly(
+                new ProductChange("B", Set.of(ChangedField.CATALOG)),
+                new ProductChange("A", Set.of(ChangedField.PRICING)));
+    }
+
+    @Test
+    void shouldPageByLimit() {
+        log.productChanged(product("A", "Filter v2"));
+        log.productChanged(product("B", "Hose v2"));
+
+        ChangeFeed first = log.changesSince("de-DE", cursor, 1);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(first.changes()).extracting(ProductChange::productId).containsExactly("A");
+        ChangeFeed second = log.changesSince("de-DE", first.next(), 1);
+        assertThat(second.hasMore()).isFalse();
+        assertThat(second.changes()).extracting(ProductChange::productId).containsExactly("B");
+    }
+
+    @Test
+    void shouldFindRemovalsAndOfferChanges_onFullRebuild() {
+        prices.put("A", BigDecimal.ONE);
+        stock.remove("A");
+        log.rebuild("de-DE", List.of(product("A", "Filter"), product("C", "Pump")));
+
+        assertThat(log.changesSince("de-DE", cursor, 100).changes()).containsExactly(
+                new ProductChange("C", Set.of(ChangedField.CATALOG)),
+                new ProductChange("B", Set.of(ChangedField.REMOVED)),
+                new ProductChange("A", Set.of(ChangedField.AVAILABILITY, ChangedField.PRICING)));
+    }
+
+    @Test
+    void shouldRequireResync_onceTheCursorFellOffTheBuffer_orIsUnknown() {
+        for (int i = 0; i < 9; i++) {
+            log.productChanged(product("A", "Filter v" + i));
+        }
+
+        ChangeFeed feed = log.changesSince("de-DE", cursor, 100);
+        assertThat(feed.resyncRequired()).isTrue();
+        assertThat(feed.changes()).isEmpty();
+        assertThat(feed.next()).isEqualTo(plus(cursor, 9));
+        assertThat(log.changesSince("de-DE", plus(cursor, 1), 100).resyncRequired()).isFalse();
+        assertThat(log.changesSince("de-DE", plus(cursor, 10), 100).resyncRequired()).isTrue();
+        assertThat(log.changesSince("de-DE", "a:x", 100).resyncRequired()).isTrue();
+    }
+
+    @Test
+    void shouldRequireResync_forACursorOfAnotherInstance_evenWithinThisLogsRange() {
+        ProductChangeLog other = new ProductChangeLog(listing, 8, "b");
+        other.rebuild("de-DE", List.of(product("A", "Filter"), product("B", "Hose")));
+        log.productChanged(product("A", "Filter v2"));
+        log.productChanged(product("B", "Hose v2"));
+        other.productChanged(product("A", "Filter v2"));
+        String foreign = other.changesSince("de-DE", null, 100).next();
+        assertThat(cursor).isEqualTo("a:0");
+        assertThat(foreign).isEqualTo("b:1"); // sequence 1 is within this log's range, but another instance's
+
+        ChangeFeed feed = log.changesSince("de-DE", foreign, 100);
+
+        assertThat(feed.resyncRequired()).isTrue();
+        assertThat(feed.changes()).isEmpty();
+        assertThat(feed.next()).isEqualTo(plus(cursor, 2));
+    }
+
+    /**
+     * The cursor {@code n} changes after {@code cursor}; tests only, cursors are opaque to clients.
+     */
+    private static String plus(String cursor, int n) {
+        int colon = cursor.indexOf(':');
+        return cursor.substring(0, colon + 1) + (Long.parseLong(cursor.substring(colon + 1)) + n);
+    }
+
+    private static ProductDetails product(String id, String name) {
+        return new ProductDetails(id, "de-DE", name, "", Map.of(), List.of());
+    }
+
+    private static PricingInfo price(BigDecimal price) {
+        return PricingInfo.available(price, BigDecimal.ZERO, price, "EUR");
+    }
+
+    private static AvailabilityInfo stock(int level) {
+        return AvailabilityInfo.known(level, "DE-01", "1 day");
+    }
+}
@@ -0,0 +1,22 @@
+package com.kramp.productinfo.infrastructure.codec;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamCodecsTest {
+
+    @Test
+    void shouldAcceptGzip_onlyWithANonZeroQuality() {
+        assertThat(UpstreamCodecs.acceptsGzip("gzip")).isTrue();
+        assertThat(UpstreamCodecs.acceptsGzip("br, GZIP;q=0.5")).isTrue();
+        assertThat(UpstreamCodecs.acceptsGzip("*")).isTrue();
+
+        assertThat(UpstreamCodecs.acceptsGzip(null)).isFalse();
+        assertThat(UpstreamCodecs.acceptsGzip("identity")).isFalse();
+        assertThat(UpstreamCodecs.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(UpstreamCodecs.acceptsGzip("gzip; q=0.0, *")).isFalse();
+        assertThat(UpstreamCodecs.acceptsGzip("*;q=0")).isFalse();
+        assertThat(UpstreamCodecs.acceptsGzip("x-gzip")).isFalse();
+    }
+}
@@ -0,0 +1,117 @@
+package com.kramp.productinfo.infrastructure.fallback;
+
+import com.kramp.productinfo.config.LastKnownGoodProperties;
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryLastKnownGoodStoreTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldServeRecordedValueFlaggedWithAge_perSegment() {
+        InMemoryLastKnownGoodStore store = store(100);
+        PricingInfo premium = PricingInfo.available(new BigDecimal("10.00"), new BigDecimal("12.5"), new BigDecimal("8.75"), "EUR");
+        store.recordPricing("ABC123", "de-DE", "PREMIUM", premium);
+
+        clock.advance(Duration.ofSeconds(30));
+
+        assertThat(store.stalePricing("ABC123", "de-DE", "PREMIUM"))
+                .hasValueSatisfying(p -> {
+                    assertThat(p.finalPrice()).isEqualByComparingTo("8.75");
+                    assertThat(p.staleAgeMs()).isEqualTo(30_000L);
+                });
+        assertThat(store.stalePricing("ABC123", "de-DE", "BASIC")).isEmpty();
+        assertThat(registry.get("upstream.stale.lookups").tags("service", "pricing", "outcome", "SERVED").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("upstream.stale.age").tag("service", "pricing").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotServeBeyondMaxAge() {
+        InMemoryLastKnownGoodStore store = store(100);
+        store.recordAvailability("ABC123", "de-DE", AvailabilityInfo.known(5, "DE-02", "1-2 days"));
+
+        clock.advance(Duration.ofMinutes(2).plusMillis(1));
+
+        assertThat(store.staleAvailability("ABC123", "de-DE")).isEmpty();
+        assertThat(registry.get("upstream.stale.lookups").tags("service", "availability", "outcome", "EXPIRED").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldIgnoreDegradedAndStaleValues() {
+        InMemoryLastKnownGoodStore store = store(100);
+        store.recordAvailability("ABC123", "de-DE", AvailabilityInfo.unknown());
+        store.recordAvailability("XYZ999", "de-DE", AvailabilityInfo.known(5, "DE-02", "1-2 days").stale(1_000));
+
+        assertThat(store.staleAvailability("ABC123", "de-DE")).isEmpty();
+        assertThat(store.staleAvailability("XYZ999", "de-DE")).isEmpty();
+    }
+
+    @Test
+    void shouldStayBounded() {
+        InMemoryLastKnownGoodStore store = store(50);
+        for (int i = 0; i < 1_000; i++) {
+            clock.advance(Duration.ofMillis(1));
+            store.recordAvailability("SKU-" + i, "de-DE", AvailabilityInfo.known(i, "DE-02", "1-2 days"));
+        }
+
+        assertThat(registry.get("upstream.stale.entries").tag("service", "availability").gauge().value())
+                .isLessThanOrEqualTo(50);
+        assertThat(store.staleAvailability("SKU-999", "de-DE")).isPresent();
+    }
+
+    @Test
+    void shouldSweepEntriesPastMaxAge_withoutLookups() {
+        InMemoryLastKnownGoodStore store = store(100);
+        store.recordPricing("ABC123", "de-DE", "PREMIUM",
+                PricingInfo.available(new BigDecimal("10.00"), BigDecimal.ZERO, new BigDecimal("10.00"), "EUR"));
+        store.recordAvailability("ABC123", "de-DE", AvailabilityInfo.known(5, "DE-02", "1-2 days"));
+
+        clock.advance(Duration.ofMinutes(3));
+        store.sweep();
+
+        assertThat(registry.get("upstream.stale.entries").tag("service", "availability").gauge().value()).isZero();
+        assertThat(registry.get("upstream.stale.entries").tag("service", "pricing").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("upstream.stale.lookups").tags("service", "availability", "outcome", "EXPIRED").counter().count()).isZero();
+    }
+
+    private InMemoryLastKnownGoodStore store(int maxEntries) {
+        return new InMemoryLastKnownGoodStore(
+                new LastKnownGoodProperties(true, maxEntries, Duration.ofMinutes(15), Duration.ofMinutes(2), Duration.ofMinutes(1)),
+                clock, registry, null);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.kramp.productinfo.infrastructure.hotkeys;
+
+import com.kramp.productinfo.config.HotKeyProperties;
+import com.kramp.productinfo.config.UpstreamCacheProperties;
+import com.kramp.productinfo.domain.ports.CatalogChangeListener;
+import com.kramp.productinfo.domain.ports.OfferChangeListener;
+import com.kramp.productinfo.infrastructure.cache.CachingAvailabilityClient;
+import com.kramp.productinfo.infrastructure.cache.CachingCatalogClient;
+import com.kramp.productinfo.infrastructure.cache.CachingPricingClient;
+import com.kramp.productinfo.infrastructure.cache.NearCacheFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshAheadSchedulerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final HotKeyProperties properties = new HotKeyProperties(true, 10, 5, 4096, 4,
+            Duration.ofSeconds(60), Duration.ofSeconds(2), 0.25);
+    private final SketchHotKeyTracker tracker = new SketchHotKeyTracker(properties);
+    private final List<String> refreshes = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        scheduler.shutdownNow();
+        executor.close();
+    }
+
+    @Test
+    void shouldRefreshEveryCache_ofHotKeysOnly() {
+        RefreshAheadScheduler refreshAhead = refreshAhead(false);
+        request("ABC123", 10);
+        request("PUMP456", 2); // below min-requests
+
+        refreshAhead.refreshHotKeys();
+        executor.close();
+
+        assertThat(refreshes).containsExactlyInAnyOrder(
+                "catalog ABC123 nl-NL PT1M15S", "pricing ABC123 nl-NL PT7.5S", "availability ABC123 nl-NL PT2.5S");
+        assertThat(registry.counter("upstream.cache.refresh.ahead", "cache", "pricing", "outcome", "DONE").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldCountFailedRefreshes_andKeepGoing() {
+        RefreshAheadScheduler refreshAhead = refreshAhead(true);
+        request("ABC123", 10);
+
+        refreshAhead.refreshHotKeys();
+        executor.close();
+
+        assertThat(registry.counter("upstream.cache.refresh.ahead", "cache", "catalog", "outcome", "FAILED").count())
+                .isEqualTo(1.0);
+        assertThat(refreshes).contains("pricing ABC123 nl-NL PT7.5S", "availability ABC123 nl-NL PT2.5S");
+    }
+
+    private void request(String productId, int times) {
+        for (int i = 0; i < times; i++) {
+            tracker.recordRequest(productId, "nl-NL");
+        }
+    }
+
+    private RefreshAheadScheduler refreshAhead(boolean catalogFails) {
+        UpstreamCacheProperties cacheProperties = new UpstreamCacheProperties(true, 100, Duration.ofMinutes(5),
+                Duration.ofSeconds(30), Duration.ofSeconds(10), Duration.ofMinutes(5), UpstreamCacheProperties.Tier.NEAR, null);
+        NearCacheFactory caches = new NearCacheFactory(100, registry);
+        StaticListableBeanFactory noListeners = new StaticListableBeanFactory();
+
+        CachingCatalogClient catalog = new CachingCatalogClient(null, cacheProperties, caches,
+                noListeners.getBeanProvider(CatalogChangeListener.class)) {
+            @Override
+            public void refreshIfExpiring(String productId, String market, Duration window) {
+                if (catalogFails) {
+                    throw new IllegalStateException("catalog down");
+                }
+                refreshes.add("catalog " + productId + ' ' + market + ' ' + window);
+            }
+        };
+        CachingPricingClient pricing = new CachingPricingClient(null, null, cacheProperties, caches,
+                noListeners.getBeanProvider(OfferChangeListener.class)) {
+            @Override
+            public void refreshIfExpiring(String productId, String market, Duration window) {
+                refreshes.add("pricing " + productId + ' ' + market + ' ' + window);
+            }
+        };
+        CachingAvailabilityClient availability = new CachingAvailabilityClient(null, null, cacheProperties, caches,
+                noListeners.getBeanProvider(OfferChangeListener.class)) {
+            @Override
+            public void refreshIfExpiring(String productId, String market, Duration window) {
+                refreshes.add("availability " + productId + ' ' + market + ' ' + window);
+            }
+        };
+        return new RefreshAheadScheduler(properties, tracker, catalog, pricing, availability, scheduler, executor, registry);
+    }
+}
@@ -0,0 +1,67 @@
+package com.kramp.productinfo.infrastructure.hotkeys;
+
+import com.kramp.productinfo.config.HotKeyProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SketchHotKeyTrackerTest {
+
+    @Test
+    void shouldFindHotKeys_inSkewedTraffic() {
+        SketchHotKeyTracker tracker = tracker(10);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 200_000; i++) {
+            // 5 products take ~half of the traffic, the rest spreads over 50k products
+            if (random.nextBoolean()) {
+                tracker.recordRequest("HOT-" + random.nextInt(5), "de-DE");
+            } else {
+                tracker.recordRequest("SKU-" + random.nextInt(50_000), "de-DE");
+            }
+        }
+
+        List<SketchHotKeyTracker.HotKey> hot = tracker.hotKeys();
+
+        assertThat(hot).hasSizeLessThanOrEqualTo(10);
+        assertThat(hot.subList(0, 5)).extracting(SketchHotKeyTracker.HotKey::productId)
+                .containsExactlyInAnyOrder("HOT-0", "HOT-1", "HOT-2", "HOT-3", "HOT-4");
+        assertThat(hot.get(0).estimatedRequests()).isGreaterThanOrEqualTo(hot.get(hot.size() - 1).estimatedRequests());
+    }
+
+    @Test
+    void shouldKeepMarketsApart() {
+        SketchHotKeyTracker tracker = tracker(10);
+        for (int i = 0; i < 100; i++) {
+            tracker.recordRequest("ABC123", "de-DE");
+        }
+        tracker.recordRequest("ABC123", "nl-NL");
+
+        assertThat(tracker.hotKeys()).extracting(SketchHotKeyTracker.HotKey::market).containsExactly("de-DE");
+    }
+
+    @Test
+    void decayShouldCoolDownKeysThatStopBeingRequested() {
+        SketchHotKeyTracker tracker = tracker(10);
+        for (int i = 0; i < 40; i++) {
+            tracker.recordRequest("ABC123", "de-DE");
+        }
+
+        tracker.decay();
+        assertThat(tracker.hotKeys()).singleElement()
+                .extracting(SketchHotKeyTracker.HotKey::estimatedRequests).isEqualTo(20L);
+
+        tracker.decay(); // 10
+        tracker.decay(); // 5
+        tracker.decay(); // 2, below min-requests
+        assertThat(tracker.hotKeys()).isEmpty();
+    }
+
+    private static SketchHotKeyTracker tracker(int topK) {
+        return new SketchHotKeyTracker(new HotKeyProperties(true, topK, 5, 4096, 4,
+                Duration.ofSeconds(60), Duration.ofSeconds(2), 0.25));
+    }
+}
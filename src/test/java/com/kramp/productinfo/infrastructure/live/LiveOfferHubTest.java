@@ -0,0 +1,233 @@
+package com.kramp.productinfo.infrastructure.live;
+
+import com.kramp.productinfo.config.LiveUpdatesProperties;
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.OfferUpdate;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.ports.AvailabilityClient;
+import com.kramp.productinfo.domain.ports.OfferSubscriptions.Sink;
+import com.kramp.productinfo.domain.ports.OfferSubscriptions.Subscription;
+import com.kramp.productinfo.domain.ports.PricingClient;
+import com.kramp.productinfo.domain.ports.exception.SubscriptionLimitException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class LiveOfferHubTest {
+
+    private final AtomicInteger stock = new AtomicInteger(3);
+    private final AtomicInteger pricingLookups = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LiveOfferHub hub = hub();
+
+    @AfterEach
+    void tearDown() {
+        hub.stop();
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldSendCurrentValuesFirst_thenOnlyChanges() {
+        List<OfferUpdate> received = new CopyOnWriteArrayList<>();
+        hub.subscribe("nl-NL", Set.of("ABC123"), "PREMIUM", received::add);
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.size() == 2);
+        assertThat(received).containsExactlyInAnyOrder(
+                new OfferUpdate.Availability("ABC123", AvailabilityInfo.known(3, "NL-01", "1d")),
+                new OfferUpdate.Pricing("ABC123", "PREMIUM", price("20.00")));
+
+        hub.availabilityChanged("ABC123", "nl-NL", AvailabilityInfo.known(3, "NL-01", "1d"));
+        hub.availabilityChanged("ABC123", "nl-NL", AvailabilityInfo.known(2, "NL-01", "1d"));
+        hub.availabilityChanged("ABC123", "nl-NL", AvailabilityInfo.known(3, "NL-01", "1d").stale(1_000));
+        hub.availabilityChanged("OTHER", "nl-NL", AvailabilityInfo.known(9, "NL-01", "1d"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.size() == 3);
+        assertThat(received.get(2)).isEqualTo(new OfferUpdate.Availability("ABC123", AvailabilityInfo.known(2, "NL-01", "1d")));
+    }
+
+    @Test
+    void shouldFanOutOnce_toEverySubscriber_andPricingOnlyToItsSegment() {
+        List<OfferUpdate> premium = new CopyOnWriteArrayList<>();
+        List<OfferUpdate> otherPremium = new CopyOnWriteArrayList<>();
+        List<OfferUpdate> standard = new CopyOnWriteArrayList<>();
+        hub.subscribe("nl-NL", Set.of("ABC123"), "PREMIUM", premium::add);
+        hub.subscribe("nl-NL", Set.of("ABC123"), "PREMIUM", otherPremium::add);
+        hub.subscribe("nl-NL", Set.of("ABC123"), "STANDARD", standard::add);
+        await().atMost(Duration.ofSeconds(5)).until(() -> premium.size() == 2 && otherPremium.size() == 2 && standard.size() == 2);
+
+        hub.pricingChanged("ABC123", "nl-NL", "PREMIUM", price("19.00"));
+        stock.set(0);
+
+        OfferUpdate outOfStock = new OfferUpdate.Availability("ABC123", AvailabilityInfo.known(0, "NL-01", "1d"));
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            hub.refreshAll(); // skipped while the subscription's own refresh still runs
+            assertThat(premium).contains(new OfferUpdate.Pricing("ABC123", "PREMIUM", price("19.00")), outOfStock);
+            assertThat(otherPremium).contains(new OfferUpdate.Pricing("ABC123", "PREMIUM", price("19.00")), outOfStock);
+            assertThat(standard).contains(outOfStock).hasSize(3);
+        });
+        assertThat(registry.get("live.connections").gauge().value()).isEqualTo(3);
+        assertThat(registry.get("live.products").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepOnlyTheLatestValue_forASlowSubscriber() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<OfferUpdate> received = new CopyOnWriteArrayList<>();
+        hub.subscribe("nl-NL", Set.of("ABC123"), "PREMIUM", update -> {
+            awaitQuietly(release);
+            received.add(update);
+        });
+        await().atMost(Duration.ofSeconds(5)).until(() -> pricingLookups.get() == 1);
+
+        for (int level = 10; level <= 100; level++) {
+            hub.availabilityChanged("ABC123", "nl-NL", AvailabilityInfo.known(level, "NL-01", "1d"));
+        }
+        release.countDown();
+
+        OfferUpdate latest = new OfferUpdate.Availability("ABC123", AvailabilityInfo.known(100, "NL-01", "1d"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> received.contains(latest));
+        Thread.sleep(100);
+        assertThat(received).hasSizeLessThanOrEqualTo(3).endsWith(latest);
+        assertThat(registry.get("live.events.coalesced").counter().count()).isGreaterThanOrEqualTo(90);
+    }
+
+    @Test
+    void shouldDropTheSubscription_whenSendingFails_orOnCancel() {
+        hub.subscribe("nl-NL", Set.of("ABC123"), "PREMIUM", update -> {
+            throw new IOException("Broken pipe");
+        });
+        Subscription cancelled = hub.subscribe("nl-NL", Set.of("PUMP456"), "PREMIUM", update -> {});
+        cancelled.cancel();
+        cancelled.cancel();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(registry.get("live.connections").gauge().value()).isZero();
+            assertThat(registry.get("live.products").gauge().value()).isZero();
+        });
+    }
+
+    @Test
+    void shouldSendHeartbeats_andDropSubscribersThatAreGone() {
+        AtomicInteger sent = new AtomicInteger();
+        AtomicInteger heartbeats = new AtomicInteger();
+        hub.subscribe("nl-NL", Set.of("ABC123"), "PREMIUM", new Sink() {
+            @Override
+            public void send(OfferUpdate update) {
+                sent.incrementAndGet();
+            }
+
+            @Override
+            public void heartbeat() {
+                heartbeats.incrementAndGet();
+            }
+        });
+        hub.subscribe("nl-NL", Set.of("PUMP456"), "PREMIUM", new Sink() {
+            @Override
+            public void send(OfferUpdate update) {
+                sent.incrementAndGet();
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        });
+        await().atMost(Duration.ofSeconds(5)).until(() -> sent.get() == 4);
+
+        hub.heartbeatAll();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(heartbeats).hasValue(1);
+            assertThat(registry.get("live.connections").gauge().value()).isEqualTo(1);
+            assertThat(registry.get("live.products").gauge().value()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void shouldRefuseSubscriptions_beyondTheConnectionAndProductCaps() {
+        hub.subscribe("nl-NL", Set.of("A", "B", "C"), "PREMIUM", update -> {});
+
+        assertThatThrownBy(() -> hub.subscribe("nl-NL", Set.of("D", "E"), "PREMIUM", update -> {}))
+                .isInstanceOf(SubscriptionLimitException.class);
+        hub.subscribe("nl-NL", Set.of("A", "D"), "PREMIUM", update -> {}); // one product added: 4 of 4
+        hub.subscribe("nl-NL", Set.of("B"), "STANDARD", update -> {}); // shares a topic
+        assertThatThrownBy(() -> hub.subscribe("nl-NL", Set.of("A"), "PREMIUM", update -> {}))
+                .isInstanceOf(SubscriptionLimitException.class);
+
+        assertThat(registry.get("live.connections").gauge().value()).isEqualTo(3);
+        assertThat(registry.get("live.products").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldCloseEveryStream_onStop_andRefuseNewOnes() {
+        AtomicInteger closed = new AtomicInteger();
+        for (String productId : List.of("ABC123", "PUMP456")) {
+            hub.subscribe("nl-NL", Set.of(productId), "PREMIUM", new Sink() {
+                @Override
+                public void send(OfferUpdate update) {
+                }
+
+                @Override
+                public void close() {
+                    closed.incrementAndGet();
+                }
+            });
+        }
+
+        hub.stop();
+
+        assertThat(closed).hasValue(2);
+        assertThat(hub.isRunning()).isFalse();
+        assertThat(registry.get("live.connections").gauge().value()).isZero();
+        assertThatThrownBy(() -> hub.subscribe("nl-NL", Set.of("ABC123"), "PREMIUM", update -> {}))
+                .isInstanceOf(SubscriptionLimitException.class);
+    }
+
+    private LiveOfferHub hub() {
+        AvailabilityClient availability = (productId, market) -> AvailabilityInfo.known(stock.get(), "NL-01", "1d");
+        PricingClient pricing = (productId, market, customer) -> {
+            pricingLookups.incrementAndGet();
+            return "PREMIUM".equals(customer.segment()) ? price("20.00") : price("23.50");
+        };
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("availability", availability, "pricing", pricing));
+        LiveOfferHub hub = new LiveOfferHub(beans.getBeanProvider(PricingClient.class), beans.getBeanProvider(AvailabilityClient.class),
+                new LiveUpdatesProperties(Duration.ofHours(1), Duration.ofMinutes(30), Duration.ofHours(1), 3, 4),
+                scheduler, executor, registry);
+        hub.start();
+        return hub;
+    }
+
+    private static PricingInfo price(String finalPrice) {
+        return PricingInfo.available(new BigDecimal("23.50"), BigDecimal.ZERO, new BigDecimal(finalPrice), "EUR");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
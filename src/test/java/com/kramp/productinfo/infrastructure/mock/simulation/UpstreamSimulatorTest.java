@@ -0,0 +1,101 @@
+package com.kramp.productinfo.infrastructure.mock.simulation;
+
+import com.kramp.productinfo.config.MockUpstreamProperties;
+import com.kramp.productinfo.config.MockUpstreamProperties.Distribution;
+import com.kramp.productinfo.config.MockUpstreamProperties.FailureWindow;
+import com.kramp.productinfo.config.MockUpstreamProperties.Latency;
+import com.kramp.productinfo.config.MockUpstreamProperties.Profile;
+import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.DoubleStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamSimulatorTest {
+
+    @Test
+    void sameSeedShouldReplaySameSamples() {
+        Latency latency = new Latency(Distribution.LOG_NORMAL, Duration.ofMillis(60), null, 0.6, null, null);
+
+        double[] first = samples(latency, 42, 1_000);
+        double[] second = samples(latency, 42, 1_000);
+        double[] otherSeed = samples(latency, 7, 1_000);
+
+        assertThat(first).containsExactly(second);
+        assertThat(first).isNotEqualTo(otherSeed);
+    }
+
+    @Test
+    void paretoShouldStayAboveScaleAndRespectCap() {
+        Latency latency = new Latency(Distribution.PARETO, Duration.ofMillis(40), null, null, 1.5, Duration.ofSeconds(2));
+
+        double[] samples = samples(latency, 1, 10_000);
+
+        assertThat(DoubleStream.of(samples).min().orElseThrow()).isGreaterThanOrEqualTo(40.0);
+        assertThat(DoubleStream.of(samples).max().orElseThrow()).isLessThanOrEqualTo(2_000.0);
+    }
+
+    @Test
+    void marketOverrideShouldOnlyReplaceFieldsItSets() {
+        Latency base = new Latency(Distribution.CONSTANT, Duration.ofMillis(80), null, null, null, null);
+        Profile nl = new Profile(null, 0.5, null, null, Map.of());
+        UpstreamSimulator simulator = simulator(new Profile(base, 0.99, null, null, Map.of("nl-NL", nl)));
+
+        Profile effective = simulator.effectiveProfile("pricing", "nl-NL");
+
+        assertThat(effective.latency()).isEqualTo(base);
+        assertThat(effective.reliability()).isEqualTo(0.5);
+        assertThat(simulator.effectiveProfile("pricing", "de-DE").reliability()).isEqualTo(0.99);
+    }
+
+    @Test
+    void openFailureWindowShouldFailSubsequentCalls() {
+        FailureWindow window = new FailureWindow(1.0, Duration.ofMinutes(1), 0.0);
+        UpstreamSimulator simulator = simulator(new Profile(null, 1.0, null, window, Map.of()));
+
+        simulator.simulate("pricing", "de-DE"); // opens the window
+
+        assertThatThrownBy(() -> simulator.simulate("pricing", "de-DE"))
+                .isInstanceOf(UpstreamFailureException.class)
+                .extracting("reason").isEqualTo("SIMULATED_FAILURE_WINDOW");
+    }
+
+    @Test
+    void resetShouldRestoreConfiguredProfile() {
+        UpstreamSimulator simulator = simulator(new Profile(null, 0.99, null, null, Map.of()));
+
+        simulator.update("pricing", null, new Profile(null, 0.1, null, null, Map.of()));
+        assertThat(simulator.effectiveProfile("pricing", null).reliability()).isEqualTo(0.1);
+
+        simulator.reset("pricing");
+        assertThat(simulator.effectiveProfile("pricing", null).reliability()).isEqualTo(0.99);
+    }
+
+    @Test
+    void shouldCapStreams_forUnknownMarkets() {
+        UpstreamSimulator simulator = simulator(new Profile(null, 1.0, null, null, Map.of()));
+
+        for (int i = 0; i < UpstreamSimulator.MAX_STREAMS * 4; i++) {
+            simulator.simulate("pricing", "market-" + i);
+        }
+
+        assertThat(simulator.streamCount()).isEqualTo(UpstreamSimulator.MAX_STREAMS);
+    }
+
+    private static UpstreamSimulator simulator(Profile pricing) {
+        return new UpstreamSimulator(new MockUpstreamProperties(42L, Map.of("pricing", pricing)));
+    }
+
+    private static double[] samples(Latency latency, long seed, int count) {
+        UpstreamSimulator.Stream stream = new UpstreamSimulator.Stream(seed);
+        double[] samples = new double[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = UpstreamSimulator.sampleMillis(latency, stream);
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,98 @@
+package com.kramp.productinfo.infrastructure.ratelimit;
+
+import com.kramp.productinfo.infrastructure.ratelimit.StripedTokenBuckets.Decision;
+import com.kramp.productinfo.infrastructure.ratelimit.StripedTokenBuckets.Limit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedTokenBucketsTest {
+
+    private static final Limit TEN_PER_SECOND = new Limit("STANDARD", 10, 3);
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+    private final StripedTokenBuckets buckets = new StripedTokenBuckets(8, Duration.ofMinutes(1), nanos::get);
+
+    @Test
+    void shouldAdmitBurstThenRejectUntilRefilled() {
+        assertThat(acquire("a").remaining()).isEqualTo(2);
+        assertThat(acquire("a").remaining()).isEqualTo(1);
+        assertThat(acquire("a").remaining()).isZero();
+
+        Decision rejected = acquire("a");
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryNanos()).isEqualTo(Duration.ofMillis(100).toNanos());
+        assertThat(rejected.resetNanos()).isEqualTo(Duration.ofMillis(300).toNanos());
+        assertThat(acquire("b").allowed()).isTrue();
+
+        nanos.addAndGet(Duration.ofMillis(100).toNanos());
+        assertThat(acquire("a").allowed()).isTrue();
+        assertThat(acquire("a").allowed()).isFalse();
+    }
+
+    @Test
+    void shouldNotCreateBucket_whenNoLimitIsResolved() {
+        assertThat(buckets.tryAcquire("unknown", () -> null)).isNull();
+        assertThat(buckets.size()).isZero();
+    }
+
+    @Test
+    void shouldKeepLimitOfExistingBucket() {
+        acquire("a");
+        Decision decision = buckets.tryAcquire("a", () -> new Limit("PREMIUM", 1000, 1000));
+        assertThat(decision.tier()).isEqualTo("STANDARD");
+    }
+
+    @Test
+    void shouldEvictOnlyIdleBuckets_oneStripePerSweep() {
+        for (int i = 0; i < 100; i++) {
+            acquire("key-" + i);
+        }
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        acquire("key-0");
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        buckets.evictIdleStripe();
+        assertThat(buckets.size()).isBetween(1, 99);
+        for (int i = 1; i < buckets.stripeCount(); i++) {
+            buckets.evictIdleStripe();
+        }
+        assertThat(buckets.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAdmitExactlyTheBurst_underContention() throws Exception {
+        Limit burstOnly = new Limit("BASIC", 0.001, 500);
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                tasks.add(() -> {
+                    int admitted = 0;
+                    for (int i = 0; i < 1_000; i++) {
+                        if (buckets.tryAcquire("shared", () -> burstOnly).allowed()) {
+                            admitted++;
+                        }
+                    }
+                    return admitted;
+                });
+            }
+            int admitted = 0;
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                admitted += result.get();
+            }
+            assertThat(admitted).isEqualTo(500);
+        }
+    }
+
+    private Decision acquire(String key) {
+        return buckets.tryAcquire(key, () -> TEN_PER_SECOND);
+    }
+}
@@ -0,0 +1,77 @@
+package com.kramp.productinfo.infrastructure.resilience;
+
+import com.kramp.productinfo.config.AdaptiveTimeoutProperties;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveTimeoutsTest {
+
+    private final TimeLimiterRegistry registry = TimeLimiterRegistry.of(
+            TimeLimiterConfig.custom().timeoutDuration(Duration.ofMillis(400)).cancelRunningFuture(true).build());
+
+    @Test
+    void shouldFollowP99TimesFactor_onceEnoughSamples() {
+        AdaptiveTimeouts timeouts = adaptiveTimeouts(Map.of());
+        for (int i = 0; i < 990; i++) {
+            timeouts.recordSuccess("customer", Duration.ofMillis(60).toNanos());
+        }
+        for (int i = 0; i < 10; i++) {
+            timeouts.recordSuccess("customer", Duration.ofMillis(90).toNanos());
+        }
+
+        timeouts.refresh();
+
+        // p99 = 60ms, rounded up to its bucket bound (<= 12.5%), times 2
+        assertThat(timeouts.effectiveTimeout("customer"))
+                .isBetween(Duration.ofMillis(120), Duration.ofMillis(135));
+        assertThat(registry.timeLimiter("customer").getTimeLimiterConfig().shouldCancelRunningFuture()).isTrue();
+    }
+
+    @Test
+    void shouldClampToBounds() {
+        AdaptiveTimeouts timeouts = adaptiveTimeouts(Map.of("pricing", new AdaptiveTimeoutProperties.Bounds(null, Duration.ofMillis(300))));
+        for (int i = 0; i < 100; i++) {
+            timeouts.recordSuccess("customer", Duration.ofMillis(1).toNanos());
+            timeouts.recordSuccess("pricing", Duration.ofMillis(900).toNanos());
+        }
+
+        timeouts.refresh();
+
+        assertThat(timeouts.effectiveTimeout("customer")).isEqualTo(Duration.ofMillis(50));
+        assertThat(timeouts.effectiveTimeout("pricing")).isEqualTo(Duration.ofMillis(300));
+    }
+
+    @Test
+    void shouldKeepConfiguredTimeout_belowMinSamples() {
+        AdaptiveTimeouts timeouts = adaptiveTimeouts(Map.of());
+        for (int i = 0; i < 99; i++) {
+            timeouts.recordSuccess("availability", Duration.ofMillis(10).toNanos());
+        }
+
+        timeouts.refresh();
+
+        assertThat(timeouts.effectiveTimeout("availability")).isEqualTo(Duration.ofMillis(400));
+    }
+
+    @Test
+    void histogramBucketsShouldBoundValuesTightly() {
+        for (long micros = 1; micros < 10_000_000; micros = micros * 3 + 1) {
+            long upper = RollingLatencyHistogram.upperBoundMicros(RollingLatencyHistogram.bucket(micros));
+            assertThat(upper).isGreaterThanOrEqualTo(micros);
+            assertThat(upper).isLessThanOrEqualTo(micros + micros / 8);
+        }
+    }
+
+    private AdaptiveTimeouts adaptiveTimeouts(Map<String, AdaptiveTimeoutProperties.Bounds> bounds) {
+        AdaptiveTimeoutProperties properties = new AdaptiveTimeoutProperties(
+                true, 0.99, 2.0, Duration.ofSeconds(60), Duration.ofSeconds(5), 100,
+                Duration.ofMillis(50), Duration.ofSeconds(2), bounds);
+        return new AdaptiveTimeouts(properties, registry, null);
+    }
+}
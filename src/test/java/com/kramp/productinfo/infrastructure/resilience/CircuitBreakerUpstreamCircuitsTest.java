@@ -0,0 +1,28 @@
+package com.kramp.productinfo.infrastructure.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerUpstreamCircuitsTest {
+
+    private final CircuitBreakerRegistry breakers = CircuitBreakerRegistry.ofDefaults();
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final CircuitBreakerUpstreamCircuits circuits = new CircuitBreakerUpstreamCircuits(breakers, meters);
+
+    @Test
+    void shouldCountSkippedCalls_butNotStateQuestions() {
+        breakers.circuitBreaker("customer").transitionToForcedOpenState();
+
+        assertThat(circuits.isOpen("customer")).isTrue();
+        assertThat(circuits.isOpen("customer")).isTrue();
+        assertThat(circuits.skip("customer")).isTrue();
+        assertThat(circuits.skip("customer")).isTrue();
+        assertThat(circuits.skip("pricing")).isFalse();
+
+        assertThat(meters.get("upstream.short.circuited").tag("service", "customer").counter().count()).isEqualTo(2.0);
+        assertThat(meters.find("upstream.short.circuited").tag("service", "pricing").counter()).isNull();
+    }
+}
@@ -0,0 +1,119 @@
+package com.kramp.productinfo.infrastructure.resilience;
+
+import com.kramp.productinfo.config.AdaptiveTimeoutProperties;
+import com.kramp.productinfo.domain.ports.UpstreamResult;
+import com.kramp.productinfo.domain.ports.exception.UpstreamFailureException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamResilienceTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TimeLimiterRegistry timeLimiterRegistry = TimeLimiterRegistry.of(
+            TimeLimiterConfig.custom().timeoutDuration(Duration.ofSeconds(30)).cancelRunningFuture(true).build());
+    private final UpstreamResilience resilience = new UpstreamResilience(
+            RetryRegistry.ofDefaults(),
+            CircuitBreakerRegistry.ofDefaults(),
+            timeLimiterRegistry,
+            new AdaptiveTimeouts(new AdaptiveTimeoutProperties(false, 0.99, 2.0, Duration.ofSeconds(60),
+                    Duration.ofSeconds(5), 100, Duration.ofMillis(50), Duration.ofSeconds(2), Map.of()),
+                    timeLimiterRegistry, scheduler),
+            executor,
+            scheduler,
+            meterRegistry);
+
+    @AfterEach
+    void shutdown() {
+        executor.close();
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void cancellingTheCall_shouldInterruptTheAttemptInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        CompletableFuture<String> call = resilience.execute("pricing", "de-DE", () -> blockUntilInterrupted(started, interrupted));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        call.cancel(true);
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.counter("upstream.calls.cancelled", "service", "pricing").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void interruptedAwait_shouldCancelTheCall_withReasonCancelled() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread caller = Thread.ofVirtual().start(() -> {
+            try {
+                resilience.await("availability",
+                        resilience.execute("availability", "de-DE", () -> blockUntilInterrupted(started, interrupted)));
+            } catch (CompletionException ex) {
+                failure.set(ex.getCause());
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        caller.interrupt();
+        caller.join(Duration.ofSeconds(5));
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(failure.get()).isInstanceOfSatisfying(UpstreamFailureException.class,
+                ufe -> assertThat(ufe.reason()).isEqualTo("CANCELLED"));
+        assertThat(new DefinitiveUpstreamAnswer().test(failure.get())).isTrue();
+    }
+
+    @Test
+    void call_shouldReturnDefinitiveFailuresAsIs_andRetryMalfunctions() {
+        AtomicInteger notFoundAttempts = new AtomicInteger();
+        AtomicInteger brokenAttempts = new AtomicInteger();
+
+        UpstreamResult<String> notFound = resilience.call("catalog", "de-DE", () -> {
+            notFoundAttempts.incrementAndGet();
+            return UpstreamResult.failure("catalog", "PRODUCT_NOT_FOUND", "productId=NOPE");
+        });
+        UpstreamResult<String> broken = resilience.call("customer", "de-DE", () -> {
+            brokenAttempts.incrementAndGet();
+            return UpstreamResult.failure("customer", "SIMULATED_FAILURE", null);
+        });
+
+        assertThat(notFound).isEqualTo(UpstreamResult.failure("catalog", "PRODUCT_NOT_FOUND", "productId=NOPE"));
+        assertThat(notFoundAttempts).hasValue(1);
+        assertThat(broken).isEqualTo(UpstreamResult.failure("customer", "SIMULATED_FAILURE", null));
+        assertThat(brokenAttempts).hasValue(RetryRegistry.ofDefaults().getDefaultConfig().getMaxAttempts());
+    }
+
+    private static String blockUntilInterrupted(CountDownLatch started, CountDownLatch interrupted) {
+        started.countDown();
+        try {
+            Thread.sleep(Duration.ofMinutes(1));
+            return "too late";
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            throw new UpstreamFailureException("internal", "INTERRUPTED", "interrupted", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.kramp.productinfo.infrastructure.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedBitmapTest {
+
+    @Test
+    void shouldMatchBitSet_acrossArrayAndBitmapContainers() {
+        SplittableRandom random = new SplittableRandom(7);
+        // sparse chunks stay arrays, dense ones become bitmaps, some chunks only exist on one side
+        for (double density : new double[]{0.001, 0.05, 0.5}) {
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            CompressedBitmap a = new CompressedBitmap();
+            CompressedBitmap b = new CompressedBitmap();
+            for (int id = 0; id < 300_000; id++) {
+                if (random.nextDouble() < density) {
+                    a.add(id);
+                    expectedA.set(id);
+                }
+                if (id > 100_000 && random.nextDouble() < density) {
+                    b.add(id);
+                    expectedB.set(id);
+                }
+            }
+
+            BitSet and = (BitSet) expectedA.clone();
+            and.and(expectedB);
+            BitSet or = (BitSet) expectedA.clone();
+            or.or(expectedB);
+
+            assertThat(a.cardinality()).isEqualTo(expectedA.cardinality());
+            assertThat(a.andCardinality(b)).isEqualTo(and.cardinality());
+            assertThat(a.and(b).cardinality()).isEqualTo(and.cardinality());
+            assertThat(a.or(b).cardinality()).isEqualTo(or.cardinality());
+            for (int id = 0; id < 300_000; id += 997) {
+                assertThat(a.and(b).contains(id)).isEqualTo(and.get(id));
+                assertThat(a.or(b).contains(id)).isEqualTo(or.get(id));
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepCountingAcrossContainerConversions_andDropEmptyChunks() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int id = 0; id < CompressedBitmap.ARRAY_MAX + 10; id++) {
+            bitmap.add(id);
+        }
+        for (int id = 0; id < 20; id++) {
+            bitmap.remove(id);
+        }
+
+        assertThat(bitmap.cardinality()).isEqualTo(CompressedBitmap.ARRAY_MAX - 10);
+        assertThat(bitmap.contains(19)).isFalse();
+        assertThat(bitmap.contains(20)).isTrue();
+
+        bitmap.add(70_000);
+        bitmap.remove(70_000);
+        assertThat(bitmap.contains(70_000)).isFalse();
+        assertThat(bitmap.cardinality()).isEqualTo(CompressedBitmap.ARRAY_MAX - 10);
+    }
+
+    @Test
+    void operationsShouldNotModifyTheirInputs() {
+        CompressedBitmap a = new CompressedBitmap();
+        CompressedBitmap b = new CompressedBitmap();
+        a.add(1);
+        b.add(2);
+
+        CompressedBitmap union = a.or(b);
+        union.add(3);
+
+        assertThat(a.cardinality()).isEqualTo(1);
+        assertThat(b.cardinality()).isEqualTo(1);
+        assertThat(union.cardinality()).isEqualTo(3);
+    }
+}
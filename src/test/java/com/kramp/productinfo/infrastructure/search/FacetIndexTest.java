@@ -0,0 +1,100 @@
+package com.kramp.productinfo.infrastructure.search;
+
+import com.kramp.productinfo.domain.model.FacetCounts;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetIndexTest {
+
+    private final FacetIndex index = new FacetIndex();
+
+    @BeforeEach
+    void catalog() {
+        index.rebuild("de-DE", List.of(
+                product("A", Map.of("brand", "Kramp", "material", "steel")),
+                product("B", Map.of("brand", "Kramp", "material", "brass")),
+                product("C", Map.of("brand", "Gates", "material", "steel")),
+                product("D", Map.of("brand", "Gates", "material", "rubber")),
+                product("E", Map.of("brand", "Bosch"))));
+    }
+
+    @Test
+    void shouldCountEveryKey_withoutFilters() {
+        FacetCounts counts = count(Map.of(), Set.of());
+
+        assertThat(counts.total()).isEqualTo(5);
+        assertThat(counts.facets().keySet()).containsExactly("brand", "material");
+        assertThat(counts.facets().get("brand")).containsExactly(
+                Map.entry("Gates", 2), Map.entry("Kramp", 2), Map.entry("Bosch", 1));
+        assertThat(counts.facets().get("material")).containsExactly(
+                Map.entry("steel", 2), Map.entry("brass", 1), Map.entry("rubber", 1));
+    }
+
+    @Test
+    void shouldOrValuesOfOneKey_andAndAcrossKeys_countingFilteredKeyWithoutItsOwnFilter() {
+        FacetCounts counts = count(Map.of("material", Set.of("steel", "brass"), "brand", Set.of("Kramp")), Set.of());
+
+        assertThat(counts.total()).isEqualTo(2);
+        // brand is counted over steel-or-brass products, material over Kramp products
+        assertThat(counts.facets().get("brand")).containsExactly(Map.entry("Kramp", 2), Map.entry("Gates", 1));
+        assertThat(counts.facets().get("material")).containsExactly(Map.entry("brass", 1), Map.entry("steel", 1));
+    }
+
+    @Test
+    void shouldMatchNothing_forUnknownFilterValue() {
+        FacetCounts counts = count(Map.of("material", Set.of("titanium")), Set.of("brand"));
+
+        assertThat(counts.total()).isZero();
+        assertThat(counts.facets().get("brand")).isEmpty();
+    }
+
+    @Test
+    void shouldMatchFilters_ignoringCaseAndSurroundingWhitespace_likeSearch() {
+        index.productChanged(product("F", Map.of("Brand", "KRAMP ", "material", "Steel")));
+
+        FacetCounts counts = count(Map.of(" MATERIAL", Set.of("steel "), "brand", Set.of("kramp")), Set.of("brand", "Brand"));
+
+        assertThat(counts.total()).isEqualTo(2); // A and F
+        // counts keep the stored spelling; a filtered key is still counted without its own filter
+        assertThat(counts.facets().get("brand")).containsExactly(Map.entry("Gates", 1), Map.entry("Kramp", 1));
+        assertThat(counts.facets().get("Brand")).containsExactly(Map.entry("KRAMP ", 1));
+    }
+
+    @Test
+    void shouldFollowChanges_andReuseIdsOfRemovedProducts() {
+        index.productChanged(product("A", Map.of("brand", "Gates", "material", "steel")));
+        index.productRemoved("D", "de-DE");
+        index.productChanged(product("F", Map.of("brand", "Kramp", "material", "rubber")));
+
+        FacetCounts counts = count(Map.of(), Set.of("brand", "material"));
+        assertThat(counts.total()).isEqualTo(5);
+        assertThat(counts.facets().get("brand")).containsExactly(
+                Map.entry("Gates", 2), Map.entry("Kramp", 2), Map.entry("Bosch", 1));
+        assertThat(counts.facets().get("material")).containsExactly(
+                Map.entry("steel", 2), Map.entry("brass", 1), Map.entry("rubber", 1));
+        assertThat(count(Map.of("material", Set.of("rubber")), Set.of("brand")).facets().get("brand"))
+                .containsExactly(Map.entry("Kramp", 1));
+    }
+
+    @Test
+    void shouldReportOnlyMostFrequentValues() {
+        FacetCounts counts = index.count("de-DE", Map.of(), Set.of("brand"), 1);
+
+        assertThat(counts.facets().get("brand")).containsExactly(Map.entry("Gates", 2));
+    }
+
+    private FacetCounts count(Map<String, Set<String>> filters, Set<String> keys) {
+        return index.count("de-DE", filters, keys, 10);
+    }
+
+    private static ProductDetails product(String id, Map<String, String> specs) {
+        return new ProductDetails(id, "de-DE", id, "", specs, List.of());
+    }
+}
@@ -0,0 +1,105 @@
+package com.kramp.productinfo.infrastructure.search;
+
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.model.ProductSearchHits;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedProductIndexTest {
+
+    private final InvertedProductIndex index = new InvertedProductIndex();
+
+    @Test
+    void shouldRequireEveryWord_andRankNameMatchesFirst() {
+        index.rebuild("de-DE", List.of(
+                product("A", "Hydraulic hose", "Hose for oil and water", Map.of()),
+                product("B", "Oil filter", "Spin-on filter", Map.of()),
+                product("C", "Filter wrench", "For oil filters", Map.of())));
+
+        assertThat(search("oil filter").productIds()).containsExactly("B", "C");
+        assertThat(search("OIL").productIds()).containsExactly("B", "A", "C");
+        assertThat(search("oil nothing").total()).isZero();
+    }
+
+    @Test
+    void shouldFoldCaseAndAccents() {
+        index.rebuild("de-DE", List.of(product("X", "Ölfilter Universal", "", Map.of())));
+
+        assertThat(search("olfilter").productIds()).containsExactly("X");
+        assertThat(search("ÖLFILTER, universal!").productIds()).containsExactly("X");
+    }
+
+    @Test
+    void shouldApplySpecFilters_exactlyButCaseInsensitively() {
+        index.rebuild("de-DE", List.of(
+                product("A", "Hose", "", Map.of("material", "Steel")),
+                product("B", "Hose", "", Map.of("material", "Steel braided")),
+                product("C", "Clamp", "", Map.of("material", "steel"))));
+
+        assertThat(index.search("de-DE", "", Map.of("Material", "steel"), 10).productIds())
+                .containsExactly("A", "C");
+        assertThat(index.search("de-DE", "hose", Map.of("material", "steel"), 10).productIds())
+                .containsExactly("A");
+        assertThat(index.search("de-DE", "", Map.of("material", "copper"), 10).total()).isZero();
+    }
+
+    @Test
+    void shouldCountAllMatches_butReturnOnlyLimit() {
+        index.rebuild("de-DE", List.of(
+                product("A", "Filter", "", Map.of()),
+                product("B", "Filter", "", Map.of()),
+                product("C", "Filter", "", Map.of())));
+
+        ProductSearchHits hits = index.search("de-DE", "filter", Map.of(), 2);
+
+        assertThat(hits.total()).isEqualTo(3);
+        assertThat(hits.productIds()).containsExactly("A", "B");
+    }
+
+    @Test
+    void shouldFollowCatalogChanges_incrementally() {
+        index.rebuild("de-DE", List.of(product("A", "Oil filter", "", Map.of())));
+
+        index.productChanged(product("A", "Air filter", "", Map.of()));
+        index.productChanged(product("B", "Oil pump", "", Map.of()));
+
+        assertThat(search("oil").productIds()).containsExactly("B");
+        assertThat(search("filter").productIds()).containsExactly("A");
+
+        index.productRemoved("A", "de-DE");
+        assertThat(search("filter").total()).isZero();
+        assertThat(index.size("de-DE")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCompact_onceTombstonesOutnumberLiveProducts() {
+        index.rebuild("de-DE", List.of(product("A", "Filter", "", Map.of())));
+        for (int i = 0; i < 200; i++) {
+            index.productChanged(product("A", "Filter rev " + i, "", Map.of()));
+        }
+
+        assertThat(search("filter").productIds()).containsExactly("A");
+        assertThat(search("199").productIds()).containsExactly("A");
+        assertThat(search("198").total()).isZero();
+    }
+
+    @Test
+    void shouldMatchEveryProduct_withoutWordsOrFilters() {
+        index.rebuild("de-DE", List.of(product("B", "b", "", Map.of()), product("A", "a", "", Map.of())));
+
+        assertThat(search("  ").productIds()).containsExactly("B", "A");
+        assertThat(index.search("nl-NL", "a", Map.of(), 10).total()).isZero();
+    }
+
+    private ProductSearchHits search(String text) {
+        return index.search("de-DE", text, Map.of(), 10);
+    }
+
+    private static ProductDetails product(String id, String name, String description, Map<String, String> specs) {
+        return new ProductDetails(id, "de-DE", name, description, specs, List.of());
+    }
+}
@@ -0,0 +1,173 @@
+package com.kramp.productinfo.infrastructure.search;
+
+import com.kramp.productinfo.domain.model.AvailabilityInfo;
+import com.kramp.productinfo.domain.model.PriceRangePage;
+import com.kramp.productinfo.domain.model.PriceRangePage.PricedProduct;
+import com.kramp.productinfo.domain.model.PriceRangeQuery;
+import com.kramp.productinfo.domain.model.PricingInfo;
+import com.kramp.productinfo.domain.model.ProductDetails;
+import com.kramp.productinfo.domain.ports.OfferListing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceIndexTest {
+
+    private final Map<String, BigDecimal> basePrices = new LinkedHashMap<>();
+    private final Map<String, Integer> stock = new LinkedHashMap<>();
+    private final List<Runnable> updates = new ArrayList<>();
+    private Runnable whileListing = () -> { };
+    private final OfferListing listing = new OfferListing() {
+        @Override
+        public Map<String, PricingInfo> listPricing(String market, String segment) {
+            Map<String, PricingInfo> pricing = new LinkedHashMap<>();
+            basePrices.forEach((id, base) -> pricing.put(id, price(segment.equals("PREMIUM") ? base.subtract(BigDecimal.ONE) : base)));
+            return pricing;
+        }
+
+        @Override
+        public Map<String, AvailabilityInfo> listAvailability(String market) {
+            Map<String, AvailabilityInfo> availability = new LinkedHashMap<>();
+            stock.forEach((id, level) -> availability.put(id, AvailabilityInfo.known(level, "DE-01", "1 day")));
+            whileListing.run();
+            return availability;
+        }
+    };
+    private final PriceIndex index = new PriceIndex(listing, Runnable::run);
+
+    @BeforeEach
+    void catalog() {
+        basePrices.put("A", new BigDecimal("30.00"));
+        basePrices.put("B", new BigDecimal("10.00"));
+        basePrices.put("C", new BigDecimal("20.00"));
+        basePrices.put("D", new BigDecimal("20.00"));
+        basePrices.put("GONE", new BigDecimal("5.00")); // priced, but not in the catalog
+        stock.put("A", 4);
+        stock.put("B", 0);
+        stock.put("D", 1);
+        index.rebuild("de-DE", List.of(product("A"), product("B"), product("C"), product("D")));
+    }
+
+    @Test
+    void shouldSortBySegmentPrice_keepingCatalogOrderForEqualPrices() {
+        assertThat(ids(find("STANDARD", null, null, false, false, 0, 10))).containsExactly("B", "C", "D", "A");
+        assertThat(ids(find("STANDARD", null, null, false, true, 0, 10))).containsExactly("A", "D", "C", "B");
+
+        PriceRangePage premium = find("PREMIUM", null, null, false, false, 0, 1);
+        assertThat(premium.currency()).isEqualTo("EUR");
+        assertThat(premium.products()).containsExactly(new PricedProduct("B", new BigDecimal("9.00"), false));
+    }
+
+    @Test
+    void shouldIncludeBothBounds_andPaginate() {
+        PriceRangePage page = find("STANDARD", "10.00", "20.00", false, false, 1, 2);
+
+        assertThat(page.total()).isEqualTo(3);
+        assertThat(ids(page)).containsExactly("C", "D");
+        assertThat(find("STANDARD", "10.001", "29.999", false, false, 0, 10).total()).isEqualTo(2);
+        assertThat(find("STANDARD", "31", null, false, false, 0, 10).products()).isEmpty();
+    }
+
+    @Test
+    void shouldCountAndPageInStockProductsOnly() {
+        PriceRangePage page = find("STANDARD", null, null, true, false, 1, 10);
+
+        assertThat(page.total()).isEqualTo(2);
+        assertThat(page.products()).containsExactly(new PricedProduct("A", new BigDecimal("30.00"), true));
+
+        PriceRangePage cheapest = find("STANDARD", null, null, true, false, 0, 1);
+        PriceRangePage dearest = find("STANDARD", null, null, true, true, 0, 1);
+        assertThat(ids(cheapest)).containsExactly("D");
+        assertThat(ids(dearest)).containsExactly("A");
+        assertThat(cheapest.total()).isEqualTo(2);
+        assertThat(dearest.total()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFollowOfferAndCatalogChanges() {
+        index.pricingChanged("A", "de-DE", "STANDARD", price(new BigDecimal("1.5")));
+        index.pricingChanged("A", "de-DE", "STANDARD", price(new BigDecimal("1.5")));
+        index.pricingChanged("C", "de-DE", "STANDARD", price(new BigDecimal("25")));
+        index.pricingChanged("B", "de-DE", "STANDARD", price(new BigDecimal("50")));
+        index.pricingChanged("B", "de-DE", "STANDARD", price(new BigDecimal("10")));
+        index.availabilityChanged("B", "de-DE", AvailabilityInfo.known(2, "DE-01", "1 day"));
+        index.productRemoved("C", "de-DE");
+        index.pricingChanged("NEW", "de-DE", "STANDARD", price(new BigDecimal("15")));
+
+        assertThat(ids(find("STANDARD", null, null, false, false, 0, 10))).containsExactly("A", "B", "D");
+        assertThat(ids(find("STANDARD", null, null, true, false, 0, 10))).containsExactly("A", "B", "D");
+
+        index.productChanged(product("C"));
+        assertThat(ids(find("STANDARD", null, null, false, false, 0, 10))).containsExactly("A", "B", "D", "C");
+        index.productRemoved("C", "de-DE");
+
+        index.productChanged(product("NEW"));
+        assertThat(find("STANDARD", null, null, false, false, 0, 10).products()).extracting(PricedProduct::productId)
+                .containsExactly("A", "B", "NEW", "D");
+    }
+
+    @Test
+    void shouldKeepChangesAppliedDuringARebuild() {
+        whileListing = () -> {
+            index.pricingChanged("A", "de-DE", "STANDARD", price(new BigDecimal("1.5")));
+            index.productRemoved("C", "de-DE");
+        };
+
+        index.rebuild("de-DE", List.of(product("A"), product("B"), product("C"), product("D")));
+
+        assertThat(find("STANDARD", null, null, false, false, 0, 10).products()).containsExactly(
+                new PricedProduct("A", new BigDecimal("1.50"), true),
+                new PricedProduct("B", new BigDecimal("10.00"), false),
+                new PricedProduct("D", new BigDecimal("20.00"), true));
+    }
+
+    @Test
+    void shouldApplyChangesOnTheUpdatesExecutor_inOneDrainPerBurst() {
+        PriceIndex queued = new PriceIndex(listing, updates::add);
+        queued.rebuild("de-DE", List.of(product("A"), product("B"), product("C"), product("D")));
+
+        queued.pricingChanged("A", "de-DE", "STANDARD", price(new BigDecimal("1.5")));
+        queued.pricingChanged("B", "de-DE", "STANDARD", price(new BigDecimal("50")));
+        queued.availabilityChanged("B", "de-DE", AvailabilityInfo.known(2, "DE-01", "1 day"));
+        PriceRangeQuery all = new PriceRangeQuery(null, null, false, false, 0, 10);
+        assertThat(ids(queued.find("de-DE", "STANDARD", all))).containsExactly("B", "C", "D", "A");
+        assertThat(updates).hasSize(1);
+
+        updates.removeFirst().run();
+
+        assertThat(ids(queued.find("de-DE", "STANDARD", all))).containsExactly("A", "C", "D", "B");
+        assertThat(queued.find("de-DE", "STANDARD", new PriceRangeQuery(null, null, true, false, 0, 10)).total())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void shouldAnswerEmpty_forUnknownSegmentOrMarket() {
+        assertThat(find("GOLD", null, null, false, false, 0, 10).total()).isZero();
+        assertThat(index.find("pl-PL", "STANDARD", new PriceRangeQuery(null, null, false, false, 0, 10)).products()).isEmpty();
+    }
+
+    private PriceRangePage find(String segment, String min, String max, boolean inStock, boolean descending,
+                                int offset, int limit) {
+        return index.find("de-DE", segment, new PriceRangeQuery(min == null ? null : new BigDecimal(min),
+                max == null ? null : new BigDecimal(max), inStock, descending, offset, limit));
+    }
+
+    private static List<String> ids(PriceRangePage page) {
+        return page.products().stream().map(PricedProduct::productId).toList();
+    }
+
+    private static PricingInfo price(BigDecimal finalPrice) {
+        return PricingInfo.available(finalPrice, BigDecimal.ZERO, finalPrice, "EUR");
+    }
+
+    private static ProductDetails product(String id) {
+        return new ProductDetails(id, "de-DE", id, "", Map.of(), List.of());
+    }
+}
@@ -0,0 +1,66 @@
+package com.kramp.productinfo.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * With the single admission slot taken and no queue, a further request is shed with 503.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "product-info.admission.max-in-flight=1",
+                "product-info.admission.queue-capacity=0",
+                "product-info.aggregation.deadline=10s",
+                "product-info.cache.enabled=false",
+                "mock.upstreams.services.catalog.latency.base=1s",
+                "mock.upstreams.services.catalog.reliability=1.0",
+                "resilience4j.timelimiter.instances.catalog.timeout-duration=5s",
+                "upstream.adaptive-timeout.enabled=false"
+        }
+)
+class AdmissionIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldAnswer503Overloaded_whenNoSlotIsFree() {
+        CompletableFuture<ResponseEntity<String>> admitted = CompletableFuture.supplyAsync(() -> get("ABC123"));
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> meterRegistry.get("admission.in.flight").gauge().value() == 1.0);
+
+        ResponseEntity<String> shed = get("PUMP456");
+
+        assertThat(shed.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(shed.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(shed.getBody()).contains("\"code\":\"OVERLOADED\"");
+        assertThat(meterRegistry.get("admission.requests").tags("priority", "LOW", "outcome", "queue_full")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(admitted.join().getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private ResponseEntity<String> get(String productId) {
+        return restTemplate.getForEntity(
+                "http://localhost:" + port + "/product-info?productId=" + productId + "&market=nl-NL", String.class);
+    }
+}
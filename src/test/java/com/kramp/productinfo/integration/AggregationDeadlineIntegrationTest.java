@@ -0,0 +1,88 @@
+package com.kramp.productinfo.integration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * A request past the aggregation deadline answers 504 and cancels the upstream calls in flight;
+ * so do a cross-market request and a search that aggregates its hits.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "product-info.aggregation.deadline=20ms",
+                "product-info.cache.enabled=false",
+                "mock.upstreams.services.catalog.latency.base=300ms",
+                "mock.upstreams.services.catalog.reliability=1.0",
+                "resilience4j.timelimiter.instances.catalog.timeout-duration=2s",
+                "upstream.adaptive-timeout.enabled=false"
+        }
+)
+class AggregationDeadlineIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldAnswer504AndCancelUpstreamCalls_pastTheDeadline() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/product-info?productId=ABC123&market=de-DE",
+                String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(response.getBody()).contains("AGGREGATION_TIMEOUT");
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(meterRegistry.get("upstream.calls.cancelled").tag("service", "catalog").counter().count())
+                        .isPositive());
+    }
+
+    @Test
+    void shouldAnswer504AndCancelEveryMarket_forCrossMarketRequestsPastTheDeadline() {
+        double cancelledBefore = cancelledCatalogCalls();
+
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/product-info/cross-market?productId=ABC123&markets=de-DE,nl-NL,pl-PL",
+                String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(response.getBody()).contains("AGGREGATION_TIMEOUT");
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(cancelledCatalogCalls() - cancelledBefore).isGreaterThanOrEqualTo(3.0));
+    }
+
+    @Test
+    void shouldAnswer504_forAggregatingSearchesPastTheDeadline() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/product-info/search?market=nl-NL&q=oliefilter&aggregate=1",
+                String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(response.getBody()).contains("AGGREGATION_TIMEOUT");
+    }
+
+    private double cancelledCatalogCalls() {
+        Counter counter = meterRegistry.find("upstream.calls.cancelled").tag("service", "catalog").counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,63 @@
+package com.kramp.productinfo.integration;
+
+import com.kramp.productinfo.domain.model.ChangeFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ChangeFeedIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void shouldHandOutACursor_andServeChangesAfterIt() {
+        ChangeFeed start = restTemplate.getForObject(url("?market=nl-NL"), ChangeFeed.class);
+        assertThat(start.resyncRequired()).isFalse();
+        assertThat(start.changes()).isEmpty();
+
+        ChangeFeed feed = restTemplate.getForObject(url("?market=nl-NL&since=" + start.next()), ChangeFeed.class);
+        assertThat(feed.resyncRequired()).isFalse();
+        assertThat(feed.since()).isEqualTo(start.next());
+    }
+
+    @Test
+    void shouldRequireResync_forACursorOfAnotherInstance() {
+        ChangeFeed start = restTemplate.getForObject(url("?market=nl-NL"), ChangeFeed.class);
+        String sequence = start.next().substring(start.next().indexOf(':') + 1);
+
+        ChangeFeed feed = restTemplate.getForObject(url("?market=nl-NL&since=otherpod:" + sequence), ChangeFeed.class);
+
+        assertThat(feed.resyncRequired()).isTrue();
+        assertThat(feed.changes()).isEmpty();
+        assertThat(feed.next()).isNotEqualTo("otherpod:" + sequence);
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        var response = restTemplate.getForEntity(url("?market=nl-NL&since=1"), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldRejectUnknownMarket() {
+        var response = restTemplate.getForEntity(url("?market=fr-FR"), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("MARKET_NOT_FOUND");
+    }
+
+    private String url(String query) {
+        return "http://localhost:" + port + "/product-info/changes" + query;
+    }
+}
@@ -0,0 +1,125 @@
+package com.kramp.productinfo.integration;
+
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the aggregation through the HTTP adapters against the local stand-in upstream server.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"http", "standin"})
+class HttpUpstreamIntegrationTest {
+
+    private static final int STANDIN_PORT = freePort();
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        String baseUrl = "http://localhost:" + STANDIN_PORT;
+        registry.add("upstream.standin.port", () -> STANDIN_PORT);
+        for (String service : new String[]{"catalog", "pricing", "availability", "customer"}) {
+            registry.add("upstream.http.services." + service + ".base-url", () -> baseUrl);
+            registry.add("mock.upstreams.services." + service + ".latency.base", () -> "0ms");
+            registry.add("mock.upstreams.services." + service + ".reliability", () -> "1.0");
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String baseUrl() {
+        return "http://localhost:" + port + "/product-info";
+    }
+
+    @Test
+    void shouldAggregateOverHttp_withCustomerDiscount() {
+        ResponseEntity<AggregatedProduct> response = restTemplate.getForEntity(
+                baseUrl() + "?productId=XYZ999&market=pl-PL&customerId=456",
+                AggregatedProduct.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        AggregatedProduct product = response.getBody();
+        assertThat(product.product().name()).isNotBlank();
+        assertThat(product.product().specs()).isNotEmpty();
+        assertThat(product.customer().segment()).isEqualTo("PREMIUM");
+        assertThat(product.pricing().discountPercent().doubleValue()).isEqualTo(12.5);
+        assertThat(product.availability().warehouseCode()).isEqualTo("PL-01");
+
+        assertThat(meterRegistry.find("upstream.http.client.requests")
+                .tags("service", "catalog", "outcome", "SUCCESS").timer())
+                .isNotNull();
+    }
+
+    @Test
+    void shouldPropagateUpstreamReasons_overHttp() {
+        ResponseEntity<AggregatedProduct> response = restTemplate.getForEntity(
+                baseUrl() + "?productId=XYZ999&market=nl-NL",
+                AggregatedProduct.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().pricing().available()).isFalse();
+        assertThat(response.getBody().pricing().reason()).isEqualTo("PRICING_ENGINE_MAINTENANCE");
+    }
+
+    @Test
+    void shouldReturn404_whenProductNotFound_overHttp() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                baseUrl() + "?productId=NOTEXIST&market=de-DE",
+                String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).contains("PRODUCT_NOT_FOUND");
+    }
+
+    @Test
+    void standInShouldNegotiateBinaryCodecAndGzip() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + STANDIN_PORT + "/catalog/de-DE/products/ABC123"))
+                .header("Accept", "application/cbor, application/json;q=0.5")
+                .header("Accept-Encoding", "gzip")
+                .build();
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.headers().firstValue("Content-Type")).hasValue("application/cbor");
+            assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
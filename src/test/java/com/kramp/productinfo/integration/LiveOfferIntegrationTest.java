@@ -0,0 +1,101 @@
+package com.kramp.productinfo.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LiveOfferIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void shouldStreamStockAndSegmentPrice_ofTheSubscribedProduct() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url("?market=nl-NL&productIds=ABC123&customerId=789")))
+                .header("Accept", "text/event-stream")
+                .build();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                    type -> assertThat(type).startsWith("text/event-stream"));
+
+            try (InputStream body = response.body()) {
+                List<String> events = CompletableFuture.supplyAsync(() -> readEvents(body, 2))
+                        .get(20, TimeUnit.SECONDS);
+
+                assertThat(events).anySatisfy(event -> assertThat(event)
+                        .contains("event:availability", "\"productId\":\"ABC123\"", "\"stockLevel\":3"));
+                assertThat(events).anySatisfy(event -> assertThat(event)
+                        .contains("event:pricing", "\"productId\":\"ABC123\"", "\"segment\":\"PREMIUM\"", "\"finalPrice\""));
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectUnknownMarket() {
+        var response = restTemplate.getForEntity(url("?market=fr-FR&productIds=ABC123"), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("MARKET_NOT_FOUND");
+    }
+
+    @Test
+    void shouldRejectProductsNotInTheCatalog() {
+        var response = restTemplate.getForEntity(url("?market=nl-NL&productIds=ABC123,UNKNOWN999"), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).contains("PRODUCT_NOT_FOUND");
+    }
+
+    /**
+     * The first {@code count} events, each as its lines joined.
+     */
+    private static List<String> readEvents(InputStream body, int count) {
+        List<String> events = new ArrayList<>();
+        StringBuilder event = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while (events.size() < count && (line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    if (!event.isEmpty()) {
+                        events.add(event.toString());
+                        event.setLength(0);
+                    }
+                } else {
+                    event.append(line).append('\n');
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return events;
+    }
+
+    private String url(String query) {
+        return "http://localhost:" + port + "/product-info/live" + query;
+    }
+}
@@ -0,0 +1,71 @@
+package com.kramp.productinfo.integration;
+
+import com.kramp.productinfo.ProductInfoAggregatorApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs its own application, as the test closes it.
+ */
+class LiveShutdownIntegrationTest {
+
+    @Test
+    void shouldSendHeartbeats_andEndOpenStreams_beforeTheGracefulShutdownWaitsForThem() throws Exception {
+        try (HttpClient client = HttpClient.newHttpClient();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(ProductInfoAggregatorApplication.class)
+                     .run("--server.port=0", "--product-info.live.heartbeat-interval=200ms")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(
+                            "http://localhost:" + port + "/product-info/live?market=nl-NL&productIds=ABC123"))
+                    .header("Accept", "text/event-stream")
+                    .build();
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            assertThat(response.statusCode()).isEqualTo(200);
+
+            try (BufferedReader body = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                CompletableFuture.runAsync(() -> skipUntil(body, ":heartbeat")).get(10, TimeUnit.SECONDS);
+
+                long started = System.nanoTime();
+                context.close();
+                assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(10));
+
+                CompletableFuture.runAsync(() -> skipUntil(body, null)).get(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    /**
+     * Reads lines up to {@code line}, or to the end of the stream for {@code null}.
+     */
+    private static void skipUntil(BufferedReader body, String line) {
+        try {
+            String read;
+            while ((read = body.readLine()) != null) {
+                if (read.equals(line)) {
+                    return;
+                }
+            }
+            if (line != null) {
+                throw new IllegalStateException("Stream ended before " + line);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
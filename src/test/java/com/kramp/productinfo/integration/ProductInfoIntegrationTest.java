@@ -1,6 +1,13 @@
 package com.kramp.productinfo.integration;
 
 import com.kramp.productinfo.domain.model.AggregatedProduct;
+import com.kramp.productinfo.domain.model.CrossMarketProduct;
+import com.kramp.productinfo.infrastructure.jfr.JfrRecordingEndpoint;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -9,6 +16,13 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -24,6 +38,15 @@ class ProductInfoIntegrationTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JfrRecordingEndpoint jfrRecordingEndpoint;
+
     private String baseUrl() {
         return "http://localhost:" + port + "/product-info";
     }
@@ -255,6 +278,66 @@ class ProductInfoIntegrationTest {
         assertThat(product.customer().customerId()).isEqualTo("456");
     }
 
+    @Test
+    void shouldDegradeWithoutCalling_whenOptionalCircuitsAreOpen() {
+        circuitBreakerRegistry.circuitBreaker("pricing").transitionToForcedOpenState();
+        circuitBreakerRegistry.circuitBreaker("availability").transitionToForcedOpenState();
+        try {
+            long pricingCallsBefore = (long) circuitBreakerRegistry.circuitBreaker("pricing")
+                    .getMetrics().getNumberOfNotPermittedCalls();
+
+            // ABC123 in pl-PL never has pricing or availability, so nothing last-known-good exists
+            ResponseEntity<AggregatedProduct> response = restTemplate.getForEntity(
+                    baseUrl() + "?productId=ABC123&market=pl-PL&customerId=456",
+                    AggregatedProduct.class
+            );
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            AggregatedProduct product = response.getBody();
+            assertThat(product.product().productId()).isEqualTo("ABC123");
+            assertThat(product.pricing().available()).isFalse();
+            assertThat(product.pricing().reason()).isEqualTo("CIRCUIT_OPEN");
+            assertThat(product.availability().stockKnown()).isFalse();
+            assertThat(product.customer().customerId()).isEqualTo("456");
+
+            // Skipped before reaching the breaker: no rejected call was recorded
+            assertThat(circuitBreakerRegistry.circuitBreaker("pricing").getMetrics().getNumberOfNotPermittedCalls())
+                    .isEqualTo(pricingCallsBefore);
+            Counter shortCircuited = meterRegistry.find("upstream.short.circuited").tag("service", "pricing").counter();
+            assertThat(shortCircuited).isNotNull();
+            assertThat(shortCircuited.count()).isGreaterThanOrEqualTo(1.0);
+        } finally {
+            circuitBreakerRegistry.circuitBreaker("pricing").transitionToClosedState();
+            circuitBreakerRegistry.circuitBreaker("availability").transitionToClosedState();
+        }
+    }
+
+    @Test
+    void shouldServeLastKnownGoodValues_flaggedWithAge_whenUpstreamsAreDown() {
+        String url = baseUrl() + "?productId=XYZ999&market=de-DE&customerId=111";
+        AggregatedProduct fresh = restTemplate.getForEntity(url, AggregatedProduct.class).getBody();
+        assertThat(fresh.pricing().available()).isTrue();
+        assertThat(fresh.pricing().staleAgeMs()).isNull();
+
+        circuitBreakerRegistry.circuitBreaker("pricing").transitionToForcedOpenState();
+        circuitBreakerRegistry.circuitBreaker("availability").transitionToForcedOpenState();
+        try {
+            AggregatedProduct product = restTemplate.getForEntity(url, AggregatedProduct.class).getBody();
+
+            assertThat(product.pricing().available()).isTrue();
+            assertThat(product.pricing().finalPrice()).isEqualByComparingTo(fresh.pricing().finalPrice());
+            assertThat(product.pricing().staleAgeMs()).isNotNull().isGreaterThanOrEqualTo(0L);
+            assertThat(product.availability().stockKnown()).isTrue();
+            assertThat(product.availability().stockLevel()).isEqualTo(fresh.availability().stockLevel());
+            assertThat(product.availability().staleAgeMs()).isNotNull();
+            assertThat(meterRegistry.find("upstream.stale.lookups")
+                    .tags("service", "pricing", "outcome", "SERVED").counter().count()).isGreaterThanOrEqualTo(1.0);
+        } finally {
+            circuitBreakerRegistry.circuitBreaker("pricing").transitionToClosedState();
+            circuitBreakerRegistry.circuitBreaker("availability").transitionToClosedState();
+        }
+    }
+
     // ========================================
     // Error Scenario Tests
     // ========================================
@@ -290,6 +373,61 @@ class ProductInfoIntegrationTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
     }
 
+    @Test
+    void shouldReturn400_whenMarketUnknown() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                baseUrl() + "?productId=ABC123&market=xx-XX",
+                String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("MARKET_NOT_FOUND", "de-DE, nl-NL, pl-PL");
+    }
+
+    // ========================================
+    // Cross-Market Tests
+    // ========================================
+
+    @Test
+    void shouldAggregateAllKnownMarkets_reportingMissingProductsPerMarket() {
+        ResponseEntity<CrossMarketProduct> response = restTemplate.getForEntity(
+                baseUrl() + "/cross-market?productId=PUMP456&markets=all",
+                CrossMarketProduct.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        CrossMarketProduct product = response.getBody();
+        assertThat(product.results()).containsOnlyKeys("nl-NL");
+        assertThat(product.results().get("nl-NL").product().market()).isEqualTo("nl-NL");
+        assertThat(product.errors()).containsOnlyKeys("de-DE", "pl-PL");
+        assertThat(product.errors().get("de-DE").code()).isEqualTo("PRODUCT_NOT_FOUND");
+    }
+
+    @Test
+    void shouldKeepOtherMarkets_whenOneMarketIsUnknown() {
+        ResponseEntity<CrossMarketProduct> response = restTemplate.getForEntity(
+                baseUrl() + "/cross-market?productId=ABC123&markets=de-DE,xx-XX,pl-PL&customerId=789",
+                CrossMarketProduct.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        CrossMarketProduct product = response.getBody();
+        assertThat(product.results()).containsOnlyKeys("de-DE", "pl-PL");
+        assertThat(product.results().get("de-DE").customer().customerId()).isEqualTo("789");
+        assertThat(product.errors()).containsOnlyKeys("xx-XX");
+        assertThat(product.errors().get("xx-XX").code()).isEqualTo("MARKET_NOT_FOUND");
+    }
+
+    @Test
+    void shouldReturn400_whenCrossMarketMarketsMissing() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                baseUrl() + "/cross-market?productId=ABC123",
+                String.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
     // ========================================
     // Data Completeness Tests
     // ========================================
@@ -326,4 +464,58 @@ class ProductInfoIntegrationTest {
         assertThat(product.pricing().basePrice().doubleValue()).isEqualTo(24.90);
         assertThat(product.pricing().finalPrice().doubleValue()).isEqualTo(23.66);
     }
+
+    // ========================================
+    // Diagnostics Tests
+    // ========================================
+
+    @Test
+    void jfrRecording_shouldCaptureAggregationAndUpstreamCallEvents() throws IOException {
+        jfrRecordingEndpoint.start(0L, null);
+        ResponseEntity<AggregatedProduct> response;
+        JfrRecordingEndpoint.Status stopped;
+        try {
+            response = restTemplate.getForEntity(baseUrl() + "?productId=XYZ999&market=nl-NL", AggregatedProduct.class);
+        } finally {
+            stopped = jfrRecordingEndpoint.stop();
+        }
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        Path dump = jfrRecordingEndpoint.download(stopped.dumps().getFirst().file()).getBody().getFile().toPath();
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("com.kramp.productinfo.Aggregation");
+            assertThat(event.getString("productId")).isEqualTo("XYZ999");
+            assertThat(event.getString("market")).isEqualTo("nl-NL");
+            assertThat(event.getString("outcome")).isEqualTo("OK");
+            assertThat(event.getString("pricingDegradation")).isEqualTo("PRICING_ENGINE_MAINTENANCE");
+        });
+        assertThat(events).anySatisfy(event -> {
+            assertThat(event.getEventType().getName()).isEqualTo("com.kramp.productinfo.UpstreamCall");
+            assertThat(event.getString("service")).isEqualTo("pricing");
+            assertThat(event.getString("market")).isEqualTo("nl-NL");
+            assertThat(event.getString("outcome")).isEqualTo("ANSWERED");
+            assertThat(event.getString("reason")).isEqualTo("PRICING_ENGINE_MAINTENANCE");
+        });
+    }
+
+    @Test
+    void jfrSnapshot_shouldBeStreamed_andNotKeptOnDisk() throws IOException {
+        Path tmp = Path.of(System.getProperty("java.io.tmpdir"));
+        jfrRecordingEndpoint.start(0L, null);
+        ResponseEntity<byte[]> snapshot;
+        try {
+            snapshot = restTemplate.getForEntity("http://localhost:" + port + "/actuator/jfr/current", byte[].class);
+        } finally {
+            jfrRecordingEndpoint.stop();
+        }
+
+        assertThat(snapshot.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(new String(snapshot.getBody(), 0, 3, StandardCharsets.US_ASCII)).isEqualTo("FLR");
+        try (Stream<Path> files = Files.list(tmp)) {
+            assertThat(files.map(file -> file.getFileName().toString()))
+                    .noneMatch(name -> name.startsWith("product-info-current"));
+        }
+    }
 }
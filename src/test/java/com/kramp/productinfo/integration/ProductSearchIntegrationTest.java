@@ -0,0 +1,95 @@
+package com.kramp.productinfo.integration;
+
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import com.kramp.productinfo.domain.model.FacetCounts;
+import com.kramp.productinfo.domain.model.PriceRangePage;
+import com.kramp.productinfo.domain.model.PriceRangePage.PricedProduct;
+import com.kramp.productinfo.domain.model.ProductSearchResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ProductSearchIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void shouldFindProductsByWordsAndSpecs_andAggregateTheTopHit() {
+        ResponseEntity<ProductSearchResult> response = restTemplate.getForEntity(
+                url("?market=nl-NL&q=oliefilter&spec=filterType=spin-on&aggregate=1&customerId=789"),
+                ProductSearchResult.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        ProductSearchResult result = response.getBody();
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.productIds()).containsExactly("XYZ999");
+        assertThat(result.products().get("XYZ999").product().name()).isEqualTo("Oliefilter Universeel");
+    }
+
+    @Test
+    void shouldListEveryProduct_withoutQuery() {
+        ProductSearchResult result = restTemplate.getForObject(url("?market=nl-NL"), ProductSearchResult.class);
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.products()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectUnknownMarket_andMalformedSpecFilter() {
+        assertThat(restTemplate.getForEntity(url("?market=fr-FR&q=filter"), String.class).getBody())
+                .contains("MARKET_NOT_FOUND");
+        assertThat(restTemplate.getForEntity(url("?market=nl-NL&spec=material"), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldCountSpecFacets_ofMatchingProducts() {
+        FacetCounts counts = restTemplate.getForObject(
+                "http://localhost:" + port + "/product-info/facets?market=nl-NL&spec=filterType=Spin-on&facet=filterType&facet=height",
+                FacetCounts.class);
+
+        assertThat(counts.total()).isEqualTo(1);
+        assertThat(counts.facets().get("filterType")).containsEntry("Spin-on", 1);
+        assertThat(counts.facets().get("height")).containsOnlyKeys("120mm");
+    }
+
+    @Test
+    void shouldListProductsByPrice_atThePriceProductInfoShowsTheCustomer() {
+        PriceRangePage page = restTemplate.getForObject(
+                "http://localhost:" + port + "/product-info/price-range?market=nl-NL&customerId=789&inStock=true",
+                PriceRangePage.class);
+
+        assertThat(page.segment()).isEqualTo("PREMIUM");
+        assertThat(page.currency()).isEqualTo("EUR");
+        assertThat(page.total()).isEqualTo(2); // XYZ999 has no price
+        assertThat(page.products()).extracting(PricedProduct::productId).containsExactly("ABC123", "PUMP456");
+        for (PricedProduct priced : page.products()) {
+            AggregatedProduct product = restTemplate.getForObject("http://localhost:" + port
+                    + "/product-info?market=nl-NL&customerId=789&productId=" + priced.productId(), AggregatedProduct.class);
+            assertThat(product.pricing().finalPrice()).isEqualByComparingTo(priced.finalPrice());
+        }
+
+        PriceRangePage expensive = restTemplate.getForObject(
+                "http://localhost:" + port + "/product-info/price-range?market=nl-NL&minPrice=50&order=desc",
+                PriceRangePage.class);
+        assertThat(expensive.segment()).isEqualTo("STANDARD");
+        assertThat(expensive.products()).containsExactly(new PricedProduct("PUMP456", new BigDecimal("84.55"), true));
+    }
+
+    private String url(String query) {
+        return "http://localhost:" + port + "/product-info/search" + query;
+    }
+}
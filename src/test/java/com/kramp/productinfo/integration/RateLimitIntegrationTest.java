@@ -0,0 +1,76 @@
+package com.kramp.productinfo.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "product-info.rate-limit.anonymous.requests-per-second=0.01",
+                "product-info.rate-limit.anonymous.burst=4",
+                "product-info.rate-limit.segments.PREMIUM.requests-per-second=0.01",
+                "product-info.rate-limit.segments.PREMIUM.burst=5"
+        }
+)
+class RateLimitIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldThrottlePerTier_withRateLimitHeaders() {
+        // identified PREMIUM customer: own bucket, own tier; its segment lookup took a client IP token
+        ResponseEntity<String> premium = get("?productId=XYZ999&market=pl-PL&customerId=456");
+        assertThat(premium.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(premium.getHeaders().getFirst("RateLimit-Limit")).isEqualTo("5");
+
+        // markets=all: the BASIC customer is looked up in the first known market, de-DE,
+        // and gets its own bucket; that lookup took another client IP token
+        ResponseEntity<String> allMarkets = get("/cross-market?productId=ABC123&markets=all&customerId=111");
+        assertThat(allMarkets.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(allMarkets.getHeaders().getFirst("RateLimit-Limit")).isEqualTo("100");
+
+        ResponseEntity<String> first = get("?productId=ABC123&market=de-DE");
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(first.getHeaders().getFirst("RateLimit-Limit")).isEqualTo("4");
+        assertThat(first.getHeaders().getFirst("RateLimit-Remaining")).isEqualTo("1");
+
+        get("?productId=ABC123&market=de-DE");
+        ResponseEntity<String> throttled = get("?productId=ABC123&market=de-DE");
+
+        assertThat(throttled.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(throttled.getHeaders().getFirst("RateLimit-Remaining")).isEqualTo("0");
+        assertThat(Long.parseLong(throttled.getHeaders().getFirst("Retry-After"))).isPositive();
+        assertThat(throttled.getBody()).contains("RATE_LIMITED");
+        assertThat(meterRegistry.get("rate.limit.throttled").tag("tier", "ANONYMOUS").counter().count())
+                .isEqualTo(1.0);
+
+        // unknown customers are not looked up once the client IP bucket is exhausted
+        assertThat(get("?productId=ABC123&market=de-DE&customerId=NONEXISTENT").getStatusCode())
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        // a customer with a bucket keeps its own limit
+        ResponseEntity<String> premiumAgain = get("?productId=XYZ999&market=pl-PL&customerId=456");
+        assertThat(premiumAgain.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(premiumAgain.getHeaders().getFirst("RateLimit-Remaining")).isEqualTo("3");
+
+    }
+
+    private ResponseEntity<String> get(String query) {
+        return restTemplate.getForEntity("http://localhost:" + port + "/product-info" + query, String.class);
+    }
+}
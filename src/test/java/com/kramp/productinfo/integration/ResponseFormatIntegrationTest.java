@@ -0,0 +1,126 @@
+package com.kramp.productinfo.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.kramp.productinfo.controller.ErrorResponse;
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ResponseFormatIntegrationTest {
+
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void shouldAnswerCbor_whenAccepted() throws Exception {
+        ResponseEntity<byte[]> response = get("?productId=ABC123&market=nl-NL&customerId=789", "application/cbor");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).hasToString("application/cbor");
+        AggregatedProduct product = cbor.readValue(response.getBody(), AggregatedProduct.class);
+        assertThat(product.product().productId()).isEqualTo("ABC123");
+        assertThat(product.customer().segment()).isEqualTo("PREMIUM");
+    }
+
+    @Test
+    void shouldAnswerProtobuf_whenAccepted() {
+        ResponseEntity<byte[]> response = get("?productId=ABC123&market=nl-NL", "application/x-protobuf");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).hasToString("application/x-protobuf");
+        assertThat(response.getBody()[0]).isEqualTo((byte) 0x0A); // field 1 (product), length-delimited
+        assertThat(new String(response.getBody(), StandardCharsets.ISO_8859_1)).contains("ABC123", "nl-NL");
+    }
+
+    @Test
+    void shouldPublishTheProtobufSchema() {
+        ResponseEntity<String> schema = restTemplate.getForEntity("http://localhost:" + port + "/proto/product_info.proto", String.class);
+
+        assertThat(schema.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(schema.getBody()).contains("message AggregatedProduct", "message ErrorResponse");
+    }
+
+    @Test
+    void shouldEncodeErrors_inTheAcceptedFormat() throws Exception {
+        ResponseEntity<byte[]> protobuf = get("?productId=ABC123&market=fr-FR", "application/x-protobuf");
+        assertThat(protobuf.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(protobuf.getHeaders().getContentType()).hasToString("application/x-protobuf");
+        byte[] body = protobuf.getBody();
+        assertThat(body[0]).isEqualTo((byte) 0x0A); // field 1 (code), length-delimited
+        assertThat(new String(body, 2, body[1], StandardCharsets.UTF_8)).isEqualTo("MARKET_NOT_FOUND");
+
+        ResponseEntity<byte[]> cborError = get("?productId=ABC123&market=fr-FR", "application/cbor");
+        assertThat(cborError.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(cbor.readValue(cborError.getBody(), ErrorResponse.class).code()).isEqualTo("MARKET_NOT_FOUND");
+    }
+
+    @Test
+    void shouldEncodeRateLimitRejections_inTheAcceptedFormat() throws Exception {
+        ResponseEntity<byte[]> protobuf = throttled("application/x-protobuf");
+        assertThat(protobuf.getHeaders().getContentType()).hasToString("application/x-protobuf");
+        assertThat(protobuf.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isNotNull();
+        byte[] body = protobuf.getBody();
+        assertThat(body[0]).isEqualTo((byte) 0x0A); // field 1 (code), length-delimited
+        assertThat(new String(body, 2, body[1], StandardCharsets.UTF_8)).isEqualTo("RATE_LIMITED");
+
+        ResponseEntity<byte[]> cborError = throttled("application/cbor");
+        assertThat(cborError.getHeaders().getContentType()).hasToString("application/cbor");
+        assertThat(cbor.readValue(cborError.getBody(), ErrorResponse.class).code()).isEqualTo("RATE_LIMITED");
+
+        ResponseEntity<byte[]> json = throttled("text/html, */*;q=0.1");
+        assertThat(json.getHeaders().getContentType()).hasToString("application/json");
+        assertThat(new String(json.getBody(), StandardCharsets.UTF_8)).contains("\"code\":\"RATE_LIMITED\"");
+    }
+
+    @Test
+    void shouldStillAnswerJson_forAnyFormat() {
+        ResponseEntity<byte[]> response = get("?productId=ABC123&market=nl-NL", "*/*");
+
+        assertThat(response.getHeaders().getContentType()).hasToString("application/json");
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).startsWith("{\"product\":");
+    }
+
+    /**
+     * The first 429 of cheap requests as customer 101, whom no other test uses, so its bucket
+     * (a burst of 200) can be drained without throttling anyone else.
+     */
+    private ResponseEntity<byte[]> throttled(String accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, accept);
+        for (int i = 0; i < 5_000; i++) {
+            ResponseEntity<byte[]> response = restTemplate.exchange(
+                    "http://localhost:" + port + "/product-info/changes?market=nl-NL&customerId=101", HttpMethod.GET,
+                    new HttpEntity<>(headers), byte[].class);
+            if (response.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                return response;
+            }
+        }
+        throw new AssertionError("Never throttled");
+    }
+
+    private ResponseEntity<byte[]> get(String query, String accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, accept);
+        return restTemplate.exchange("http://localhost:" + port + "/product-info" + query, HttpMethod.GET,
+                new HttpEntity<>(headers), byte[].class);
+    }
+}
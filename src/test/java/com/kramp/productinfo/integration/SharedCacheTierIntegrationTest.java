@@ -0,0 +1,70 @@
+package com.kramp.productinfo.integration;
+
+import com.kramp.productinfo.domain.model.AggregatedProduct;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the caching decorators on the shared tier, against the embedded stand-in RESP server.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SharedCacheTierIntegrationTest {
+
+    private static final int RESP_PORT = freePort();
+
+    @DynamicPropertySource
+    static void cacheProperties(DynamicPropertyRegistry registry) {
+        registry.add("product-info.cache.tier", () -> "shared");
+        registry.add("product-info.cache.shared.port", () -> RESP_PORT);
+        registry.add("product-info.cache.shared.embedded-server", () -> "true");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void repeatedRequest_shouldBeServedFromNearCache_withoutReloading() {
+        String url = "http://localhost:" + port + "/product-info?productId=XYZ999&market=pl-PL&customerId=456";
+
+        ResponseEntity<AggregatedProduct> first = restTemplate.getForEntity(url, AggregatedProduct.class);
+        ResponseEntity<AggregatedProduct> second = restTemplate.getForEntity(url, AggregatedProduct.class);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getBody().customer().segment()).isEqualTo("PREMIUM");
+        for (String cache : new String[]{"catalog", "customer"}) {
+            assertThat(meterRegistry.get("upstream.cache.loads").tag("cache", cache).counter().count())
+                    .isEqualTo(1.0);
+            assertThat(meterRegistry.get("upstream.cache.requests").tags("cache", cache, "result", "near_hit")
+                    .counter().count()).isPositive();
+        }
+        assertThat(meterRegistry.find("upstream.cache.remote.errors").counters())
+                .allSatisfy(errors -> assertThat(errors.count()).isZero());
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.kramp.productinfo.integration;
+
+import com.kramp.productinfo.infrastructure.virtualthreads.VirtualThreadPinningMonitor;
+import com.kramp.productinfo.infrastructure.virtualthreads.VirtualThreadPinningMonitor.PinningSite;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Fails when serving product info pins a virtual thread inside our own code (a monitor held
+ * across an upstream call serializes those calls on the carrier pool).
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "product-info.virtual-threads.pinning.threshold=0ms"
+)
+class VirtualThreadPinningIntegrationTest {
+
+    private static final Object LOCK = new Object();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private VirtualThreadPinningMonitor monitor;
+
+    @Test
+    void aggregationPathShouldNotPinVirtualThreads() throws Exception {
+        List<String> urls = List.of(
+                "?productId=ABC123&market=de-DE&customerId=789",
+                "?productId=XYZ999&market=nl-NL",
+                "?productId=XYZ999&market=pl-PL&customerId=456",
+                "?productId=NOTEXIST&market=de-DE");
+        urls.forEach(this::get);
+        monitor.reset();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> requests = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                urls.forEach(url -> requests.add(executor.submit(() -> get(url))));
+            }
+            for (Future<?> request : requests) {
+                request.get();
+            }
+            // Events are delivered in order: once this one shows up, the requests' events have too
+            executor.submit(VirtualThreadPinningIntegrationTest::pinOnPurpose).get();
+        }
+        await().atMost(Duration.ofSeconds(15))
+                .until(() -> monitor.topSites(Integer.MAX_VALUE).stream().anyMatch(site -> site.site().contains("pinOnPurpose")));
+
+        assertThat(monitor.topSites(Integer.MAX_VALUE))
+                .filteredOn(site -> !site.site().contains("pinOnPurpose"))
+                .noneMatch(VirtualThreadPinningIntegrationTest::inOurCode);
+    }
+
+    private void get(String query) {
+        var response = restTemplate.getForEntity("http://localhost:" + port + "/product-info" + query, String.class);
+        assertThat(response.getStatusCode()).isIn(HttpStatus.OK, HttpStatus.NOT_FOUND);
+    }
+
+    private static boolean inOurCode(PinningSite site) {
+        return site.stack().stream().anyMatch(frame -> frame.startsWith("com.kramp.productinfo."));
+    }
+
+    private static void pinOnPurpose() {
+        synchronized (LOCK) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}